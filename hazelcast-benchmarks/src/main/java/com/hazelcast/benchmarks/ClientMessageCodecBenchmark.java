@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
+import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding and decoding of the most common client requests.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientMessageCodecBenchmark {
+
+    private static final String MAP_NAME = "map";
+
+    @Param({"100", "10000"})
+    public int valueSize;
+
+    private Data key;
+    private Data value;
+    private ClientMessage putRequest;
+    private ClientMessage getRequest;
+
+    @Setup
+    public void setup() {
+        key = newData(16);
+        value = newData(valueSize);
+        putRequest = MapPutCodec.encodeRequest(MAP_NAME, key, value, 1, -1);
+        getRequest = MapGetCodec.encodeRequest(MAP_NAME, key, 1);
+    }
+
+    @Benchmark
+    public ClientMessage encodePut() {
+        return MapPutCodec.encodeRequest(MAP_NAME, key, value, 1, -1);
+    }
+
+    @Benchmark
+    public Object decodePut() {
+        return MapPutCodec.decodeRequest(putRequest);
+    }
+
+    @Benchmark
+    public ClientMessage encodeGet() {
+        return MapGetCodec.encodeRequest(MAP_NAME, key, 1);
+    }
+
+    @Benchmark
+    public Object decodeGet() {
+        return MapGetCodec.decodeRequest(getRequest);
+    }
+
+    private static Data newData(int payloadSize) {
+        // the codecs copy the data as is, so the content doesn't matter
+        return new HeapData(new byte[HeapData.HEAP_DATA_OVERHEAD + payloadSize]);
+    }
+}
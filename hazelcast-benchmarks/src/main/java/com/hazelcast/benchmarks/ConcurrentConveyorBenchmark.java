@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.internal.util.concurrent.ConcurrentConveyor;
+import com.hazelcast.internal.util.concurrent.OneToOneConcurrentArrayQueue;
+import com.hazelcast.internal.util.concurrent.QueuedPipe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.internal.util.concurrent.ConcurrentConveyor.concurrentConveyor;
+
+/**
+ * Measures the throughput of a {@link ConcurrentConveyor} with a single
+ * submitter and a single drainer thread.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentConveyorBenchmark {
+
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final Object ITEM = new Object();
+    private static final Object DONE_ITEM = new Object();
+
+    private ConcurrentConveyor<Object> conveyor;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        QueuedPipe<Object> queue = new OneToOneConcurrentArrayQueue<>(QUEUE_CAPACITY);
+        conveyor = concurrentConveyor(DONE_ITEM, queue);
+    }
+
+    @Benchmark
+    @Group("conveyor")
+    @GroupThreads(1)
+    public boolean offer() {
+        return conveyor.offer(0, ITEM);
+    }
+
+    @Benchmark
+    @Group("conveyor")
+    @GroupThreads(1)
+    public int drain(DrainState drainState) {
+        List<Object> drain = drainState.drain;
+        int count = conveyor.drainTo(0, drain);
+        drain.clear();
+        return count;
+    }
+
+    @State(Scope.Thread)
+    public static class DrainState {
+        final List<Object> drain = new ArrayList<>(QUEUE_CAPACITY);
+    }
+}
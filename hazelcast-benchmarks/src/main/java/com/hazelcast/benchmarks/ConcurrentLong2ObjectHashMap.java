@@ -0,0 +1,450 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.internal.util.QuickMath;
+import com.hazelcast.internal.util.collection.Long2ObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+import static com.hazelcast.internal.util.HashUtil.fastLongMix;
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * Concurrent map specialised for {@code long} keys, which neither boxes the
+ * keys nor allocates a node per mapping.
+ * <p>
+ * The map is split into stripes, each of them an open addressing hash table
+ * with linear probing in the style of {@link Long2ObjectHashMap} guarded by
+ * a {@link StampedLock}. Mutations hold the write lock of their stripe, while
+ * lookups first probe the table optimistically and only fall back to the
+ * read lock when a concurrent mutation is detected. The stripe of a key is
+ * selected by the high bits of its mixed hash and its slot by the low bits,
+ * so sequential keys like call IDs are spread evenly over the stripes and
+ * their slots. A stripe table grows when its load factor is exceeded and
+ * shrinks again when it becomes sparse, so the memory taken by a burst of
+ * mappings is given back.
+ * <p>
+ * Every mutation takes the write lock of its stripe, which costs more than
+ * the single CAS with which {@link java.util.concurrent.ConcurrentHashMap}
+ * inserts into an empty bin. The map trades throughput for not allocating,
+ * which is why the invocation registries don't use it. It only serves as
+ * the alternative measured by {@link InvocationRegistryMapBenchmark}.
+ * <p>
+ * Iteration is weakly consistent: each stripe is copied while holding its
+ * read lock, so the iterators never throw
+ * {@link java.util.ConcurrentModificationException}.
+ * <p>
+ * NOTE: This map doesn't support {@code null} values.
+ *
+ * @param <V> type of the values stored in the map
+ */
+public class ConcurrentLong2ObjectHashMap<V> implements Iterable<V> {
+
+    /** The default initial capacity of a stripe for constructors not explicitly supplying it */
+    public static final int DEFAULT_INITIAL_STRIPE_CAPACITY = 64;
+
+    private static final double LOAD_FACTOR = 0.6;
+    private static final double HUNDRED_PERCENT = 100d;
+    private static final int SHRINK_DIVISOR = 4;
+
+    private final Stripe<V>[] stripes;
+    private final int stripeMask;
+    private final int initialStripeCapacity;
+
+    public ConcurrentLong2ObjectHashMap(int concurrencyLevel) {
+        this(concurrencyLevel, DEFAULT_INITIAL_STRIPE_CAPACITY);
+    }
+
+    /**
+     * @param concurrencyLevel      the number of stripes, rounded up to the next power of two
+     * @param initialStripeCapacity the initial capacity of each stripe, rounded up to the next power of two
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentLong2ObjectHashMap(int concurrencyLevel, int initialStripeCapacity) {
+        checkPositive("concurrencyLevel", concurrencyLevel);
+        checkPositive("initialStripeCapacity", initialStripeCapacity);
+        int stripeCount = QuickMath.nextPowerOfTwo(concurrencyLevel);
+        this.stripes = new Stripe[stripeCount];
+        this.stripeMask = stripeCount - 1;
+        this.initialStripeCapacity = QuickMath.nextPowerOfTwo(Math.max(initialStripeCapacity, 2));
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe<>(this.initialStripeCapacity);
+        }
+    }
+
+    /**
+     * Gets the value mapped to the given key.
+     *
+     * @param key the key
+     * @return the value or {@code null} if the key is not mapped
+     */
+    public V get(long key) {
+        long hash = fastLongMix(key);
+        return stripeOf(hash).get(key, (int) hash);
+    }
+
+    /**
+     * Maps the given value to the given key.
+     *
+     * @param key   the key
+     * @param value the value, not {@code null}
+     * @return the previous value or {@code null} if the key was not mapped
+     */
+    public V put(long key, V value) {
+        checkNotNull(value, "Value cannot be null");
+        long hash = fastLongMix(key);
+        return stripeOf(hash).put(key, (int) hash, value);
+    }
+
+    /**
+     * Removes the mapping of the given key.
+     *
+     * @param key the key
+     * @return the removed value or {@code null} if the key was not mapped
+     */
+    public V remove(long key) {
+        long hash = fastLongMix(key);
+        return stripeOf(hash).remove(key, (int) hash, initialStripeCapacity);
+    }
+
+    /**
+     * Returns the number of mappings. The result is not a snapshot if the
+     * map is modified concurrently.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe<V> stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (Stripe<V> stripe : stripes) {
+            if (stripe.size > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all mappings and shrinks the stripes to their initial capacity.
+     */
+    public void clear() {
+        for (Stripe<V> stripe : stripes) {
+            stripe.clear(initialStripeCapacity);
+        }
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the values of this map. The
+     * iterator doesn't support removal.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        List<V> values = new ArrayList<>(size());
+        for (Stripe<V> stripe : stripes) {
+            stripe.copyValuesTo(values);
+        }
+        return Collections.unmodifiableList(values).iterator();
+    }
+
+    /**
+     * Returns the total number of slots of the stripes.
+     */
+    public int capacity() {
+        int capacity = 0;
+        for (Stripe<V> stripe : stripes) {
+            capacity += stripe.table.capacity();
+        }
+        return capacity;
+    }
+
+    /**
+     * Returns the percentage of the slots which hold a mapping.
+     */
+    public double occupancyPercentage() {
+        return HUNDRED_PERCENT * size() / capacity();
+    }
+
+    /**
+     * Returns the longest probe sequence needed to look up a mapped key, 1
+     * meaning the key is in its home slot. Scans the whole map, so it is
+     * meant for diagnostics only.
+     */
+    public int maxProbeLength() {
+        int max = 0;
+        for (Stripe<V> stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                max = Math.max(max, stripe.table.maxProbeLength());
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the average probe sequence length needed to look up a mapped
+     * key, {@code 0} if the map is empty. Scans the whole map, so it is
+     * meant for diagnostics only.
+     */
+    public double averageProbeLength() {
+        long totalProbeLength = 0;
+        long mappings = 0;
+        for (Stripe<V> stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                totalProbeLength += stripe.table.totalProbeLength();
+                mappings += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return mappings == 0 ? 0 : (double) totalProbeLength / mappings;
+    }
+
+    private Stripe<V> stripeOf(long hash) {
+        return stripes[(int) (hash >>> Integer.SIZE) & stripeMask];
+    }
+
+    /**
+     * An open addressing hash table. The arrays and the mask are kept
+     * together, so that an optimistic reader always sees a consistent
+     * capacity even when the table is replaced concurrently.
+     */
+    private static final class Table {
+
+        final long[] keys;
+        final Object[] values;
+        final int mask;
+        final int resizeThreshold;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+            this.resizeThreshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        int capacity() {
+            return values.length;
+        }
+
+        int maxProbeLength() {
+            int max = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    max = Math.max(max, probeLength(i));
+                }
+            }
+            return max;
+        }
+
+        long totalProbeLength() {
+            long total = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    total += probeLength(i);
+                }
+            }
+            return total;
+        }
+
+        private int probeLength(int index) {
+            int home = (int) fastLongMix(keys[index]) & mask;
+            return ((index - home) & mask) + 1;
+        }
+    }
+
+    private static final class Stripe<V> {
+
+        final StampedLock lock = new StampedLock();
+        // replaced under the write lock
+        volatile Table table;
+        // written under the write lock, read without it for sizing
+        volatile int size;
+
+        Stripe(int capacity) {
+            this.table = new Table(capacity);
+        }
+
+        V get(long key, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                V value = find(table, key, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return find(table, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private V find(Table table, long key, int hash) {
+            long[] keys = table.keys;
+            Object[] values = table.values;
+            int mask = table.mask;
+            int index = hash & mask;
+            // bounded, since an optimistic reader may observe a table in the middle of a mutation
+            for (int i = 0; i <= mask; i++) {
+                Object value = values[index];
+                if (value == null) {
+                    return null;
+                }
+                if (keys[index] == key) {
+                    return (V) value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        V put(long key, int hash, V value) {
+            long stamp = lock.writeLock();
+            try {
+                Table table = this.table;
+                long[] keys = table.keys;
+                Object[] values = table.values;
+                int index = hash & table.mask;
+                Object oldValue;
+                while ((oldValue = values[index]) != null) {
+                    if (keys[index] == key) {
+                        values[index] = value;
+                        return (V) oldValue;
+                    }
+                    index = (index + 1) & table.mask;
+                }
+                keys[index] = key;
+                values[index] = value;
+                if (++size > table.resizeThreshold) {
+                    rehash(table.capacity() << 1);
+                }
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V remove(long key, int hash, int minCapacity) {
+            long stamp = lock.writeLock();
+            try {
+                Table table = this.table;
+                long[] keys = table.keys;
+                Object[] values = table.values;
+                int index = hash & table.mask;
+                Object value;
+                while ((value = values[index]) != null) {
+                    if (keys[index] == key) {
+                        values[index] = null;
+                        compactChain(table, index);
+                        int capacity = table.capacity();
+                        if (--size < table.resizeThreshold / SHRINK_DIVISOR && capacity > minCapacity) {
+                            rehash(capacity >> 1);
+                        }
+                        return (V) value;
+                    }
+                    index = (index + 1) & table.mask;
+                }
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void clear(int initialCapacity) {
+            long stamp = lock.writeLock();
+            try {
+                table = new Table(initialCapacity);
+                size = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void copyValuesTo(List<V> target) {
+            long stamp = lock.readLock();
+            try {
+                for (Object value : table.values) {
+                    if (value != null) {
+                        target.add((V) value);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private void rehash(int newCapacity) {
+            if (newCapacity <= 0) {
+                throw new IllegalStateException("Max capacity reached at size=" + size);
+            }
+            Table oldTable = table;
+            Table newTable = new Table(newCapacity);
+            for (int i = 0; i < oldTable.values.length; i++) {
+                Object value = oldTable.values[i];
+                if (value != null) {
+                    long key = oldTable.keys[i];
+                    int index = (int) fastLongMix(key) & newTable.mask;
+                    while (newTable.values[index] != null) {
+                        index = (index + 1) & newTable.mask;
+                    }
+                    newTable.keys[index] = key;
+                    newTable.values[index] = value;
+                }
+            }
+            table = newTable;
+        }
+
+        private static void compactChain(Table table, int deleteIndex) {
+            long[] keys = table.keys;
+            Object[] values = table.values;
+            int mask = table.mask;
+            int index = deleteIndex;
+            while (true) {
+                index = (index + 1) & mask;
+                if (values[index] == null) {
+                    return;
+                }
+                int hash = (int) fastLongMix(keys[index]) & mask;
+                if ((index < hash && (hash <= deleteIndex || deleteIndex <= index))
+                        || (hash <= deleteIndex && deleteIndex <= index)) {
+                    keys[deleteIndex] = keys[index];
+                    values[deleteIndex] = values[index];
+                    values[index] = null;
+                    deleteIndex = index;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.benchmarks.BenchmarkSupport.InMemorySchemaService;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.getters.Extractors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the extraction of several fields of a Compact value, as done for
+ * every row by the SQL scans of an IMap. The fields are either extracted from
+ * the serialized value, which reads it again for each field, or from a
+ * generic record read from it once per row, as the {@code GenericQueryTarget}
+ * of the SQL engine does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenericRecordExtractionBenchmark {
+
+    private static final String[] FIELDS = {"id", "age", "salary", "score", "active", "name", "city", "country"};
+
+    @Param({"1", "4", "8"})
+    public int fieldCount;
+
+    private InternalSerializationService serializationService;
+    private Extractors extractors;
+    private Data data;
+
+    @Setup
+    public void setup() {
+        SerializationConfig config = new SerializationConfig();
+        config.getCompactSerializationConfig().addClass(Employee.class);
+        serializationService = new DefaultSerializationServiceBuilder()
+                .setConfig(config)
+                .setSchemaService(new InMemorySchemaService())
+                .build();
+        extractors = Extractors.newBuilder(serializationService).build();
+
+        Employee employee = new Employee();
+        employee.id = 42;
+        employee.age = 37;
+        employee.salary = 4200;
+        employee.score = 0.75;
+        employee.active = true;
+        employee.name = "Joe Doe";
+        employee.city = "Istanbul";
+        employee.country = "Turkey";
+        data = serializationService.toData(employee);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public void extractFromData(Blackhole blackhole) {
+        for (int i = 0; i < fieldCount; i++) {
+            blackhole.consume(extractors.extract(data, FIELDS[i], null));
+        }
+    }
+
+    @Benchmark
+    public void extractFromRecord(Blackhole blackhole) throws IOException {
+        Object record = serializationService.readAsInternalGenericRecord(data);
+        for (int i = 0; i < fieldCount; i++) {
+            blackhole.consume(extractors.extract(record, FIELDS[i], null));
+        }
+    }
+
+    public static class Employee {
+        long id;
+        int age;
+        long salary;
+        double score;
+        boolean active;
+        String name;
+        String city;
+        String country;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.internal.util.RuntimeAvailableProcessors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the {@code ConcurrentHashMap<Long, ...>} used by the invocation
+ * registries of the member and the client with the primitive long-keyed
+ * {@code ConcurrentLong2ObjectHashMap}. Every operation registers
+ * an invocation under a new call ID, then looks up and deregisters the
+ * invocation registered {@code inFlight} operations earlier by the same
+ * thread, so each thread keeps {@code inFlight} invocations pending like a
+ * pipelining caller does. The number of threads is set by {@link Threads}
+ * and can be overridden with the {@code -t} option.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class InvocationRegistryMapBenchmark {
+
+    // the settings of the InvocationRegistry
+    private static final int INITIAL_CAPACITY = 1000;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int CORE_SIZE_FACTOR = 4;
+
+    private static final Object INVOCATION = new Object();
+
+    @Param({"100", "1000"})
+    public int inFlight;
+
+    private final AtomicLong callIdSequence = new AtomicLong();
+    private ConcurrentMap<Long, Object> concurrentHashMap;
+    private ConcurrentLong2ObjectHashMap<Object> long2ObjectMap;
+
+    @Setup
+    public void setup() {
+        int concurrencyLevel = RuntimeAvailableProcessors.get() * CORE_SIZE_FACTOR;
+        concurrentHashMap = new ConcurrentHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, concurrencyLevel);
+        long2ObjectMap = new ConcurrentLong2ObjectHashMap<>(concurrencyLevel);
+    }
+
+    @Benchmark
+    public Object concurrentHashMap(Caller caller) {
+        long callId = callIdSequence.incrementAndGet();
+        concurrentHashMap.put(callId, INVOCATION);
+        long completedCallId = caller.nextCompleted(callId);
+        Object invocation = concurrentHashMap.get(completedCallId);
+        concurrentHashMap.remove(completedCallId);
+        return invocation;
+    }
+
+    @Benchmark
+    public Object long2ObjectMap(Caller caller) {
+        long callId = callIdSequence.incrementAndGet();
+        long2ObjectMap.put(callId, INVOCATION);
+        long completedCallId = caller.nextCompleted(callId);
+        Object invocation = long2ObjectMap.get(completedCallId);
+        long2ObjectMap.remove(completedCallId);
+        return invocation;
+    }
+
+    /**
+     * The call IDs pending for a single thread.
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+
+        private long[] pending;
+        private int index;
+
+        @Setup
+        public void setup(InvocationRegistryMapBenchmark benchmark) {
+            pending = new long[benchmark.inFlight];
+            for (int i = 0; i < pending.length; i++) {
+                long callId = benchmark.callIdSequence.incrementAndGet();
+                benchmark.concurrentHashMap.put(callId, INVOCATION);
+                benchmark.long2ObjectMap.put(callId, INVOCATION);
+                pending[i] = callId;
+            }
+        }
+
+        /**
+         * Records the given call ID as pending and returns the oldest pending one.
+         */
+        long nextCompleted(long callId) {
+            long completed = pending[index];
+            pending[index] = callId;
+            index = index + 1 == pending.length ? 0 : index + 1;
+            return completed;
+        }
+    }
+}
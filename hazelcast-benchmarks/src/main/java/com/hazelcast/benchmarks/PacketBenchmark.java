@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.nio.PacketIOHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding and decoding of packets as done by the
+ * {@code PacketEncoder} and {@code PacketDecoder}, which both delegate to the
+ * {@link PacketIOHelper}. The pipeline itself is left out, since it needs a
+ * connected channel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketBenchmark {
+
+    private static final int BUFFER_SIZE = 128 * 1024;
+
+    @Param({"100", "10000"})
+    public int payloadSize;
+
+    private final PacketIOHelper encoder = new PacketIOHelper();
+    private final PacketIOHelper decoder = new PacketIOHelper();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private Packet packet;
+
+    @Setup
+    public void setup() {
+        packet = new Packet(new byte[payloadSize], 1).setPacketType(Packet.Type.OPERATION);
+    }
+
+    @Benchmark
+    public Packet encodeDecode() {
+        buffer.clear();
+        if (!encoder.writeTo(packet, buffer)) {
+            throw new IllegalStateException("Packet doesn't fit the buffer");
+        }
+        buffer.flip();
+        return decoder.readFrom(buffer);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.query.PartitionScanRunner;
+import com.hazelcast.map.impl.query.QueryResult;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.Comparison;
+import com.hazelcast.query.impl.InternalIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.benchmarks.BenchmarkSupport.getMapServiceContext;
+import static com.hazelcast.benchmarks.BenchmarkSupport.getNodeEngine;
+import static com.hazelcast.benchmarks.BenchmarkSupport.newStandaloneInstance;
+
+/**
+ * Measures a full scan of a single partition by the {@code PartitionScanRunner}
+ * and point and range lookups in the hash and sorted {@code IndexImpl}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+    private static final String MAP_NAME = "map";
+    private static final String HASH_INDEX = "hash";
+    private static final String SORTED_INDEX = "sorted";
+
+    @Param({"100000"})
+    public int entryCount;
+
+    private HazelcastInstance instance;
+    private SerializationService serializationService;
+    private PartitionScanRunner scanRunner;
+    private Predicate<Integer, Integer> scanPredicate;
+    private InternalIndex hashIndex;
+    private InternalIndex sortedIndex;
+    private int lookupValue;
+
+    @Setup
+    public void setup() {
+        instance = newStandaloneInstance();
+        serializationService = getNodeEngine(instance).getSerializationService();
+
+        IMap<Integer, Integer> map = instance.getMap(MAP_NAME);
+        map.addIndex(new IndexConfig(IndexType.HASH, "this").setName(HASH_INDEX));
+        map.addIndex(new IndexConfig(IndexType.SORTED, "this").setName(SORTED_INDEX));
+        for (int i = 0; i < entryCount; i++) {
+            map.put(i, i);
+        }
+
+        MapServiceContext mapServiceContext = getMapServiceContext(instance);
+        MapContainer mapContainer = mapServiceContext.getMapContainer(MAP_NAME);
+        hashIndex = mapContainer.getGlobalIndexRegistry().getIndex(HASH_INDEX);
+        sortedIndex = mapContainer.getGlobalIndexRegistry().getIndex(SORTED_INDEX);
+        scanRunner = new PartitionScanRunner(mapServiceContext);
+        scanPredicate = Predicates.greaterThan("this", entryCount / 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        instance.shutdown();
+    }
+
+    @Benchmark
+    public QueryResult partitionScan() {
+        QueryResult result = new QueryResult(IterationType.ENTRY, null, serializationService, Long.MAX_VALUE, false);
+        scanRunner.run(MAP_NAME, scanPredicate, 0, result);
+        return result;
+    }
+
+    @Benchmark
+    public Set hashIndexPointLookup() {
+        return hashIndex.getRecords(nextLookupValue());
+    }
+
+    @Benchmark
+    public Set sortedIndexPointLookup() {
+        return sortedIndex.getRecords(nextLookupValue());
+    }
+
+    @Benchmark
+    public Set sortedIndexRangeLookup() {
+        int from = nextLookupValue();
+        return sortedIndex.getRecords(from, true, from + 100, false);
+    }
+
+    @Benchmark
+    public Set sortedIndexComparisonLookup() {
+        return sortedIndex.getRecords(Comparison.GREATER, entryCount - 100);
+    }
+
+    private int nextLookupValue() {
+        lookupValue = lookupValue + 1 == entryCount ? 0 : lookupValue + 1;
+        return lookupValue;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.benchmarks.BenchmarkSupport.getMapServiceContext;
+import static com.hazelcast.benchmarks.BenchmarkSupport.getNodeEngine;
+import static com.hazelcast.benchmarks.BenchmarkSupport.newStandaloneInstance;
+
+/**
+ * Measures {@code DefaultRecordStore} put and get, without the operation
+ * and invocation overhead of the {@code IMap} proxy.
+ * <p>
+ * The record store is only accessed by the benchmark thread, so it is used
+ * the same way as from a partition thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordStoreBenchmark {
+
+    private static final String MAP_NAME = "map";
+    private static final int PARTITION_ID = 0;
+
+    @Param({"10000"})
+    public int keyCount;
+
+    private HazelcastInstance instance;
+    private RecordStore recordStore;
+    private Data[] keys;
+    private Data value;
+    private int index;
+
+    @Setup
+    public void setup() {
+        instance = newStandaloneInstance();
+        NodeEngineImpl nodeEngine = getNodeEngine(instance);
+        recordStore = getMapServiceContext(instance).getRecordStore(PARTITION_ID, MAP_NAME);
+
+        keys = new Data[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = nodeEngine.toData("key" + i);
+            recordStore.put(keys[i], nodeEngine.toData("value" + i), -1, -1);
+        }
+        value = nodeEngine.toData("value");
+    }
+
+    @TearDown
+    public void tearDown() {
+        instance.shutdown();
+    }
+
+    @Benchmark
+    public Object put() {
+        return recordStore.put(nextKey(), value, -1, -1);
+    }
+
+    @Benchmark
+    public Object get() {
+        return recordStore.get(nextKey(), false, null);
+    }
+
+    private Data nextKey() {
+        Data key = keys[index];
+        index = index + 1 == keys.length ? 0 : index + 1;
+        return key;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.benchmarks.BenchmarkSupport.InMemorySchemaService;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a serialization round trip of the same object in the Compact,
+ * IdentifiedDataSerializable and Portable formats through the
+ * {@code SerializationServiceV1}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int FACTORY_ID = 1;
+    private static final int CLASS_ID = 1;
+
+    private InternalSerializationService serializationService;
+    private CompactPerson compactPerson;
+    private IdentifiedPerson identifiedPerson;
+    private PortablePerson portablePerson;
+
+    @Setup
+    public void setup() {
+        SerializationConfig config = new SerializationConfig();
+        config.getCompactSerializationConfig().addClass(CompactPerson.class);
+        serializationService = new DefaultSerializationServiceBuilder()
+                .setConfig(config)
+                .setSchemaService(new InMemorySchemaService())
+                .addDataSerializableFactory(FACTORY_ID, classId -> new IdentifiedPerson())
+                .addPortableFactory(FACTORY_ID, classId -> new PortablePerson())
+                .build();
+
+        compactPerson = new CompactPerson();
+        compactPerson.id = 42;
+        compactPerson.age = 37;
+        compactPerson.name = "Joe Doe";
+        identifiedPerson = new IdentifiedPerson(42, 37, "Joe Doe");
+        portablePerson = new PortablePerson(42, 37, "Joe Doe");
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Object compact() {
+        Data data = serializationService.toData(compactPerson);
+        return serializationService.toObject(data);
+    }
+
+    @Benchmark
+    public Object identifiedDataSerializable() {
+        Data data = serializationService.toData(identifiedPerson);
+        return serializationService.toObject(data);
+    }
+
+    @Benchmark
+    public Object portable() {
+        Data data = serializationService.toData(portablePerson);
+        return serializationService.toObject(data);
+    }
+
+    public static class CompactPerson {
+        long id;
+        int age;
+        String name;
+    }
+
+    public static class IdentifiedPerson implements IdentifiedDataSerializable {
+        private long id;
+        private int age;
+        private String name;
+
+        public IdentifiedPerson() {
+        }
+
+        IdentifiedPerson(long id, int age, String name) {
+            this.id = id;
+            this.age = age;
+            this.name = name;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeLong(id);
+            out.writeInt(age);
+            out.writeString(name);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            id = in.readLong();
+            age = in.readInt();
+            name = in.readString();
+        }
+    }
+
+    public static class PortablePerson implements Portable {
+        private long id;
+        private int age;
+        private String name;
+
+        public PortablePerson() {
+        }
+
+        PortablePerson(long id, int age, String name) {
+            this.id = id;
+            this.age = age;
+            this.name = name;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeLong("id", id);
+            writer.writeInt("age", age);
+            writer.writeString("name", name);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            id = reader.readLong("id");
+            age = reader.readInt("age");
+            name = reader.readString("name");
+        }
+    }
+}
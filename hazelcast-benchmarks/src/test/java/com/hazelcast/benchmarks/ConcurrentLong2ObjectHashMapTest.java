@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.benchmarks;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentLong2ObjectHashMapTest {
+
+    private final ConcurrentLong2ObjectHashMap<String> map = new ConcurrentLong2ObjectHashMap<>(4, 8);
+
+    @Test
+    public void testPutAndGet() {
+        assertNull(map.put(7, "seven"));
+
+        assertEquals("seven", map.get(7));
+        assertNull(map.get(8));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testPut_replacesExistingValue() {
+        map.put(7, "seven");
+
+        assertEquals("seven", map.put(7, "SEVEN"));
+        assertEquals("SEVEN", map.get(7));
+        assertEquals(1, map.size());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPut_whenNullValue() {
+        map.put(7, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenConcurrencyLevelNotPositive() {
+        new ConcurrentLong2ObjectHashMap<String>(0);
+    }
+
+    @Test
+    public void testRemove() {
+        map.put(7, "seven");
+
+        assertEquals("seven", map.remove(7));
+        assertNull(map.remove(7));
+        assertNull(map.get(7));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testGrowAndShrink() {
+        int initialCapacity = map.capacity();
+        int count = 10_000;
+        for (long i = 0; i < count; i++) {
+            map.put(i, Long.toString(i));
+        }
+
+        assertEquals(count, map.size());
+        assertTrue(map.capacity() > initialCapacity);
+        for (long i = 0; i < count; i++) {
+            assertEquals(Long.toString(i), map.get(i));
+        }
+
+        for (long i = 0; i < count; i++) {
+            assertEquals(Long.toString(i), map.remove(i));
+        }
+
+        assertTrue(map.isEmpty());
+        assertTrue(map.capacity() < 4 * initialCapacity);
+    }
+
+    @Test
+    public void testRemove_keepsCollidingKeysReachable() {
+        // a single small stripe forces long probe sequences
+        ConcurrentLong2ObjectHashMap<String> map = new ConcurrentLong2ObjectHashMap<>(1, 2);
+        for (long i = 0; i < 100; i++) {
+            map.put(i, Long.toString(i));
+        }
+        for (long i = 0; i < 100; i += 2) {
+            map.remove(i);
+        }
+
+        for (long i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0 ? null : Long.toString(i), map.get(i));
+        }
+        assertEquals(50, map.size());
+    }
+
+    @Test
+    public void testClear() {
+        int initialCapacity = map.capacity();
+        for (long i = 0; i < 1000; i++) {
+            map.put(i, Long.toString(i));
+        }
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+        assertEquals(initialCapacity, map.capacity());
+    }
+
+    @Test
+    public void testIterator() {
+        Set<String> expected = new HashSet<>();
+        for (long i = 0; i < 100; i++) {
+            map.put(i, Long.toString(i));
+            expected.add(Long.toString(i));
+        }
+
+        Set<String> actual = new HashSet<>();
+        for (String value : map) {
+            actual.add(value);
+        }
+
+        assertEquals(expected, actual);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIterator_removeNotSupported() {
+        map.put(1, "one");
+        Iterator<String> iterator = map.iterator();
+        iterator.next();
+
+        iterator.remove();
+    }
+
+    @Test
+    public void testProbes_whenEmpty() {
+        assertEquals(0, map.occupancyPercentage(), 0);
+        assertEquals(0, map.maxProbeLength());
+        assertEquals(0, map.averageProbeLength(), 0);
+    }
+
+    @Test
+    public void testProbes() {
+        for (long i = 0; i < 100; i++) {
+            map.put(i, Long.toString(i));
+        }
+
+        assertEquals(100d * 100 / map.capacity(), map.occupancyPercentage(), 0.001);
+        assertTrue(map.occupancyPercentage() <= 60);
+        assertTrue(map.maxProbeLength() >= 1);
+        assertTrue(map.averageProbeLength() >= 1);
+        assertTrue(map.averageProbeLength() <= map.maxProbeLength());
+    }
+
+    @Test
+    public void testConcurrentPutGetRemove() throws Exception {
+        int threadCount = 4;
+        int keysPerThread = 20_000;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int t = 0; t < threadCount; t++) {
+            long base = (long) t * keysPerThread;
+            new Thread(() -> {
+                try {
+                    for (long key = base; key < base + keysPerThread; key++) {
+                        String value = Long.toString(key);
+                        map.put(key, value);
+                        assertEquals(value, map.get(key));
+                        if (key % 2 == 0) {
+                            assertEquals(value, map.remove(key));
+                            assertNull(map.get(key));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+
+        assertNull(failure.get());
+        assertEquals(threadCount * keysPerThread / 2, map.size());
+        for (long key = 1; key < (long) threadCount * keysPerThread; key += 2) {
+            assertEquals(Long.toString(key), map.get(key));
+        }
+    }
+}
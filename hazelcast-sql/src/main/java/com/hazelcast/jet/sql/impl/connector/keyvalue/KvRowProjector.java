@@ -52,6 +52,12 @@ public class KvRowProjector implements Row {
     private final QueryTarget keyTarget;
     private final QueryTarget valueTarget;
     private final QueryExtractor[] extractors;
+    // the values extracted for the current row, an expression referencing a
+    // column several times or both the predicate and the projection
+    // referencing it doesn't extract it again
+    private final Object[] values;
+    private final long[] valueRows;
+    private long row;
 
     private final Expression<Boolean> predicate;
     private final List<Expression<?>> projections;
@@ -71,6 +77,8 @@ public class KvRowProjector implements Row {
         this.keyTarget = keyTarget;
         this.valueTarget = valueTarget;
         this.extractors = createExtractors(paths, types, keyTarget, valueTarget);
+        this.values = new Object[paths.length];
+        this.valueRows = new long[paths.length];
 
         this.predicate = predicate != null ? predicate
                 : (Expression<Boolean>) ConstantExpression.create(true, QueryDataType.BOOLEAN);
@@ -107,6 +115,7 @@ public class KvRowProjector implements Row {
     private JetSqlRow project(Object key, Data keyData, Object value, Data valueData) {
         keyTarget.setTarget(key, keyData);
         valueTarget.setTarget(value, valueData);
+        row++;
 
         return ExpressionUtil.projection(predicate, projections, this, evalContext);
     }
@@ -114,7 +123,11 @@ public class KvRowProjector implements Row {
     @Override
     @SuppressWarnings("unchecked")
     public <T> T get(int index) {
-        return (T) extractors[index].get();
+        if (valueRows[index] != row) {
+            values[index] = extractors[index].get();
+            valueRows[index] = row;
+        }
+        return (T) values[index];
     }
 
     @Override
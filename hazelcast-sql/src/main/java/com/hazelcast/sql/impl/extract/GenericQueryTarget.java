@@ -19,12 +19,15 @@ package com.hazelcast.sql.impl.extract;
 import com.hazelcast.config.CompactSerializationConfig;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.sql.impl.LazyTarget;
 import com.hazelcast.sql.impl.type.QueryDataType;
 import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
 
+import java.io.IOException;
+
 public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
 
     private final InternalSerializationService serializationService;
@@ -73,8 +76,10 @@ public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
     /**
      * Get target that should be used for field access.
      *
-     * @return serialized form for {@link Portable}/Compact (see {@link CompactSerializationConfig}),
-     * deserialized form otherwise
+     * @return a generic record reading the serialized form for {@link Portable}/Compact
+     * (see {@link CompactSerializationConfig}), deserialized form otherwise. The record
+     * is created once per target, so extracting several fields doesn't parse the
+     * serialized form again for each field.
      */
     @SuppressWarnings("checkstyle:NestedIfDepth")
     private Object prepareTargetForFieldAccess() {
@@ -95,7 +100,7 @@ public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
                     }
                 }
 
-                return serialized;
+                return readAsGenericRecord(serialized);
             } else {
                 // Return deserialized object.
                 return deserialized;
@@ -104,8 +109,8 @@ public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
             assert serialized != null;
 
             if (serialized.isPortable() || serialized.isCompact()) {
-                // Return Portable/Compact as Data.
-                return serialized;
+                // Return Portable/Compact as a record reading the Data.
+                return readAsGenericRecord(serialized);
             } else {
                 // Deserialize otherwise.
                 if (deserialized == null) {
@@ -121,6 +126,14 @@ public class GenericQueryTarget implements QueryTarget, GenericTargetAccessor {
         }
     }
 
+    private Object readAsGenericRecord(Data data) {
+        try {
+            return serializationService.readAsInternalGenericRecord(data);
+        } catch (IOException e) {
+            throw new HazelcastSerializationException(e);
+        }
+    }
+
     @Override
     public Object getTargetForDirectAccess(QueryDataType type) {
         if (type.getTypeFamily() != QueryDataTypeFamily.OBJECT) {
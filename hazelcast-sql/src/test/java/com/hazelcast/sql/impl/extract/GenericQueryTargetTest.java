@@ -19,10 +19,13 @@ package com.hazelcast.sql.impl.extract;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestUtil;
 import com.hazelcast.jet.sql.impl.JetSqlSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.sql.impl.CoreSqlTestSupport;
 import com.hazelcast.sql.impl.LazyTarget;
@@ -100,6 +103,28 @@ public class GenericQueryTargetTest extends CoreSqlTestSupport {
         assertNull(badFieldNameExtractor.get());
     }
 
+    @Test
+    public void testTarget_compact() {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder()
+                .setSchemaService(CompactTestUtil.createInMemorySchemaService())
+                .build();
+        GenericQueryTarget target = new GenericQueryTarget(ss, Extractors.newBuilder(ss).build(), false);
+        GenericRecord record = GenericRecordBuilder.compact("type")
+                .setInt32("field", 1)
+                .setString("field2", "2")
+                .build();
+        QueryExtractor fieldExtractor = target.createExtractor("field", QueryDataType.INT);
+        QueryExtractor field2Extractor = target.createExtractor("field2", QueryDataType.VARCHAR);
+
+        target.setTarget(null, ss.toData(record));
+        assertEquals(1, (int) fieldExtractor.get());
+        assertEquals("2", field2Extractor.get());
+
+        target.setTarget(record, null);
+        assertEquals(1, (int) fieldExtractor.get());
+        assertEquals("2", field2Extractor.get());
+    }
+
     private static Data toData(TestObject object) {
         return new DefaultSerializationServiceBuilder().build().toData(object);
     }
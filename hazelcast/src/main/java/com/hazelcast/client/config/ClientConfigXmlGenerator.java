@@ -615,7 +615,8 @@ public final class ClientConfigXmlGenerator {
                 .node("preloader", null, "enabled", preloader.isEnabled(),
                         "directory", preloader.getDirectory(),
                         "store-initial-delay-seconds", preloader.getStoreInitialDelaySeconds(),
-                        "store-interval-seconds", preloader.getStoreIntervalSeconds());
+                        "store-interval-seconds", preloader.getStoreIntervalSeconds(),
+                        "store-values", preloader.isStoreValues());
         //close near-cache
         gen.close();
     }
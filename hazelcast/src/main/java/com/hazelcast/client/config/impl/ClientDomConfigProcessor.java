@@ -386,6 +386,7 @@ public class ClientDomConfigProcessor extends AbstractDomConfigProcessor {
         String directory = getAttribute(node, "directory");
         String storeInitialDelaySeconds = getAttribute(node, "store-initial-delay-seconds");
         String storeIntervalSeconds = getAttribute(node, "store-interval-seconds");
+        String storeValues = getAttribute(node, "store-values");
         if (enabled != null) {
             preloaderConfig.setEnabled(getBooleanValue(enabled));
         }
@@ -399,6 +400,9 @@ public class ClientDomConfigProcessor extends AbstractDomConfigProcessor {
         if (storeIntervalSeconds != null) {
             preloaderConfig.setStoreIntervalSeconds(getIntegerValue("storage-interval-seconds", storeIntervalSeconds));
         }
+        if (storeValues != null) {
+            preloaderConfig.setStoreValues(getBooleanValue(storeValues));
+        }
         return preloaderConfig;
     }
 
@@ -31,6 +31,7 @@ import com.hazelcast.client.properties.ClientProperty;
 import com.hazelcast.config.InstanceTrackingConfig;
 import com.hazelcast.config.InstanceTrackingConfig.InstanceMode;
 import com.hazelcast.config.InstanceTrackingConfig.InstanceProductName;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.SSLConfig;
 import com.hazelcast.config.SerializationConfig;
@@ -41,6 +42,7 @@ import com.hazelcast.instance.BuildInfo;
 import com.hazelcast.instance.BuildInfoProvider;
 import com.hazelcast.internal.memory.DefaultMemoryStats;
 import com.hazelcast.internal.memory.MemoryStats;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
 import com.hazelcast.internal.nearcache.NearCacheManager;
 import com.hazelcast.internal.nearcache.impl.DefaultNearCacheManager;
 import com.hazelcast.internal.networking.ChannelInitializer;
@@ -64,6 +66,7 @@ import com.hazelcast.spi.properties.HazelcastProperties;
 
 import java.util.Map;
 
+import static com.hazelcast.client.properties.ClientProperty.NETWORK_COMPRESSION_ENABLED;
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.LICENSED;
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.MODE;
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.PID;
@@ -71,6 +74,7 @@ import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProper
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.START_TIMESTAMP;
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.VERSION;
 import static com.hazelcast.internal.config.ConfigValidator.checkNearCacheConfig;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.InstanceTrackingUtil.writeInstanceTrackingFile;
 import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_CLIENT_BUFFER_DIRECT;
@@ -84,6 +88,7 @@ public class DefaultClientExtension implements ClientExtension {
     protected JetClientInstanceImpl jetClient;
 
     private final MemoryStats memoryStats = new DefaultMemoryStats();
+    private UnsafeMemoryManager nearCacheMemoryManager;
 
     @Override
     public void beforeStart(HazelcastClientInstanceImpl client) {
@@ -197,7 +202,8 @@ public class DefaultClientExtension implements ClientExtension {
 
         HazelcastProperties properties = client.getProperties();
         boolean directBuffer = properties.getBoolean(SOCKET_CLIENT_BUFFER_DIRECT);
-        return new ClientPlainChannelInitializer(socketOptions, directBuffer);
+        boolean compression = properties.getBoolean(NETWORK_COMPRESSION_ENABLED);
+        return new ClientPlainChannelInitializer(socketOptions, directBuffer, compression);
     }
 
     @Override
@@ -233,7 +239,20 @@ public class DefaultClientExtension implements ClientExtension {
         ClassLoader classLoader = client.getClientConfig().getClassLoader();
         HazelcastProperties properties = client.getProperties();
 
-        return new DefaultNearCacheManager(ss, taskScheduler, classLoader, properties);
+        return new DefaultNearCacheManager(ss, taskScheduler, classLoader, properties, getNearCacheMemoryManager());
+    }
+
+    /**
+     * Returns the memory manager shared by the Near Caches with
+     * {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory-format
+     * or {@code null} if native memory is not enabled or not available.
+     */
+    private synchronized UnsafeMemoryManager getNearCacheMemoryManager() {
+        NativeMemoryConfig nativeMemoryConfig = client.getClientConfig().getNativeMemoryConfig();
+        if (nearCacheMemoryManager == null && nativeMemoryConfig.isEnabled() && MEM_AVAILABLE) {
+            nearCacheMemoryManager = new UnsafeMemoryManager(nativeMemoryConfig.getCapacity().bytes());
+        }
+        return nearCacheMemoryManager;
     }
 
     @Override
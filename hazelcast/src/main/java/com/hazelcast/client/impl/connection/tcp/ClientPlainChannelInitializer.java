@@ -21,6 +21,8 @@ import com.hazelcast.client.impl.protocol.util.ClientMessageDecoder;
 import com.hazelcast.client.impl.protocol.util.ClientMessageEncoder;
 import com.hazelcast.internal.networking.Channel;
 import com.hazelcast.internal.networking.ChannelInitializer;
+import com.hazelcast.internal.networking.compression.CompressionHandshakeDecoder;
+import com.hazelcast.internal.networking.compression.CompressionHandshakeEncoder;
 
 import static com.hazelcast.client.config.SocketOptions.KILO_BYTE;
 import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF;
@@ -31,6 +33,7 @@ import static com.hazelcast.internal.networking.ChannelOption.SO_REUSEADDR;
 import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
 import static com.hazelcast.internal.networking.ChannelOption.SO_TIMEOUT;
 import static com.hazelcast.internal.networking.ChannelOption.TCP_NODELAY;
+import static java.util.zip.Deflater.BEST_SPEED;
 
 
 /**
@@ -42,11 +45,17 @@ import static com.hazelcast.internal.networking.ChannelOption.TCP_NODELAY;
  */
 public class ClientPlainChannelInitializer implements ChannelInitializer {
     private final boolean directBuffer;
+    private final boolean compression;
     private final SocketOptions socketOptions;
 
     public ClientPlainChannelInitializer(SocketOptions socketOptions, boolean directBuffer) {
+        this(socketOptions, directBuffer, false);
+    }
+
+    public ClientPlainChannelInitializer(SocketOptions socketOptions, boolean directBuffer, boolean compression) {
         this.socketOptions = socketOptions;
         this.directBuffer = directBuffer;
+        this.compression = compression;
     }
 
     @Override
@@ -64,9 +73,15 @@ public class ClientPlainChannelInitializer implements ChannelInitializer {
         final TcpClientConnection connection = (TcpClientConnection) channel.attributeMap().get(TcpClientConnection.class);
 
         ClientMessageDecoder decoder = new ClientMessageDecoder(connection, connection::handleClientMessage, null);
+        if (compression) {
+            channel.inboundPipeline().addLast(new CompressionHandshakeDecoder(true));
+        }
         channel.inboundPipeline().addLast(decoder);
 
         channel.outboundPipeline().addLast(new ClientMessageEncoder());
+        if (compression) {
+            channel.outboundPipeline().addLast(new CompressionHandshakeEncoder(true, BEST_SPEED));
+        }
         // before a client sends any data, it first needs to send the protocol.
         // so the protocol encoder is actually the last handler in the outbound pipeline.
         channel.outboundPipeline().addLast(new ClientProtocolEncoder());
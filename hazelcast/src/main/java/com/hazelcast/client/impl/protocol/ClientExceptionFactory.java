@@ -62,6 +62,7 @@ import com.hazelcast.scheduledexecutor.DuplicateTaskException;
 import com.hazelcast.scheduledexecutor.StaleTaskException;
 import com.hazelcast.spi.exception.CallerNotMemberException;
 import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
+import com.hazelcast.spi.exception.MemberOverloadedException;
 import com.hazelcast.spi.exception.PartitionMigratingException;
 import com.hazelcast.spi.exception.ResponseAlreadySentException;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
@@ -151,6 +152,7 @@ import static com.hazelcast.client.impl.protocol.ClientProtocolErrorCodes.LOCK_O
 import static com.hazelcast.client.impl.protocol.ClientProtocolErrorCodes.LOGIN;
 import static com.hazelcast.client.impl.protocol.ClientProtocolErrorCodes.MAX_MESSAGE_SIZE_EXCEEDED;
 import static com.hazelcast.client.impl.protocol.ClientProtocolErrorCodes.MEMBER_LEFT;
+import static com.hazelcast.client.impl.protocol.ClientProtocolErrorCodes.MEMBER_OVERLOADED_EXCEPTION;
 import static com.hazelcast.client.impl.protocol.ClientProtocolErrorCodes.MUTATION_DISALLOWED_EXCEPTION;
 import static com.hazelcast.client.impl.protocol.ClientProtocolErrorCodes.NATIVE_OUT_OF_MEMORY_ERROR;
 import static com.hazelcast.client.impl.protocol.ClientProtocolErrorCodes.NEGATIVE_ARRAY_SIZE;
@@ -323,6 +325,7 @@ public class ClientExceptionFactory {
         register(NO_SUCH_FIELD_ERROR, NoSuchFieldError.class, ((message, cause) -> new NoSuchFieldError(message)));
         register(NO_SUCH_FIELD_EXCEPTION, NoSuchFieldException.class, ((message, cause) -> new NoSuchFieldException(message)));
         register(NO_CLASS_DEF_FOUND_ERROR, NoClassDefFoundError.class, ((message, cause) -> new NoClassDefFoundError(message)));
+        register(MEMBER_OVERLOADED_EXCEPTION, MemberOverloadedException.class, (message, cause) -> new MemberOverloadedException(message));
     }
 
     public Throwable createException(ClientMessage clientMessage) {
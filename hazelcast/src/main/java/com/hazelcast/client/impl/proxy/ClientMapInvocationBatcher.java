@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.proxy;
+
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapGetAllCodec;
+import com.hazelcast.client.impl.spi.impl.ClientInvocation;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.spi.impl.executionservice.TaskScheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.hazelcast.internal.util.ConcurrencyUtil.getDefaultAsyncExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Coalesces the {@code getAsync} calls of a map proxy which target the same
+ * partition into {@code MapGetAll} requests.
+ * <p>
+ * The first get enqueued for a partition opens a batch which is sent once
+ * the batching window elapses or the batch reaches its maximum size,
+ * whichever comes first. The response is dispatched to the futures of the
+ * individual gets.
+ * <p>
+ * Writes are not batched. The only multi-key write, {@code MapPutAll},
+ * ignores the locks held on its keys, while a single-key write waits for
+ * the lock of its key to be released. The proxy sends the open batch of a
+ * partition with
+ * {@link #sendOpenBatch(int)} before it invokes any other operation on the
+ * partition, so the operations of a thread on a partition are sent in the
+ * order they were issued. The map iterators fetch their pages without doing
+ * so, since they don't reflect concurrent updates reliably anyway.
+ * <p>
+ * The gets of a batch share the fate of the multi-key request: if it
+ * fails, for example because the {@code MapLoader} fails to load one of
+ * the keys, all the futures of the batch are completed with the failure.
+ * The gets are not retried one by one, since the retries could overtake
+ * the operations issued after them.
+ */
+final class ClientMapInvocationBatcher {
+
+    private final String name;
+    private final HazelcastClientInstanceImpl client;
+    private final SerializationService serializationService;
+    private final TaskScheduler scheduler;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private volatile PartitionQueue[] queues;
+
+    ClientMapInvocationBatcher(String name, HazelcastClientInstanceImpl client, TaskScheduler scheduler,
+                               long windowNanos, int maxBatchSize) {
+        this.name = name;
+        this.client = client;
+        this.serializationService = client.getSerializationService();
+        this.scheduler = scheduler;
+        this.windowNanos = windowNanos;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Enqueues a get of the given key.
+     *
+     * @return the future completed with the deserialized value or {@code null}
+     */
+    <V> InternalCompletableFuture<V> get(Data key, int partitionId) {
+        InternalCompletableFuture<V> future = new InternalCompletableFuture<>();
+        PartitionQueue queue = queue(partitionId);
+        Batch opened = null;
+        // the batches are sent while holding the lock, so the batches of
+        // a partition are sent in the order they were opened
+        synchronized (queue) {
+            Batch batch = queue.batch;
+            if (batch == null) {
+                batch = new Batch(maxBatchSize);
+                opened = batch;
+            }
+            batch.add(key, future);
+            if (batch.size() >= maxBatchSize) {
+                send(partitionId, batch);
+                opened = null;
+                queue.batch = null;
+            } else {
+                queue.batch = batch;
+            }
+        }
+
+        if (opened != null) {
+            scheduleFlush(partitionId, opened);
+        }
+        return future;
+    }
+
+    /**
+     * Sends the batch opened for the given partition, if any, without
+     * waiting for the batching window to elapse.
+     */
+    void sendOpenBatch(int partitionId) {
+        PartitionQueue[] queues = this.queues;
+        if (queues == null) {
+            // no operation has been batched yet
+            return;
+        }
+        PartitionQueue queue = queues[partitionId];
+        synchronized (queue) {
+            Batch batch = queue.batch;
+            if (batch != null) {
+                queue.batch = null;
+                send(partitionId, batch);
+            }
+        }
+    }
+
+    private void scheduleFlush(int partitionId, Batch batch) {
+        try {
+            scheduler.schedule(() -> flush(partitionId, batch), windowNanos, NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // the client is shutting down, the invocation fails right away
+            flush(partitionId, batch);
+        }
+    }
+
+    private void flush(int partitionId, Batch batch) {
+        PartitionQueue queue = queue(partitionId);
+        synchronized (queue) {
+            if (queue.batch != batch) {
+                // already sent because it was full or followed by another operation
+                return;
+            }
+            queue.batch = null;
+            send(partitionId, batch);
+        }
+    }
+
+    private void send(int partitionId, Batch batch) {
+        try {
+            ClientMessage request = MapGetAllCodec.encodeRequest(name, batch.keys);
+            new ClientInvocation(client, request, name, partitionId)
+                    .invoke()
+                    .whenCompleteAsync((response, t) -> {
+                        if (t != null) {
+                            batch.completeExceptionally(t);
+                        } else {
+                            batch.complete(MapGetAllCodec.decodeResponse(response), serializationService);
+                        }
+                    }, getDefaultAsyncExecutor());
+        } catch (Throwable t) {
+            batch.completeExceptionally(t);
+        }
+    }
+
+    private PartitionQueue queue(int partitionId) {
+        PartitionQueue[] queues = this.queues;
+        if (queues == null) {
+            queues = initQueues();
+        }
+        return queues[partitionId];
+    }
+
+    private synchronized PartitionQueue[] initQueues() {
+        PartitionQueue[] queues = this.queues;
+        if (queues == null) {
+            // the partition count is known since the partition of a key has been computed
+            queues = new PartitionQueue[client.getClientPartitionService().getPartitionCount()];
+            for (int i = 0; i < queues.length; i++) {
+                queues[i] = new PartitionQueue();
+            }
+            this.queues = queues;
+        }
+        return queues;
+    }
+
+    private static final class PartitionQueue {
+        // guarded by this
+        private Batch batch;
+    }
+
+    private static final class Batch {
+
+        private static final int MAX_INITIAL_CAPACITY = 16;
+
+        private final List<Data> keys;
+        private final List<InternalCompletableFuture<?>> futures;
+
+        Batch(int maxBatchSize) {
+            int initialCapacity = Math.min(maxBatchSize, MAX_INITIAL_CAPACITY);
+            this.keys = new ArrayList<>(initialCapacity);
+            this.futures = new ArrayList<>(initialCapacity);
+        }
+
+        void add(Data key, InternalCompletableFuture<?> future) {
+            keys.add(key);
+            futures.add(future);
+        }
+
+        int size() {
+            return keys.size();
+        }
+
+        @SuppressWarnings("unchecked")
+        void complete(List<Map.Entry<Data, Data>> response, SerializationService serializationService) {
+            Map<Data, Data> values = new HashMap<>(response.size() * 2);
+            for (Map.Entry<Data, Data> entry : response) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                InternalCompletableFuture<Object> future = (InternalCompletableFuture<Object>) futures.get(i);
+                try {
+                    future.complete(serializationService.toObject(values.get(keys.get(i))));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            }
+        }
+
+        void completeExceptionally(Throwable t) {
+            for (InternalCompletableFuture<?> future : futures) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+}
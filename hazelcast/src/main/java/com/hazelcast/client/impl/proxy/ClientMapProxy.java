@@ -149,6 +149,7 @@ import com.hazelcast.ringbuffer.impl.ReadResultSetImpl;
 import com.hazelcast.spi.impl.InternalCompletableFuture;
 import com.hazelcast.spi.impl.UnmodifiableLazyList;
 import com.hazelcast.spi.impl.UnmodifiableLazySet;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -170,6 +171,8 @@ import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static com.hazelcast.client.properties.ClientProperty.MAP_INVOCATION_BATCHING_MAX_SIZE;
+import static com.hazelcast.client.properties.ClientProperty.MAP_INVOCATION_BATCHING_WINDOW_MICROS;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.checkDoesNotContainPagingPredicate;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.containsPagingPredicate;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.unwrapPagingPredicate;
@@ -216,6 +219,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
     private ClientLockReferenceIdGenerator lockReferenceIdGenerator;
     private ClientQueryCacheContext queryCacheContext;
     private boolean useDefaultReplaceAllOperation;
+    private ClientMapInvocationBatcher invocationBatcher;
 
     public ClientMapProxy(String serviceName, String name, ClientContext context) {
         super(serviceName, name, context);
@@ -227,6 +231,15 @@ public class ClientMapProxy<K, V> extends ClientProxy
 
         lockReferenceIdGenerator = getClient().getLockReferenceIdGenerator();
         queryCacheContext = getContext().getQueryCacheContext();
+
+        HazelcastProperties properties = getClient().getProperties();
+        long batchingWindowNanos = properties.getNanos(MAP_INVOCATION_BATCHING_WINDOW_MICROS);
+        if (batchingWindowNanos > 0) {
+            int maxBatchSize = checkPositive(MAP_INVOCATION_BATCHING_MAX_SIZE.getName(),
+                    properties.getInteger(MAP_INVOCATION_BATCHING_MAX_SIZE));
+            invocationBatcher = new ClientMapInvocationBatcher(name, getClient(), getContext().getTaskScheduler(),
+                    batchingWindowNanos, maxBatchSize);
+        }
     }
 
     @Override
@@ -353,6 +366,10 @@ public class ClientMapProxy<K, V> extends ClientProxy
     public InternalCompletableFuture<V> getAsync(@Nonnull K key) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
 
+        if (invocationBatcher != null) {
+            Data keyData = toData(key);
+            return invocationBatcher.get(keyData, getContext().getPartitionService().getPartitionId(keyData));
+        }
         return new ClientDelegatingFuture<>(getAsyncInternal(key),
                 getSerializationService(), MapGetCodec::decodeResponse);
     }
@@ -369,10 +386,32 @@ public class ClientMapProxy<K, V> extends ClientProxy
 
     private ClientInvocationFuture invokeOnKeyOwner(ClientMessage request, Data keyData) {
         int partitionId = getContext().getPartitionService().getPartitionId(keyData);
-        ClientInvocation clientInvocation = new ClientInvocation(getClient(), request, getName(), partitionId);
+        ClientInvocation clientInvocation = newPartitionInvocation(request, partitionId);
         return clientInvocation.invoke();
     }
 
+    /**
+     * Creates an invocation of the given request on the given partition. The
+     * operations batched for the partition are sent first, so the request
+     * doesn't overtake them.
+     */
+    private ClientInvocation newPartitionInvocation(ClientMessage request, int partitionId) {
+        sendOpenInvocationBatch(partitionId);
+        return new ClientInvocation(getClient(), request, getName(), partitionId);
+    }
+
+    private void sendOpenInvocationBatch(int partitionId) {
+        if (invocationBatcher != null) {
+            invocationBatcher.sendOpenBatch(partitionId);
+        }
+    }
+
+    @Override
+    protected <T> T invokeOnPartition(ClientMessage clientMessage, int partitionId) {
+        sendOpenInvocationBatch(partitionId);
+        return super.invokeOnPartition(clientMessage, partitionId);
+    }
+
     @Override
     public InternalCompletableFuture<V> putAsync(@Nonnull K key, @Nonnull V value) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
@@ -738,7 +777,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
     private <T> T invoke(ClientMessage clientMessage, Object key, long invocationTimeoutSeconds) {
         final int partitionId = getContext().getPartitionService().getPartitionId(key);
         try {
-            ClientInvocation clientInvocation = new ClientInvocation(getClient(), clientMessage, getName(), partitionId);
+            ClientInvocation clientInvocation = newPartitionInvocation(clientMessage, partitionId);
             clientInvocation.setInvocationTimeoutMillis(invocationTimeoutSeconds);
             final Future future = clientInvocation.invoke();
             return (T) future.get();
@@ -1175,7 +1214,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
             List<Data> keyList = entry.getValue();
             if (!keyList.isEmpty()) {
                 ClientMessage request = MapGetAllCodec.encodeRequest(name, keyList);
-                futures.add(new ClientInvocation(getClient(), request, getName(), partitionId).invoke());
+                futures.add(newPartitionInvocation(request, partitionId).invoke());
             }
         }
 
@@ -1588,6 +1627,11 @@ public class ClientMapProxy<K, V> extends ClientProxy
     protected <R> InternalCompletableFuture<Map<K, R>> submitToKeysInternal(@Nonnull Set<K> objectKeys,
                                                                             @Nonnull Collection<Data> dataKeys,
                                                                             @Nonnull EntryProcessor<K, V, R> entryProcessor) {
+        if (invocationBatcher != null) {
+            for (Data keyData : dataKeys) {
+                invocationBatcher.sendOpenBatch(getContext().getPartitionService().getPartitionId(keyData));
+            }
+        }
         ClientMessage request = MapExecuteOnKeysCodec.encodeRequest(name, toData(entryProcessor), dataKeys);
         ClientInvocationFuture future = new ClientInvocation(getClient(), request, getName()).invoke();
         boolean shouldInvalidate = !(entryProcessor instanceof ReadOnly);
@@ -1684,7 +1728,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
             // if there is only one entry, consider how we can use MapPutRequest
             // without having to get back the return value
             ClientMessage request = MapPutAllCodec.encodeRequest(name, entry.getValue(), triggerMapLoader);
-            new ClientInvocation(getClient(), request, getName(), partitionId)
+            newPartitionInvocation(request, partitionId)
                     .invoke()
                     .whenCompleteAsync(callback, ConcurrencyUtil.getDefaultAsyncExecutor());
         }
@@ -1743,7 +1787,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
         for (Entry<Integer, ? extends List<SimpleEntryView<Data, Data>>> entry : entriesByPartition.entrySet()) {
             Integer partitionId = entry.getKey();
             ClientMessage request = MapPutAllWithMetadataCodec.encodeRequest(name, entry.getValue());
-            ClientInvocationFuture future = new ClientInvocation(getClient(), request, getName(), partitionId)
+            ClientInvocationFuture future = newPartitionInvocation(request, partitionId)
                     .invoke();
 
             future.whenCompleteAsync((clientMessage, throwable) -> {
@@ -1953,7 +1997,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
     @Override
     public InternalCompletableFuture<EventJournalInitialSubscriberState> subscribeToEventJournal(int partitionId) {
         final ClientMessage request = MapEventJournalSubscribeCodec.encodeRequest(name);
-        final ClientInvocationFuture fut = new ClientInvocation(getClient(), request, getName(), partitionId).invoke();
+        final ClientInvocationFuture fut = newPartitionInvocation(request, partitionId).invoke();
         return new ClientDelegatingFuture<>(fut, getSerializationService(), message -> {
             ResponseParameters resp = MapEventJournalSubscribeCodec.decodeResponse(message);
             return new EventJournalInitialSubscriberState(resp.oldestSequence, resp.newestSequence);
@@ -1979,7 +2023,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
         projection = (Function<? super EventJournalMapEvent<K, V>, ? extends T>) context.initialize(projection);
         final ClientMessage request = MapEventJournalReadCodec.encodeRequest(
                 name, startSequence, minSize, maxSize, ss.toData(predicate), ss.toData(projection));
-        final ClientInvocationFuture fut = new ClientInvocation(getClient(), request, getName(), partitionId).invoke();
+        final ClientInvocationFuture fut = newPartitionInvocation(request, partitionId).invoke();
         return new ClientDelegatingFuture<>(fut, ss, message -> {
             MapEventJournalReadCodec.ResponseParameters params = MapEventJournalReadCodec.decodeResponse(message);
             ReadResultSetImpl resultSet = new ReadResultSetImpl<>(
@@ -2312,7 +2356,7 @@ public class ClientMapProxy<K, V> extends ClientProxy
                 Data functionAsData = toData(function);
                 for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
                     ClientMessage request = MapReplaceAllCodec.encodeRequest(name, functionAsData);
-                    futures.add(new ClientInvocation(getClient(), request, getName(), partitionId).invoke());
+                    futures.add(newPartitionInvocation(request, partitionId).invoke());
                 }
                 for (Future<ClientMessage> future : futures) {
                     try {
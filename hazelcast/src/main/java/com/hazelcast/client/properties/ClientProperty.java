@@ -21,6 +21,7 @@ import com.hazelcast.config.MetricsJmxConfig;
 import com.hazelcast.core.IndeterminateOperationStateException;
 import com.hazelcast.spi.properties.HazelcastProperty;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -158,6 +159,18 @@ public final class ClientProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.client.io.write.through", true);
 
+    /**
+     * Enables the compression of the traffic between the client and the
+     * members. The compression is used only with the members which have it
+     * enabled as well, using the {@code hazelcast.network.compression.enabled}
+     * property, the connections to the other members stay uncompressed. The
+     * members need to run 5.4 or later.
+     * <p>
+     * It is disabled by default.
+     */
+    public static final HazelcastProperty NETWORK_COMPRESSION_ENABLED
+            = new HazelcastProperty("hazelcast.client.network.compression.enabled", false);
+
     /**
      * Property needed for concurrency detection so that write through and dynamic response handling
      * can be done correctly. This property sets the window the concurrency detection will signalling
@@ -202,6 +215,40 @@ public final class ClientProperty {
     public static final HazelcastProperty RESPONSE_THREAD_DYNAMIC
             = new HazelcastProperty("hazelcast.client.response.thread.dynamic", true);
 
+    /**
+     * The time window in microseconds during which the {@code getAsync}
+     * calls of a client on an {@code IMap} without a Near Cache targeting the
+     * same partition are coalesced into a single {@code getAll} request. The
+     * response is dispatched to the futures of the individual calls. Any
+     * other operation on keys of a partition first sends the gets batched
+     * for that partition, so the operations of a thread on a key are
+     * executed in the order they were issued.
+     * <p>
+     * {@code setAsync} and the other writes are not batched: a multi-key
+     * {@code putAll} would overwrite keys locked by other callers, while a
+     * single-key write waits until the lock of its key is released.
+     * <p>
+     * If a batched request fails, all the gets in it fail with the same
+     * exception. For example, a {@code getAsync} fails if the
+     * {@code MapLoader} fails to load another key batched with it.
+     * <p>
+     * Batching trades up to the configured window of latency for fewer and
+     * larger messages, which increases the throughput when many concurrent
+     * operations target the same members.
+     * <p>
+     * It is disabled by default (0).
+     */
+    public static final HazelcastProperty MAP_INVOCATION_BATCHING_WINDOW_MICROS
+            = new HazelcastProperty("hazelcast.client.map.invocation.batching.window.micros", 0, MICROSECONDS);
+
+    /**
+     * The maximum number of operations coalesced into a single request when
+     * {@link #MAP_INVOCATION_BATCHING_WINDOW_MICROS} is enabled. A batch
+     * reaching this size is sent without waiting for the window to elapse.
+     */
+    public static final HazelcastProperty MAP_INVOCATION_BATCHING_MAX_SIZE
+            = new HazelcastProperty("hazelcast.client.map.invocation.batching.max.size", 100);
+
     /**
      * Token to use when discovering cluster via hazelcast.cloud
      */
@@ -1078,6 +1078,7 @@ public class ConfigXmlGenerator {
                     .node("queue-size", edgeConfig.getQueueSize())
                     .node("packet-size-limit", edgeConfig.getPacketSizeLimit())
                     .node("receive-window-multiplier", edgeConfig.getReceiveWindowMultiplier())
+                    .node("compression-enabled", edgeConfig.isCompressionEnabled())
                 .close()
             .close();
     }
@@ -20,11 +20,13 @@ import com.hazelcast.internal.config.ConfigDataSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.impl.Versioned;
 
 import java.io.IOException;
 import java.io.Serializable;
 
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.cluster.Versions.V5_4;
 import static com.hazelcast.internal.util.Preconditions.checkPositive;
 
 /**
@@ -36,7 +38,7 @@ import static com.hazelcast.internal.util.Preconditions.checkPositive;
  * @since 3.8
  */
 @SuppressWarnings("WeakerAccess")
-public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Serializable {
+public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Versioned, Serializable {
 
     /**
      * Default initial delay for the Near Cache key storage.
@@ -52,6 +54,7 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
     private String directory = "";
     private int storeInitialDelaySeconds = DEFAULT_STORE_INITIAL_DELAY_SECONDS;
     private int storeIntervalSeconds = DEFAULT_STORE_INTERVAL_SECONDS;
+    private boolean storeValues;
 
     public NearCachePreloaderConfig() {
     }
@@ -60,6 +63,7 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         this(nearCachePreloaderConfig.enabled, nearCachePreloaderConfig.directory);
         this.storeInitialDelaySeconds = nearCachePreloaderConfig.storeInitialDelaySeconds;
         this.storeIntervalSeconds = nearCachePreloaderConfig.storeIntervalSeconds;
+        this.storeValues = nearCachePreloaderConfig.storeValues;
     }
 
     public NearCachePreloaderConfig(String directory) {
@@ -108,6 +112,38 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         return this;
     }
 
+    /**
+     * Returns whether the values are stored along with the keys.
+     *
+     * @return {@code true} if the values are stored, {@code false} if only
+     * the keys are stored
+     * @since 5.4
+     */
+    public boolean isStoreValues() {
+        return storeValues;
+    }
+
+    /**
+     * Sets whether the values and their invalidation metadata are stored
+     * along with the keys.
+     * <p>
+     * When the values are stored, the pre-loader restores the values of
+     * the partitions which have not been modified since the values were
+     * stored without fetching them from the cluster. Only the keys of the
+     * other partitions are fetched. The values are only restored if the
+     * Near Cache is configured to {@link NearCacheConfig#isInvalidateOnChange()
+     * invalidate on change}, otherwise their freshness can't be verified.
+     *
+     * @param storeValues {@code true} to store the values, {@code false}
+     *                    to store only the keys
+     * @return this config instance
+     * @since 5.4
+     */
+    public NearCachePreloaderConfig setStoreValues(boolean storeValues) {
+        this.storeValues = storeValues;
+        return this;
+    }
+
     @Override
     public int getFactoryId() {
         return ConfigDataSerializerHook.F_ID;
@@ -124,6 +160,10 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         out.writeString(directory);
         out.writeInt(storeInitialDelaySeconds);
         out.writeInt(storeIntervalSeconds);
+        // RU_COMPAT_5_3
+        if (out.getVersion().isGreaterOrEqual(V5_4)) {
+            out.writeBoolean(storeValues);
+        }
     }
 
     @Override
@@ -132,6 +172,10 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         directory = in.readString();
         storeInitialDelaySeconds = in.readInt();
         storeIntervalSeconds = in.readInt();
+        // RU_COMPAT_5_3
+        if (in.getVersion().isGreaterOrEqual(V5_4)) {
+            storeValues = in.readBoolean();
+        }
     }
 
     @Override
@@ -141,6 +185,7 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
                 + ", directory=" + directory
                 + ", storeInitialDelaySeconds=" + storeInitialDelaySeconds
                 + ", storeIntervalSeconds=" + storeIntervalSeconds
+                + ", storeValues=" + storeValues
                 + '}';
     }
 
@@ -164,6 +209,9 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         if (storeIntervalSeconds != that.storeIntervalSeconds) {
             return false;
         }
+        if (storeValues != that.storeValues) {
+            return false;
+        }
         return directory != null ? directory.equals(that.directory) : that.directory == null;
     }
 
@@ -173,6 +221,7 @@ public class NearCachePreloaderConfig implements IdentifiedDataSerializable, Ser
         result = 31 * result + (directory != null ? directory.hashCode() : 0);
         result = 31 * result + storeInitialDelaySeconds;
         result = 31 * result + storeIntervalSeconds;
+        result = 31 * result + (storeValues ? 1 : 0);
         return result;
     }
 }
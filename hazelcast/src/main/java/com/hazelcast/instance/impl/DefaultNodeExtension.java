@@ -44,6 +44,7 @@ import com.hazelcast.hotrestart.HotRestartService;
 import com.hazelcast.instance.BuildInfo;
 import com.hazelcast.instance.BuildInfoProvider;
 import com.hazelcast.instance.EndpointQualifier;
+import com.hazelcast.instance.ProtocolType;
 import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.internal.ascii.TextCommandServiceImpl;
 import com.hazelcast.internal.cluster.ClusterStateListener;
@@ -54,6 +55,7 @@ import com.hazelcast.internal.diagnostics.BuildInfoPlugin;
 import com.hazelcast.internal.diagnostics.ConfigPropertiesPlugin;
 import com.hazelcast.internal.diagnostics.Diagnostics;
 import com.hazelcast.internal.diagnostics.EventQueuePlugin;
+import com.hazelcast.internal.diagnostics.HotKeysPlugin;
 import com.hazelcast.internal.diagnostics.InvocationProfilerPlugin;
 import com.hazelcast.internal.diagnostics.InvocationSamplePlugin;
 import com.hazelcast.internal.diagnostics.MemberHazelcastInstanceInfoPlugin;
@@ -84,6 +86,8 @@ import com.hazelcast.internal.namespace.impl.NodeEngineThreadLocalContext;
 import com.hazelcast.internal.networking.ChannelInitializer;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
+import com.hazelcast.internal.networking.compression.CompressionHandshakeDecoder;
+import com.hazelcast.internal.networking.compression.CompressionHandshakeEncoder;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationServiceBuilder;
@@ -115,6 +119,7 @@ import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.eventservice.impl.EventServiceImpl;
 import com.hazelcast.spi.impl.servicemanager.ServiceManager;
 import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.version.MemberVersion;
 import com.hazelcast.version.Version;
 import com.hazelcast.wan.impl.WanReplicationService;
@@ -141,6 +146,8 @@ import static com.hazelcast.internal.util.InstanceTrackingUtil.writeInstanceTrac
 import static com.hazelcast.jet.impl.util.Util.JET_IS_DISABLED_MESSAGE;
 import static com.hazelcast.jet.impl.util.Util.checkJetIsEnabled;
 import static com.hazelcast.map.impl.MapServiceConstructor.getDefaultMapServiceConstructor;
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_LEVEL;
 
 @SuppressWarnings({"checkstyle:methodcount", "checkstyle:classfanoutcomplexity", "checkstyle:classdataabstractioncoupling"})
 public class DefaultNodeExtension implements NodeExtension {
@@ -474,12 +481,23 @@ public class DefaultNodeExtension implements NodeExtension {
                                                   ServerConnection connection, ServerContext serverContext) {
         NodeEngineImpl nodeEngine = node.nodeEngine;
         PacketDecoder decoder = new PacketDecoder(connection, nodeEngine.getPacketDispatcher());
+        if (qualifier.getType() == ProtocolType.MEMBER) {
+            // the handshake always takes part, so the connection falls back to
+            // no compression if only one of the members has it enabled
+            boolean enabled = node.getProperties().getBoolean(NETWORK_COMPRESSION_ENABLED);
+            return new InboundHandler[]{new CompressionHandshakeDecoder(enabled), decoder};
+        }
         return new InboundHandler[]{decoder};
     }
 
     @Override
     public OutboundHandler[] createOutboundHandlers(EndpointQualifier qualifier,
                                                     ServerConnection connection, ServerContext serverContext) {
+        if (qualifier.getType() == ProtocolType.MEMBER) {
+            HazelcastProperties properties = node.getProperties();
+            return new OutboundHandler[]{new PacketEncoder(), new CompressionHandshakeEncoder(
+                    properties.getBoolean(NETWORK_COMPRESSION_ENABLED), properties.getInteger(NETWORK_COMPRESSION_LEVEL))};
+        }
         return new OutboundHandler[]{new PacketEncoder()};
     }
 
@@ -651,6 +669,7 @@ public class DefaultNodeExtension implements NodeExtension {
         diagnostics.register(new MemberHazelcastInstanceInfoPlugin(nodeEngine));
         diagnostics.register(new SystemLogPlugin(nodeEngine));
         diagnostics.register(new StoreLatencyPlugin(nodeEngine));
+        diagnostics.register(new HotKeysPlugin(nodeEngine));
         diagnostics.register(new MemberHeartbeatPlugin(nodeEngine));
         diagnostics.register(new NetworkingImbalancePlugin(nodeEngine));
         diagnostics.register(new OperationHeartbeatPlugin(nodeEngine));
@@ -69,6 +69,7 @@ import static com.hazelcast.instance.ProtocolType.MEMBER;
 import static com.hazelcast.instance.ProtocolType.WAN;
 import static com.hazelcast.internal.config.MergePolicyValidator.checkMapMergePolicy;
 import static com.hazelcast.internal.config.MergePolicyValidator.checkMergeTypeProviderHasRequiredTypes;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
 import com.hazelcast.internal.util.MutableInteger;
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
 import static com.hazelcast.internal.util.StringUtil.isNullOrEmpty;
@@ -127,13 +128,14 @@ public final class ConfigValidator {
     public static void checkMapConfig(Config config, MapConfig mapConfig,
                                       SplitBrainMergePolicyProvider mergePolicyProvider) {
 
-        checkNotNativeWhenOpenSource(mapConfig.getInMemoryFormat());
         checkNotBitmapIndexWhenNativeMemory(mapConfig.getInMemoryFormat(), mapConfig.getIndexConfigs());
         checkTSEnabledOnEnterpriseJar(mapConfig.getTieredStoreConfig());
 
         if (getBuildInfo().isEnterprise()) {
             checkMapNativeConfig(mapConfig, config.getNativeMemoryConfig());
             checkTieredStoreMapConfig(config, mapConfig);
+        } else {
+            checkOpenSourceMapNativeConfig(mapConfig, config.getNativeMemoryConfig());
         }
 
         checkMapEvictionConfig(mapConfig.getEvictionConfig());
@@ -268,6 +270,43 @@ public final class ConfigValidator {
         checkMapNativeMaxSizePolicy(mapConfig);
     }
 
+    /**
+     * Checks preconditions to use {@link InMemoryFormat#NATIVE} for a map
+     * in the open source version, where the map entries are stored in native
+     * memory allocated directly from the operating system.
+     *
+     * @param mapConfig          the mapConfig
+     * @param nativeMemoryConfig the nativeMemoryConfig
+     */
+    private static void checkOpenSourceMapNativeConfig(MapConfig mapConfig, NativeMemoryConfig nativeMemoryConfig) {
+        if (NATIVE != mapConfig.getInMemoryFormat()) {
+            return;
+        }
+        if (nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled()) {
+            throw new InvalidConfigurationException(format("Enable native memory config to use NATIVE"
+                    + " in-memory-format for the map [%s]", mapConfig.getName()));
+        }
+        if (!MEM_AVAILABLE) {
+            throw new InvalidConfigurationException(format("NATIVE in-memory-format cannot be used for the map [%s],"
+                    + " native memory access is not supported on this platform", mapConfig.getName()));
+        }
+    }
+
+    private static void checkOpenSourceClientNearCacheNativeConfig(String mapName, NearCacheConfig nearCacheConfig,
+                                                                   NativeMemoryConfig nativeMemoryConfig) {
+        if (NATIVE != nearCacheConfig.getInMemoryFormat()) {
+            return;
+        }
+        if (nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled()) {
+            throw new InvalidConfigurationException(format("Enable native memory config to use NATIVE"
+                    + " in-memory-format for the Near Cache of the map [%s]", mapName));
+        }
+        if (!MEM_AVAILABLE) {
+            throw new InvalidConfigurationException(format("NATIVE in-memory-format cannot be used for the Near Cache"
+                    + " of the map [%s], native memory access is not supported on this platform", mapName));
+        }
+    }
+
     private static void checkMapNativeMaxSizePolicy(MapConfig mapConfig) {
         MaxSizePolicy maxSizePolicy = mapConfig.getEvictionConfig().getMaxSizePolicy();
         if (!MAP_SUPPORTED_NATIVE_MAX_SIZE_POLICIES.contains(maxSizePolicy)) {
@@ -364,7 +403,11 @@ public final class ConfigValidator {
      */
     public static void checkNearCacheConfig(String mapName, NearCacheConfig nearCacheConfig,
                                             NativeMemoryConfig nativeMemoryConfig, boolean isClient) {
-        checkNotNativeWhenOpenSource(nearCacheConfig.getInMemoryFormat());
+        if (isClient && !getBuildInfo().isEnterprise()) {
+            checkOpenSourceClientNearCacheNativeConfig(mapName, nearCacheConfig, nativeMemoryConfig);
+        } else {
+            checkNotNativeWhenOpenSource(nearCacheConfig.getInMemoryFormat());
+        }
         checkLocalUpdatePolicy(mapName, nearCacheConfig.getLocalUpdatePolicy());
         EvictionConfig evictionConfig = nearCacheConfig.getEvictionConfig();
         checkNearCacheEvictionConfig(evictionConfig.getEvictionPolicy(),
@@ -48,6 +48,11 @@ public class NearCachePreloaderConfigReadOnly extends NearCachePreloaderConfig {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public NearCachePreloaderConfig setStoreValues(boolean storeValues) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public int getClassId() {
         throw new UnsupportedOperationException("NearCachePreloaderConfigReadOnly is not serializable");
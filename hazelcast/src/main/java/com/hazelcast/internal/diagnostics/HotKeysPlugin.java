@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.diagnostics;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.HotKeySampler;
+import com.hazelcast.map.impl.HotKeyTracker;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.spi.properties.HazelcastProperty;
+
+import java.util.Map;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_HOT_KEY_TRACKING_ENABLED;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * A {@link DiagnosticsPlugin} that renders the hot keys of the maps, the
+ * keys receiving a large share of the operations of their partition.
+ * <p>
+ * The keys are only tracked if
+ * {@link com.hazelcast.spi.properties.ClusterProperty#MAP_HOT_KEY_TRACKING_ENABLED}
+ * is set.
+ * <p>
+ * This is useful to figure out why a single partition thread is busy while
+ * the others are idle.
+ * <p>
+ * The keys are rendered as a hash of their serialized form, unless
+ * {@link #LOG_KEYS} is set, since the keys may contain sensitive data.
+ */
+public class HotKeysPlugin extends DiagnosticsPlugin {
+
+    /**
+     * The period in seconds this plugin runs.
+     * <p>
+     * If set to 0, the plugin is disabled.
+     */
+    public static final HazelcastProperty PERIOD_SECONDS
+            = new HazelcastProperty("hazelcast.diagnostics.hot.keys.period.seconds", 0, SECONDS);
+
+    /**
+     * If set, the hot keys are rendered as the string representation of
+     * the deserialized key instead of a hash of the serialized key.
+     */
+    public static final HazelcastProperty LOG_KEYS
+            = new HazelcastProperty("hazelcast.diagnostics.hot.keys.log.keys", false);
+
+    private final NodeEngineImpl nodeEngine;
+    private final long periodMillis;
+    private final boolean logKeys;
+
+    public HotKeysPlugin(NodeEngineImpl nodeEngine) {
+        super(nodeEngine.getLogger(HotKeysPlugin.class));
+        this.nodeEngine = nodeEngine;
+        HazelcastProperties properties = nodeEngine.getProperties();
+        this.periodMillis = properties.getBoolean(MAP_HOT_KEY_TRACKING_ENABLED)
+                ? properties.getMillis(PERIOD_SECONDS) : 0;
+        this.logKeys = properties.getBoolean(LOG_KEYS);
+    }
+
+    @Override
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    @Override
+    public void onStart() {
+        logger.info("Plugin:active, period-millis:" + periodMillis);
+    }
+
+    @Override
+    public void run(DiagnosticsLogWriter writer) {
+        writer.startSection("HotKeys");
+
+        MapService mapService = nodeEngine.getService(MapService.SERVICE_NAME);
+        for (MapContainer mapContainer : mapService.getMapServiceContext().getMapContainers().values()) {
+            HotKeyTracker hotKeyTracker = mapContainer.getHotKeyTracker();
+            if (hotKeyTracker != null) {
+                render(writer, mapContainer.getName(), hotKeyTracker);
+            }
+        }
+
+        writer.endSection();
+    }
+
+    private void render(DiagnosticsLogWriter writer, String mapName, HotKeyTracker hotKeyTracker) {
+        writer.startSection(mapName);
+        writer.writeKeyValueEntry("sampleCount", hotKeyTracker.getSampleCount());
+        writer.writeKeyValueEntry("localReadCount", hotKeyTracker.getLocalReadCount());
+
+        for (int partitionId = 0; partitionId < hotKeyTracker.getPartitionCount(); partitionId++) {
+            HotKeySampler sampler = hotKeyTracker.getPartitionSampler(partitionId);
+            for (Map.Entry<Data, Integer> entry : sampler.getHotKeys().entrySet()) {
+                String key = logKeys ? "key=" + toString(entry.getKey()) : "keyHash=" + toHash(entry.getKey());
+                writer.writeEntry("partitionId=" + partitionId + " " + key + " share=" + entry.getValue() + "%");
+            }
+        }
+
+        writer.endSection();
+    }
+
+    private static String toHash(Data key) {
+        return Long.toHexString(key.hash64());
+    }
+
+    private String toString(Data key) {
+        SerializationService serializationService = nodeEngine.getSerializationService();
+        try {
+            return String.valueOf((Object) serializationService.toObject(key));
+        } catch (Exception e) {
+            // the class of the key may not be available on the member
+            return key.toString();
+        }
+    }
+}
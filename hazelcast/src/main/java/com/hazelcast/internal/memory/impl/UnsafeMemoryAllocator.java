@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static java.lang.String.format;
+
+/**
+ * {@link MemoryAllocator} which obtains blocks directly from the native heap
+ * of the process through {@code sun.misc.Unsafe}.
+ * <p>
+ * The total amount of memory handed out is bounded by the capacity given at
+ * construction time. An allocation which would exceed the capacity fails with
+ * {@link NativeOutOfMemoryError}, which callers can react to (e.g. by running
+ * forced eviction) before retrying.
+ * <p>
+ * This allocator is thread-safe. It does not pool or cache freed blocks, the
+ * native allocator of the platform is responsible for fragmentation handling.
+ */
+public final class UnsafeMemoryAllocator implements MemoryAllocator {
+
+    private final long capacity;
+    private final AtomicLong used = new AtomicLong();
+
+    public UnsafeMemoryAllocator(long capacity) {
+        if (!UNSAFE_AVAILABLE) {
+            throw new UnsupportedOperationException("sun.misc.Unsafe is not available,"
+                    + " native memory cannot be allocated");
+        }
+        this.capacity = checkPositive("capacity", capacity);
+    }
+
+    @Override
+    public long allocate(long size) {
+        reserve(size);
+        long address;
+        try {
+            address = UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            used.addAndGet(-size);
+            throw new NativeOutOfMemoryError(format("Not enough contiguous memory available! Cannot allocate %,d bytes",
+                    size), e);
+        }
+        UNSAFE.setMemory(address, size, (byte) 0);
+        return address;
+    }
+
+    @Override
+    public long reallocate(long address, long currentSize, long newSize) {
+        long diff = newSize - currentSize;
+        if (diff > 0) {
+            reserve(diff);
+        }
+        long newAddress;
+        try {
+            newAddress = UNSAFE.reallocateMemory(address, newSize);
+        } catch (OutOfMemoryError e) {
+            if (diff > 0) {
+                used.addAndGet(-diff);
+            }
+            throw new NativeOutOfMemoryError(format("Not enough contiguous memory available! Cannot reallocate"
+                    + " %,d bytes to %,d bytes", currentSize, newSize), e);
+        }
+        if (diff > 0) {
+            UNSAFE.setMemory(newAddress + currentSize, diff, (byte) 0);
+        } else {
+            used.addAndGet(diff);
+        }
+        return newAddress;
+    }
+
+    @Override
+    public void free(long address, long size) {
+        UNSAFE.freeMemory(address);
+        used.addAndGet(-size);
+    }
+
+    /**
+     * @return number of bytes currently allocated through this allocator
+     */
+    public long getUsedMemory() {
+        return used.get();
+    }
+
+    /**
+     * @return the maximum number of bytes this allocator is allowed to allocate
+     */
+    public long getMaxMemory() {
+        return capacity;
+    }
+
+    /**
+     * @return number of bytes which can still be allocated before hitting the capacity
+     */
+    public long getFreeMemory() {
+        return Math.max(0, capacity - used.get());
+    }
+
+    @Override
+    public void dispose() {
+        // blocks are owned and freed by the data structures that allocated them
+    }
+
+    private void reserve(long size) {
+        assert size > 0 : "Invalid allocation size: " + size;
+        long current;
+        do {
+            current = used.get();
+            if (current + size > capacity) {
+                throw new NativeOutOfMemoryError(format("Not enough native memory! Cannot allocate %,d bytes,"
+                        + " used: %,d bytes, capacity: %,d bytes", size, current, capacity));
+            }
+        } while (!used.compareAndSet(current, current + size));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+
+/**
+ * {@link MemoryManager} backed by an {@link UnsafeMemoryAllocator} and the
+ * platform-aware global memory accessor. Exposes the usage statistics of
+ * the allocator.
+ */
+public final class UnsafeMemoryManager implements MemoryManager {
+
+    private final UnsafeMemoryAllocator allocator;
+
+    public UnsafeMemoryManager(long capacity) {
+        if (!MEM_AVAILABLE) {
+            throw new UnsupportedOperationException("No memory accessor is available for native memory access");
+        }
+        this.allocator = new UnsafeMemoryAllocator(capacity);
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return allocator;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return MEM;
+    }
+
+    /**
+     * @return number of bytes currently allocated through this manager
+     */
+    public long getUsedMemory() {
+        return allocator.getUsedMemory();
+    }
+
+    /**
+     * @return the maximum number of bytes which can be allocated through this manager
+     */
+    public long getMaxMemory() {
+        return allocator.getMaxMemory();
+    }
+
+    /**
+     * @return number of bytes which can still be allocated through this manager
+     */
+    public long getFreeMemory() {
+        return allocator.getFreeMemory();
+    }
+
+    @Override
+    public void dispose() {
+        allocator.dispose();
+    }
+}
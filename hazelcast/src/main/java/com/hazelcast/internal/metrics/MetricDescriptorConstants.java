@@ -255,6 +255,18 @@ public final class MetricDescriptorConstants {
     public static final String MAP_METRIC_MAP_STORE_WAITING_TO_BE_PROCESSED_COUNT
             = "waitingToBeProcessedCount";
     public static final String MAP_TAG_HYBRID_LOG_ID = "hybridLogId";
+    public static final String MAP_PREFIX_WRITE_BEHIND = "map.writeBehind";
+    public static final String MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT = "storedEntryCount";
+    public static final String MAP_METRIC_WRITE_BEHIND_FAILED_ENTRY_COUNT = "failedEntryCount";
+    public static final String MAP_METRIC_WRITE_BEHIND_BATCH_COUNT = "batchCount";
+    public static final String MAP_METRIC_WRITE_BEHIND_TOTAL_BATCH_LATENCY = "totalBatchLatency";
+    public static final String MAP_METRIC_WRITE_BEHIND_BATCH_SIZE = "batchSize";
+    public static final String MAP_METRIC_WRITE_BEHIND_PENDING_ENTRY_COUNT = "pendingEntryCount";
+    public static final String MAP_METRIC_WRITE_BEHIND_LAG = "lag";
+    public static final String MAP_PREFIX_HOT_KEYS = "map.hotKeys";
+    public static final String MAP_METRIC_HOT_KEYS_SAMPLE_COUNT = "sampleCount";
+    public static final String MAP_METRIC_HOT_KEYS_HOT_KEY_COUNT = "hotKeyCount";
+    public static final String MAP_METRIC_HOT_KEYS_LOCAL_READ_COUNT = "localReadCount";
     // ===[/MAP]========================================================
 
     // ===[MEMORY]======================================================
@@ -343,6 +355,11 @@ public final class MetricDescriptorConstants {
     public static final String NETWORKING_METRIC_NIO_THREAD_IO_THREAD_ID = "ioThreadId";
     public static final String NETWORKING_METRIC_NIO_THREAD_BYTES_TRANSCEIVED = "bytesTransceived";
     public static final String NETWORKING_METRIC_NIO_THREAD_FRAMES_TRANSCEIVED = "framesTransceived";
+    public static final String NETWORKING_METRIC_COMPRESSION_BYTES_READ = "bytesRead";
+    public static final String NETWORKING_METRIC_COMPRESSION_BYTES_READ_UNCOMPRESSED = "bytesReadUncompressed";
+    public static final String NETWORKING_METRIC_COMPRESSION_BYTES_WRITTEN = "bytesWritten";
+    public static final String NETWORKING_METRIC_COMPRESSION_BYTES_WRITTEN_UNCOMPRESSED = "bytesWrittenUncompressed";
+    public static final String NETWORKING_METRIC_COMPRESSION_BYTES_SAVED = "bytesSaved";
     public static final String NETWORKING_METRIC_NIO_THREAD_PRIORITY_FRAMES_TRANSCEIVED = "priorityFramesTransceived";
     public static final String NETWORKING_METRIC_NIO_THREAD_PROCESS_COUNT = "processCount";
     public static final String NETWORKING_METRIC_NIO_THREAD_TASK_QUEUE_SIZE = "taskQueueSize";
@@ -386,6 +403,8 @@ public final class MetricDescriptorConstants {
     public static final String OPERATION_METRIC_THREAD_COMPLETED_OPERATION_BATCH_COUNT = "completedOperationBatchCount";
     public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_NORMAL_PENDING_COUNT = "normalPendingCount";
     public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT = "priorityPendingCount";
+    public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_QUEUE_WAIT_COUNT = "queueWaitCount";
+    public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_QUEUE_WAIT_TIME = "queueWaitTime";
     public static final String OPERATION_METRIC_PARKER_PARK_QUEUE_COUNT = "parkQueueCount";
     public static final String OPERATION_METRIC_PARKER_TOTAL_PARKED_OPERATION_COUNT = "totalParkedOperationCount";
     public static final String OPERATION_METRIC_INBOUND_RESPONSE_HANDLER_RESPONSE_QUEUE_SIZE = "responseQueueSize";
@@ -408,6 +427,7 @@ public final class MetricDescriptorConstants {
     public static final String OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_LAST_CALL_ID = "lastCallId";
     public static final String OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_PENDING = "pending";
     public static final String OPERATION_METRIC_OPERATION_RUNNER_EXECUTED_OPERATIONS_COUNT = "executedOperationsCount";
+    public static final String OPERATION_METRIC_OPERATION_RUNNER_SHED_OPERATIONS_COUNT = "shedOperationsCount";
     public static final String OPERATION_METRIC_OPERATION_SERVICE_ASYNC_OPERATIONS = "asyncOperations";
     public static final String OPERATION_METRIC_OPERATION_SERVICE_TIMEOUT_COUNT = "operationTimeoutCount";
     public static final String OPERATION_METRIC_OPERATION_SERVICE_CALL_TIMEOUT_COUNT = "callTimeoutCount";
@@ -536,6 +556,7 @@ public final class MetricDescriptorConstants {
     public static final String TCP_PREFIX_CONNECTION = "tcp.connection";
     public static final String TCP_PREFIX_CONNECTION_IN = "tcp.connection.in";
     public static final String TCP_PREFIX_CONNECTION_OUT = "tcp.connection.out";
+    public static final String TCP_PREFIX_CONNECTION_COMPRESSION = "tcp.connection.compression";
     public static final String TCP_PREFIX_INPUTTHREAD = "tcp.inputThread";
     public static final String TCP_PREFIX_OUTPUTTHREAD = "tcp.outputThread";
     public static final String TCP_DISCRIMINATOR_BINDADDRESS = "bindAddress";
@@ -16,12 +16,15 @@
 
 package com.hazelcast.internal.nearcache.impl;
 
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.NearCacheConfigAccessor;
 import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.NearCacheManager;
+import com.hazelcast.internal.nearcache.impl.store.NativeNearCacheRecordStore;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.nearcache.NearCacheStats;
 import com.hazelcast.spi.impl.executionservice.TaskScheduler;
@@ -45,6 +48,7 @@ public class DefaultNearCacheManager implements NearCacheManager {
     protected final ClassLoader classLoader;
     protected final HazelcastProperties properties;
     protected final SerializationService serializationService;
+    protected final UnsafeMemoryManager memoryManager;
 
     private final Object mutex = new Object();
     private final Queue<ScheduledFuture> preloadTaskFutures = new ConcurrentLinkedQueue<>();
@@ -53,6 +57,17 @@ public class DefaultNearCacheManager implements NearCacheManager {
 
     public DefaultNearCacheManager(SerializationService ss, TaskScheduler es,
                                    ClassLoader classLoader, HazelcastProperties properties) {
+        this(ss, es, classLoader, properties, null);
+    }
+
+    /**
+     * @param memoryManager the memory manager of the Near Caches with
+     *                      {@link InMemoryFormat#NATIVE} in-memory-format,
+     *                      {@code null} if native memory is not available
+     */
+    public DefaultNearCacheManager(SerializationService ss, TaskScheduler es,
+                                   ClassLoader classLoader, HazelcastProperties properties,
+                                   UnsafeMemoryManager memoryManager) {
         assert ss != null;
         assert es != null;
 
@@ -60,6 +75,7 @@ public class DefaultNearCacheManager implements NearCacheManager {
         this.scheduler = es;
         this.classLoader = classLoader;
         this.properties = properties;
+        this.memoryManager = memoryManager;
     }
 
     @Override
@@ -91,6 +107,11 @@ public class DefaultNearCacheManager implements NearCacheManager {
 
     protected <K, V> NearCache<K, V> createNearCache(String name, NearCacheConfig nearCacheConfig) {
         NearCacheConfig copy = NearCacheConfigAccessor.copyWithInitializedDefaultMaxSizeForOnHeapMaps(nearCacheConfig);
+        if (copy.getInMemoryFormat() == InMemoryFormat.NATIVE && memoryManager != null) {
+            return new DefaultNearCache<>(name, copy,
+                    new NativeNearCacheRecordStore<>(name, copy, memoryManager, serializationService, classLoader),
+                    serializationService, scheduler, classLoader, properties);
+        }
         return new DefaultNearCache<>(name, copy, serializationService,
                 scheduler, classLoader, properties);
     }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.maxsize;
+
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
+import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
+
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
+
+/**
+ * Near Cache max-size policy implementation for the native memory based
+ * policies of {@link MaxSizePolicy}.
+ * <p>
+ * The used memory is the native memory owned by the Near Cache itself, as
+ * reported by its {@link NearCacheStatsImpl#getOwnedEntryMemoryCost()}, while
+ * the free memory is the free memory of the shared {@link UnsafeMemoryManager}.
+ *
+ * @see EvictionChecker
+ */
+public class NativeMemoryNearCacheEvictionChecker
+        implements EvictionChecker {
+
+    private static final double ONE_HUNDRED = 100D;
+
+    private final MaxSizePolicy maxSizePolicy;
+    private final int size;
+    private final NearCacheStatsImpl nearCacheStats;
+    private final UnsafeMemoryManager memoryManager;
+
+    public NativeMemoryNearCacheEvictionChecker(MaxSizePolicy maxSizePolicy, int size,
+                                                NearCacheStatsImpl nearCacheStats, UnsafeMemoryManager memoryManager) {
+        this.maxSizePolicy = maxSizePolicy;
+        this.size = size;
+        this.nearCacheStats = nearCacheStats;
+        this.memoryManager = memoryManager;
+    }
+
+    @Override
+    public boolean isEvictionRequired() {
+        long maxMemory = Math.max(memoryManager.getMaxMemory(), 1);
+        switch (maxSizePolicy) {
+            case USED_NATIVE_MEMORY_SIZE:
+                return nearCacheStats.getOwnedEntryMemoryCost() >= MEGABYTES.toBytes(size);
+            case USED_NATIVE_MEMORY_PERCENTAGE:
+                return nearCacheStats.getOwnedEntryMemoryCost() * ONE_HUNDRED / maxMemory >= size;
+            case FREE_NATIVE_MEMORY_SIZE:
+                return memoryManager.getFreeMemory() <= MEGABYTES.toBytes(size);
+            case FREE_NATIVE_MEMORY_PERCENTAGE:
+                return memoryManager.getFreeMemory() * ONE_HUNDRED / maxMemory <= size;
+            default:
+                throw new IllegalArgumentException("Not a native memory max-size policy: " + maxSizePolicy);
+        }
+    }
+}
@@ -30,6 +30,8 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
 import com.hazelcast.memory.MemoryUnit;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -38,8 +40,10 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Paths;
 import java.util.Iterator;
+import java.util.UUID;
 
 import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
 import static com.hazelcast.internal.nio.Bits.readIntB;
 import static com.hazelcast.internal.nio.Bits.writeIntB;
 import static com.hazelcast.internal.nio.IOUtil.closeResource;
@@ -50,9 +54,18 @@ import static com.hazelcast.internal.nio.IOUtil.toFileName;
 import static com.hazelcast.internal.util.StringUtil.isNullOrEmpty;
 import static java.lang.String.format;
 import static java.nio.ByteBuffer.allocate;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
 
 /**
  * Loads and stores the keys from a Near Cache into a file.
+ * <p>
+ * If {@link NearCachePreloaderConfig#isStoreValues()} is enabled, the values
+ * are stored next to the keys, together with the invalidation metadata of
+ * their partitions. Such a file is read via memory-mapped windows and its
+ * values are restored directly into the Near Cache, as long as they cannot
+ * have been invalidated in the meantime. All other keys are fetched from the
+ * cluster.
  *
  * @param <K> type of the {@link com.hazelcast.internal.nearcache.NearCacheRecord} keys
  */
@@ -62,7 +75,22 @@ public class NearCachePreloader<K> {
      * File format for the file header.
      */
     private enum FileFormat {
-        INTERLEAVED_LENGTH_FIELD
+        INTERLEAVED_LENGTH_FIELD,
+        /**
+         * Each record is made of:
+         * <pre>
+         * int      key size
+         * int      value size, {@code -1} if only the key is stored
+         * byte[]   key
+         * byte[]   value
+         * int      partition ID
+         * long     invalidation sequence of the partition
+         * long     most significant bits of the partition UUID
+         * long     least significant bits of the partition UUID
+         * </pre>
+         * The value and its metadata are omitted if only the key is stored.
+         */
+        INTERLEAVED_LENGTH_FIELD_WITH_VALUES
     }
 
     /**
@@ -79,6 +107,16 @@ public class NearCachePreloader<K> {
      */
     private static final int BUFFER_SIZE = 1 << LOG_OF_BUFFER_SIZE;
 
+    /**
+     * Size of the file regions which are mapped into memory at once.
+     */
+    private static final long MAPPED_WINDOW_SIZE = 1 << 26;
+
+    private static final int FILE_HEADER_SIZE = 2 * INT_SIZE_IN_BYTES;
+    private static final int RECORD_HEADER_SIZE = 2 * INT_SIZE_IN_BYTES;
+    private static final int VALUE_METADATA_SIZE = INT_SIZE_IN_BYTES + 3 * LONG_SIZE_IN_BYTES;
+    private static final int NO_VALUE = -1;
+
     /**
      * Batch size for the pre-loader.
      */
@@ -90,6 +128,7 @@ public class NearCachePreloader<K> {
     private final String nearCacheName;
     private final NearCacheStatsImpl nearCacheStats;
     private final SerializationService serializationService;
+    private final boolean storeValues;
 
     private final NearCachePreloaderLock lock;
     private final File storeFile;
@@ -104,6 +143,7 @@ public class NearCachePreloader<K> {
         this.nearCacheName = nearCacheName;
         this.nearCacheStats = nearCacheStats;
         this.serializationService = serializationService;
+        this.storeValues = preloaderConfig.isStoreValues();
 
         String filename = getFilename(preloaderConfig.getDirectory(), nearCacheName);
         this.lock = new NearCachePreloaderLock(logger, filename + ".lock");
@@ -121,6 +161,21 @@ public class NearCachePreloader<K> {
      * @param adapter the {@link DataStructureAdapter} to load the values from
      */
     public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
+        loadKeys(adapter, null);
+    }
+
+    /**
+     * Loads the values via a stored key file into the supplied {@link DataStructureAdapter}.
+     * <p>
+     * Values which have been stored with their keys are handed over to the
+     * supplied {@link NearCacheSnapshotSupport} first, only the keys it
+     * doesn't restore are loaded from the adapter.
+     *
+     * @param adapter         the {@link DataStructureAdapter} to load the values from
+     * @param snapshotSupport the {@link NearCacheSnapshotSupport} to restore stored values with,
+     *                        can be {@code null}
+     */
+    public void loadKeys(DataStructureAdapter<Object, ?> adapter, NearCacheSnapshotSupport<K> snapshotSupport) {
         if (!storeFile.exists()) {
             logger.info(format("Skipped loading keys of Near Cache %s since storage file doesn't exist (%s)", nearCacheName,
                     storeFile.getAbsolutePath()));
@@ -131,7 +186,14 @@ public class NearCachePreloader<K> {
         BufferingInputStream bis = null;
         try {
             bis = new BufferingInputStream(new FileInputStream(storeFile), BUFFER_SIZE);
-            if (!checkHeader(bis)) {
+            FileFormat fileFormat = readHeader(bis);
+            if (fileFormat == null) {
+                return;
+            }
+            if (fileFormat == FileFormat.INTERLEAVED_LENGTH_FIELD_WITH_VALUES) {
+                closeResource(bis);
+                bis = null;
+                loadEntrySet(adapter, snapshotSupport, startedNanos);
                 return;
             }
 
@@ -146,19 +208,19 @@ public class NearCachePreloader<K> {
         }
     }
 
-    private boolean checkHeader(BufferingInputStream bis) throws IOException {
+    private FileFormat readHeader(BufferingInputStream bis) throws IOException {
         int magicBytes = readInt(bis);
         if (magicBytes != MAGIC_BYTES) {
             logger.warning(format("Found invalid header for Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()));
-            return false;
+            return null;
         }
         int fileFormat = readInt(bis);
         if (fileFormat < 0 || fileFormat > FileFormat.values().length - 1) {
             logger.warning(format("Found invalid file format for Near Cache %s (%s)", nearCacheName,
                     storeFile.getAbsolutePath()));
-            return false;
+            return null;
         }
-        return true;
+        return FileFormat.values()[fileFormat];
     }
 
     /**
@@ -203,6 +265,58 @@ public class NearCachePreloader<K> {
         }
     }
 
+    /**
+     * Stores the Near Cache keys from the supplied iterator.
+     * <p>
+     * If storing of values is enabled, the values provided by the supplied
+     * {@link NearCacheSnapshotSupport} are stored next to their keys.
+     *
+     * @param iterator        {@link Iterator} over the key set of a
+     *                        {@link com.hazelcast.internal.nearcache.NearCacheRecordStore}
+     * @param snapshotSupport the {@link NearCacheSnapshotSupport} to read the values from
+     */
+    public void storeKeys(Iterator<K> iterator, NearCacheSnapshotSupport<K> snapshotSupport) {
+        if (!storeValues) {
+            storeKeys(iterator);
+            return;
+        }
+
+        long startedNanos = Timer.nanos();
+        DataOutputStream out = null;
+        try {
+            lastWrittenBytes = 0;
+            lastKeyCount = 0;
+
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpStoreFile, false), BUFFER_SIZE));
+
+            // write header and entries
+            out.writeInt(MAGIC_BYTES);
+            out.writeInt(FileFormat.INTERLEAVED_LENGTH_FIELD_WITH_VALUES.ordinal());
+            writeEntrySet(out, iterator, snapshotSupport);
+
+            // cleanup if no keys have been written
+            if (lastKeyCount == 0) {
+                deleteQuietly(storeFile);
+                updatePersistenceStats(startedNanos);
+                return;
+            }
+
+            out.flush();
+            closeResource(out);
+            rename(tmpStoreFile, storeFile);
+
+            updatePersistenceStats(startedNanos);
+        } catch (Exception e) {
+            logger.warning(format("Could not store entries of Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()),
+                    e);
+
+            nearCacheStats.addPersistenceFailure(e);
+        } finally {
+            closeResource(out);
+            deleteQuietly(tmpStoreFile);
+        }
+    }
+
     private void updatePersistenceStats(long startedNanos) {
         long elapsedMillis = Timer.millisElapsed(startedNanos);
         nearCacheStats.addPersistence(elapsedMillis, lastWrittenBytes, lastKeyCount);
@@ -235,6 +349,77 @@ public class NearCachePreloader<K> {
         return loadedKeys;
     }
 
+    private void loadEntrySet(DataStructureAdapter<Object, ?> adapter, NearCacheSnapshotSupport<K> snapshotSupport,
+                              long startedNanos) throws IOException {
+        int restoredEntries = 0;
+        int loadedKeys = 0;
+
+        Builder<Object> builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+        try (FileChannel channel = FileChannel.open(storeFile.toPath(), READ)) {
+            MappedRecordReader reader = new MappedRecordReader(channel);
+            while (reader.next()) {
+                Data key = reader.readKey();
+                if (reader.hasValue()) {
+                    Data value = reader.readValue();
+                    int partitionId = reader.readPartitionId();
+                    long sequence = reader.readSequence();
+                    UUID partitionUuid = reader.readPartitionUuid();
+                    if (snapshotSupport != null
+                            && snapshotSupport.restoreEntry(key, value, partitionId, sequence, partitionUuid)) {
+                        restoredEntries++;
+                        continue;
+                    }
+                }
+
+                builder.add(serializationService.toObject(key));
+                if (builder.size() == LOAD_BATCH_SIZE) {
+                    adapter.getAll(builder.build());
+                    builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+                }
+                loadedKeys++;
+            }
+        }
+        if (builder.size() > 0) {
+            adapter.getAll(builder.build());
+        }
+
+        long elapsedMillis = Timer.millisElapsed(startedNanos);
+        logger.info(format("Restored %d entries and loaded %d keys of Near Cache %s in %d ms", restoredEntries, loadedKeys,
+                nearCacheName, elapsedMillis));
+    }
+
+    private void writeEntrySet(DataOutputStream out, Iterator<K> iterator, NearCacheSnapshotSupport<K> snapshotSupport)
+            throws IOException {
+        while (iterator.hasNext()) {
+            K key = iterator.next();
+            Data dataKey = serializationService.toData(key);
+            if (dataKey == null) {
+                continue;
+            }
+            byte[] keyBytes = dataKey.toByteArray();
+            NearCacheSnapshotEntry entry = snapshotSupport.readEntry(key);
+            if (entry == null) {
+                out.writeInt(keyBytes.length);
+                out.writeInt(NO_VALUE);
+                out.write(keyBytes);
+                lastWrittenBytes += RECORD_HEADER_SIZE + keyBytes.length;
+            } else {
+                byte[] valueBytes = entry.getValue().toByteArray();
+                UUID partitionUuid = entry.getPartitionUuid();
+                out.writeInt(keyBytes.length);
+                out.writeInt(valueBytes.length);
+                out.write(keyBytes);
+                out.write(valueBytes);
+                out.writeInt(entry.getPartitionId());
+                out.writeLong(entry.getSequence());
+                out.writeLong(partitionUuid.getMostSignificantBits());
+                out.writeLong(partitionUuid.getLeastSignificantBits());
+                lastWrittenBytes += RECORD_HEADER_SIZE + keyBytes.length + valueBytes.length + VALUE_METADATA_SIZE;
+            }
+            lastKeyCount++;
+        }
+    }
+
     private void writeKeySet(FileOutputStream fos, FileChannel outChannel, Iterator<K> iterator) throws IOException {
         while (iterator.hasNext()) {
             K key = iterator.next();
@@ -297,4 +482,98 @@ public class NearCachePreloader<K> {
         }
         return Paths.get(directory, filename).toString();
     }
+
+    /**
+     * Reads the records of a {@link FileFormat#INTERLEAVED_LENGTH_FIELD_WITH_VALUES} file
+     * via windows which are mapped into memory.
+     * <p>
+     * A record which is cut off by the end of the file ends the reading, since
+     * it can only be the result of an interrupted write.
+     */
+    private static final class MappedRecordReader {
+
+        private final FileChannel channel;
+        private final long fileSize;
+
+        private long position = FILE_HEADER_SIZE;
+        private ByteBuffer window;
+        private int keySize;
+        private int valueSize;
+
+        MappedRecordReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.fileSize = channel.size();
+        }
+
+        /**
+         * Moves to the next record and maps it into memory if needed.
+         *
+         * @return {@code true} if there is a complete next record, {@code false} otherwise
+         */
+        boolean next() throws IOException {
+            if (!ensureMapped(RECORD_HEADER_SIZE)) {
+                return false;
+            }
+            keySize = window.getInt(window.position());
+            valueSize = window.getInt(window.position() + INT_SIZE_IN_BYTES);
+            if (keySize < 0 || valueSize < NO_VALUE) {
+                return false;
+            }
+            long recordSize = RECORD_HEADER_SIZE + (long) keySize
+                    + (hasValue() ? (long) valueSize + VALUE_METADATA_SIZE : 0);
+            if (!ensureMapped(recordSize)) {
+                return false;
+            }
+            position += recordSize;
+            window.position(window.position() + RECORD_HEADER_SIZE);
+            return true;
+        }
+
+        boolean hasValue() {
+            return valueSize != NO_VALUE;
+        }
+
+        Data readKey() {
+            return readData(keySize);
+        }
+
+        Data readValue() {
+            return readData(valueSize);
+        }
+
+        int readPartitionId() {
+            return window.getInt();
+        }
+
+        long readSequence() {
+            return window.getLong();
+        }
+
+        UUID readPartitionUuid() {
+            return new UUID(window.getLong(), window.getLong());
+        }
+
+        private Data readData(int size) {
+            byte[] bytes = new byte[size];
+            window.get(bytes);
+            return new HeapData(bytes);
+        }
+
+        /**
+         * Makes sure the window holds the given number of bytes starting at the
+         * current record, mapping a new window if the record crosses the end of
+         * the current one.
+         */
+        private boolean ensureMapped(long size) throws IOException {
+            if (window != null && window.remaining() >= size) {
+                return true;
+            }
+            long mappedSize = Math.min(Math.max(MAPPED_WINDOW_SIZE, size), fileSize - position);
+            if (mappedSize < size) {
+                return false;
+            }
+            window = channel.map(READ_ONLY, position, mappedSize);
+            return true;
+        }
+    }
 }
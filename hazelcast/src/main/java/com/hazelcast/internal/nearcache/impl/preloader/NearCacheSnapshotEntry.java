@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.preloader;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.UUID;
+
+/**
+ * The value of a Near Cache entry together with the invalidation metadata
+ * of its partition at the time the value was read.
+ */
+public final class NearCacheSnapshotEntry {
+
+    private final Data value;
+    private final int partitionId;
+    private final long sequence;
+    private final UUID partitionUuid;
+
+    public NearCacheSnapshotEntry(Data value, int partitionId, long sequence, UUID partitionUuid) {
+        this.value = value;
+        this.partitionId = partitionId;
+        this.sequence = sequence;
+        this.partitionUuid = partitionUuid;
+    }
+
+    public Data getValue() {
+        return value;
+    }
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public UUID getPartitionUuid() {
+        return partitionUuid;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.preloader;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.UUID;
+
+/**
+ * Gives the {@link NearCachePreloader} access to the values of a Near Cache,
+ * so they can be stored next to the keys and restored without fetching them
+ * from the cluster.
+ *
+ * @param <K> type of the {@link com.hazelcast.internal.nearcache.NearCacheRecord} keys
+ */
+public interface NearCacheSnapshotSupport<K> {
+
+    /**
+     * Reads the value of the given key to store it in a snapshot.
+     *
+     * @param key the key of the Near Cache entry
+     * @return the value with its invalidation metadata or {@code null}
+     * if only the key should be stored
+     */
+    NearCacheSnapshotEntry readEntry(K key);
+
+    /**
+     * Restores a stored value into the Near Cache.
+     *
+     * @param key           the stored key
+     * @param value         the stored value
+     * @param partitionId   the partition ID of the key
+     * @param sequence      the invalidation sequence of the partition when the value was stored
+     * @param partitionUuid the UUID of the partition when the value was stored
+     * @return {@code true} if the key needs no further loading, {@code false}
+     * if the stored value may be stale and the key has to be fetched
+     */
+    boolean restoreEntry(Data key, Data value, int partitionId, long sequence, UUID partitionUuid);
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.util.UUID;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+
+/**
+ * Flyweight {@link NearCacheRecord} over a record block allocated in native
+ * memory for Near Caches with {@link com.hazelcast.config.InMemoryFormat#NATIVE}
+ * in-memory-format.
+ * <p>
+ * All record metadata is kept in the native block, so two flyweights over
+ * the same address observe and mutate the same record. Record block layout:
+ * <pre>
+ * +-------------------------------+-------------------------------+
+ * | reservationId (long)          | invalidationSequence (long)   |
+ * +-------------------------------+-------------------------------+
+ * | uuid most sig. bits (long)    | uuid least sig. bits (long)   |
+ * +-------------------------------+-------------------------------+
+ * | valueAddress (long)           | creationTime | lastAccessTime |
+ * +-------------------------------+-------------------------------+
+ * | expirationTime | hits         | partitionId  | flags          |
+ * +-------------------------------+-------------------------------+
+ * </pre>
+ * The value is kept in a separate native block of the layout
+ * {@code | size (int) | padding (int) | bytes |} and is always returned as
+ * an on-heap copy.
+ * <p>
+ * Not thread-safe, a flyweight is only valid while the lock guarding its
+ * record is held, since the record may be freed as soon as it is removed.
+ */
+public final class NativeNearCacheRecord implements NearCacheRecord<Data> {
+
+    /**
+     * Size of a record block in bytes.
+     */
+    public static final int RECORD_SIZE = 64;
+
+    static final int RESERVATION_ID_OFFSET = 0;
+    static final int INVALIDATION_SEQUENCE_OFFSET = 8;
+    static final int UUID_MOST_SIG_BITS_OFFSET = 16;
+    static final int UUID_LEAST_SIG_BITS_OFFSET = 24;
+    static final int VALUE_ADDRESS_OFFSET = 32;
+    static final int CREATION_TIME_OFFSET = 40;
+    static final int LAST_ACCESS_TIME_OFFSET = 44;
+    static final int EXPIRATION_TIME_OFFSET = 48;
+    static final int HITS_OFFSET = 52;
+    static final int PARTITION_ID_OFFSET = 56;
+    static final int FLAGS_OFFSET = 60;
+
+    static final int VALUE_SIZE_OFFSET = 0;
+    static final int VALUE_HEADER_SIZE = 8;
+
+    private static final int CACHED_AS_NULL_FLAG = 1;
+    private static final int UUID_FLAG = 1 << 1;
+
+    private final MemoryAllocator malloc;
+    private final MemoryAccessor mem;
+    private final long address;
+
+    private NativeNearCacheRecord(MemoryManager memoryManager, long address) {
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+        this.address = address;
+    }
+
+    /**
+     * Allocates a new record block without a value.
+     *
+     * @throws com.hazelcast.memory.NativeOutOfMemoryError if there is not enough native memory
+     */
+    public static NativeNearCacheRecord allocate(MemoryManager memoryManager, long creationTime, long expirationTime) {
+        long address = memoryManager.getAllocator().allocate(RECORD_SIZE);
+        NativeNearCacheRecord record = new NativeNearCacheRecord(memoryManager, address);
+        record.setReservationId(READ_PERMITTED);
+        record.setCreationTime(creationTime);
+        record.setExpirationTime(expirationTime);
+        record.mem.putInt(address + LAST_ACCESS_TIME_OFFSET, TIME_NOT_SET);
+        return record;
+    }
+
+    /**
+     * @return a flyweight over the record block at the given address
+     */
+    public static NativeNearCacheRecord toRecord(MemoryManager memoryManager, long address) {
+        return new NativeNearCacheRecord(memoryManager, address);
+    }
+
+    /**
+     * @return base address of the record block
+     */
+    public long address() {
+        return address;
+    }
+
+    /**
+     * @return the number of native bytes owned by this record, including its value block
+     */
+    public long getCost() {
+        return RECORD_SIZE + valueBlockSize(valueAddress());
+    }
+
+    /**
+     * Frees the record block together with its value block. The flyweight
+     * must not be used afterwards.
+     */
+    public void dispose() {
+        freeValue(valueAddress());
+        malloc.free(address, RECORD_SIZE);
+    }
+
+    @Override
+    public Data getValue() {
+        long valueAddress = valueAddress();
+        if (valueAddress == NULL_ADDRESS) {
+            return null;
+        }
+        int size = mem.getInt(valueAddress + VALUE_SIZE_OFFSET);
+        byte[] bytes = new byte[size];
+        mem.copyToByteArray(valueAddress + VALUE_HEADER_SIZE, bytes, 0, size);
+        return new HeapData(bytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws com.hazelcast.memory.NativeOutOfMemoryError if there is not enough
+     *                                                     native memory, the previous value is kept then
+     */
+    @Override
+    public void setValue(Data value) {
+        long newValueAddress = allocateValue(value);
+        long oldValueAddress = valueAddress();
+        mem.putLong(address + VALUE_ADDRESS_OFFSET, newValueAddress);
+        freeValue(oldValueAddress);
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(mem.getInt(address + CREATION_TIME_OFFSET));
+    }
+
+    @Override
+    public void setCreationTime(long time) {
+        mem.putInt(address + CREATION_TIME_OFFSET, stripBaseTime(time));
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(mem.getInt(address + LAST_ACCESS_TIME_OFFSET));
+    }
+
+    @Override
+    public void setLastAccessTime(long time) {
+        mem.putInt(address + LAST_ACCESS_TIME_OFFSET, stripBaseTime(time));
+    }
+
+    @Override
+    public long getExpirationTime() {
+        return recomputeWithBaseTime(mem.getInt(address + EXPIRATION_TIME_OFFSET));
+    }
+
+    @Override
+    public void setExpirationTime(long time) {
+        mem.putInt(address + EXPIRATION_TIME_OFFSET, stripBaseTime(time));
+    }
+
+    @Override
+    public long getHits() {
+        return mem.getInt(address + HITS_OFFSET);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        mem.putInt(address + HITS_OFFSET, hits);
+    }
+
+    @Override
+    public void incrementHits() {
+        mem.putInt(address + HITS_OFFSET, mem.getInt(address + HITS_OFFSET) + 1);
+    }
+
+    @Override
+    public long getReservationId() {
+        return mem.getLong(address + RESERVATION_ID_OFFSET);
+    }
+
+    @Override
+    public void setReservationId(long reservationId) {
+        mem.putLong(address + RESERVATION_ID_OFFSET, reservationId);
+    }
+
+    @Override
+    public int getPartitionId() {
+        return mem.getInt(address + PARTITION_ID_OFFSET);
+    }
+
+    @Override
+    public void setPartitionId(int partitionId) {
+        mem.putInt(address + PARTITION_ID_OFFSET, partitionId);
+    }
+
+    @Override
+    public long getInvalidationSequence() {
+        return mem.getLong(address + INVALIDATION_SEQUENCE_OFFSET);
+    }
+
+    @Override
+    public void setInvalidationSequence(long sequence) {
+        mem.putLong(address + INVALIDATION_SEQUENCE_OFFSET, sequence);
+    }
+
+    @Override
+    public void setUuid(UUID uuid) {
+        if (uuid == null) {
+            setFlag(UUID_FLAG, false);
+            return;
+        }
+        mem.putLong(address + UUID_MOST_SIG_BITS_OFFSET, uuid.getMostSignificantBits());
+        mem.putLong(address + UUID_LEAST_SIG_BITS_OFFSET, uuid.getLeastSignificantBits());
+        setFlag(UUID_FLAG, true);
+    }
+
+    @Override
+    public boolean hasSameUuid(UUID uuid) {
+        return uuid != null && isFlagSet(UUID_FLAG)
+                && mem.getLong(address + UUID_MOST_SIG_BITS_OFFSET) == uuid.getMostSignificantBits()
+                && mem.getLong(address + UUID_LEAST_SIG_BITS_OFFSET) == uuid.getLeastSignificantBits();
+    }
+
+    @Override
+    public boolean isCachedAsNull() {
+        return isFlagSet(CACHED_AS_NULL_FLAG);
+    }
+
+    @Override
+    public void setCachedAsNull(boolean valueCachedAsNull) {
+        setFlag(CACHED_AS_NULL_FLAG, valueCachedAsNull);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return address == ((NativeNearCacheRecord) o).address;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(address);
+    }
+
+    @Override
+    public String toString() {
+        return "NativeNearCacheRecord{"
+                + "address=" + address
+                + ", cachedAsNull=" + isCachedAsNull()
+                + ", hits=" + getHits()
+                + ", partitionId=" + getPartitionId()
+                + ", creationTime=" + getCreationTime()
+                + ", lastAccessTime=" + getLastAccessTime()
+                + ", expirationTime=" + getExpirationTime()
+                + ", invalidationSequence=" + getInvalidationSequence()
+                + ", reservationId=" + getReservationId()
+                + '}';
+    }
+
+    private long valueAddress() {
+        return mem.getLong(address + VALUE_ADDRESS_OFFSET);
+    }
+
+    private long valueBlockSize(long valueAddress) {
+        return valueAddress == NULL_ADDRESS
+                ? 0 : VALUE_HEADER_SIZE + mem.getInt(valueAddress + VALUE_SIZE_OFFSET);
+    }
+
+    private long allocateValue(Data value) {
+        if (value == null) {
+            return NULL_ADDRESS;
+        }
+        byte[] bytes = value.toByteArray();
+        int size = bytes == null ? 0 : bytes.length;
+        long valueAddress = malloc.allocate(VALUE_HEADER_SIZE + size);
+        mem.putInt(valueAddress + VALUE_SIZE_OFFSET, size);
+        if (size > 0) {
+            mem.copyFromByteArray(bytes, 0, valueAddress + VALUE_HEADER_SIZE, size);
+        }
+        return valueAddress;
+    }
+
+    private void freeValue(long valueAddress) {
+        if (valueAddress != NULL_ADDRESS) {
+            malloc.free(valueAddress, valueBlockSize(valueAddress));
+        }
+    }
+
+    private boolean isFlagSet(int flag) {
+        return (mem.getInt(address + FLAGS_OFFSET) & flag) != 0;
+    }
+
+    private void setFlag(int flag, boolean set) {
+        int flags = mem.getInt(address + FLAGS_OFFSET);
+        mem.putInt(address + FLAGS_OFFSET, set ? flags | flag : flags & ~flag);
+    }
+}
@@ -404,7 +404,7 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         record.setUuid(metaDataContainer.getUuid());
     }
 
-    private long nextReservationId() {
+    protected long nextReservationId() {
         return RESERVATION_ID.incrementAndGet(this);
     }
 
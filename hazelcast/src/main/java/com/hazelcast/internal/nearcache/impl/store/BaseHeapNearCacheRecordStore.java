@@ -23,16 +23,25 @@ import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
 import com.hazelcast.internal.nearcache.impl.maxsize.EntryCountNearCacheEvictionChecker;
 import com.hazelcast.internal.nearcache.impl.preloader.NearCachePreloader;
+import com.hazelcast.internal.nearcache.impl.preloader.NearCacheSnapshotEntry;
+import com.hazelcast.internal.nearcache.impl.preloader.NearCacheSnapshotSupport;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 
 import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static com.hazelcast.internal.nearcache.NearCache.UpdateSemantic.READ_UPDATE;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.READ_PERMITTED;
+import static com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector.ALWAYS_FRESH;
 import static java.lang.String.format;
 
 /**
@@ -43,7 +52,8 @@ import static java.lang.String.format;
  * @param <R> the type of the value of the underlying {@link com.hazelcast.internal.nearcache.impl.SampleableNearCacheRecordMap}
  */
 public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheRecord>
-        extends AbstractNearCacheRecordStore<K, V, K, R, HeapNearCacheRecordMap<K, R>> {
+        extends AbstractNearCacheRecordStore<K, V, K, R, HeapNearCacheRecordMap<K, R>>
+        implements NearCacheSnapshotSupport<K> {
 
     private static final int DEFAULT_INITIAL_CAPACITY = 1000;
 
@@ -120,17 +130,73 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
     @Override
     public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
         if (nearCachePreloader != null) {
-            nearCachePreloader.loadKeys(adapter);
+            nearCachePreloader.loadKeys(adapter, this);
         }
     }
 
     @Override
     public void storeKeys() {
         if (nearCachePreloader != null) {
-            nearCachePreloader.storeKeys(records.keySet().iterator());
+            nearCachePreloader.storeKeys(records.keySet().iterator(), this);
         }
     }
 
+    /**
+     * Values are only stored if invalidations are enabled, since without
+     * the invalidation metadata a restored value could be stale.
+     */
+    @Override
+    public NearCacheSnapshotEntry readEntry(K key) {
+        StaleReadDetector staleReadDetector = this.staleReadDetector;
+        R record = records.get(key);
+        if (staleReadDetector == ALWAYS_FRESH || record == null
+                || record.getReservationId() != READ_PERMITTED || record.getValue() == null) {
+            return null;
+        }
+
+        int partitionId = record.getPartitionId();
+        MetaDataContainer metaDataContainer = staleReadDetector.getMetaDataContainer(partitionId);
+        // the sequence is read before the record is checked, so an
+        // invalidation which is missed by the check increases the sequence
+        // past the stored one and the value is not restored
+        long sequence = metaDataContainer.getSequence();
+        UUID partitionUuid = metaDataContainer.getUuid();
+        if (partitionUuid == null || records.get(key) != record || staleReadDetector.isStaleRead(key, record)) {
+            return null;
+        }
+        return new NearCacheSnapshotEntry(toData(record.getValue()), partitionId, sequence, partitionUuid);
+    }
+
+    /**
+     * A value is only restored if its partition has neither seen an
+     * invalidation nor changed its owner since the value was stored.
+     */
+    @Override
+    public boolean restoreEntry(Data keyData, Data value, int partitionId, long sequence, UUID partitionUuid) {
+        if (staleReadDetector == ALWAYS_FRESH) {
+            return false;
+        }
+
+        K key = nearCacheConfig.isSerializeKeys() ? (K) keyData : serializationService.toObject(keyData);
+        long reservationId = tryReserveForUpdate(key, keyData, READ_UPDATE);
+        if (reservationId == NOT_RESERVED) {
+            // the key is already cached or there is no room for it
+            return true;
+        }
+
+        R record = records.get(key);
+        if (record == null || record.getReservationId() != reservationId) {
+            return true;
+        }
+        if (record.getPartitionId() != partitionId || !record.hasSameUuid(partitionUuid)
+                || record.getInvalidationSequence() != sequence) {
+            records.remove(key, record);
+            return false;
+        }
+        tryPublishReserved(key, (V) value, reservationId, false);
+        return true;
+    }
+
     @Override
     public void destroy() {
         super.destroy();
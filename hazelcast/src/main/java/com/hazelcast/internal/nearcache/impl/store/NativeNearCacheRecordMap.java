@@ -0,0 +1,755 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.nearcache.impl.SampleableNearCacheRecordMap;
+import com.hazelcast.internal.nearcache.impl.record.NativeNearCacheRecord;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializableByConvention;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.internal.util.hashslot.SlotAssignmentResult;
+import com.hazelcast.internal.util.hashslot.impl.HashSlotArray8byteKeyImpl;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.READ_PERMITTED;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.HashUtil.fastLongMix;
+
+/**
+ * {@link SampleableNearCacheRecordMap} implementation for Near Caches with
+ * {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory-format, which
+ * keeps keys, values and record metadata in native memory.
+ * <p>
+ * The map is split into segments, each guarded by its own lock. A segment
+ * indexes its entries by a {@link HashSlotArray8byteKeyImpl} keyed by the
+ * 64-bit hash of the key blob. The value of each slot is the address of the
+ * first entry node of a collision chain. Entry node layout:
+ * <pre>
+ * | next node address (long) | record address (long) | key size (int) | key bytes |
+ * </pre>
+ * The map owns the records put into it: a record is disposed as soon as it
+ * is removed or replaced, or when its entry cannot be allocated, in which
+ * case the {@link com.hazelcast.memory.NativeOutOfMemoryError} is rethrown. Hence the {@link NativeNearCacheRecord} flyweights
+ * returned by this map are only valid while the lock of the key, see
+ * {@link #lockOf(Data)}, is held, and the methods which would return a removed
+ * or replaced record return {@code null} instead. Keys are always returned as
+ * on-heap copies.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class NativeNearCacheRecordMap extends AbstractMap<Data, NativeNearCacheRecord>
+        implements SampleableNearCacheRecordMap<Data, NativeNearCacheRecord> {
+
+    private static final int SEGMENT_COUNT_LOG2 = 4;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_COUNT_LOG2;
+    private static final int SAMPLE_COUNT = 15;
+
+    private static final int NEXT_OFFSET = 0;
+    private static final int RECORD_OFFSET = 8;
+    private static final int KEY_SIZE_OFFSET = 16;
+    private static final int KEY_OFFSET = 20;
+
+    private final MemoryManager memoryManager;
+    private final MemoryAllocator malloc;
+    private final MemoryAccessor mem;
+    private final SerializationService serializationService;
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    NativeNearCacheRecordMap(MemoryManager memoryManager, SerializationService serializationService) {
+        this.memoryManager = memoryManager;
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+        this.serializationService = serializationService;
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * Returns the native memory cost of the entry node of the given key,
+     * excluding the record.
+     */
+    static long nodeCost(Data key) {
+        return KEY_OFFSET + key.totalSize();
+    }
+
+    /**
+     * @return the lock which guards the entry of the given key
+     */
+    public Lock lockOf(Data key) {
+        return segmentOf(key);
+    }
+
+    @Override
+    public NativeNearCacheRecord get(Object key) {
+        Segment segment = segmentOf((Data) key);
+        segment.lock();
+        try {
+            long node = segment.findNode((Data) key);
+            return node == NULL_ADDRESS ? null : recordOf(node);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Segment segment = segmentOf((Data) key);
+        segment.lock();
+        try {
+            return segment.findNode((Data) key) != NULL_ADDRESS;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return always {@code null}, the replaced record is disposed
+     */
+    @Override
+    public NativeNearCacheRecord put(Data key, NativeNearCacheRecord record) {
+        Segment segment = segmentOf(key);
+        segment.lock();
+        try {
+            segment.put(key, record);
+            return null;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    @Override
+    public NativeNearCacheRecord putIfAbsent(Data key, NativeNearCacheRecord record) {
+        Segment segment = segmentOf(key);
+        segment.lock();
+        try {
+            long node = segment.findNode(key);
+            if (node != NULL_ADDRESS) {
+                return recordOf(node);
+            }
+            segment.put(key, record);
+            return null;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return always {@code null}, the replaced record is disposed
+     */
+    @Override
+    public NativeNearCacheRecord replace(Data key, NativeNearCacheRecord record) {
+        Segment segment = segmentOf(key);
+        segment.lock();
+        try {
+            if (segment.findNode(key) != NULL_ADDRESS) {
+                segment.put(key, record);
+            }
+            return null;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    @Override
+    public boolean replace(Data key, NativeNearCacheRecord oldRecord, NativeNearCacheRecord newRecord) {
+        Segment segment = segmentOf(key);
+        segment.lock();
+        try {
+            long node = segment.findNode(key);
+            if (node == NULL_ADDRESS || mem.getLong(node + RECORD_OFFSET) != oldRecord.address()) {
+                return false;
+            }
+            segment.put(key, newRecord);
+            return true;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return always {@code null}, the removed record is disposed
+     */
+    @Override
+    public NativeNearCacheRecord remove(Object key) {
+        remove((Data) key, null);
+        return null;
+    }
+
+    @Override
+    public boolean remove(Object key, Object record) {
+        if (!(record instanceof NativeNearCacheRecord)) {
+            return false;
+        }
+        Segment segment = segmentOf((Data) key);
+        segment.lock();
+        try {
+            long node = segment.findNode((Data) key);
+            if (node == NULL_ADDRESS || mem.getLong(node + RECORD_OFFSET) != ((NativeNearCacheRecord) record).address()) {
+                return false;
+            }
+            segment.remove((Data) key, null);
+            return true;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Removes the entry of the given key.
+     *
+     * @param listener called with the removed record before it is disposed, can be {@code null}
+     * @return {@code true} if an entry was removed
+     */
+    public boolean remove(Data key, BiConsumer<Data, NativeNearCacheRecord> listener) {
+        Segment segment = segmentOf(key);
+        segment.lock();
+        try {
+            return segment.remove(key, listener);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Removes all the entries matching the given predicate.
+     *
+     * @param listener called with each removed entry before its record is disposed
+     */
+    public void removeIf(BiPredicate<Data, NativeNearCacheRecord> predicate,
+                         BiConsumer<Data, NativeNearCacheRecord> listener) {
+        for (Segment segment : segments) {
+            segment.lock();
+            try {
+                for (Data key : segment.keys()) {
+                    long node = segment.findNode(key);
+                    if (predicate.test(key, recordOf(node))) {
+                        segment.remove(key, listener);
+                    }
+                }
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+    @Override
+    public NativeNearCacheRecord computeIfAbsent(Data key,
+                                                 Function<? super Data, ? extends NativeNearCacheRecord> function) {
+        Segment segment = segmentOf(key);
+        segment.lock();
+        try {
+            long node = segment.findNode(key);
+            if (node != NULL_ADDRESS) {
+                return recordOf(node);
+            }
+            NativeNearCacheRecord record = function.apply(key);
+            if (record != null) {
+                segment.put(key, record);
+            }
+            return record;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the function returns {@code null}, the entry is removed and its
+     * record is disposed. If it returns a different record, the previous one
+     * is replaced and disposed.
+     */
+    @Override
+    public NativeNearCacheRecord compute(Data key,
+                                         BiFunction<? super Data, ? super NativeNearCacheRecord,
+                                                 ? extends NativeNearCacheRecord> function) {
+        Segment segment = segmentOf(key);
+        segment.lock();
+        try {
+            long node = segment.findNode(key);
+            NativeNearCacheRecord existingRecord = node == NULL_ADDRESS ? null : recordOf(node);
+            NativeNearCacheRecord record = function.apply(key, existingRecord);
+            if (record == null) {
+                if (existingRecord != null) {
+                    segment.remove(key, null);
+                }
+            } else if (!record.equals(existingRecord)) {
+                segment.put(key, record);
+            }
+            return record;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Returns a copy of the keys of this map, collected one segment at a time.
+     */
+    public Iterator<Data> keyIterator() {
+        List<Data> keys = new ArrayList<>(size());
+        for (Segment segment : segments) {
+            segment.lock();
+            try {
+                keys.addAll(segment.keys());
+            } finally {
+                segment.unlock();
+            }
+        }
+        return keys.iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returns a snapshot of the entries. The records of the snapshot are
+     * subject to the same restrictions as the ones returned by {@link #get}.
+     */
+    @Override
+    public Set<Entry<Data, NativeNearCacheRecord>> entrySet() {
+        Set<Entry<Data, NativeNearCacheRecord>> entries = new HashSet<>();
+        for (Segment segment : segments) {
+            segment.lock();
+            try {
+                for (Data key : segment.keys()) {
+                    entries.add(new SimpleImmutableEntry<>(key, recordOf(segment.findNode(key))));
+                }
+            } finally {
+                segment.unlock();
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.lock();
+            try {
+                segment.clear();
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+    /**
+     * Disposes all the entries and releases the native memory of the
+     * segments. The map is empty afterwards and rejects new entries.
+     */
+    public void dispose() {
+        for (Segment segment : segments) {
+            segment.lock();
+            try {
+                segment.dispose();
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The samples are taken from a single, randomly selected segment. Their
+     * times and hits are captured when sampled, but the evictable records of
+     * the samples may be disposed concurrently unless the lock of the sampled
+     * segment is held, see {@link #evict}.
+     */
+    @Override
+    public Iterable<NativeEvictionCandidate> sample(int sampleCount) {
+        Segment segment = randomNonEmptySegment();
+        if (segment == null) {
+            return Collections.emptyList();
+        }
+        segment.lock();
+        try {
+            return segment.sample(sampleCount);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    @Override
+    public <C extends EvictionCandidate<Data, NativeNearCacheRecord>> boolean tryEvict(
+            C evictionCandidate, EvictionListener<Data, NativeNearCacheRecord> evictionListener) {
+        if (evictionCandidate == null) {
+            return false;
+        }
+        Data key = evictionCandidate.getAccessor();
+        Segment segment = segmentOf(key);
+        segment.lock();
+        try {
+            return segment.tryEvict(key, evictionCandidate.getEvictable().address(), evictionListener);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Samples a randomly selected segment and evicts the best candidate
+     * selected by the given evaluator, while holding the lock of the segment.
+     *
+     * @return {@code true} if an entry was evicted
+     */
+    public boolean evict(EvictionPolicyEvaluator<Data, NativeNearCacheRecord> evictionPolicyEvaluator,
+                         EvictionListener<Data, NativeNearCacheRecord> evictionListener) {
+        Segment segment = randomNonEmptySegment();
+        if (segment == null) {
+            return false;
+        }
+        segment.lock();
+        try {
+            NativeEvictionCandidate candidate = evictionPolicyEvaluator.evaluate(segment.sample(SAMPLE_COUNT));
+            return candidate != null
+                    && segment.tryEvict(candidate.getAccessor(), candidate.getEvictable().address(), evictionListener);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    private Segment segmentOf(Data key) {
+        return segments[(int) (fastLongMix(key.hash64()) >>> (Long.SIZE - SEGMENT_COUNT_LOG2))];
+    }
+
+    private Segment randomNonEmptySegment() {
+        int start = ThreadLocalRandomProvider.get().nextInt(SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            Segment segment = segments[(start + i) & (SEGMENT_COUNT - 1)];
+            if (segment.size > 0) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    private NativeNearCacheRecord recordOf(long node) {
+        return NativeNearCacheRecord.toRecord(memoryManager, mem.getLong(node + RECORD_OFFSET));
+    }
+
+    private Data keyOf(long node) {
+        byte[] keyBytes = new byte[mem.getInt(node + KEY_SIZE_OFFSET)];
+        mem.copyToByteArray(node + KEY_OFFSET, keyBytes, 0, keyBytes.length);
+        return new HeapData(keyBytes);
+    }
+
+    private long nodeSize(long node) {
+        return KEY_OFFSET + mem.getInt(node + KEY_SIZE_OFFSET);
+    }
+
+    private boolean keyEquals(long node, byte[] keyBytes) {
+        if (mem.getInt(node + KEY_SIZE_OFFSET) != keyBytes.length) {
+            return false;
+        }
+        long keyAddress = node + KEY_OFFSET;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (mem.getByte(keyAddress + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A segment of the map. All its methods must be called while holding
+     * its lock.
+     */
+    @SerializableByConvention
+    private final class Segment extends ReentrantLock {
+
+        private final HashSlotArray8byteKeyImpl hsa;
+        // written under the lock, read without it for sizing
+        private volatile int size;
+        private boolean disposed;
+
+        Segment() {
+            this.hsa = new HashSlotArray8byteKeyImpl(NULL_ADDRESS, memoryManager, LONG_SIZE_IN_BYTES);
+            this.hsa.gotoNew();
+        }
+
+        long findNode(Data key) {
+            if (disposed) {
+                return NULL_ADDRESS;
+            }
+            long slotValueAddress = hsa.get(key.hash64());
+            if (slotValueAddress == NULL_ADDRESS) {
+                return NULL_ADDRESS;
+            }
+            byte[] keyBytes = key.toByteArray();
+            for (long node = mem.getLong(slotValueAddress); node != NULL_ADDRESS; node = mem.getLong(node + NEXT_OFFSET)) {
+                if (keyEquals(node, keyBytes)) {
+                    return node;
+                }
+            }
+            return NULL_ADDRESS;
+        }
+
+        void put(Data key, NativeNearCacheRecord record) {
+            if (disposed) {
+                record.dispose();
+                throw new IllegalStateException("Near Cache record map is already disposed");
+            }
+            long node = findNode(key);
+            if (node != NULL_ADDRESS) {
+                long previousRecordAddress = mem.getLong(node + RECORD_OFFSET);
+                if (previousRecordAddress != record.address()) {
+                    mem.putLong(node + RECORD_OFFSET, record.address());
+                    NativeNearCacheRecord.toRecord(memoryManager, previousRecordAddress).dispose();
+                }
+                return;
+            }
+
+            byte[] keyBytes = key.toByteArray();
+            try {
+                node = malloc.allocate(KEY_OFFSET + keyBytes.length);
+            } catch (Error e) {
+                record.dispose();
+                throw e;
+            }
+            mem.putLong(node + RECORD_OFFSET, record.address());
+            mem.putInt(node + KEY_SIZE_OFFSET, keyBytes.length);
+            mem.copyFromByteArray(keyBytes, 0, node + KEY_OFFSET, keyBytes.length);
+            SlotAssignmentResult slot;
+            try {
+                slot = hsa.ensure(key.hash64());
+            } catch (Error e) {
+                malloc.free(node, nodeSize(node));
+                record.dispose();
+                throw e;
+            }
+            mem.putLong(node + NEXT_OFFSET, slot.isNew() ? NULL_ADDRESS : mem.getLong(slot.address()));
+            mem.putLong(slot.address(), node);
+            size++;
+        }
+
+        boolean remove(Data key, BiConsumer<Data, NativeNearCacheRecord> listener) {
+            if (disposed) {
+                return false;
+            }
+            long hash = key.hash64();
+            long slotValueAddress = hsa.get(hash);
+            if (slotValueAddress == NULL_ADDRESS) {
+                return false;
+            }
+            byte[] keyBytes = key.toByteArray();
+            long previous = NULL_ADDRESS;
+            long node = mem.getLong(slotValueAddress);
+            while (node != NULL_ADDRESS) {
+                long next = mem.getLong(node + NEXT_OFFSET);
+                if (keyEquals(node, keyBytes)) {
+                    if (previous != NULL_ADDRESS) {
+                        mem.putLong(previous + NEXT_OFFSET, next);
+                    } else if (next != NULL_ADDRESS) {
+                        mem.putLong(slotValueAddress, next);
+                    } else {
+                        hsa.remove(hash);
+                    }
+                    NativeNearCacheRecord record = recordOf(node);
+                    malloc.free(node, nodeSize(node));
+                    size--;
+                    if (listener != null) {
+                        listener.accept(key, record);
+                    }
+                    record.dispose();
+                    return true;
+                }
+                previous = node;
+                node = next;
+            }
+            return false;
+        }
+
+        boolean tryEvict(Data key, long recordAddress,
+                         EvictionListener<Data, NativeNearCacheRecord> evictionListener) {
+            long node = findNode(key);
+            if (node == NULL_ADDRESS || mem.getLong(node + RECORD_OFFSET) != recordAddress
+                    || recordOf(node).getReservationId() != READ_PERMITTED) {
+                // the record is gone or it is a placeholder marked for update
+                return false;
+            }
+            return remove(key, evictionListener == null ? null
+                    : (removedKey, record) -> evictionListener.onEvict(removedKey, record, false));
+        }
+
+        List<Data> keys() {
+            if (disposed) {
+                return Collections.emptyList();
+            }
+            List<Data> keys = new ArrayList<>(size);
+            long capacity = hsa.capacity();
+            for (long slot = 0; slot < capacity; slot++) {
+                long slotValueAddress = hsa.valueAddressOfAssignedSlot(slot);
+                if (slotValueAddress == NULL_ADDRESS) {
+                    continue;
+                }
+                for (long node = mem.getLong(slotValueAddress); node != NULL_ADDRESS;
+                     node = mem.getLong(node + NEXT_OFFSET)) {
+                    keys.add(keyOf(node));
+                }
+            }
+            return keys;
+        }
+
+        List<NativeEvictionCandidate> sample(int sampleCount) {
+            if (sampleCount <= 0 || size == 0 || disposed) {
+                return Collections.emptyList();
+            }
+            List<NativeEvictionCandidate> samples = new ArrayList<>(sampleCount);
+            long capacity = hsa.capacity();
+            long startSlot = ThreadLocalRandomProvider.get().nextInt(Integer.MAX_VALUE) & (capacity - 1);
+            for (long i = 0; i < capacity && samples.size() < sampleCount; i++) {
+                long slotValueAddress = hsa.valueAddressOfAssignedSlot((startSlot + i) & (capacity - 1));
+                if (slotValueAddress == NULL_ADDRESS) {
+                    continue;
+                }
+                for (long node = mem.getLong(slotValueAddress); node != NULL_ADDRESS && samples.size() < sampleCount;
+                     node = mem.getLong(node + NEXT_OFFSET)) {
+                    samples.add(new NativeEvictionCandidate(keyOf(node), recordOf(node)));
+                }
+            }
+            return samples;
+        }
+
+        void clear() {
+            if (disposed) {
+                return;
+            }
+            long capacity = hsa.capacity();
+            for (long slot = 0; slot < capacity; slot++) {
+                long slotValueAddress = hsa.valueAddressOfAssignedSlot(slot);
+                if (slotValueAddress == NULL_ADDRESS) {
+                    continue;
+                }
+                long node = mem.getLong(slotValueAddress);
+                while (node != NULL_ADDRESS) {
+                    long next = mem.getLong(node + NEXT_OFFSET);
+                    recordOf(node).dispose();
+                    malloc.free(node, nodeSize(node));
+                    node = next;
+                }
+            }
+            hsa.clear();
+            size = 0;
+        }
+
+        void dispose() {
+            clear();
+            if (!disposed) {
+                hsa.dispose();
+                disposed = true;
+            }
+        }
+    }
+
+    /**
+     * {@link EvictionCandidate} which captures the key, times and hits of a
+     * sampled record, so that the candidates can be compared without
+     * touching native memory.
+     */
+    public final class NativeEvictionCandidate implements EvictionCandidate<Data, NativeNearCacheRecord> {
+
+        private final Data key;
+        private final NativeNearCacheRecord record;
+        private final long creationTime;
+        private final long lastAccessTime;
+        private final long hits;
+
+        NativeEvictionCandidate(Data key, NativeNearCacheRecord record) {
+            this.key = key;
+            this.record = record;
+            this.creationTime = record.getCreationTime();
+            this.lastAccessTime = record.getLastAccessTime();
+            this.hits = record.getHits();
+        }
+
+        @Override
+        public Data getAccessor() {
+            return key;
+        }
+
+        @Override
+        public NativeNearCacheRecord getEvictable() {
+            return record;
+        }
+
+        @Override
+        public Object getKey() {
+            return serializationService.toObject(key);
+        }
+
+        @Override
+        public Object getValue() {
+            return serializationService.toObject(record.getValue());
+        }
+
+        @Override
+        public long getCreationTime() {
+            return creationTime;
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return lastAccessTime;
+        }
+
+        @Override
+        public long getHits() {
+            return hits;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
+import com.hazelcast.internal.nearcache.NearCache;
+import com.hazelcast.internal.nearcache.impl.maxsize.EntryCountNearCacheEvictionChecker;
+import com.hazelcast.internal.nearcache.impl.maxsize.NativeMemoryNearCacheEvictionChecker;
+import com.hazelcast.internal.nearcache.impl.preloader.NearCachePreloader;
+import com.hazelcast.internal.nearcache.impl.record.NativeNearCacheRecord;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.internal.nearcache.NearCache.UpdateSemantic.WRITE_UPDATE;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.READ_PERMITTED;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.TIME_NOT_SET;
+import static com.hazelcast.internal.util.Clock.currentTimeMillis;
+import static java.lang.String.format;
+
+/**
+ * {@link com.hazelcast.internal.nearcache.NearCacheRecordStore} implementation for Near Caches
+ * with {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory-format.
+ * <p>
+ * Keys, values and record metadata are kept in native memory allocated
+ * from the given {@link UnsafeMemoryManager}, which is shared by all the
+ * native Near Caches of a client. Since a record is disposed as soon as it
+ * is removed from the {@link NativeNearCacheRecordMap}, every operation
+ * accessing a record holds the lock of its key for the whole access. The
+ * reported owned entry memory cost is the native memory owned by the
+ * entries of this Near Cache.
+ *
+ * @param <K> the type of the key stored in Near Cache
+ * @param <V> the type of the value stored in Near Cache
+ */
+public class NativeNearCacheRecordStore<K, V>
+        extends AbstractNearCacheRecordStore<K, V, Data, NativeNearCacheRecord, NativeNearCacheRecordMap> {
+
+    private final UnsafeMemoryManager memoryManager;
+    private final NearCachePreloader<Data> nearCachePreloader;
+
+    public NativeNearCacheRecordStore(String name,
+                                      NearCacheConfig nearCacheConfig,
+                                      UnsafeMemoryManager memoryManager,
+                                      SerializationService serializationService,
+                                      ClassLoader classLoader) {
+        super(nearCacheConfig, serializationService, classLoader);
+        this.memoryManager = memoryManager;
+
+        NearCachePreloaderConfig preloaderConfig = nearCacheConfig.getPreloaderConfig();
+        this.nearCachePreloader = preloaderConfig.isEnabled()
+                ? new NearCachePreloader<>(name, preloaderConfig, nearCacheStats, serializationService) : null;
+    }
+
+    @Override
+    protected EvictionChecker createNearCacheEvictionChecker(EvictionConfig evictionConfig,
+                                                             NearCacheConfig nearCacheConfig) {
+        MaxSizePolicy maxSizePolicy = evictionConfig.getMaxSizePolicy();
+        switch (maxSizePolicy) {
+            case ENTRY_COUNT:
+                return new EntryCountNearCacheEvictionChecker(evictionConfig.getSize(), records);
+            case USED_NATIVE_MEMORY_SIZE:
+            case USED_NATIVE_MEMORY_PERCENTAGE:
+            case FREE_NATIVE_MEMORY_SIZE:
+            case FREE_NATIVE_MEMORY_PERCENTAGE:
+                return new NativeMemoryNearCacheEvictionChecker(maxSizePolicy, evictionConfig.getSize(),
+                        nearCacheStats, memoryManager);
+            default:
+                throw new IllegalArgumentException(format("Invalid max-size policy (%s) for %s!",
+                        maxSizePolicy, getClass().getName()));
+        }
+    }
+
+    @Override
+    protected NativeNearCacheRecordMap createNearCacheRecordMap(NearCacheConfig nearCacheConfig) {
+        return new NativeNearCacheRecordMap(memoryManager, serializationService);
+    }
+
+    @Override
+    protected long getKeyStorageMemoryCost(K key) {
+        return NativeNearCacheRecordMap.nodeCost(toKeyData(key));
+    }
+
+    @Override
+    protected long getRecordStorageMemoryCost(NativeNearCacheRecord record) {
+        return record == null ? 0L : record.getCost();
+    }
+
+    @Override
+    protected NativeNearCacheRecord createRecord(V value) {
+        long creationTime = currentTimeMillis();
+        long expirationTime = timeToLiveMillis > 0 ? creationTime + timeToLiveMillis : TIME_NOT_SET;
+        NativeNearCacheRecord record = NativeNearCacheRecord.allocate(memoryManager, creationTime, expirationTime);
+        if (value != null) {
+            try {
+                record.setValue(toData(value));
+            } catch (NativeOutOfMemoryError e) {
+                record.dispose();
+                throw e;
+            }
+        }
+        return record;
+    }
+
+    @Override
+    protected void updateRecordValue(NativeNearCacheRecord record, V value) {
+        record.setValue(toData(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned record is only valid while the lock of the key is held.
+     */
+    @Override
+    public NativeNearCacheRecord getRecord(K key) {
+        return records.get(toKeyData(key));
+    }
+
+    @Override
+    public V get(K key) {
+        checkAvailable();
+
+        Data keyData = toKeyData(key);
+        Lock lock = records.lockOf(keyData);
+        lock.lock();
+        try {
+            NativeNearCacheRecord record = records.get(keyData);
+            if (record == null || isReservedWithoutValue(record)) {
+                nearCacheStats.incrementMisses();
+                return null;
+            }
+
+            if (staleReadDetector.isStaleRead(key, record)) {
+                invalidate(key);
+                nearCacheStats.incrementMisses();
+                return null;
+            }
+
+            if (isRecordExpired(record)) {
+                // the record is disposed by the invalidation
+                onExpire(key, record);
+                invalidate(key);
+                return null;
+            }
+
+            record.setLastAccessTime(Clock.currentTimeMillis());
+            record.incrementHits();
+            nearCacheStats.incrementHits();
+            return recordToValue(record);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected NativeNearCacheRecord putRecord(K key, NativeNearCacheRecord record) {
+        Data keyData = toKeyData(key);
+        Lock lock = records.lockOf(keyData);
+        lock.lock();
+        try {
+            NativeNearCacheRecord oldRecord = records.get(keyData);
+            if (oldRecord != null) {
+                nearCacheStats.decrementOwnedEntryMemoryCost(getTotalStorageMemoryCost(key, oldRecord));
+            }
+            // the old record is disposed by the map
+            records.put(keyData, record);
+            nearCacheStats.incrementOwnedEntryMemoryCost(getTotalStorageMemoryCost(key, record));
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected boolean containsRecordKey(K key) {
+        return records.containsKey(toKeyData(key));
+    }
+
+    @Override
+    public long tryReserveForUpdate(K key, Data keyData, NearCache.UpdateSemantic updateSemantic) {
+        checkAvailable();
+        if (evictionDisabled && evictionChecker.isEvictionRequired() && !containsRecordKey(key)) {
+            return NOT_RESERVED;
+        }
+
+        long reservationId = nextReservationId();
+        Lock lock = records.lockOf(toKeyData(key));
+        lock.lock();
+        try {
+            NativeNearCacheRecord reservedRecord = updateSemantic == WRITE_UPDATE
+                    ? reserveForWriteUpdate(key, keyData, reservationId)
+                    : reserveForReadUpdate(key, keyData, reservationId);
+
+            if (reservedRecord == null || reservedRecord.getReservationId() != reservationId) {
+                return NOT_RESERVED;
+            }
+            return reservationId;
+        } catch (NativeOutOfMemoryError e) {
+            reservationId = NOT_RESERVED;
+        } finally {
+            lock.unlock();
+        }
+        // make room for the next attempt, the current update is skipped; the
+        // eviction locks another segment, so it runs after the lock is released
+        doEviction(true);
+        return reservationId;
+    }
+
+    @Override
+    protected NativeNearCacheRecord reserveForReadUpdate(K key, Data keyData, long reservationId) {
+        return records.computeIfAbsent(toKeyData(key), k -> newReservationRecord(key, keyData, reservationId));
+    }
+
+    @Override
+    protected NativeNearCacheRecord reserveForWriteUpdate(K key, Data keyData, long reservationId) {
+        return records.compute(toKeyData(key),
+                (k, existingRecord) -> reserveForWriteUpdate(key, keyData, existingRecord, reservationId));
+    }
+
+    @Nullable
+    @Override
+    public V tryPublishReserved(K key, V value, long reservationId, boolean deserialize) {
+        Data keyData = toKeyData(key);
+        Lock lock = records.lockOf(keyData);
+        lock.lock();
+        try {
+            NativeNearCacheRecord reservedRecord = records.get(keyData);
+            if (reservedRecord == null) {
+                return null;
+            }
+            boolean counted = reservedRecord.getValue() != null || reservedRecord.isCachedAsNull();
+            try {
+                publishReservedRecord(key, value, reservedRecord, reservationId);
+            } catch (NativeOutOfMemoryError e) {
+                // the cost of a counted record was already deducted by the publication
+                if (counted) {
+                    nearCacheStats.decrementOwnedEntryCount();
+                }
+                records.remove(keyData);
+                return null;
+            }
+            if (!deserialize) {
+                return null;
+            }
+            Data cachedValue = reservedRecord.getValue();
+            return cachedValue == null ? null : toValue(cachedValue);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        records.remove(toKeyData(key), (keyData, record) -> {
+            if (canUpdateStats(record)) {
+                nearCacheStats.decrementOwnedEntryCount();
+                nearCacheStats.decrementOwnedEntryMemoryCost(getTotalStorageMemoryCost(key, record));
+                nearCacheStats.incrementInvalidations();
+            }
+        });
+
+        nearCacheStats.incrementInvalidationRequests();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void doExpiration() {
+        BiConsumer<Data, NativeNearCacheRecord> expirationListener = (keyData, record) -> {
+            if (canUpdateStats(record)) {
+                nearCacheStats.decrementOwnedEntryCount();
+                nearCacheStats.decrementOwnedEntryMemoryCost(getTotalStorageMemoryCost((K) keyData, record));
+                nearCacheStats.incrementInvalidations();
+            }
+            nearCacheStats.incrementInvalidationRequests();
+            onExpire((K) keyData, record);
+        };
+        records.removeIf((keyData, record) -> isRecordExpired(record), expirationListener);
+    }
+
+    @Override
+    public boolean doEviction(boolean withoutMaxSizeCheck) {
+        checkAvailable();
+
+        if (evictionDisabled) {
+            return false;
+        }
+        if (!withoutMaxSizeCheck && !evictionChecker.isEvictionRequired()) {
+            return false;
+        }
+        return records.evict(evictionPolicyEvaluator, this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onEvict(Data key, NativeNearCacheRecord record, boolean wasExpired) {
+        if (!canUpdateStats(record)) {
+            return;
+        }
+        super.onEvict(key, record, wasExpired);
+        nearCacheStats.decrementOwnedEntryMemoryCost(getTotalStorageMemoryCost((K) key, record));
+    }
+
+    /**
+     * Only the keys are stored, since the values of a native Near Cache
+     * are not available for the snapshot without copying them to heap.
+     */
+    @Override
+    public void storeKeys() {
+        if (nearCachePreloader != null) {
+            nearCachePreloader.storeKeys(records.keyIterator());
+        }
+    }
+
+    @Override
+    public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
+        if (nearCachePreloader != null) {
+            nearCachePreloader.loadKeys(adapter);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        records.dispose();
+        if (nearCachePreloader != null) {
+            nearCachePreloader.destroy();
+        }
+    }
+
+    private boolean isReservedWithoutValue(NativeNearCacheRecord record) {
+        return record.getReservationId() != READ_PERMITTED
+                && !record.isCachedAsNull()
+                && record.getValue() == null;
+    }
+
+    private Data toKeyData(K key) {
+        return key instanceof Data ? (Data) key : toData(key);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.compression;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.util.counters.SwCounter;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_COMPRESSION_BYTES_READ;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_COMPRESSION_BYTES_READ_UNCOMPRESSED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_COMPRESSION_BYTES_SAVED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_COMPRESSION_BYTES_WRITTEN;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_COMPRESSION_BYTES_WRITTEN_UNCOMPRESSED;
+import static com.hazelcast.internal.metrics.ProbeLevel.DEBUG;
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+
+/**
+ * The compression state of a single {@link Channel}, shared by its
+ * {@link CompressionHandshakeDecoder}, {@link CompressionHandshakeEncoder},
+ * {@link InflatingDecoder} and {@link DeflatingEncoder}.
+ * <p>
+ * The compression is negotiated when the connection is established. The side
+ * initiating the connection, if it has compression enabled, sends a
+ * {@link #preamble(byte) preamble} requesting a codec right after the
+ * protocol bytes and holds back any further writes. The accepting side
+ * answers with a preamble carrying the same codec if it has compression
+ * enabled and supports the codec, or with {@link #CODEC_NONE} otherwise.
+ * Both sides compress the rest of their outbound stream only if the request
+ * was accepted, so a connection between members (or a client and a member)
+ * with different settings stays uncompressed. The preamble starts with bytes
+ * which can be the start of neither a packet nor a client message, so the
+ * accepting side detects a peer which doesn't request compression.
+ * <p>
+ * The instance is stored in the {@link Channel#attributeMap()} and also
+ * provides the per-connection compression metrics.
+ */
+public final class ChannelCompression {
+
+    /**
+     * The codec id with which the accepting side rejects the compression.
+     */
+    public static final byte CODEC_NONE = 0;
+
+    /**
+     * The id of the deflate codec.
+     */
+    public static final byte CODEC_DEFLATE = 1;
+
+    static final byte[] MAGIC = {-1, -1, -1, -1};
+
+    static final int PREAMBLE_LENGTH = MAGIC.length + 1;
+
+    @Probe(name = NETWORKING_METRIC_COMPRESSION_BYTES_READ, unit = BYTES, level = DEBUG)
+    private final SwCounter bytesRead = newSwCounter();
+    @Probe(name = NETWORKING_METRIC_COMPRESSION_BYTES_READ_UNCOMPRESSED, unit = BYTES, level = DEBUG)
+    private final SwCounter bytesReadUncompressed = newSwCounter();
+    @Probe(name = NETWORKING_METRIC_COMPRESSION_BYTES_WRITTEN, unit = BYTES, level = DEBUG)
+    private final SwCounter bytesWritten = newSwCounter();
+    @Probe(name = NETWORKING_METRIC_COMPRESSION_BYTES_WRITTEN_UNCOMPRESSED, unit = BYTES, level = DEBUG)
+    private final SwCounter bytesWrittenUncompressed = newSwCounter();
+
+    private final Channel channel;
+
+    // the order of the updates must stay in reverse order with the access
+    // order in CompressionHandshakeEncoder#onWrite
+    private volatile boolean requested;
+    private volatile boolean compressing;
+    private volatile boolean negotiated;
+
+    private ChannelCompression(Channel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Gets the compression state of the given channel, creating it if
+     * needed.
+     *
+     * @param channel the channel
+     * @return the compression state
+     */
+    @SuppressWarnings("unchecked")
+    public static ChannelCompression of(Channel channel) {
+        ConcurrentMap<Object, Object> attributeMap = channel.attributeMap();
+        return (ChannelCompression) attributeMap.computeIfAbsent(ChannelCompression.class,
+                key -> new ChannelCompression(channel));
+    }
+
+    /**
+     * @return the number of bytes saved by the compression, in both directions.
+     */
+    @Probe(name = NETWORKING_METRIC_COMPRESSION_BYTES_SAVED, unit = BYTES, level = INFO)
+    public long bytesSaved() {
+        return bytesReadUncompressed.get() - bytesRead.get() + bytesWrittenUncompressed.get() - bytesWritten.get();
+    }
+
+    boolean isNegotiated() {
+        return negotiated;
+    }
+
+    /**
+     * @return {@code true} if the initiating side requested the compression
+     */
+    boolean isRequested() {
+        return requested;
+    }
+
+    /**
+     * @return {@code true} if both directions of the channel are compressed
+     */
+    public boolean isCompressing() {
+        return compressing;
+    }
+
+    /**
+     * Called by the {@link CompressionHandshakeDecoder} once the outcome of
+     * the handshake is known.
+     *
+     * @param requested   if the initiating side requested the compression
+     * @param compressing if the request was accepted
+     */
+    void onNegotiated(boolean requested, boolean compressing) {
+        this.requested = requested;
+        this.compressing = compressing;
+        this.negotiated = true;
+        channel.outboundPipeline().wakeup();
+    }
+
+    /**
+     * Creates the preamble announcing the given codec.
+     *
+     * @param codec the codec id
+     * @return the preamble bytes
+     */
+    static byte[] preamble(byte codec) {
+        byte[] preamble = Arrays.copyOf(MAGIC, PREAMBLE_LENGTH);
+        preamble[MAGIC.length] = codec;
+        return preamble;
+    }
+
+    void onRead(int compressed, int uncompressed) {
+        bytesRead.inc(compressed);
+        bytesReadUncompressed.inc(uncompressed);
+    }
+
+    void onWritten(int compressed, int uncompressed) {
+        bytesWritten.inc(compressed);
+        bytesWrittenUncompressed.inc(uncompressed);
+    }
+}
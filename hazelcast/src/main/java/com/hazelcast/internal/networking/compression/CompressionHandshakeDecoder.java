@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.compression;
+
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.InboundHandler;
+
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.compression.ChannelCompression.CODEC_DEFLATE;
+import static com.hazelcast.internal.networking.compression.ChannelCompression.MAGIC;
+import static com.hazelcast.internal.networking.compression.ChannelCompression.PREAMBLE_LENGTH;
+import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+
+/**
+ * Reads the compression handshake {@link ChannelCompression#preamble(byte)
+ * preamble} of the peer.
+ * <p>
+ * On the accepting side, the preamble is the request of the initiating side.
+ * The request is accepted if the compression is enabled locally and the codec
+ * is supported. If the inbound stream doesn't start with a preamble, the peer
+ * didn't request compression and the received bytes are handed over to the
+ * next handler. On the initiating side, the preamble is the answer to the
+ * request sent by the {@link CompressionHandshakeEncoder}.
+ * <p>
+ * Once the outcome is known, the decoder replaces itself with an
+ * {@link InflatingDecoder} if the connection is compressed, or removes
+ * itself from the pipeline otherwise, and notifies the
+ * {@link CompressionHandshakeEncoder} of the channel.
+ */
+public class CompressionHandshakeDecoder extends InboundHandler<ByteBuffer, ByteBuffer> {
+
+    private final boolean enabled;
+    private ChannelCompression compression;
+
+    /**
+     * @param enabled if the compression is enabled locally
+     */
+    public CompressionHandshakeDecoder(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void handlerAdded() {
+        compression = ChannelCompression.of(channel);
+        initSrcBuffer(PREAMBLE_LENGTH);
+    }
+
+    @Override
+    public HandlerStatus onRead() {
+        src.flip();
+
+        try {
+            if (!startsWithMagic() || (channel.isClientMode() && !enabled)) {
+                // no compression was requested, these are already the bytes of the next handler
+                dst.put(src);
+                compression.onNegotiated(false, false);
+                channel.inboundPipeline().remove(this);
+                return CLEAN;
+            }
+
+            if (src.remaining() < PREAMBLE_LENGTH) {
+                // the preamble has not yet been fully received.
+                return CLEAN;
+            }
+
+            src.position(MAGIC.length);
+            byte codec = src.get();
+            // the initiating side only ever requests deflate, and the accepting
+            // side answers with the requested codec or with CODEC_NONE
+            boolean compressing = codec == CODEC_DEFLATE && (channel.isClientMode() || enabled);
+            compression.onNegotiated(true, compressing);
+            if (compressing) {
+                channel.inboundPipeline().replace(this, new InflatingDecoder());
+            } else {
+                channel.inboundPipeline().remove(this);
+            }
+            return CLEAN;
+        } finally {
+            compactOrClear(src);
+        }
+    }
+
+    private boolean startsWithMagic() {
+        int length = Math.min(src.remaining(), MAGIC.length);
+        for (int i = 0; i < length; i++) {
+            if (src.get(i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.compression;
+
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.OutboundHandler;
+
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.internal.networking.HandlerStatus.BLOCKED;
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static com.hazelcast.internal.networking.compression.ChannelCompression.CODEC_DEFLATE;
+import static com.hazelcast.internal.networking.compression.ChannelCompression.CODEC_NONE;
+import static com.hazelcast.internal.networking.compression.ChannelCompression.PREAMBLE_LENGTH;
+import static com.hazelcast.internal.networking.compression.ChannelCompression.preamble;
+
+/**
+ * Writes the compression handshake {@link ChannelCompression#preamble(byte)
+ * preamble} of this side of the connection.
+ * <p>
+ * On the initiating side, it writes the request and holds back the writes of
+ * the previous handlers till the {@link CompressionHandshakeDecoder} received
+ * the answer. On the accepting side, it waits for the request, if any, and
+ * answers it. Once the handshake is done, the encoder replaces itself with a
+ * {@link DeflatingEncoder} if the request was accepted, or removes itself
+ * from the pipeline otherwise.
+ */
+public class CompressionHandshakeEncoder extends OutboundHandler<ByteBuffer, ByteBuffer> {
+
+    private final boolean enabled;
+    private final int level;
+    private ChannelCompression compression;
+    private boolean answered;
+
+    /**
+     * @param enabled if the compression is enabled locally
+     * @param level   the deflate compression level, see {@link java.util.zip.Deflater#setLevel(int)}
+     */
+    public CompressionHandshakeEncoder(boolean enabled, int level) {
+        this.enabled = enabled;
+        this.level = level;
+    }
+
+    @Override
+    public void handlerAdded() {
+        compression = ChannelCompression.of(channel);
+        if (channel.isClientMode() && enabled) {
+            initDstBuffer(PREAMBLE_LENGTH, preamble(CODEC_DEFLATE));
+        } else {
+            initDstBuffer(PREAMBLE_LENGTH);
+        }
+    }
+
+    @Override
+    public HandlerStatus onWrite() {
+        if (channel.isClientMode() && !enabled) {
+            channel.outboundPipeline().remove(this);
+            return CLEAN;
+        }
+
+        if (dst.hasRemaining()) {
+            // the preamble has not yet been fully written to the socket
+            return DIRTY;
+        }
+
+        if (!compression.isNegotiated()) {
+            // the initiating side waits for the answer, the accepting side for the request
+            return BLOCKED;
+        }
+
+        if (!channel.isClientMode() && compression.isRequested() && !answered) {
+            answered = true;
+            dst.clear();
+            dst.put(preamble(compression.isCompressing() ? CODEC_DEFLATE : CODEC_NONE));
+            dst.flip();
+            return DIRTY;
+        }
+
+        if (compression.isCompressing()) {
+            channel.outboundPipeline().replace(this, new DeflatingEncoder(level));
+        } else {
+            channel.outboundPipeline().remove(this);
+        }
+        return CLEAN;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.compression;
+
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.OutboundHandler;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static java.util.zip.Deflater.SYNC_FLUSH;
+
+/**
+ * Compresses the bytes written by the previous handler into a deflate stream.
+ * Every write is flushed, so the peer can decode all the frames written so
+ * far without waiting for more data.
+ * <p>
+ * It is installed by the {@link CompressionHandshakeEncoder} once both sides
+ * agreed on the compression. The native memory of the deflater is released
+ * when the channel is closed.
+ */
+public class DeflatingEncoder extends OutboundHandler<ByteBuffer, ByteBuffer> {
+
+    private final Deflater deflater;
+    private ChannelCompression compression;
+    private byte[] input;
+    private boolean flushPending;
+
+    /**
+     * @param level the deflate compression level, see {@link Deflater#setLevel(int)}
+     */
+    public DeflatingEncoder(int level) {
+        this.deflater = new Deflater(level);
+    }
+
+    @Override
+    public void handlerAdded() {
+        compression = ChannelCompression.of(channel);
+        initDstBuffer();
+        input = new byte[dst.capacity()];
+        channel.addCloseListener(closed -> deflater.end());
+    }
+
+    @Override
+    public HandlerStatus onWrite() {
+        compactOrClear(dst);
+
+        try {
+            for (; ; ) {
+                int uncompressed = 0;
+                if (deflater.needsInput()) {
+                    if (src.hasRemaining()) {
+                        // the deflater keeps a reference to the input, so it is copied out of src
+                        uncompressed = Math.min(src.remaining(), input.length);
+                        src.get(input, 0, uncompressed);
+                        deflater.setInput(input, 0, uncompressed);
+                        flushPending = true;
+                    } else if (!flushPending) {
+                        return CLEAN;
+                    }
+                }
+
+                if (!dst.hasRemaining()) {
+                    compression.onWritten(0, uncompressed);
+                    return DIRTY;
+                }
+
+                int deflated = deflater.deflate(dst, SYNC_FLUSH);
+                compression.onWritten(deflated, uncompressed);
+                if (dst.hasRemaining()) {
+                    // the input has been fully consumed and flushed
+                    flushPending = false;
+                }
+            }
+        } finally {
+            dst.flip();
+        }
+    }
+}
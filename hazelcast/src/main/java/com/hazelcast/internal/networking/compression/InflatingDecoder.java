@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.compression;
+
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.InboundHandler;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+
+/**
+ * Decompresses the deflate stream written by the {@link DeflatingEncoder} of
+ * the peer and writes the result to the next handler. The native memory of
+ * the inflater is released when the channel is closed.
+ */
+public class InflatingDecoder extends InboundHandler<ByteBuffer, ByteBuffer> {
+
+    private final Inflater inflater = new Inflater();
+    private ChannelCompression compression;
+    private byte[] input;
+
+    @Override
+    public void handlerAdded() {
+        compression = ChannelCompression.of(channel);
+        initSrcBuffer();
+        input = new byte[src.capacity()];
+        channel.addCloseListener(closed -> inflater.end());
+    }
+
+    @Override
+    public HandlerStatus onRead() throws DataFormatException {
+        src.flip();
+
+        try {
+            for (; ; ) {
+                int compressed = 0;
+                if (inflater.needsInput()) {
+                    if (!src.hasRemaining()) {
+                        return CLEAN;
+                    }
+                    // the inflater keeps a reference to the input, so it is copied out of src
+                    compressed = src.remaining();
+                    src.get(input, 0, compressed);
+                    inflater.setInput(input, 0, compressed);
+                }
+
+                if (!dst.hasRemaining()) {
+                    // the next handler needs to drain the dst first
+                    compression.onRead(compressed, 0);
+                    return DIRTY;
+                }
+
+                int inflated = inflater.inflate(dst);
+                compression.onRead(compressed, inflated);
+                if (inflater.finished() || inflater.needsDictionary()) {
+                    throw new IllegalStateException("Unexpected end of the compressed stream");
+                }
+            }
+        } finally {
+            compactOrClear(src);
+        }
+    }
+}
@@ -29,6 +29,7 @@ import com.hazelcast.internal.networking.ChannelInitializer;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.Networking;
 import com.hazelcast.internal.networking.OutboundHandler;
+import com.hazelcast.internal.networking.compression.ChannelCompression;
 import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
 import com.hazelcast.internal.util.ConcurrencyDetection;
 import com.hazelcast.internal.util.ThreadAffinity;
@@ -55,6 +56,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_DISCR
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_DISCRIMINATOR_THREAD;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_BALANCER;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_CONNECTION_COMPRESSION;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_CONNECTION_IN;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_CONNECTION_OUT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_INPUTTHREAD;
@@ -369,6 +371,15 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                     .withPrefix(TCP_PREFIX_CONNECTION_OUT)
                     .withDiscriminator(TCP_DISCRIMINATOR_PIPELINEID, pipelineId);
             context.collect(descriptorOut, channel.outboundPipeline());
+
+            ChannelCompression compression = (ChannelCompression) channel.attributeMap().get(ChannelCompression.class);
+            if (compression != null && compression.isCompressing()) {
+                MetricDescriptor descriptorCompression = descriptor
+                        .copy()
+                        .withPrefix(TCP_PREFIX_CONNECTION_COMPRESSION)
+                        .withDiscriminator(TCP_DISCRIMINATOR_PIPELINEID, pipelineId);
+                context.collect(descriptorCompression, compression);
+            }
         }
 
         NioThread[] inputThreads = this.inputThreads;
@@ -21,6 +21,7 @@ import com.hazelcast.spi.impl.SerializationServiceSupport;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
 public interface BufferObjectDataOutput extends ObjectDataOutput, Closeable,
@@ -73,4 +74,13 @@ public interface BufferObjectDataOutput extends ObjectDataOutput, Closeable,
     void position(int newPos);
 
     void clear();
+
+    /**
+     * Copies {@code length} bytes written to this output, starting at
+     * {@code offset}, to the given buffer without creating an intermediate
+     * array.
+     */
+    default void copyTo(int offset, ByteBuffer dst, int length) {
+        dst.put(toByteArray(), offset, length);
+    }
 }
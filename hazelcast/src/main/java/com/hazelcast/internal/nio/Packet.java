@@ -20,6 +20,9 @@ import com.hazelcast.internal.networking.OutboundFrame;
 import com.hazelcast.internal.server.ServerConnection;
 import com.hazelcast.internal.serialization.impl.HeapData;
 
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
 import static com.hazelcast.internal.nio.PacketIOHelper.HEADER_SIZE;
 
 /**
@@ -96,6 +99,14 @@ public final class Packet extends HeapData implements OutboundFrame {
      */
     public static final int FLAG_JET_FLOW_CONTROL = 1 << 1;
 
+    // 3.c Event packet flags
+
+    /**
+     * Marks an Event packet as a batch of events, see
+     * {@link com.hazelcast.spi.impl.eventservice.impl.RemoteEventBatcher}
+     */
+    public static final int FLAG_EVENT_BATCH = 1 << 1;
+
     /**
      * Marks a packet as sent by a 4.x member
      */
@@ -109,6 +120,13 @@ public final class Packet extends HeapData implements OutboundFrame {
 
     private int partitionId;
     private transient ServerConnection conn;
+    private transient long enqueueTimeNanos = Long.MIN_VALUE;
+    // set for outbound packets whose payload is still held by a pooled
+    // output, see Packet(BufferObjectDataOutput, int, Consumer)
+    private transient BufferObjectDataOutput payloadOutput;
+    private transient Consumer<BufferObjectDataOutput> payloadOutputRecycler;
+    private transient int payloadOutputSize;
+    private transient boolean payloadOutputReleased;
 
     public Packet() {
         raiseFlags(FLAG_4_0);
@@ -124,6 +142,27 @@ public final class Packet extends HeapData implements OutboundFrame {
         raiseFlags(FLAG_4_0);
     }
 
+    /**
+     * Creates an outbound packet whose payload is held by the given output,
+     * so that it is written to the connection without being copied to an
+     * array first. Once the packet is written, the output is passed to the
+     * recycler, see {@link #releasePayloadOutput()}. Hence such a packet must
+     * be written to a single connection, which owns it from then on: reading
+     * a payload which wasn't copied to an array before the output got
+     * released fails with an {@link IllegalStateException}.
+     *
+     * @param payloadOutput         the output holding the payload
+     * @param partitionId           the partition ID of the packet
+     * @param payloadOutputRecycler returns the output to its pool
+     */
+    public Packet(BufferObjectDataOutput payloadOutput, int partitionId,
+                  Consumer<BufferObjectDataOutput> payloadOutputRecycler) {
+        this((byte[]) null, partitionId);
+        this.payloadOutput = payloadOutput;
+        this.payloadOutputRecycler = payloadOutputRecycler;
+        this.payloadOutputSize = payloadOutput.position();
+    }
+
     /**
      * Gets the Connection this Packet was send with.
      *
@@ -147,6 +186,22 @@ public final class Packet extends HeapData implements OutboundFrame {
         return this;
     }
 
+    /**
+     * Gets the time, as returned by {@link System#nanoTime}, when this
+     * Packet was added to the queue of a partition thread.
+     *
+     * @return the enqueue time or {@link Long#MIN_VALUE} if the Packet wasn't
+     * enqueued on a partition thread
+     */
+    public long getEnqueueTimeNanos() {
+        return enqueueTimeNanos;
+    }
+
+    public Packet setEnqueueTimeNanos(long enqueueTimeNanos) {
+        this.enqueueTimeNanos = enqueueTimeNanos;
+        return this;
+    }
+
     public Type getPacketType() {
         return Type.fromFlags(flags);
     }
@@ -223,7 +278,102 @@ public final class Packet extends HeapData implements OutboundFrame {
 
     @Override
     public int getFrameLength() {
-        return (payload != null ? totalSize() : 0) + HEADER_SIZE;
+        return totalSize() + HEADER_SIZE;
+    }
+
+    /**
+     * Copies {@code length} bytes of the payload, starting at {@code offset},
+     * to the given buffer.
+     */
+    public void copyPayloadTo(int offset, ByteBuffer dst, int length) {
+        BufferObjectDataOutput out = payloadOutput;
+        if (out != null) {
+            out.copyTo(offset, dst, length);
+        } else {
+            checkPayloadAvailable();
+            dst.put(payload, offset, length);
+        }
+    }
+
+    /**
+     * Passes the output holding the payload of this packet, if any, to its
+     * recycler. It must be called only once the packet is written and won't
+     * be accessed anymore, e.g. when it was written or dropped, since the
+     * recycled output is reused for other packets.
+     */
+    public void releasePayloadOutput() {
+        BufferObjectDataOutput out = payloadOutput;
+        if (out != null) {
+            payloadOutput = null;
+            payloadOutputReleased = true;
+            payloadOutputRecycler.accept(out);
+        }
+    }
+
+    /**
+     * Copies the payload held by the output to the payload array, for the
+     * accessors inherited from {@link HeapData} which read the array.
+     */
+    private void materializePayload() {
+        BufferObjectDataOutput out = payloadOutput;
+        if (out != null && payload == null) {
+            payload = out.toByteArray();
+        }
+        checkPayloadAvailable();
+    }
+
+    private void checkPayloadAvailable() {
+        if (payload == null && payloadOutputReleased) {
+            throw new IllegalStateException("The payload of " + this + " was released to its pool");
+        }
+    }
+
+    @Override
+    public int totalSize() {
+        // the size is kept, since the output may be released and reused concurrently
+        return payloadOutputRecycler != null ? payloadOutputSize : super.totalSize();
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        materializePayload();
+        return payload;
+    }
+
+    @Override
+    public void copyTo(byte[] dest, int destPos) {
+        materializePayload();
+        super.copyTo(dest, destPos);
+    }
+
+    @Override
+    public int getPartitionHash() {
+        materializePayload();
+        return super.getPartitionHash();
+    }
+
+    @Override
+    public boolean hasPartitionHash() {
+        materializePayload();
+        return super.hasPartitionHash();
+    }
+
+    @Override
+    public int getType() {
+        materializePayload();
+        return super.getType();
+    }
+
+    @Override
+    public int getHeapCost() {
+        materializePayload();
+        return super.getHeapCost();
+    }
+
+    @Override
+    public long hash64() {
+        materializePayload();
+        return super.hash64();
     }
 
     @Override
@@ -237,6 +387,7 @@ public final class Packet extends HeapData implements OutboundFrame {
         }
 
         Packet packet = (Packet) o;
+        materializePayload();
         if (!super.equals(packet)) {
             return false;
         }
@@ -249,6 +400,7 @@ public final class Packet extends HeapData implements OutboundFrame {
 
     @Override
     public int hashCode() {
+        materializePayload();
         int result = super.hashCode();
         result = 31 * result + (int) flags;
         result = 31 * result + partitionId;
@@ -295,7 +447,12 @@ public final class Packet extends HeapData implements OutboundFrame {
          * <p>
          * {@code ordinal = 2}
          */
-        EVENT,
+        EVENT {
+            @Override
+            public String describeFlags(char flags) {
+                return "[isBatch=" + isFlagRaised(flags, FLAG_EVENT_BATCH) + ']';
+            }
+        },
         /**
          * The type of a Jet packet.
          * <p>
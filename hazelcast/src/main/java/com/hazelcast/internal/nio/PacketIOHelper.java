@@ -94,8 +94,7 @@ public class PacketIOHelper {
                 done = false;
             }
 
-            byte[] byteArray = packet.toByteArray();
-            dst.put(byteArray, valueOffset, bytesWrite);
+            packet.copyPayloadTo(valueOffset, dst, bytesWrite);
             valueOffset += bytesWrite;
 
             if (!done) {
@@ -69,6 +69,19 @@ public interface InternalSerializationService extends SerializationService, Disp
      */
     byte[] toBytes(Object obj, int leftPadding, boolean insertPartitionHash);
 
+    /**
+     * Writes the obj like {@link #toBytes(Object)}, but leaves the bytes in an output taken from a pool
+     * shared between threads instead of copying them to a new byte array. The caller owns the returned
+     * output until it passes it to {@link #returnSharedOutput(BufferObjectDataOutput)}, which may happen
+     * on another thread.
+     */
+    BufferObjectDataOutput toSharedOutput(Object obj);
+
+    /**
+     * Returns an output obtained from {@link #toSharedOutput(Object)} to the shared pool.
+     */
+    void returnSharedOutput(BufferObjectDataOutput out);
+
     <B extends Data> B toData(Object obj, DataType type);
 
     <B extends Data> B toData(Object obj, DataType type, PartitioningStrategy strategy);
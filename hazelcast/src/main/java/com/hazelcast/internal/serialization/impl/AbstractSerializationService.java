@@ -28,6 +28,7 @@ import com.hazelcast.internal.serialization.impl.bufferpool.BufferPool;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolFactory;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolFactoryImpl;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolThreadLocal;
+import com.hazelcast.internal.serialization.impl.bufferpool.SharedOutputBufferPool;
 import com.hazelcast.internal.serialization.impl.compact.CompactGenericRecord;
 import com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializer;
 import com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializerAdapter;
@@ -49,6 +50,7 @@ import com.hazelcast.nio.serialization.Serializer;
 import com.hazelcast.partition.PartitioningStrategy;
 
 import java.io.Externalizable;
+import java.io.IOException;
 import java.io.Serializable;
 import java.nio.ByteOrder;
 import java.util.IdentityHashMap;
@@ -76,6 +78,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
     protected final PartitioningStrategy globalPartitioningStrategy;
     protected final Supplier<RuntimeException> notActiveExceptionSupplier;
     protected final BufferPoolThreadLocal bufferPoolThreadLocal;
+    protected final SharedOutputBufferPool sharedOutputBufferPool;
 
     protected SerializerAdapter dataSerializerAdapter;
     protected SerializerAdapter portableSerializerAdapter;
@@ -114,6 +117,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
         this.notActiveExceptionSupplier = builder.notActiveExceptionSupplier;
         this.bufferPoolThreadLocal = new BufferPoolThreadLocal(this, builder.bufferPoolFactory,
                 builder.notActiveExceptionSupplier);
+        this.sharedOutputBufferPool = new SharedOutputBufferPool(this);
         this.nullSerializerAdapter = createSerializerAdapter(new ConstantSerializers.NullSerializer());
         this.constantTypesMap = new IdentityHashMap<>(builder.isCompatibility
                 ? CompatibilitySerializationConstants.CONSTANT_SERIALIZERS_LENGTH
@@ -142,6 +146,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
         this.notActiveExceptionSupplier = prototype.notActiveExceptionSupplier;
         this.bufferPoolThreadLocal = new BufferPoolThreadLocal(this, new BufferPoolFactoryImpl(),
                 prototype.notActiveExceptionSupplier);
+        this.sharedOutputBufferPool = new SharedOutputBufferPool(this);
         this.nullSerializerAdapter = prototype.nullSerializerAdapter;
         this.constantTypesMap = new IdentityHashMap<>(prototype.constantTypesMap.size());
         this.constantTypeIds = new SerializerAdapter[prototype.constantTypeIds.length];
@@ -226,16 +231,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
         BufferObjectDataOutput out = pool.takeOutputBuffer();
         try {
             out.position(leftPadding);
-
-            SerializerAdapter serializer = serializerFor(obj, includeSchema);
-            if (writeHash) {
-                int partitionHash = calculatePartitionHash(obj, strategy);
-                out.writeInt(partitionHash, BIG_ENDIAN);
-            }
-
-            out.writeInt(serializer.getTypeId(), serializerTypeIdByteOrder);
-
-            serializer.write(out, obj);
+            writeWithHeader(out, obj, writeHash, strategy, serializerTypeIdByteOrder, includeSchema);
             return out.toByteArray();
         } catch (Throwable e) {
             throw handleSerializeException(obj, e);
@@ -244,6 +240,38 @@ public abstract class AbstractSerializationService implements InternalSerializat
         }
     }
 
+    @Override
+    public BufferObjectDataOutput toSharedOutput(Object obj) {
+        checkNotNull(obj);
+
+        BufferObjectDataOutput out = sharedOutputBufferPool.takeOutputBuffer();
+        try {
+            writeWithHeader(out, obj, true, globalPartitioningStrategy, BIG_ENDIAN, false);
+            return out;
+        } catch (Throwable e) {
+            sharedOutputBufferPool.returnOutputBuffer(out);
+            throw handleSerializeException(obj, e);
+        }
+    }
+
+    @Override
+    public void returnSharedOutput(BufferObjectDataOutput out) {
+        sharedOutputBufferPool.returnOutputBuffer(out);
+    }
+
+    private void writeWithHeader(BufferObjectDataOutput out, Object obj, boolean writeHash, PartitioningStrategy strategy,
+                                 ByteOrder serializerTypeIdByteOrder, boolean includeSchema) throws IOException {
+        SerializerAdapter serializer = serializerFor(obj, includeSchema);
+        if (writeHash) {
+            int partitionHash = calculatePartitionHash(obj, strategy);
+            out.writeInt(partitionHash, BIG_ENDIAN);
+        }
+
+        out.writeInt(serializer.getTypeId(), serializerTypeIdByteOrder);
+
+        serializer.write(out, obj);
+    }
+
     @Override
     public final <T> T toObject(final Object object) {
         if (!(object instanceof Data)) {
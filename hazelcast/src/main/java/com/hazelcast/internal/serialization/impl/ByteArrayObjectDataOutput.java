@@ -25,6 +25,7 @@ import com.hazelcast.internal.util.collection.ArrayUtils;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
@@ -456,6 +457,12 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
         return newBuffer;
     }
 
+    @Override
+    public void copyTo(int offset, ByteBuffer dst, int length) {
+        ArrayUtils.boundsCheck(pos, offset, length);
+        dst.put(buffer, offset, length);
+    }
+
     @Override
     public void clear() {
         pos = 0;
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.bufferpool;
+
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.RuntimeAvailableProcessors;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A pool of {@link BufferObjectDataOutput} instances which, unlike the
+ * {@link BufferPool}, can be taken by one thread and returned by another.
+ *
+ * It is used for outputs whose content is handed over to another thread
+ * instead of being copied out, e.g. the payload of an outbound packet which
+ * is returned to the pool by the IO thread once the packet is written.
+ */
+public final class SharedOutputBufferPool {
+
+    static final int SLOTS_PER_PROCESSOR = 2;
+
+    // accessible for testing.
+    final AtomicReferenceArray<BufferObjectDataOutput> slots;
+
+    private final InternalSerializationService serializationService;
+
+    public SharedOutputBufferPool(InternalSerializationService serializationService) {
+        this(serializationService, RuntimeAvailableProcessors.get() * SLOTS_PER_PROCESSOR);
+    }
+
+    SharedOutputBufferPool(InternalSerializationService serializationService, int capacity) {
+        this.serializationService = serializationService;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Takes a BufferObjectDataOutput from the pool or creates a new one if
+     * the pool is empty.
+     *
+     * @return the taken BufferObjectDataOutput.
+     */
+    public BufferObjectDataOutput takeOutputBuffer() {
+        int length = slots.length();
+        int index = startIndex(length);
+        for (int i = 0; i < length; i++) {
+            BufferObjectDataOutput out = slots.get(index);
+            if (out != null && slots.compareAndSet(index, out, null)) {
+                return out;
+            }
+            index = index == length - 1 ? 0 : index + 1;
+        }
+        return serializationService.createObjectDataOutput();
+    }
+
+    /**
+     * Returns a BufferObjectDataOutput back to the pool. If the pool is full,
+     * the instance is left to the garbage collector.
+     *
+     * @param out the BufferObjectDataOutput.
+     */
+    public void returnOutputBuffer(BufferObjectDataOutput out) {
+        if (out == null) {
+            return;
+        }
+
+        out.clear();
+
+        int length = slots.length();
+        int index = startIndex(length);
+        for (int i = 0; i < length; i++) {
+            if (slots.get(index) == null && slots.compareAndSet(index, null, out)) {
+                return;
+            }
+            index = index == length - 1 ? 0 : index + 1;
+        }
+    }
+
+    /**
+     * Spreads the threads over the slots, so that they don't all contend on
+     * the first ones.
+     */
+    private static int startIndex(int length) {
+        return (int) (Thread.currentThread().getId() % length);
+    }
+}
@@ -16,7 +16,9 @@
 
 package com.hazelcast.internal.serialization.impl.compact;
 
+import com.hazelcast.internal.nio.Bits;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.nio.IOUtil;
 import com.hazelcast.internal.serialization.impl.FieldOperations;
 import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
@@ -31,10 +33,12 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
+import java.nio.ByteOrder;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.function.IntFunction;
@@ -94,6 +98,8 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
     private final OffsetReader offsetReader;
     private final Schema schema;
     private final BufferObjectDataInput in;
+    private final int startPosition;
+    private final int endPosition;
     private final int dataStartPosition;
     private final int variableOffsetsPosition;
     private final CompactStreamSerializer serializer;
@@ -108,6 +114,7 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
         this.schema = schema;
         this.associatedClass = associatedClass;
         this.schemaIncludedInBinary = schemaIncludedInBinary;
+        this.startPosition = in.position();
         try {
             int finalPosition;
             int numberOfVariableLengthFields = schema.getNumberOfVariableSizeFields();
@@ -131,6 +138,7 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
                 dataStartPosition = in.position();
                 finalPosition = dataStartPosition + schema.getFixedSizeFieldsLength();
             }
+            endPosition = finalPosition;
             //set the position to final so that the next one to read something from `in` can start from
             //correct position
             in.position(finalPosition);
@@ -164,9 +172,22 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
         return new DeserializedSchemaBoundGenericRecordBuilder(schema);
     }
 
+    /**
+     * {@inheritDoc}
+     * If only fixed-size fields are set on the returned builder, the built
+     * record is a copy of the serialized form of this record with these
+     * fields overwritten, see {@link CompactInternalGenericRecordCloner}.
+     */
     @Override
     @Nonnull
     public GenericRecordBuilder newBuilderWithClone() {
+        return new CompactInternalGenericRecordCloner(this);
+    }
+
+    /**
+     * Returns a builder for a deserialized clone of this record.
+     */
+    DeserializedGenericRecordCloner newDeserializedCloner() {
         TreeMap<String, Object> objects = new TreeMap<>();
         for (String fieldName : getFieldNames()) {
             objects.put(fieldName, readAny(fieldName));
@@ -174,6 +195,81 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
         return new DeserializedGenericRecordCloner(schema, objects);
     }
 
+    boolean isSchemaIncludedInBinary() {
+        return schemaIncludedInBinary;
+    }
+
+    /**
+     * Writes the fields of this record to the output in their serialized
+     * form, without deserializing them.
+     */
+    void writeFieldsTo(BufferObjectDataOutput out) throws IOException {
+        out.write(readSerializedFields());
+    }
+
+    /**
+     * Returns a record backed by a copy of the serialized form of this
+     * record, with the given fixed-size fields overwritten.
+     *
+     * @param values the new values of fixed-size fields
+     */
+    CompactInternalGenericRecord withFixedSizeFields(Map<String, Object> values) {
+        byte[] bytes = readSerializedFields();
+        boolean bigEndian = in.getByteOrder() == ByteOrder.BIG_ENDIAN;
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            FieldDescriptor fd = getFieldDescriptor(entry.getKey());
+            int position = dataStartPosition - startPosition + fd.getOffset();
+            writeFixedSizeField(bytes, position, fd, entry.getValue(), bigEndian);
+        }
+        return new CompactInternalGenericRecord(serializer, serializer.createObjectDataInput(bytes), schema,
+                associatedClass, schemaIncludedInBinary);
+    }
+
+    private byte[] readSerializedFields() {
+        int position = in.position();
+        try {
+            byte[] bytes = new byte[endPosition - startPosition];
+            in.position(startPosition);
+            in.readFully(bytes);
+            return bytes;
+        } catch (IOException e) {
+            throw illegalStateException(e);
+        } finally {
+            in.position(position);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+    private static void writeFixedSizeField(byte[] bytes, int position, FieldDescriptor fd, Object value,
+                                            boolean bigEndian) {
+        switch (fd.getKind()) {
+            case BOOLEAN:
+                int mask = 1 << fd.getBitOffset();
+                bytes[position] = (byte) ((Boolean) value ? bytes[position] | mask : bytes[position] & ~mask);
+                break;
+            case INT8:
+                bytes[position] = (Byte) value;
+                break;
+            case INT16:
+                Bits.writeShort(bytes, position, (Short) value, bigEndian);
+                break;
+            case INT32:
+                Bits.writeInt(bytes, position, (Integer) value, bigEndian);
+                break;
+            case INT64:
+                Bits.writeLong(bytes, position, (Long) value, bigEndian);
+                break;
+            case FLOAT32:
+                Bits.writeInt(bytes, position, Float.floatToIntBits((Float) value), bigEndian);
+                break;
+            case FLOAT64:
+                Bits.writeLong(bytes, position, Double.doubleToLongBits((Double) value), bigEndian);
+                break;
+            default:
+                throw new IllegalArgumentException("Not a fixed-size field: " + fd);
+        }
+    }
+
     @Override
     @Nonnull
     public FieldKind getFieldKind(@Nonnull String fieldName) {
@@ -197,19 +293,26 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
 
     @Override
     public boolean getBoolean(@Nonnull String fieldName) {
-        FieldDescriptor fd = getFieldDescriptor(fieldName);
+        return getBoolean(getFieldDescriptor(fieldName));
+    }
+
+    /**
+     * Reads the given field of the schema of this record without looking it
+     * up by name. The field must be a BOOLEAN or a NULLABLE_BOOLEAN.
+     */
+    boolean getBoolean(FieldDescriptor fd) {
         FieldKind fieldKind = fd.getKind();
         switch (fieldKind) {
             case BOOLEAN:
-                return getBoolean(fd);
+                return getFixedSizeBoolean(fd);
             case NULLABLE_BOOLEAN:
                 return getVariableSizeAsNonNull(fd, ObjectDataInput::readBoolean, "Boolean");
             default:
-                throw unexpectedFieldKind(BOOLEAN, fieldName);
+                throw unexpectedFieldKind(BOOLEAN, fd.getFieldName());
         }
     }
 
-    private boolean getBoolean(FieldDescriptor fd) {
+    private boolean getFixedSizeBoolean(FieldDescriptor fd) {
         try {
             int booleanOffset = fd.getOffset();
             int bitOffset = fd.getBitOffset();
@@ -223,7 +326,14 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
 
     @Override
     public byte getInt8(@Nonnull String fieldName) {
-        FieldDescriptor fd = getFieldDescriptor(fieldName);
+        return getInt8(getFieldDescriptor(fieldName));
+    }
+
+    /**
+     * Reads the given field of the schema of this record without looking it
+     * up by name. The field must be an INT8 or a NULLABLE_INT8.
+     */
+    byte getInt8(FieldDescriptor fd) {
         FieldKind fieldKind = fd.getKind();
         switch (fieldKind) {
             case INT8:
@@ -235,13 +345,20 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
             case NULLABLE_INT8:
                 return getVariableSizeAsNonNull(fd, ObjectDataInput::readByte, "Int8");
             default:
-                throw unexpectedFieldKind(fieldKind, fieldName);
+                throw unexpectedFieldKind(fieldKind, fd.getFieldName());
         }
     }
 
     @Override
     public short getInt16(@Nonnull String fieldName) {
-        FieldDescriptor fd = getFieldDescriptor(fieldName);
+        return getInt16(getFieldDescriptor(fieldName));
+    }
+
+    /**
+     * Reads the given field of the schema of this record without looking it
+     * up by name. The field must be an INT16 or a NULLABLE_INT16.
+     */
+    short getInt16(FieldDescriptor fd) {
         FieldKind fieldKind = fd.getKind();
         switch (fieldKind) {
             case INT16:
@@ -253,13 +370,20 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
             case NULLABLE_INT16:
                 return getVariableSizeAsNonNull(fd, ObjectDataInput::readShort, "Int16");
             default:
-                throw unexpectedFieldKind(fieldKind, fieldName);
+                throw unexpectedFieldKind(fieldKind, fd.getFieldName());
         }
     }
 
     @Override
     public int getInt32(@Nonnull String fieldName) {
-        FieldDescriptor fd = getFieldDescriptor(fieldName);
+        return getInt32(getFieldDescriptor(fieldName));
+    }
+
+    /**
+     * Reads the given field of the schema of this record without looking it
+     * up by name. The field must be an INT32 or a NULLABLE_INT32.
+     */
+    int getInt32(FieldDescriptor fd) {
         FieldKind fieldKind = fd.getKind();
         switch (fieldKind) {
             case INT32:
@@ -271,13 +395,20 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
             case NULLABLE_INT32:
                 return getVariableSizeAsNonNull(fd, ObjectDataInput::readInt, "Int32");
             default:
-                throw unexpectedFieldKind(fieldKind, fieldName);
+                throw unexpectedFieldKind(fieldKind, fd.getFieldName());
         }
     }
 
     @Override
     public long getInt64(@Nonnull String fieldName) {
-        FieldDescriptor fd = getFieldDescriptor(fieldName);
+        return getInt64(getFieldDescriptor(fieldName));
+    }
+
+    /**
+     * Reads the given field of the schema of this record without looking it
+     * up by name. The field must be an INT64 or a NULLABLE_INT64.
+     */
+    long getInt64(FieldDescriptor fd) {
         FieldKind fieldKind = fd.getKind();
         switch (fieldKind) {
             case INT64:
@@ -289,13 +420,20 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
             case NULLABLE_INT64:
                 return getVariableSizeAsNonNull(fd, ObjectDataInput::readLong, "Int64");
             default:
-                throw unexpectedFieldKind(fieldKind, fieldName);
+                throw unexpectedFieldKind(fieldKind, fd.getFieldName());
         }
     }
 
     @Override
     public float getFloat32(@Nonnull String fieldName) {
-        FieldDescriptor fd = getFieldDescriptor(fieldName);
+        return getFloat32(getFieldDescriptor(fieldName));
+    }
+
+    /**
+     * Reads the given field of the schema of this record without looking it
+     * up by name. The field must be a FLOAT32 or a NULLABLE_FLOAT32.
+     */
+    float getFloat32(FieldDescriptor fd) {
         FieldKind fieldKind = fd.getKind();
         switch (fieldKind) {
             case FLOAT32:
@@ -307,13 +445,20 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
             case NULLABLE_FLOAT32:
                 return getVariableSizeAsNonNull(fd, ObjectDataInput::readFloat, "Float32");
             default:
-                throw unexpectedFieldKind(fieldKind, fieldName);
+                throw unexpectedFieldKind(fieldKind, fd.getFieldName());
         }
     }
 
     @Override
     public double getFloat64(@Nonnull String fieldName) {
-        FieldDescriptor fd = getFieldDescriptor(fieldName);
+        return getFloat64(getFieldDescriptor(fieldName));
+    }
+
+    /**
+     * Reads the given field of the schema of this record without looking it
+     * up by name. The field must be a FLOAT64 or a NULLABLE_FLOAT64.
+     */
+    double getFloat64(FieldDescriptor fd) {
         FieldKind fieldKind = fd.getKind();
         switch (fieldKind) {
             case FLOAT64:
@@ -325,7 +470,7 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
             case NULLABLE_FLOAT64:
                 return getVariableSizeAsNonNull(fd, ObjectDataInput::readDouble, "Float64");
             default:
-                throw unexpectedFieldKind(fieldKind, fieldName);
+                throw unexpectedFieldKind(fieldKind, fd.getFieldName());
         }
     }
 
@@ -583,7 +728,7 @@ public class CompactInternalGenericRecord extends CompactGenericRecord implement
         FieldKind fieldKind = fd.getKind();
         switch (fieldKind) {
             case BOOLEAN:
-                return getBoolean(fd);
+                return getFixedSizeBoolean(fd);
             case NULLABLE_BOOLEAN:
                 return getVariableSize(fd, ObjectDataInput::readBoolean);
             default:
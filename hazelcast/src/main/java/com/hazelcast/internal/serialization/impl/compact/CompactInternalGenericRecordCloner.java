@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builder that will be used when cloning {@link CompactInternalGenericRecord}s.
+ * <p>
+ * If only fixed-size fields are overwritten, the built record is a copy of
+ * the serialized form of the original record with these fields patched in
+ * place, so neither the other fields are deserialized nor the record is
+ * serialized field by field again. Otherwise, the original record is
+ * deserialized and the built record is a {@link DeserializedGenericRecord}.
+ */
+public class CompactInternalGenericRecordCloner extends AbstractGenericRecordBuilder {
+
+    private final CompactInternalGenericRecord record;
+    private final Map<String, Object> overwrittenFields = new HashMap<>();
+    private boolean onlyFixedSizeFields = true;
+    private boolean built;
+
+    public CompactInternalGenericRecordCloner(CompactInternalGenericRecord record) {
+        this.record = record;
+    }
+
+    @Nonnull
+    @Override
+    public GenericRecord build() {
+        this.built = true;
+        if (onlyFixedSizeFields) {
+            return overwrittenFields.isEmpty() ? record : record.withFixedSizeFields(overwrittenFields);
+        }
+        DeserializedGenericRecordCloner cloner = record.newDeserializedCloner();
+        for (Map.Entry<String, Object> entry : overwrittenFields.entrySet()) {
+            String fieldName = entry.getKey();
+            cloner.write(fieldName, entry.getValue(), record.getFieldKind(fieldName));
+        }
+        return cloner.build();
+    }
+
+    @Override
+    protected GenericRecordBuilder write(@Nonnull String fieldName, Object value, FieldKind fieldKind) {
+        if (this.built) {
+            throw new UnsupportedOperationException("Cannot modify the GenericRecordBuilder after building");
+        }
+        checkTypeWithSchema(record.getSchema(), fieldName, fieldKind);
+        if (overwrittenFields.containsKey(fieldName)) {
+            throw new HazelcastSerializationException("Field can only be written once");
+        }
+        overwrittenFields.put(fieldName, value);
+        onlyFixedSizeFields &= isFixedSize(fieldKind);
+        return this;
+    }
+
+    private static boolean isFixedSize(FieldKind fieldKind) {
+        switch (fieldKind) {
+            case BOOLEAN:
+            case INT8:
+            case INT16:
+            case INT32:
+            case INT64:
+            case FLOAT32:
+            case FLOAT64:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
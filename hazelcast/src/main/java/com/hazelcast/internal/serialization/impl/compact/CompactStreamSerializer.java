@@ -122,6 +122,12 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
         Schema schema = record.getSchema();
         putToSchemaService(includeSchemaOnBinary, schema);
         writeSchema(output, includeSchemaOnBinary, schema);
+        if (record instanceof CompactInternalGenericRecord
+                && ((CompactInternalGenericRecord) record).isSchemaIncludedInBinary() == includeSchemaOnBinary) {
+            // the fields are already serialized in the expected format
+            ((CompactInternalGenericRecord) record).writeFieldsTo(output);
+            return;
+        }
         DefaultCompactWriter writer = new DefaultCompactWriter(this, output, schema, includeSchemaOnBinary);
         Collection<FieldDescriptor> fields = schema.getFields();
         for (FieldDescriptor fieldDescriptor : fields) {
@@ -167,6 +173,10 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
     }
 
 
+    BufferObjectDataInput createObjectDataInput(byte[] bytes) {
+        return serializationService.createObjectDataInput(bytes);
+    }
+
     //========================== READ =============================//
     @Override
     public Object read(@Nonnull ObjectDataInput in) throws IOException {
@@ -18,14 +18,18 @@ package com.hazelcast.internal.serialization.impl.compact;
 
 import com.hazelcast.internal.serialization.impl.compact.zeroconfig.ValueReaderWriter;
 import com.hazelcast.internal.serialization.impl.compact.zeroconfig.ValueReaderWriters;
+import com.hazelcast.nio.serialization.FieldKind;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.compact.CompactReader;
 import com.hazelcast.nio.serialization.compact.CompactSerializer;
 import com.hazelcast.nio.serialization.compact.CompactWriter;
 
 import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -48,6 +52,7 @@ import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT16;
 import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT32;
 import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT64;
 import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT8;
+import static java.lang.invoke.MethodType.methodType;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
@@ -63,10 +68,17 @@ import static java.util.stream.Collectors.toList;
  * For any other class as the field type, it will work recursively and try to de/serialize a sub-class.
  * Thus, if any sub-fields does not have an accessible empty constructor, deserialization fails with
  * HazelcastSerializationException.
+ * <p>
+ * The fields are accessed through method handles created once per class.
+ * The readers are additionally bound to each schema the class is read
+ * with, so that the fields missing in the schema are skipped and the
+ * primitive fields are read without looking them up by name.
  */
 public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
 
-    private final Map<Class, ReaderWriter[]> readerWritersCache = new ConcurrentHashMap<>();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Map<Class, ClassReaderWriters> readerWritersCache = new ConcurrentHashMap<>();
     private final CompactStreamSerializer compactStreamSerializer;
 
     public ReflectiveCompactSerializer(CompactStreamSerializer compactStreamSerializer) {
@@ -75,12 +87,16 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
 
     @Override
     public void write(@Nonnull CompactWriter writer, @Nonnull T object) {
-        Class<?> clazz = object.getClass();
-        if (writeFast(clazz, writer, object)) {
-            return;
+        ClassReaderWriters classReaderWriters = getOrCreateReaderWriters(object.getClass());
+        for (ReaderWriter readerWriter : classReaderWriters.readerWriters) {
+            try {
+                readerWriter.write(writer, object);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new HazelcastSerializationException(t);
+            }
         }
-        createFastReadWriteCaches(clazz);
-        writeFast(clazz, writer, object);
     }
 
     @Nonnull
@@ -95,38 +111,6 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
         throw new IllegalStateException("getCompactClass should not be called for the reflective serializer");
     }
 
-    private boolean writeFast(Class clazz, CompactWriter compactWriter, Object object) {
-        ReaderWriter[] readerWriters = readerWritersCache.get(clazz);
-        if (readerWriters == null) {
-            return false;
-        }
-        for (ReaderWriter readerWriter : readerWriters) {
-            try {
-                readerWriter.write(compactWriter, object);
-            } catch (Exception e) {
-                throw new HazelcastSerializationException(e);
-            }
-        }
-        return true;
-    }
-
-    private boolean readFast(Class clazz, DefaultCompactReader compactReader, Object object) {
-        ReaderWriter[] readerWriters = readerWritersCache.get(clazz);
-        if (readerWriters == null) {
-            return false;
-        }
-
-        Schema schema = compactReader.getSchema();
-        for (ReaderWriter readerWriter : readerWriters) {
-            try {
-                readerWriter.read(compactReader, schema, object);
-            } catch (Exception e) {
-                throw new HazelcastSerializationException(e);
-            }
-        }
-        return true;
-    }
-
     @Nonnull
     @Override
     public T read(@Nonnull CompactReader reader) {
@@ -135,13 +119,18 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
         Class associatedClass = requireNonNull(compactReader.getAssociatedClass(),
                 "AssociatedClass is required for ReflectiveCompactSerializer");
 
-        T object;
-        object = (T) createObject(associatedClass);
-        if (readFast(associatedClass, compactReader, object)) {
-            return object;
+        T object = (T) createObject(associatedClass);
+        Schema schema = compactReader.getSchema();
+        FieldReader[] readers = getOrCreateReaderWriters(associatedClass).readersFor(schema);
+        for (FieldReader fieldReader : readers) {
+            try {
+                fieldReader.read(compactReader, schema, object);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new HazelcastSerializationException(t);
+            }
         }
-        createFastReadWriteCaches(associatedClass);
-        readFast(associatedClass, compactReader, object);
         return object;
     }
 
@@ -154,6 +143,15 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
         }
     }
 
+    private ClassReaderWriters getOrCreateReaderWriters(Class<?> clazz) {
+        ClassReaderWriters classReaderWriters = readerWritersCache.get(clazz);
+        if (classReaderWriters == null) {
+            classReaderWriters = new ClassReaderWriters(createReaderWriters(clazz));
+            readerWritersCache.put(clazz, classReaderWriters);
+        }
+        return classReaderWriters;
+    }
+
     private static List<Field> getAllFields(List<Field> fields, Class<?> type) {
         fields.addAll(Arrays.stream(type.getDeclaredFields())
                 .filter(f -> !Modifier.isStatic(f.getModifiers()))
@@ -165,7 +163,7 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
         return fields;
     }
 
-    private void createFastReadWriteCaches(Class clazz) {
+    private ReaderWriter[] createReaderWriters(Class clazz) {
         // The top level class might not be Compact serializable
         CompactUtil.verifyClassIsCompactSerializable(clazz);
 
@@ -176,163 +174,250 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
         int index = 0;
         for (Field field : allFields) {
             field.setAccessible(true);
-            Class<?> type = field.getType();
-            String name = field.getName();
-
-
-            // Use normal reader-writers for the primitive types to avoid boxing-unboxing
-            if (Byte.TYPE.equals(type)) {
-                readerWriters[index] = new ReaderWriter() {
-                    @Override
-                    public void read(CompactReader reader, Schema schema, Object o) throws Exception {
-                        if (isFieldExist(schema, name, INT8, NULLABLE_INT8)) {
-                            field.setByte(o, reader.readInt8(name));
-                        }
-                    }
-
-                    @Override
-                    public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeInt8(name, field.getByte(o));
-                    }
-                };
-            } else if (Character.TYPE.equals(type)) {
-                readerWriters[index] = new ReaderWriter() {
-                    @Override
-                    public void read(CompactReader reader, Schema schema, Object o) throws Exception {
-                        if (isFieldExist(schema, name, INT16, NULLABLE_INT16)) {
-                            field.setChar(o, (char) reader.readInt16(name));
-                        }
-                    }
-
-                    @Override
-                    public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeInt16(name, (short) field.getChar(o));
-                    }
-                };
-            } else if (Short.TYPE.equals(type)) {
-                readerWriters[index] = new ReaderWriter() {
-                    @Override
-                    public void read(CompactReader reader, Schema schema, Object o) throws Exception {
-                        if (isFieldExist(schema, name, INT16, NULLABLE_INT16)) {
-                            field.setShort(o, reader.readInt16(name));
-                        }
-                    }
-
-                    @Override
-                    public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeInt16(name, field.getShort(o));
-                    }
-                };
-            } else if (Integer.TYPE.equals(type)) {
-                readerWriters[index] = new ReaderWriter() {
-                    @Override
-                    public void read(CompactReader reader, Schema schema, Object o) throws Exception {
-                        if (isFieldExist(schema, name, INT32, NULLABLE_INT32)) {
-                            field.setInt(o, reader.readInt32(name));
-                        }
-                    }
-
-                    @Override
-                    public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeInt32(name, field.getInt(o));
-                    }
-                };
-            } else if (Long.TYPE.equals(type)) {
-                readerWriters[index] = new ReaderWriter() {
-                    @Override
-                    public void read(CompactReader reader, Schema schema, Object o) throws Exception {
-                        if (isFieldExist(schema, name, INT64, NULLABLE_INT64)) {
-                            field.setLong(o, reader.readInt64(name));
-                        }
-                    }
-
-                    @Override
-                    public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeInt64(name, field.getLong(o));
-                    }
-                };
-            } else if (Float.TYPE.equals(type)) {
-                readerWriters[index] = new ReaderWriter() {
-                    @Override
-                    public void read(CompactReader reader, Schema schema, Object o) throws Exception {
-                        if (isFieldExist(schema, name, FLOAT32, NULLABLE_FLOAT32)) {
-                            field.setFloat(o, reader.readFloat32(name));
-                        }
-                    }
-
-                    @Override
-                    public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeFloat32(name, field.getFloat(o));
-                    }
-                };
-            } else if (Double.TYPE.equals(type)) {
-                readerWriters[index] = new ReaderWriter() {
-                    @Override
-                    public void read(CompactReader reader, Schema schema, Object o) throws Exception {
-                        if (isFieldExist(schema, name, FLOAT64, NULLABLE_FLOAT64)) {
-                            field.setDouble(o, reader.readFloat64(name));
-                        }
-                    }
-
-                    @Override
-                    public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeFloat64(name, field.getDouble(o));
-                    }
-                };
-            } else if (Boolean.TYPE.equals(type)) {
-                readerWriters[index] = new ReaderWriter() {
-                    @Override
-                    public void read(CompactReader reader, Schema schema, Object o) throws Exception {
-                        if (isFieldExist(schema, name, BOOLEAN, NULLABLE_BOOLEAN)) {
-                            field.setBoolean(o, reader.readBoolean(name));
-                        }
-                    }
-
-                    @Override
-                    public void write(CompactWriter writer, Object o) throws Exception {
-                        writer.writeBoolean(name, field.getBoolean(o));
-                    }
-                };
-            } else {
-                // For anything else, rely on value reader writers to re-use the code we have
-                readerWriters[index] = new ReaderWriterAdapter(
-                        ValueReaderWriters.readerWriterFor(compactStreamSerializer, clazz, type,
-                                field.getGenericType(), name),
-                        field
-                );
+            try {
+                readerWriters[index++] = createReaderWriter(clazz, field);
+            } catch (IllegalAccessException e) {
+                throw new HazelcastSerializationException("Could not access the field " + field, e);
+            }
+        }
+        return readerWriters;
+    }
+
+    @SuppressWarnings("checkstyle:returncount")
+    private ReaderWriter createReaderWriter(Class clazz, Field field) throws IllegalAccessException {
+        Class<?> type = field.getType();
+        String name = field.getName();
+
+        // Use normal reader-writers for the primitive types to avoid boxing-unboxing
+        if (Byte.TYPE.equals(type)) {
+            return new PrimitiveReaderWriter(field, INT8, NULLABLE_INT8) {
+                @Override
+                void read(DefaultCompactReader reader, FieldDescriptor fd, Object o) throws Throwable {
+                    setter.invokeExact(o, reader.getInt8(fd));
+                }
+
+                @Override
+                public void write(CompactWriter writer, Object o) throws Throwable {
+                    writer.writeInt8(name, (byte) getter.invokeExact(o));
+                }
+            };
+        } else if (Character.TYPE.equals(type)) {
+            return new PrimitiveReaderWriter(field, INT16, NULLABLE_INT16) {
+                @Override
+                void read(DefaultCompactReader reader, FieldDescriptor fd, Object o) throws Throwable {
+                    setter.invokeExact(o, (char) reader.getInt16(fd));
+                }
+
+                @Override
+                public void write(CompactWriter writer, Object o) throws Throwable {
+                    writer.writeInt16(name, (short) (char) getter.invokeExact(o));
+                }
+            };
+        } else if (Short.TYPE.equals(type)) {
+            return new PrimitiveReaderWriter(field, INT16, NULLABLE_INT16) {
+                @Override
+                void read(DefaultCompactReader reader, FieldDescriptor fd, Object o) throws Throwable {
+                    setter.invokeExact(o, reader.getInt16(fd));
+                }
+
+                @Override
+                public void write(CompactWriter writer, Object o) throws Throwable {
+                    writer.writeInt16(name, (short) getter.invokeExact(o));
+                }
+            };
+        } else if (Integer.TYPE.equals(type)) {
+            return new PrimitiveReaderWriter(field, INT32, NULLABLE_INT32) {
+                @Override
+                void read(DefaultCompactReader reader, FieldDescriptor fd, Object o) throws Throwable {
+                    setter.invokeExact(o, reader.getInt32(fd));
+                }
+
+                @Override
+                public void write(CompactWriter writer, Object o) throws Throwable {
+                    writer.writeInt32(name, (int) getter.invokeExact(o));
+                }
+            };
+        } else if (Long.TYPE.equals(type)) {
+            return new PrimitiveReaderWriter(field, INT64, NULLABLE_INT64) {
+                @Override
+                void read(DefaultCompactReader reader, FieldDescriptor fd, Object o) throws Throwable {
+                    setter.invokeExact(o, reader.getInt64(fd));
+                }
+
+                @Override
+                public void write(CompactWriter writer, Object o) throws Throwable {
+                    writer.writeInt64(name, (long) getter.invokeExact(o));
+                }
+            };
+        } else if (Float.TYPE.equals(type)) {
+            return new PrimitiveReaderWriter(field, FLOAT32, NULLABLE_FLOAT32) {
+                @Override
+                void read(DefaultCompactReader reader, FieldDescriptor fd, Object o) throws Throwable {
+                    setter.invokeExact(o, reader.getFloat32(fd));
+                }
+
+                @Override
+                public void write(CompactWriter writer, Object o) throws Throwable {
+                    writer.writeFloat32(name, (float) getter.invokeExact(o));
+                }
+            };
+        } else if (Double.TYPE.equals(type)) {
+            return new PrimitiveReaderWriter(field, FLOAT64, NULLABLE_FLOAT64) {
+                @Override
+                void read(DefaultCompactReader reader, FieldDescriptor fd, Object o) throws Throwable {
+                    setter.invokeExact(o, reader.getFloat64(fd));
+                }
+
+                @Override
+                public void write(CompactWriter writer, Object o) throws Throwable {
+                    writer.writeFloat64(name, (double) getter.invokeExact(o));
+                }
+            };
+        } else if (Boolean.TYPE.equals(type)) {
+            return new PrimitiveReaderWriter(field, BOOLEAN, NULLABLE_BOOLEAN) {
+                @Override
+                void read(DefaultCompactReader reader, FieldDescriptor fd, Object o) throws Throwable {
+                    setter.invokeExact(o, reader.getBoolean(fd));
+                }
+
+                @Override
+                public void write(CompactWriter writer, Object o) throws Throwable {
+                    writer.writeBoolean(name, (boolean) getter.invokeExact(o));
+                }
+            };
+        }
+        // For anything else, rely on value reader writers to re-use the code we have
+        return new ReaderWriterAdapter(
+                ValueReaderWriters.readerWriterFor(compactStreamSerializer, clazz, type, field.getGenericType(), name),
+                field
+        );
+    }
+
+    /**
+     * The reader-writers of a class together with the readers bound to the
+     * schemas the class is read with.
+     */
+    private static final class ClassReaderWriters {
+
+        private final ReaderWriter[] readerWriters;
+        private final Map<Long, FieldReader[]> readersBySchemaId = new ConcurrentHashMap<>();
+        // a class is typically read with a single schema, remember the last
+        // one to avoid boxing the schema ID on every read
+        private volatile SchemaReaders lastReaders;
+
+        ClassReaderWriters(ReaderWriter[] readerWriters) {
+            this.readerWriters = readerWriters;
+        }
+
+        FieldReader[] readersFor(Schema schema) {
+            long schemaId = schema.getSchemaId();
+            SchemaReaders last = lastReaders;
+            if (last != null && last.schemaId == schemaId) {
+                return last.readers;
             }
+            FieldReader[] readers = readersBySchemaId.computeIfAbsent(schemaId, id -> bind(schema));
+            lastReaders = new SchemaReaders(schemaId, readers);
+            return readers;
+        }
 
-            index++;
+        private FieldReader[] bind(Schema schema) {
+            List<FieldReader> readers = new ArrayList<>(readerWriters.length);
+            for (ReaderWriter readerWriter : readerWriters) {
+                FieldReader reader = readerWriter.bind(schema);
+                if (reader != null) {
+                    readers.add(reader);
+                }
+            }
+            return readers.toArray(new FieldReader[0]);
         }
+    }
+
+    private static final class SchemaReaders {
+
+        private final long schemaId;
+        private final FieldReader[] readers;
 
-        readerWritersCache.put(clazz, readerWriters);
+        SchemaReaders(long schemaId, FieldReader[] readers) {
+            this.schemaId = schemaId;
+            this.readers = readers;
+        }
     }
 
-    private static final class ReaderWriterAdapter implements ReaderWriter {
+    /**
+     * Reader-writer of a primitive field. It is bound to a schema by
+     * resolving the descriptor of the field in that schema once.
+     */
+    private abstract static class PrimitiveReaderWriter implements ReaderWriter {
 
-        private final ValueReaderWriter readerWriter;
-        private final Field field;
+        final String name;
+        final MethodHandle getter;
+        final MethodHandle setter;
+        private final FieldKind fieldKind;
+        private final FieldKind nullableFieldKind;
+
+        PrimitiveReaderWriter(Field field, FieldKind fieldKind, FieldKind nullableFieldKind)
+                throws IllegalAccessException {
+            Class<?> type = field.getType();
+            this.name = field.getName();
+            this.getter = LOOKUP.unreflectGetter(field).asType(methodType(type, Object.class));
+            this.setter = LOOKUP.unreflectSetter(field).asType(methodType(void.class, Object.class, type));
+            this.fieldKind = fieldKind;
+            this.nullableFieldKind = nullableFieldKind;
+        }
+
+        abstract void read(DefaultCompactReader reader, FieldDescriptor fd, Object o) throws Throwable;
+
+        @Override
+        public FieldReader bind(Schema schema) {
+            if (!isFieldExist(schema, name, fieldKind, nullableFieldKind)) {
+                return null;
+            }
+            FieldDescriptor fd = schema.getField(name);
+            return (reader, ignored, o) -> read(reader, fd, o);
+        }
+    }
 
+    private static final class ReaderWriterAdapter implements ReaderWriter, FieldReader {
 
-        ReaderWriterAdapter(ValueReaderWriter readerWriter, Field field) {
+        private final ValueReaderWriter readerWriter;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        ReaderWriterAdapter(ValueReaderWriter readerWriter, Field field) throws IllegalAccessException {
             this.readerWriter = readerWriter;
-            this.field = field;
+            this.getter = LOOKUP.unreflectGetter(field).asType(methodType(Object.class, Object.class));
+            this.setter = LOOKUP.unreflectSetter(field).asType(methodType(void.class, Object.class, Object.class));
         }
 
         @Override
-        public void read(CompactReader reader, Schema schema, Object o) throws Exception {
-            field.set(o, readerWriter.read(reader, schema));
+        public FieldReader bind(Schema schema) {
+            // value reader writers handle the missing fields themselves
+            return this;
         }
 
         @Override
-        public void write(CompactWriter writer, Object o) throws Exception {
-            readerWriter.write(writer, field.get(o));
+        public void read(DefaultCompactReader reader, Schema schema, Object o) throws Throwable {
+            setter.invokeExact(o, readerWriter.read(reader, schema));
+        }
+
+        @Override
+        public void write(CompactWriter writer, Object o) throws Throwable {
+            readerWriter.write(writer, (Object) getter.invokeExact(o));
         }
     }
 
     private interface ReaderWriter {
-        void read(CompactReader reader, Schema schema, Object o) throws Exception;
+        /**
+         * Returns the reader of this field bound to the given schema or
+         * {@code null} if the field should not be read with that schema.
+         */
+        FieldReader bind(Schema schema);
+
+        void write(CompactWriter writer, Object o) throws Throwable;
+    }
 
-        void write(CompactWriter writer, Object o) throws Exception;
+    @FunctionalInterface
+    private interface FieldReader {
+        void read(DefaultCompactReader reader, Schema schema, Object o) throws Throwable;
     }
 }
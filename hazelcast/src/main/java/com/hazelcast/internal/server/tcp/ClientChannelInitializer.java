@@ -20,10 +20,17 @@ import com.hazelcast.client.impl.protocol.util.ClientMessageDecoder;
 import com.hazelcast.client.impl.protocol.util.ClientMessageEncoder;
 import com.hazelcast.config.EndpointConfig;
 import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.networking.InboundHandler;
+import com.hazelcast.internal.networking.OutboundHandler;
+import com.hazelcast.internal.networking.compression.CompressionHandshakeDecoder;
+import com.hazelcast.internal.networking.compression.CompressionHandshakeEncoder;
 import com.hazelcast.internal.server.ServerContext;
 import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import static com.hazelcast.instance.ProtocolType.CLIENT;
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_LEVEL;
 
 public class ClientChannelInitializer
         extends AbstractChannelInitializer {
@@ -35,11 +42,15 @@ public class ClientChannelInitializer
     @Override
     public void initChannel(Channel channel) {
         ServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
-        SingleProtocolEncoder protocolEncoder = new SingleProtocolEncoder(new ClientMessageEncoder());
-        SingleProtocolDecoder protocolDecoder = new SingleProtocolDecoder(
-                CLIENT,
-                new ClientMessageDecoder(connection, serverContext.getClientEngine(), serverContext.properties()),
-                protocolEncoder);
+        HazelcastProperties props = serverContext.properties();
+        ClientMessageDecoder decoder = new ClientMessageDecoder(connection, serverContext.getClientEngine(), props);
+        // the client requests the compression, the member answers the request
+        boolean compression = props.getBoolean(NETWORK_COMPRESSION_ENABLED);
+        SingleProtocolEncoder protocolEncoder = new SingleProtocolEncoder(new OutboundHandler[]{
+                new ClientMessageEncoder(),
+                new CompressionHandshakeEncoder(compression, props.getInteger(NETWORK_COMPRESSION_LEVEL))});
+        SingleProtocolDecoder protocolDecoder = new SingleProtocolDecoder(CLIENT,
+                new InboundHandler[]{new CompressionHandshakeDecoder(compression), decoder}, protocolEncoder);
 
         channel.outboundPipeline().addLast(protocolEncoder);
         channel.inboundPipeline().addLast(protocolDecoder);
@@ -66,6 +66,7 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
 
                 if (packetWriter.writeTo(packet, dst)) {
                     // packet got written, lets see if another packet can be written
+                    packet.releasePayloadOutput();
                     packet = null;
                 } else {
                     // the packet didn't get written completely, so we are done.
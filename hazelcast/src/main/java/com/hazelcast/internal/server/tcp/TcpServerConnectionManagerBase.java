@@ -238,7 +238,10 @@ abstract class TcpServerConnectionManagerBase implements ServerConnectionManager
             if (logger.isFinestEnabled()) {
                 logger.finest("Retrying[" + retries + "] packet send operation to: " + targetAddress);
             }
-            send(packet, targetAddress, this, streamId);
+            if (!send(packet, targetAddress, this, streamId)) {
+                // the packet is dropped
+                packet.releasePayloadOutput();
+            }
         }
     }
 
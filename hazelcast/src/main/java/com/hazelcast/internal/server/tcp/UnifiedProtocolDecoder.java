@@ -25,6 +25,7 @@ import com.hazelcast.instance.EndpointQualifier;
 import com.hazelcast.internal.networking.ChannelOptions;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.InboundHandler;
+import com.hazelcast.internal.networking.compression.CompressionHandshakeDecoder;
 import com.hazelcast.internal.nio.ConnectionType;
 import com.hazelcast.internal.nio.Protocols;
 import com.hazelcast.internal.nio.ascii.MemcacheTextDecoder;
@@ -50,6 +51,7 @@ import static com.hazelcast.internal.nio.Protocols.PROTOCOL_LENGTH;
 import static com.hazelcast.internal.server.ServerContext.KILO_BYTE;
 import static com.hazelcast.internal.util.StringUtil.stringToBytes;
 import static com.hazelcast.jet.impl.util.Util.CONFIG_CHANGE_TEMPLATE;
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_CLIENT_RECEIVE_BUFFER_SIZE;
 import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_RECEIVE_BUFFER_SIZE;
 import static java.lang.String.format;
@@ -169,7 +171,10 @@ public class UnifiedProtocolDecoder
                 .setOption(DIRECT_BUF, false);
 
         ServerConnection connection = (TcpServerConnection) channel.attributeMap().get(ServerConnection.class);
-        channel.inboundPipeline().replace(this, new ClientMessageDecoder(connection, serverContext.getClientEngine(), props));
+        ClientMessageDecoder decoder = new ClientMessageDecoder(connection, serverContext.getClientEngine(), props);
+        // the client requests the compression, the member answers the request
+        channel.inboundPipeline().replace(this,
+                new CompressionHandshakeDecoder(props.getBoolean(NETWORK_COMPRESSION_ENABLED)), decoder);
     }
 
     private void initChannelForText(String protocol, boolean restApi) {
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static com.hazelcast.internal.util.QuickMath.isPowerOfTwo;
+import static com.hazelcast.internal.util.QuickMath.log2;
+
+/**
+ * Unbounded multi producer single consumer queue which stores its items in a
+ * linked list of fixed size array chunks.
+ * <p>
+ * A producer claims a sequence using a single fetch-and-add on the tail and
+ * stores its item in the slot of that sequence; so contrary to the
+ * {@link MPSCQueue} no node is allocated per item and producers never retry.
+ * A new chunk is only allocated once every {@code chunkSize} items.
+ * <p>
+ * An item which has been claimed, but not yet stored, blocks the consumer from
+ * seeing the items after it; so {@link #poll()} can return {@code null} while
+ * {@link #size()} is larger than 0. This queue doesn't block; the consumer
+ * needs to be notified by the producers if it needs to wait for items.
+ * <p>
+ * The {@link #poll()} and {@link #peek()} methods should only be called by
+ * the single consumer thread.
+ *
+ * @param <E> the type of elements held in this collection
+ */
+public final class MPSCArrayQueue<E> extends AbstractQueue<E> {
+
+    /**
+     * The default number of items in a chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private static final AtomicReferenceFieldUpdater<MPSCArrayQueue, Chunk> PRODUCER_CHUNK
+            = AtomicReferenceFieldUpdater.newUpdater(MPSCArrayQueue.class, Chunk.class, "producerChunk");
+    private static final AtomicLongFieldUpdater<MPSCArrayQueue> HEAD
+            = AtomicLongFieldUpdater.newUpdater(MPSCArrayQueue.class, "head");
+
+    private final AtomicLong tail = new AtomicLong();
+    private final int chunkShift;
+    private final int chunkMask;
+
+    // the chunk reached by the producers so far, used as a starting point by the next producer
+    private volatile Chunk producerChunk;
+    // the chunk containing the head, or the previous one if the head is the first item of a chunk
+    private volatile Chunk consumerChunk;
+    // only written by the consumer
+    private volatile long head;
+
+    /**
+     * Creates a new {@link MPSCArrayQueue} with the {@link #DEFAULT_CHUNK_SIZE}.
+     */
+    public MPSCArrayQueue() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a new {@link MPSCArrayQueue}.
+     *
+     * @param chunkSize the number of items in a chunk
+     * @throws IllegalArgumentException if chunkSize is not a positive power of two
+     */
+    public MPSCArrayQueue(int chunkSize) {
+        checkPositive("chunkSize", chunkSize);
+        if (!isPowerOfTwo(chunkSize)) {
+            throw new IllegalArgumentException("chunkSize should be a power of two, but was " + chunkSize);
+        }
+        this.chunkShift = log2(chunkSize);
+        this.chunkMask = chunkSize - 1;
+        Chunk chunk = new Chunk(0, chunkSize);
+        this.producerChunk = chunk;
+        this.consumerChunk = chunk;
+    }
+
+    @Override
+    public boolean offer(E item) {
+        checkNotNull(item, "item can't be null");
+
+        long sequence = tail.getAndIncrement();
+        long chunkIndex = sequence >>> chunkShift;
+
+        Chunk chunk = producerChunk;
+        if (chunk.index > chunkIndex) {
+            // other producers already moved on; the consumer can't have passed
+            // the sequence since it hasn't been stored yet
+            chunk = consumerChunk;
+        }
+
+        while (chunk.index < chunkIndex) {
+            Chunk next = chunk.next;
+            if (next == null) {
+                Chunk newChunk = new Chunk(chunk.index + 1, chunkMask + 1);
+                next = Chunk.NEXT.compareAndSet(chunk, null, newChunk) ? newChunk : chunk.next;
+            }
+            chunk = next;
+        }
+
+        Chunk hint = producerChunk;
+        if (hint.index < chunk.index) {
+            PRODUCER_CHUNK.compareAndSet(this, hint, chunk);
+        }
+
+        // a volatile write, so that a producer checking if the consumer is
+        // waiting after the offer, doesn't miss it
+        chunk.slots.set((int) (sequence & chunkMask), item);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        long head = this.head;
+        Chunk chunk = consumerChunk(head);
+        if (chunk == null) {
+            return null;
+        }
+
+        int offset = (int) (head & chunkMask);
+        E item = (E) chunk.slots.get(offset);
+        if (item == null) {
+            return null;
+        }
+
+        chunk.slots.lazySet(offset, null);
+        HEAD.lazySet(this, head + 1);
+        return item;
+    }
+
+    @Override
+    public E peek() {
+        long head = this.head;
+        Chunk chunk = consumerChunk(head);
+        return chunk == null ? null : (E) chunk.slots.get((int) (head & chunkMask));
+    }
+
+    private Chunk consumerChunk(long head) {
+        Chunk chunk = consumerChunk;
+        if (chunk.index == head >>> chunkShift) {
+            return chunk;
+        }
+
+        Chunk next = chunk.next;
+        if (next == null) {
+            // no producer has linked the chunk of the head yet
+            return null;
+        }
+        consumerChunk = next;
+        return next;
+    }
+
+    /**
+     * {@inheritDoc}.
+     *
+     * Best effort implementation; it includes the items which have been
+     * claimed but not yet stored.
+     */
+    @Override
+    public int size() {
+        long head = this.head;
+        long size = tail.get() - head;
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final class Chunk {
+        static final AtomicReferenceFieldUpdater<Chunk, Chunk> NEXT
+                = AtomicReferenceFieldUpdater.newUpdater(Chunk.class, Chunk.class, "next");
+
+        final long index;
+        final AtomicReferenceArray<Object> slots;
+        volatile Chunk next;
+
+        Chunk(long index, int size) {
+            this.index = index;
+            this.slots = new AtomicReferenceArray<>(size);
+        }
+    }
+}
@@ -151,6 +151,22 @@ public final class StripedExecutor implements Executor {
         worker.schedule(task);
     }
 
+    /**
+     * @return the number of stripes, each of them executed by its own worker
+     */
+    public int getStripeCount() {
+        return size;
+    }
+
+    /**
+     * Returns the stripe which executes the {@link StripedRunnable}s with
+     * the given key, a number between 0 and {@link #getStripeCount()}
+     * (exclusive).
+     */
+    public int getStripe(int key) {
+        return hashToIndex(key, size);
+    }
+
     private Worker getWorker(Runnable task) {
         int key;
         if (task instanceof StripedRunnable) {
@@ -203,7 +203,22 @@ public abstract class HashSlotArrayBase implements HashSlotArray {
     }
 
 
-    // Additional non-interface public method. Has a specific use case in Hot Restart.
+    // Additional non-interface public methods.
+
+    /**
+     * Returns the address of the value block of the given slot, or {@link MemoryAllocator#NULL_ADDRESS}
+     * if the slot is not assigned. Together with {@link #capacity()} this allows walking the slots in
+     * an arbitrary order, e.g. to resume an iteration from a given slot or to start it at a random one.
+     *
+     * @param slot index of the slot, must be in the range {@code [0, capacity())}
+     */
+    public final long valueAddressOfAssignedSlot(long slot) {
+        assertValid();
+        assert slot >= 0 && slot < capacity() : "Slot out of range: " + slot;
+        return isSlotAssigned(slot) ? valueAddrOfSlot(slot) : NULL_ADDRESS;
+    }
+
+    // Has a specific use case in Hot Restart.
 
     /**
      * Migrates the backing memory region to a new allocator, freeing the current region. Memory allocated by the
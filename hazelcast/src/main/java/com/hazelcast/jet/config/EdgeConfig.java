@@ -19,9 +19,11 @@ package com.hazelcast.jet.config;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.impl.Versioned;
 
 import java.io.IOException;
 
+import static com.hazelcast.internal.cluster.Versions.V5_4;
 import static com.hazelcast.internal.util.Preconditions.checkPositive;
 
 /**
@@ -31,7 +33,7 @@ import static com.hazelcast.internal.util.Preconditions.checkPositive;
  *
  * @since Jet 3.0
  */
-public class EdgeConfig implements IdentifiedDataSerializable {
+public class EdgeConfig implements IdentifiedDataSerializable, Versioned {
 
     /**
      * The default size of the {@link #setQueueSize(int) concurrent queues}
@@ -52,6 +54,7 @@ public class EdgeConfig implements IdentifiedDataSerializable {
     private int queueSize = DEFAULT_QUEUE_SIZE;
     private int receiveWindowMultiplier = DEFAULT_RECEIVE_WINDOW_MULTIPLIER;
     private int packetSizeLimit = DEFAULT_PACKET_SIZE_LIMIT;
+    private boolean compressionEnabled;
 
     /**
      * Sets the capacity of processor-to-processor concurrent queues. The value
@@ -152,6 +155,39 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         return packetSizeLimit;
     }
 
+    /**
+     * Sets whether the network packets of a distributed edge are compressed.
+     * <p>
+     * Compression trades CPU time on both the sending and the receiving
+     * member for network bandwidth. It pays off when the edge is
+     * network-bound, for example when shuffling data between racks. The
+     * packets of a compressed edge grow with the observed compression
+     * ratio, up to four times the {@link #setPacketSizeLimit(int) packet
+     * size limit}, so that their compressed size stays close to that limit.
+     * The packets never exceed the remaining receive window, though.
+     * <p>
+     * The default value is {@code false}. This setting has no effect on a
+     * non-distributed edge, nor during a rolling upgrade until the cluster
+     * version is 5.4.
+     *
+     * @return {@code this} instance for fluent API
+     * @since 5.4
+     */
+    public EdgeConfig setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+        return this;
+    }
+
+    /**
+     * Returns whether the network packets of the edge are {@link
+     * #setCompressionEnabled(boolean) compressed}.
+     *
+     * @since 5.4
+     */
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
     @Override
     public int getFactoryId() {
         return JetConfigDataSerializerHook.FACTORY_ID;
@@ -167,6 +203,11 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         out.writeInt(queueSize);
         out.writeInt(receiveWindowMultiplier);
         out.writeInt(packetSizeLimit);
+
+        // RU_COMPAT_5_3
+        if (out.getVersion().isGreaterOrEqual(V5_4)) {
+            out.writeBoolean(compressionEnabled);
+        }
     }
 
     @Override
@@ -174,6 +215,11 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         queueSize = in.readInt();
         receiveWindowMultiplier = in.readInt();
         packetSizeLimit = in.readInt();
+
+        // RU_COMPAT_5_3
+        if (in.getVersion().isGreaterOrEqual(V5_4)) {
+            compressionEnabled = in.readBoolean();
+        }
     }
 
     @Override
@@ -193,7 +239,10 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         if (receiveWindowMultiplier != that.receiveWindowMultiplier) {
             return false;
         }
-        return packetSizeLimit == that.packetSizeLimit;
+        if (packetSizeLimit != that.packetSizeLimit) {
+            return false;
+        }
+        return compressionEnabled == that.compressionEnabled;
     }
 
     @Override
@@ -201,6 +250,7 @@ public class EdgeConfig implements IdentifiedDataSerializable {
         int result = queueSize;
         result = 31 * result + receiveWindowMultiplier;
         result = 31 * result + packetSizeLimit;
+        result = 31 * result + (compressionEnabled ? 1 : 0);
         return result;
     }
 
@@ -210,6 +260,7 @@ public class EdgeConfig implements IdentifiedDataSerializable {
                + "queueSize=" + queueSize
                + ", receiveWindowMultiplier=" + receiveWindowMultiplier
                + ", packetSizeLimit=" + packetSizeLimit
+               + ", compressionEnabled=" + compressionEnabled
                + '}';
     }
 }
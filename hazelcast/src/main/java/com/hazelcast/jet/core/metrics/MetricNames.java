@@ -195,6 +195,50 @@ public final class MetricNames {
      */
     public static final String DISTRIBUTED_BYTES_OUT = "distributedBytesOut";
 
+    /**
+     * Tracks the data volume (bytes) coming in over the network for
+     * DISTRIBUTED input {@link Edge}s with {@linkplain
+     * com.hazelcast.jet.config.EdgeConfig#setCompressionEnabled compression}
+     * enabled, as received, before decompression. The volume after
+     * decompression is tracked by {@link #DISTRIBUTED_BYTES_IN}.
+     *
+     * @since 5.4
+     */
+    public static final String DISTRIBUTED_COMPRESSED_BYTES_IN = "distributedCompressedBytesIn";
+
+    /**
+     * Tracks the data volume (bytes) going out over the network for
+     * DISTRIBUTED output {@link Edge}s with {@linkplain
+     * com.hazelcast.jet.config.EdgeConfig#setCompressionEnabled compression}
+     * enabled, as sent, after compression. The volume before compression is
+     * tracked by {@link #DISTRIBUTED_BYTES_OUT}.
+     *
+     * @since 5.4
+     */
+    public static final String DISTRIBUTED_COMPRESSED_BYTES_OUT = "distributedCompressedBytesOut";
+
+    /**
+     * Counts the bytes a grouping {@link Processor} with spilling enabled
+     * wrote to disk, see {@link
+     * com.hazelcast.jet.core.processor.Processors#aggregateByKeyP(
+     * java.util.List, com.hazelcast.jet.aggregate.AggregateOperation,
+     * com.hazelcast.function.BiFunctionEx, long)}. The processor can be
+     * identified based on the {@link MetricTags#VERTEX} and {@link
+     * MetricTags#PROCESSOR} tags of the metric.
+     *
+     * @since 5.4
+     */
+    public static final String SPILLED_BYTES = "spilledBytes";
+
+    /**
+     * Counts the hash partitions of the groups a grouping {@link Processor}
+     * with spilling enabled wrote to disk, see {@link #SPILLED_BYTES}. A
+     * partition spilled several times is counted once.
+     *
+     * @since 5.4
+     */
+    public static final String SPILLED_PARTITIONS = "spilledPartitions";
+
     /**
      * {@linkplain JobStatus#getId() Numerical ID} of the job's status.
      *
@@ -62,6 +62,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import static com.hazelcast.function.FunctionEx.identity;
+import static com.hazelcast.internal.util.Preconditions.checkNotNegative;
 import static com.hazelcast.jet.core.TimestampKind.EVENT;
 import static com.hazelcast.jet.impl.util.Util.toList;
 import static java.util.Collections.singletonList;
@@ -326,6 +327,55 @@ public final class Processors {
         return () -> new GroupP<>(keyFns, aggrOp, mapToOutputFn);
     }
 
+    /**
+     * Returns a supplier of processors for a vertex that groups items by key
+     * and performs the provided aggregate operation on each group, like
+     * {@link #aggregateByKeyP(List, AggregateOperation, BiFunctionEx)}, but
+     * spills the groups to disk when there are more than {@code
+     * spillMaxEntries} of them. The groups are hash-partitioned by their key
+     * and when the limit is reached, the accumulators of the largest
+     * partition are written to a file. When the input is complete, the
+     * spilled accumulators are read back one partition at a time and
+     * combined. This allows aggregating inputs with more distinct keys than
+     * fit into the memory of the member, as long as a single partition fits.
+     * <p>
+     * Spilling requires the aggregate operation to have a {@linkplain
+     * AggregateOperation#combineFn() combine function}, aggregations without
+     * one are never spilled. The {@linkplain
+     * com.hazelcast.jet.config.JobConfig#setMaxProcessorAccumulatedRecords
+     * maximum number of accumulated records} applies to a single partition
+     * read back from disk.
+     * <p>
+     * The files are created in the directory given by {@link
+     * com.hazelcast.spi.properties.ClusterProperty#JET_SPILL_DIRECTORY} and
+     * deleted when the processor completes. The number of bytes and
+     * partitions written are tracked by the {@link
+     * com.hazelcast.jet.core.metrics.MetricNames#SPILLED_BYTES} and {@link
+     * com.hazelcast.jet.core.metrics.MetricNames#SPILLED_PARTITIONS}
+     * metrics.
+     * <p>
+     * Since the files are written and read on the processor's thread, the
+     * processors are not cooperative when spilling is enabled.
+     *
+     * @param keyFns          functions that compute the grouping key
+     * @param aggrOp          the aggregate operation
+     * @param mapToOutputFn   function that takes the key and the aggregation
+     *                        result and returns the output item
+     * @param spillMaxEntries the number of groups kept in memory, {@code 0}
+     *                        to never spill
+     * @since 5.4
+     */
+    @Nonnull
+    public static <K, A, R, OUT> SupplierEx<Processor> aggregateByKeyP(
+            @Nonnull List<FunctionEx<?, ? extends K>> keyFns,
+            @Nonnull AggregateOperation<A, R> aggrOp,
+            @Nonnull BiFunctionEx<? super K, ? super R, OUT> mapToOutputFn,
+            long spillMaxEntries
+    ) {
+        checkNotNegative(spillMaxEntries, "spillMaxEntries must not be negative");
+        return () -> new GroupP<>(keyFns, aggrOp, mapToOutputFn, spillMaxEntries);
+    }
+
     /**
      * Returns a supplier of processors for the first-stage vertex in a
      * two-stage group-and-aggregate setup. The vertex groups items by the
@@ -355,6 +405,30 @@ public final class Processors {
         return () -> new GroupP<>(getKeyFns, aggrOp.withIdentityFinish(), Util::entry);
     }
 
+    /**
+     * Returns a supplier of processors for the first-stage vertex in a
+     * two-stage group-and-aggregate setup, like {@link
+     * #accumulateByKeyP(List, AggregateOperation)}, but spills the groups to
+     * disk when there are more than {@code spillMaxEntries} of them. See
+     * {@link #aggregateByKeyP(List, AggregateOperation, BiFunctionEx, long)}
+     * for how the groups are spilled.
+     *
+     * @param getKeyFns       functions that compute the grouping key
+     * @param aggrOp          the aggregate operation to perform
+     * @param spillMaxEntries the number of groups kept in memory, {@code 0}
+     *                        to never spill
+     * @since 5.4
+     */
+    @Nonnull
+    public static <K, A> SupplierEx<Processor> accumulateByKeyP(
+            @Nonnull List<FunctionEx<?, ? extends K>> getKeyFns,
+            @Nonnull AggregateOperation<A, ?> aggrOp,
+            long spillMaxEntries
+    ) {
+        checkNotNegative(spillMaxEntries, "spillMaxEntries must not be negative");
+        return () -> new GroupP<>(getKeyFns, aggrOp.withIdentityFinish(), Util::entry, spillMaxEntries);
+    }
+
     /**
      * Returns a supplier of processors for the second-stage vertex in a
      * two-stage group-and-aggregate setup. Each processor applies the {@link
@@ -389,6 +463,36 @@ public final class Processors {
                 mapToOutputFn);
     }
 
+    /**
+     * Returns a supplier of processors for the second-stage vertex in a
+     * two-stage group-and-aggregate setup, like {@link
+     * #combineByKeyP(AggregateOperation, BiFunctionEx)}, but spills the
+     * groups to disk when there are more than {@code spillMaxEntries} of
+     * them. See {@link #aggregateByKeyP(List, AggregateOperation,
+     * BiFunctionEx, long)} for how the groups are spilled.
+     *
+     * @param aggrOp          the aggregate operation to perform
+     * @param mapToOutputFn   function that takes the key and the aggregation
+     *                        result and returns the output item
+     * @param spillMaxEntries the number of groups kept in memory, {@code 0}
+     *                        to never spill
+     * @since 5.4
+     */
+    @Nonnull
+    public static <K, A, R, OUT> SupplierEx<Processor> combineByKeyP(
+            @Nonnull AggregateOperation<A, R> aggrOp,
+            @Nonnull BiFunctionEx<? super K, ? super R, OUT> mapToOutputFn,
+            long spillMaxEntries
+    ) {
+        checkNotNegative(spillMaxEntries, "spillMaxEntries must not be negative");
+        FunctionEx<Entry<K, A>, K> keyFn = Entry::getKey;
+        return () -> new GroupP<>(
+                singletonList(keyFn),
+                aggrOp.withCombiningAccumulateFn(Entry<K, A>::getValue),
+                mapToOutputFn,
+                spillMaxEntries);
+    }
+
     /**
      * Returns a supplier of processors for a vertex that aggregates events
      * into a sliding window in a single stage (see the {@link Processors
@@ -1197,6 +1301,36 @@ public final class Processors {
         return () -> new SortP<>(comparator);
     }
 
+    /**
+     * Returns a supplier of processors for a vertex that sorts its input and
+     * emits it in the {@code complete} phase, like {@link
+     * #sortP(Comparator)}, but spills the input to disk in sorted runs of
+     * {@code spillRunSize} items. When the input is complete, the runs are
+     * merged while the result is emitted. This allows sorting inputs larger
+     * than the memory of the member. An input that fits a single run is
+     * sorted in memory.
+     * <p>
+     * The files of the runs are created in the directory given by {@link
+     * com.hazelcast.spi.properties.ClusterProperty#JET_SPILL_DIRECTORY} and
+     * deleted when the processor completes. The {@linkplain
+     * com.hazelcast.jet.config.JobConfig#setMaxProcessorAccumulatedRecords
+     * maximum number of accumulated records} only limits the size of a run.
+     * <p>
+     * Since the files are written and read on the processor's thread, the
+     * processors are not cooperative unless {@code spillRunSize} is {@code
+     * 0}, which disables spilling.
+     *
+     * @param comparator   the comparator to sort the items with
+     * @param spillRunSize the number of items in a spilled run, {@code 0} to
+     *                     never spill
+     * @since 5.4
+     */
+    @Nonnull
+    public static <T> SupplierEx<Processor> sortP(Comparator<T> comparator, int spillRunSize) {
+        checkNotNegative(spillRunSize, "spillRunSize must not be negative");
+        return () -> new SortP<>(comparator, spillRunSize);
+    }
+
     /**
      * Returns a supplier of a processor that swallows all its normal input (if
      * any), does nothing with it, forwards the watermarks, produces no output
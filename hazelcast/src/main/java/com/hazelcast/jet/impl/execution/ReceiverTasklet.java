@@ -21,6 +21,7 @@ import com.hazelcast.internal.metrics.MetricDescriptor;
 import com.hazelcast.internal.metrics.MetricsCollectionContext;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.metrics.ProbeUnit;
+import com.hazelcast.internal.nio.Bits;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.Connection;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -41,6 +42,8 @@ import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 import static com.hazelcast.jet.impl.Networking.PACKET_HEADER_SIZE;
 import static com.hazelcast.jet.impl.execution.DoneItem.DONE_ITEM;
@@ -97,6 +100,9 @@ public class ReceiverTasklet implements Tasklet {
     private final ArrayDeque<ObjWithPtionIdAndSize> inbox = new ArrayDeque<>();
     private final OutboundCollector collector;
     private final InternalSerializationService serializationService;
+    // null if compression is disabled on the edge
+    private final Inflater inflater;
+    private byte[] inflateBuffer = new byte[0];
 
     private boolean receptionDone;
 
@@ -106,6 +112,9 @@ public class ReceiverTasklet implements Tasklet {
     @Probe(name = MetricNames.DISTRIBUTED_BYTES_IN, unit = ProbeUnit.BYTES)
     private final Counter bytesInCounter = SwCounter.newSwCounter();
 
+    @Probe(name = MetricNames.DISTRIBUTED_COMPRESSED_BYTES_IN, unit = ProbeUnit.BYTES)
+    private final Counter compressedBytesInCounter = SwCounter.newSwCounter();
+
     //                    FLOW-CONTROL STATE
     //            All arrays are indexed by sender ID.
 
@@ -121,14 +130,16 @@ public class ReceiverTasklet implements Tasklet {
 
     //                 END FLOW-CONTROL STATE
 
+    @SuppressWarnings("checkstyle:parameternumber")
     public ReceiverTasklet(
             OutboundCollector collector, InternalSerializationService serializationService,
-            int rwinMultiplier, int flowControlPeriodMs, LoggingService loggingService,
+            int rwinMultiplier, int flowControlPeriodMs, boolean compressionEnabled, LoggingService loggingService,
             Address sourceAddress, int ordinal, String destinationVertexName,
             Connection memberConnection, String jobPrefix
     ) {
         this.collector = collector;
         this.serializationService = serializationService;
+        this.inflater = compressionEnabled ? new Inflater() : null;
         this.rwinMultiplier = rwinMultiplier;
         this.flowControlPeriodNs = (double) MILLISECONDS.toNanos(flowControlPeriodMs);
         this.sourceAddressString = sourceAddress.toString();
@@ -301,7 +312,9 @@ public class ReceiverTasklet implements Tasklet {
             long totalBytes = 0;
             long totalItems = 0;
             for (byte[] payload; (payload = incoming.poll()) != null; ) {
-                BufferObjectDataInput input = serializationService.createObjectDataInput(payload, PACKET_HEADER_SIZE);
+                BufferObjectDataInput input = inflater != null
+                        ? decompress(payload)
+                        : serializationService.createObjectDataInput(payload, PACKET_HEADER_SIZE);
                 final int itemCount = input.readInt();
                 for (int i = 0; i < itemCount; i++) {
                     final int mark = input.position();
@@ -321,6 +334,45 @@ public class ReceiverTasklet implements Tasklet {
         }
     }
 
+    /**
+     * Inflates a packet compressed by {@link SenderTasklet} into a reused
+     * buffer, placing the data at the same offset as in an uncompressed packet.
+     */
+    private BufferObjectDataInput decompress(byte[] payload) throws IOException {
+        int length = Bits.readIntB(payload, PACKET_HEADER_SIZE);
+        int dataStart = PACKET_HEADER_SIZE + Bits.INT_SIZE_IN_BYTES;
+        if (inflateBuffer.length < PACKET_HEADER_SIZE + length) {
+            inflateBuffer = new byte[PACKET_HEADER_SIZE + length];
+        }
+        inflater.reset();
+        inflater.setInput(payload, dataStart, payload.length - dataStart);
+        int inflated = 0;
+        try {
+            while (inflated < length && !inflater.finished()) {
+                int count = inflater.inflate(inflateBuffer, PACKET_HEADER_SIZE + inflated, length - inflated);
+                if (count == 0 && inflater.needsInput()) {
+                    break;
+                }
+                inflated += count;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted compressed packet from " + sourceAddressString, e);
+        }
+        if (inflated != length) {
+            throw new IOException("Truncated compressed packet from " + sourceAddressString
+                    + ", expected " + length + " bytes, got " + inflated);
+        }
+        compressedBytesInCounter.inc(payload.length);
+        return serializationService.createObjectDataInput(inflateBuffer, PACKET_HEADER_SIZE);
+    }
+
+    @Override
+    public void close() {
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+
     public void initIncomingQueue(Queue<byte[]> incomingQueue) {
         incoming = incomingQueue;
     }
@@ -39,15 +39,20 @@ import com.hazelcast.spi.impl.NodeEngine;
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Queue;
 import java.util.function.Consumer;
+import java.util.zip.Deflater;
 
 import static com.hazelcast.jet.impl.Networking.createStreamPacketHeader;
 import static com.hazelcast.jet.impl.execution.DoneItem.DONE_ITEM;
+import static com.hazelcast.jet.impl.execution.ReceiverTasklet.COMPRESSED_SEQ_UNIT_LOG2;
 import static com.hazelcast.jet.impl.execution.ReceiverTasklet.compressSeq;
 import static com.hazelcast.jet.impl.execution.ReceiverTasklet.estimatedMemoryFootprint;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.rethrow;
 import static com.hazelcast.jet.impl.util.Util.uncheckRun;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 
 /**
  * The tasklet that sends the data associated with a single edge through network.
@@ -55,6 +60,8 @@ import static com.hazelcast.jet.impl.util.Util.uncheckRun;
 public class SenderTasklet implements Tasklet {
     private static final int BUFFER_INITIAL_SIZE = 1 << 10;
     private static final int BUFFER_FIRST_GROWTH_SIZE = 1 << 15;
+    // a compressed packet carries at most this many times the packet size limit of uncompressed data
+    private static final int MAX_COMPRESSED_PACKET_SIZE_FACTOR = 4;
 
     private final Connection connection;
     private final Queue<Object> inbox = new ArrayDeque<>();
@@ -63,6 +70,8 @@ public class SenderTasklet implements Tasklet {
     private final BufferObjectDataOutput outputBuffer;
     private final int bufPosPastHeader;
     private final int packetSizeLimit;
+    // null if compression is disabled on the edge
+    private final Deflater deflater;
 
     /* Used for metrics */
     private final String destinationAddressString;
@@ -75,7 +84,13 @@ public class SenderTasklet implements Tasklet {
     @Probe(name = MetricNames.DISTRIBUTED_BYTES_OUT, unit = ProbeUnit.BYTES)
     private final Counter bytesOutCounter = SwCounter.newSwCounter();
 
+    @Probe(name = MetricNames.DISTRIBUTED_COMPRESSED_BYTES_OUT, unit = ProbeUnit.BYTES)
+    private final Counter compressedBytesOutCounter = SwCounter.newSwCounter();
+
     private boolean instreamExhausted;
+    // ratio of compressed to uncompressed size of the last sent packet
+    private double compressionRatio = 1;
+    private byte[] compressBuffer;
     // read and written by Jet thread
     private long sentSeq;
 
@@ -83,12 +98,13 @@ public class SenderTasklet implements Tasklet {
     private volatile int sendSeqLimitCompressed;
     private final Consumer<Object> addToInboxFunction = inbox::add;
 
+    @SuppressWarnings("checkstyle:parameternumber")
     public SenderTasklet(
             InboundEdgeStream inboundEdgeStream,
             NodeEngine nodeEngine,
             Address destinationAddress,
             Connection connection,
-            int destinationVertexId, int packetSizeLimit, long executionId,
+            int destinationVertexId, int packetSizeLimit, boolean compressionEnabled, long executionId,
             String sourceVertexName, int sourceOrdinal,
             InternalSerializationService serializationService
     ) {
@@ -97,6 +113,12 @@ public class SenderTasklet implements Tasklet {
         this.sourceVertexName = sourceVertexName;
         this.sourceOrdinalString = "" + sourceOrdinal;
         this.packetSizeLimit = packetSizeLimit;
+        if (compressionEnabled) {
+            this.deflater = new Deflater(Deflater.BEST_SPEED);
+            this.compressBuffer = new byte[BUFFER_FIRST_GROWTH_SIZE];
+        } else {
+            this.deflater = null;
+        }
         // we use Connection directly because we rely on packets not being transparently skipped or reordered
         this.connection = connection;
         this.outputBuffer = serializationService.createObjectDataOutput(BUFFER_INITIAL_SIZE, BUFFER_FIRST_GROWTH_SIZE);
@@ -114,7 +136,11 @@ public class SenderTasklet implements Tasklet {
         }
         if (tryFillOutputBuffer()) {
             progTracker.madeProgress();
-            if (!connection.write(new Packet(outputBuffer.toByteArray()).setPacketType(Packet.Type.JET))) {
+            byte[] packet = outputBuffer.toByteArray();
+            if (deflater != null) {
+                packet = compress(packet);
+            }
+            if (!connection.write(new Packet(packet).setPacketType(Packet.Type.JET))) {
                 throw new RestartableException("Connection write failed in " + toString());
             }
         }
@@ -142,9 +168,10 @@ public class SenderTasklet implements Tasklet {
         try {
             // header size + slot for writtenCount
             outputBuffer.position(bufPosPastHeader + Bits.INT_SIZE_IN_BYTES);
+            int sizeLimit = currentPacketSizeLimit();
             int writtenCount = 0;
             for (Object item;
-                 outputBuffer.position() < packetSizeLimit
+                 outputBuffer.position() < sizeLimit
                          && isWithinLimit(sentSeq, sendSeqLimitCompressed)
                          && (item = inbox.poll()) != null;
                  writtenCount++
@@ -165,6 +192,54 @@ public class SenderTasklet implements Tasklet {
         }
     }
 
+    /**
+     * Returns the size limit for the uncompressed contents of the next packet.
+     * Without compression it's the configured packet size limit. With
+     * compression the limit grows by the observed compression ratio so that
+     * the packets sent over the network stay close to the configured size,
+     * but never beyond what the receive window currently allows.
+     */
+    private int currentPacketSizeLimit() {
+        if (deflater == null) {
+            return packetSizeLimit;
+        }
+        long remainingWindow = (long) (sendSeqLimitCompressed - compressSeq(sentSeq)) << COMPRESSED_SEQ_UNIT_LOG2;
+        double ratio = max(compressionRatio, 1.0 / MAX_COMPRESSED_PACKET_SIZE_FACTOR);
+        return (int) max(packetSizeLimit, min((long) (packetSizeLimit / ratio), remainingWindow));
+    }
+
+    /**
+     * Compresses the part of the packet after the header. The compressed
+     * packet consists of the header, the uncompressed length of the rest and
+     * the deflated rest.
+     */
+    private byte[] compress(byte[] packet) {
+        int length = packet.length - bufPosPastHeader;
+        int dataStart = bufPosPastHeader + Bits.INT_SIZE_IN_BYTES;
+        deflater.reset();
+        deflater.setInput(packet, bufPosPastHeader, length);
+        deflater.finish();
+        int position = dataStart;
+        while (!deflater.finished()) {
+            if (position == compressBuffer.length) {
+                compressBuffer = Arrays.copyOf(compressBuffer, compressBuffer.length * 2);
+            }
+            position += deflater.deflate(compressBuffer, position, compressBuffer.length - position);
+        }
+        System.arraycopy(packet, 0, compressBuffer, 0, bufPosPastHeader);
+        Bits.writeIntB(compressBuffer, bufPosPastHeader, length);
+        compressionRatio = (double) (position - dataStart) / length;
+        compressedBytesOutCounter.inc(position);
+        return Arrays.copyOf(compressBuffer, position);
+    }
+
+    @Override
+    public void close() {
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
     /**
      * Updates the upper limit on {@link #sentSeq}, which constrains how much more data this tasklet can send.
      *
@@ -26,8 +26,8 @@ import com.hazelcast.jet.function.TriFunction;
 import com.hazelcast.jet.impl.pipeline.PipelineImpl.Context;
 import com.hazelcast.jet.impl.pipeline.Planner;
 import com.hazelcast.jet.impl.pipeline.Planner.PlannerVertex;
-import com.hazelcast.jet.impl.processor.HashJoinCollectP;
 import com.hazelcast.jet.impl.processor.HashJoinP;
+import com.hazelcast.jet.impl.processor.ProcessorSuppliers.HashJoinCollectPSupplier;
 import com.hazelcast.jet.pipeline.JoinClause;
 
 import javax.annotation.Nonnull;
@@ -152,7 +152,7 @@ public class HashJoinTransform<T0, R> extends AbstractTransform {
             FunctionEx<Object, Object> getKeyFn = (FunctionEx<Object, Object>) clause.rightKeyFn();
             FunctionEx<Object, Object> projectFn = (FunctionEx<Object, Object>) clause.rightProjectFn();
             Vertex collector = p.dag.newVertex(collectorName + collectorOrdinal,
-                    () -> new HashJoinCollectP(getKeyFn, projectFn));
+                    new HashJoinCollectPSupplier<>(getKeyFn, projectFn));
             collector.localParallelism(1);
             p.dag.edge(from(fromPv.v, fromPv.nextAvailableOrdinal())
                     .to(collector, 0)
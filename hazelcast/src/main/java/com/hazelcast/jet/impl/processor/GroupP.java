@@ -17,14 +17,22 @@
 package com.hazelcast.jet.impl.processor;
 
 import com.hazelcast.function.FunctionEx;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.metrics.MetricNames;
+import com.hazelcast.jet.impl.execution.init.Contexts.InternalProcSupplierCtx;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -33,7 +41,12 @@ import java.util.Map.Entry;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
+import static com.hazelcast.internal.util.Preconditions.checkNotNegative;
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
+import static com.hazelcast.jet.impl.processor.SpillableGroups.PARTITION_COUNT;
+import static com.hazelcast.jet.impl.util.Util.spillDirectoryOf;
+import static java.lang.Math.min;
 import static java.util.Collections.singletonList;
 
 /**
@@ -41,6 +54,12 @@ import static java.util.Collections.singletonList;
  * aggregate operation on each group. The items may originate from one or
  * more inbound edges. The supplied aggregate operation must have as many
  * accumulation functions as there are inbound edges.
+ * <p>
+ * If spilling is enabled, see {@link
+ * com.hazelcast.jet.core.processor.Processors#aggregateByKeyP(List,
+ * AggregateOperation, com.hazelcast.function.BiFunctionEx, long)}, the
+ * groups are kept in {@link SpillableGroups} and are emitted one hash
+ * partition at a time. The processor is then not cooperative.
  */
 public class GroupP<K, A, R, OUT> extends AbstractProcessor {
 
@@ -50,19 +69,60 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     private final AggregateOperation<A, R> aggrOp;
     private final BiFunction<? super K, ? super R, OUT> mapToOutputFn;
 
+    @Probe(name = MetricNames.SPILLED_BYTES)
+    private final Counter spilledBytes = SwCounter.newSwCounter();
+    @Probe(name = MetricNames.SPILLED_PARTITIONS)
+    private final Counter spilledPartitions = SwCounter.newSwCounter();
+
     private long maxEntries;
     private Traverser<OUT> resultTraverser;
 
+    // the fields below are only used when spilling is enabled
+    private final long spillMaxEntries;
+    private File spillDirectory;
+    private SpillableGroups<K, A> spillableGroups;
+    private int emittedPartitions;
+
     public GroupP(
             @Nonnull List<FunctionEx<?, ? extends K>> groupKeyFns,
             @Nonnull AggregateOperation<A, R> aggrOp,
             @Nonnull BiFunction<? super K, ? super R, OUT> mapToOutputFn
+    ) {
+        this(groupKeyFns, aggrOp, mapToOutputFn, 0);
+    }
+
+    /**
+     * @param spillMaxEntries the number of groups kept in memory before
+     *                        they are spilled, {@code 0} to never spill
+     */
+    public GroupP(
+            @Nonnull List<FunctionEx<?, ? extends K>> groupKeyFns,
+            @Nonnull AggregateOperation<A, R> aggrOp,
+            @Nonnull BiFunction<? super K, ? super R, OUT> mapToOutputFn,
+            long spillMaxEntries
+    ) {
+        this(groupKeyFns, aggrOp, mapToOutputFn, spillMaxEntries, null);
+    }
+
+    /**
+     * @param spillDirectory the directory in which the spill files are
+     *                       created or {@code null} to use the directory
+     *                       configured for the member
+     */
+    GroupP(
+            @Nonnull List<FunctionEx<?, ? extends K>> groupKeyFns,
+            @Nonnull AggregateOperation<A, R> aggrOp,
+            @Nonnull BiFunction<? super K, ? super R, OUT> mapToOutputFn,
+            long spillMaxEntries,
+            @Nullable File spillDirectory
     ) {
         checkTrue(groupKeyFns.size() == aggrOp.arity(), groupKeyFns.size() + " key functions " +
                 "provided for " + aggrOp.arity() + "-arity aggregate operation");
         this.groupKeyFns = groupKeyFns;
         this.aggrOp = aggrOp;
         this.mapToOutputFn = mapToOutputFn;
+        this.spillMaxEntries = checkNotNegative(spillMaxEntries, "spillMaxEntries must not be negative");
+        this.spillDirectory = spillDirectory;
     }
 
     public <T> GroupP(
@@ -76,41 +136,103 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxEntries = context.maxProcessorAccumulatedRecords();
+        if (spillingEnabled()) {
+            if (spillDirectory == null) {
+                spillDirectory = spillDirectoryOf(context);
+            }
+            spillableGroups = new SpillableGroups<>(aggrOp, min(spillMaxEntries, maxEntries), maxEntries,
+                    spillDirectory, ((InternalProcSupplierCtx) context).serializationService(),
+                    spilledBytes, spilledPartitions);
+            keyToAcc.forEach(spillableGroups::put);
+            keyToAcc.clear();
+        }
+    }
+
+    private boolean spillingEnabled() {
+        // partial accumulators can only be spilled if they can be combined
+        return spillMaxEntries > 0 && aggrOp.combineFn() != null;
+    }
+
+    @Override
+    public boolean isCooperative() {
+        // the spill files are written and read on the processor's thread
+        return !spillingEnabled();
     }
 
     @Override
     @SuppressWarnings("unchecked")
-    protected boolean tryProcess(int ordinal, @Nonnull Object item) {
+    protected boolean tryProcess(int ordinal, @Nonnull Object item) throws IOException {
         Function<Object, ? extends K> keyFn = (Function<Object, ? extends K>) groupKeyFns.get(ordinal);
         K key = keyFn.apply(item);
-        A acc = keyToAcc.computeIfAbsent(key, k -> {
-            if (keyToAcc.size() == maxEntries) {
-                throw new AccumulationLimitExceededException();
-            }
-
-            return aggrOp.createFn().get();
-        });
+        A acc;
+        if (spillableGroups != null) {
+            acc = spillableGroups.getOrCreate(key);
+        } else {
+            acc = keyToAcc.computeIfAbsent(key, k -> {
+                if (keyToAcc.size() == maxEntries) {
+                    throw new AccumulationLimitExceededException();
+                }
+
+                return aggrOp.createFn().get();
+            });
+        }
         aggrOp.accumulateFn(ordinal).accept(acc, item);
         return true;
     }
 
     @Override
     public boolean complete() {
+        if (spillableGroups != null) {
+            return completeSpillable();
+        }
         if (resultTraverser == null) {
-            resultTraverser = new ResultTraverser()
-                    // reuse null filtering done by map()
-                    .map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
+            resultTraverser = createResultTraverser(keyToAcc);
         }
         return emitFromTraverser(resultTraverser);
     }
 
+    private boolean completeSpillable() {
+        try {
+            while (emittedPartitions < PARTITION_COUNT) {
+                if (resultTraverser == null) {
+                    resultTraverser = createResultTraverser(spillableGroups.loadPartition(emittedPartitions));
+                }
+                if (!emitFromTraverser(resultTraverser)) {
+                    return false;
+                }
+                resultTraverser = null;
+                emittedPartitions++;
+            }
+            return true;
+        } catch (IOException e) {
+            throw sneakyThrow(e);
+        }
+    }
+
+    private Traverser<OUT> createResultTraverser(Map<K, A> groups) {
+        return new ResultTraverser(groups)
+                // reuse null filtering done by map()
+                .map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
+    }
+
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return !spillingEnabled();
+    }
+
+    @Override
+    public void close() {
+        if (spillableGroups != null) {
+            spillableGroups.close();
+        }
     }
 
     private class ResultTraverser implements Traverser<Entry<K, A>> {
-        private final Iterator<Entry<K, A>> iter = keyToAcc.entrySet().iterator();
+        private final Iterator<Entry<K, A>> iter;
+
+        ResultTraverser(Map<K, A> groups) {
+            this.iter = groups.entrySet().iterator();
+        }
 
         @Override
         public Entry<K, A> next() {
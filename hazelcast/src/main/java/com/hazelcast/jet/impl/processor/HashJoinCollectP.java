@@ -18,23 +18,39 @@ package com.hazelcast.jet.impl.processor;
 
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.InternalProcSupplierCtx;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 
+import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
+import static com.hazelcast.internal.util.Preconditions.checkNotNegative;
+import static com.hazelcast.jet.impl.util.Util.spillDirectoryOf;
+import static java.lang.Math.min;
+
 /**
  * Implements the "collector" stage in a hash join transformation. This
  * stage collects the entire joined stream into a hashtable and then
  * broadcasts it to all local second-stage processors.
+ * <p>
+ * If spilling is enabled, see {@link
+ * com.hazelcast.spi.properties.ClusterProperty#JET_HASH_JOIN_SPILL_MAX_ENTRIES},
+ * the entries above the limit are written to a file and the processor
+ * broadcasts a {@link MappedLookupTable} instead of the hashtable. The
+ * processor is then not cooperative. The limit is read from the member
+ * properties by {@link ProcessorSuppliers.HashJoinCollectPSupplier}.
  */
 public class HashJoinCollectP<K, T, V> extends AbstractProcessor {
 
-    private static final BinaryOperator<Object> MERGE_FN = (o, n) -> {
+    static final BinaryOperator<Object> MERGE_FN = (o, n) -> {
         if (o instanceof HashJoinArrayList) {
             ((HashJoinArrayList) o).add(n);
             return o;
@@ -55,39 +71,105 @@ public class HashJoinCollectP<K, T, V> extends AbstractProcessor {
     private long maxEntries;
     private long numberOfEntries;
 
+    // the fields below are only used when spilling is enabled
+    private final long spillMaxEntries;
+    private File spillDirectory;
+    private long onHeapMaxEntries;
+    private MappedLookupTable.Builder spillBuilder;
+    private MappedLookupTable spilledLookupTable;
+
     public HashJoinCollectP(@Nonnull Function<T, K> keyFn, @Nonnull Function<T, V> projectFn) {
+        this(keyFn, projectFn, 0);
+    }
+
+    /**
+     * @param spillMaxEntries the number of entries kept on heap before the
+     *                        remaining ones are spilled, {@code 0} to never
+     *                        spill
+     */
+    public HashJoinCollectP(@Nonnull Function<T, K> keyFn, @Nonnull Function<T, V> projectFn,
+                            long spillMaxEntries) {
+        this(keyFn, projectFn, spillMaxEntries, null);
+    }
+
+    /**
+     * @param spillDirectory the directory in which the spill files are
+     *                       created or {@code null} to use the directory
+     *                       configured for the member
+     */
+    HashJoinCollectP(@Nonnull Function<T, K> keyFn, @Nonnull Function<T, V> projectFn,
+                     long spillMaxEntries, @Nullable File spillDirectory) {
         this.keyFn = keyFn;
         this.projectFn = projectFn;
+        this.spillMaxEntries = checkNotNegative(spillMaxEntries, "spillMaxEntries must not be negative");
+        this.spillDirectory = spillDirectory;
     }
 
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxEntries = context.maxProcessorAccumulatedRecords();
+        if (spillMaxEntries > 0) {
+            onHeapMaxEntries = min(spillMaxEntries, maxEntries);
+            if (spillDirectory == null) {
+                spillDirectory = spillDirectoryOf(context);
+            }
+            spillBuilder = new MappedLookupTable.Builder(spillDirectory,
+                    ((InternalProcSupplierCtx) context).serializationService());
+        }
+    }
+
+    @Override
+    public boolean isCooperative() {
+        // the spill files are written and indexed on the processor's thread
+        return spillMaxEntries == 0;
     }
 
     @Override
     @SuppressWarnings("unchecked")
-    protected boolean tryProcess0(@Nonnull Object item) {
+    protected boolean tryProcess0(@Nonnull Object item) throws IOException {
+        T t = (T) item;
+        K key = keyFn.apply(t);
+        V value = projectFn.apply(t);
+        // null keys can't be looked up in the serialized form, keep them on heap
+        if (spillBuilder != null && numberOfEntries >= onHeapMaxEntries && key != null) {
+            spillBuilder.add(key, value);
+            return true;
+        }
         if (numberOfEntries == maxEntries) {
             throw new AccumulationLimitExceededException();
         }
 
-        T t = (T) item;
-        K key = keyFn.apply(t);
-        V value = projectFn.apply(t);
         lookupTable.merge(key, value, MERGE_FN);
         numberOfEntries++;
         return true;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public boolean complete() {
-        return tryEmit(lookupTable);
+        if (spillBuilder == null || !spillBuilder.spilled()) {
+            return tryEmit(lookupTable);
+        }
+        if (spilledLookupTable == null) {
+            try {
+                spilledLookupTable = spillBuilder.build((Map<Object, Object>) lookupTable);
+            } catch (IOException e) {
+                throw sneakyThrow(e);
+            }
+        }
+        return tryEmit(spilledLookupTable);
     }
 
     @Override
     public boolean closeIsCooperative() {
-        return true;
+        return spillMaxEntries == 0;
+    }
+
+    @Override
+    public void close() {
+        if (spillBuilder != null) {
+            spillBuilder.close();
+        }
     }
 
     // We need a custom ArrayList subclass because the user's V type could be
@@ -42,7 +42,7 @@ import static java.util.Objects.requireNonNull;
 /**
  * Implements the {@linkplain HashJoinTransform hash-join transform}. On
  * all edges except 0 it receives a single item &mdash; the lookup table
- * for that edge (a {@code Map}) and then it processes edge 0 by joining
+ * for that edge (a {@code Map} or a {@link MappedLookupTable}) and then it processes edge 0 by joining
  * to each item the data from the lookup tables.
  * <p>
  * It extracts a separate key for each of the lookup tables using the
@@ -66,7 +66,7 @@ import static java.util.Objects.requireNonNull;
 public class HashJoinP<E0> extends AbstractProcessor {
 
     private final List<Function<E0, Object>> keyFns;
-    private final List<Map<Object, Object>> lookupTables;
+    private final List<Function<Object, Object>> lookupTables;
     private final FlatMapper<E0, Object> flatMapper;
 
     private boolean ordinal0Consumed;
@@ -109,7 +109,9 @@ public class HashJoinP<E0> extends AbstractProcessor {
     @Override
     protected boolean tryProcess(int ordinal, @Nonnull Object item) {
         assert !ordinal0Consumed : "Edge 0 must have a lower priority than all other edges";
-        lookupTables.set(ordinal - 1, (Map) item);
+        lookupTables.set(ordinal - 1, item instanceof MappedLookupTable
+                ? ((MappedLookupTable) item)::get
+                : ((Map<Object, Object>) item)::get);
         return true;
     }
 
@@ -121,9 +123,9 @@ public class HashJoinP<E0> extends AbstractProcessor {
 
     @Nonnull
     private Object lookUpJoined(int index, E0 item) {
-        Map<Object, Object> lookupTableForOrdinal = lookupTables.get(index);
+        Function<Object, Object> lookupTableForOrdinal = lookupTables.get(index);
         Object key = keyFns.get(index).apply(item);
-        return lookupTableForOrdinal.get(key);
+        return lookupTableForOrdinal.apply(key);
     }
 
     @Override
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.impl.processor.HashJoinCollectP.HashJoinArrayList;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * The lookup table of a hash join, see {@link HashJoinCollectP}, whose
+ * entries are partly kept on heap and partly in memory-mapped files. Used
+ * when spilling is enabled, see {@link
+ * com.hazelcast.spi.properties.ClusterProperty#JET_HASH_JOIN_SPILL_MAX_ENTRIES}.
+ * <p>
+ * The spilled entries are stored as serialized key-value records in a
+ * data file and indexed by the {@code hashCode()} of their key in an
+ * open-addressing hash table in an index file. Both files are mapped in
+ * segments, a record never crosses a segment boundary. A spilled key with
+ * the same hash as the looked-up key is deserialized and compared with
+ * {@code equals()}, the same way as the keys of the on-heap table.
+ * <p>
+ * The table is read-only and shared by all local {@link HashJoinP}
+ * instances, {@link #get} is thread-safe. It only supports lookups, so
+ * it isn't a {@code Map}.
+ */
+final class MappedLookupTable {
+
+    static final int DEFAULT_SEGMENT_SHIFT = 30;
+
+    // an index slot holds the top bits of the key hash and the record offset + 1
+    private static final int OFFSET_BITS = 40;
+    private static final long MAX_OFFSET = (1L << OFFSET_BITS) - 2;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+    private static final int TAG_SHIFT = Integer.SIZE - (Long.SIZE - OFFSET_BITS);
+    private static final int SLOT_SHIFT = 3;
+    // a record holds the key length, the key hash, the key, the value length and the value
+    private static final int RECORD_HEADER_SIZE = 3 * Integer.BYTES;
+
+    private final Map<Object, Object> onHeap;
+    private final ByteBuffer[] dataSegments;
+    private final ByteBuffer[] indexSegments;
+    private final int segmentShift;
+    private final long slotMask;
+    private final InternalSerializationService serializationService;
+
+    private MappedLookupTable(Map<Object, Object> onHeap, Builder builder) {
+        this.onHeap = onHeap;
+        this.dataSegments = builder.dataSegments;
+        this.indexSegments = builder.indexSegments;
+        this.segmentShift = builder.segmentShift;
+        this.slotMask = builder.slotMask;
+        this.serializationService = builder.serializationService;
+    }
+
+    /**
+     * Returns the value or values for the key, the same way as the map
+     * collected by {@link HashJoinCollectP}: a single value or a {@link
+     * HashJoinArrayList} if there are multiple values.
+     */
+    public Object get(Object key) {
+        Object onHeapValues = onHeap.get(key);
+        if (key == null) {
+            // null keys are never spilled
+            return onHeapValues;
+        }
+        int hash = hash(key);
+        long tag = hash >>> TAG_SHIFT;
+        Object spilledValues = null;
+        for (long slot = Integer.toUnsignedLong(hash) & slotMask; ; slot = (slot + 1) & slotMask) {
+            long entry = getSlot(indexSegments, segmentShift, slot);
+            if (entry == 0) {
+                break;
+            }
+            if (entry >>> OFFSET_BITS != tag) {
+                continue;
+            }
+            ByteBuffer record = record((entry & OFFSET_MASK) - 1);
+            int keyLength = record.getInt();
+            if (record.getInt() != hash || !key.equals(readObject(record, keyLength))) {
+                continue;
+            }
+            Object value = readObject(record, record.getInt());
+            spilledValues = spilledValues == null ? value : HashJoinCollectP.MERGE_FN.apply(spilledValues, value);
+        }
+        return merge(onHeapValues, spilledValues);
+    }
+
+    @Override
+    public String toString() {
+        return "MappedLookupTable{onHeapKeys=" + onHeap.size() + ", slots=" + (slotMask + 1) + '}';
+    }
+
+    private ByteBuffer record(long offset) {
+        ByteBuffer record = dataSegments[(int) (offset >>> segmentShift)].duplicate();
+        record.position((int) (offset & ((1L << segmentShift) - 1)));
+        return record;
+    }
+
+    private Object readObject(ByteBuffer record, int length) {
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return serializationService.toObject(new HeapData(bytes));
+    }
+
+    private static int hash(@Nonnull Object key) {
+        // mix the hash so that its top bits used as the tag and its low bits
+        // used as the slot are both well distributed
+        return MurmurHash3_fmix(key.hashCode());
+    }
+
+    private static Object merge(Object onHeapValues, Object spilledValues) {
+        if (onHeapValues == null) {
+            return spilledValues;
+        }
+        if (spilledValues == null) {
+            return onHeapValues;
+        }
+        // the on-heap values are shared, don't modify them
+        HashJoinArrayList result = new HashJoinArrayList();
+        addValues(result, onHeapValues);
+        addValues(result, spilledValues);
+        return result;
+    }
+
+    private static void addValues(HashJoinArrayList target, Object values) {
+        if (values instanceof HashJoinArrayList) {
+            target.addAll((HashJoinArrayList) values);
+        } else {
+            target.add(values);
+        }
+    }
+
+    private static long getSlot(ByteBuffer[] segments, int segmentShift, long slot) {
+        long offset = slot << SLOT_SHIFT;
+        return segments[(int) (offset >>> segmentShift)].getLong((int) (offset & ((1L << segmentShift) - 1)));
+    }
+
+    private static void putSlot(ByteBuffer[] segments, int segmentShift, long slot, long entry) {
+        long offset = slot << SLOT_SHIFT;
+        segments[(int) (offset >>> segmentShift)].putLong((int) (offset & ((1L << segmentShift) - 1)), entry);
+    }
+
+    /**
+     * Writes the spilled entries and builds their index.
+     */
+    static final class Builder {
+
+        private static final int BUFFER_SIZE = 1 << 16;
+
+        private final File parentDirectory;
+        private final InternalSerializationService serializationService;
+        private final int segmentShift;
+        private final long segmentSize;
+
+        private File directory;
+        private DataOutputStream out;
+        private long size;
+        private long count;
+
+        // the fields below are set when the index is built
+        private ByteBuffer[] dataSegments;
+        private ByteBuffer[] indexSegments;
+        private long slotMask;
+
+        Builder(@Nonnull File parentDirectory, @Nonnull InternalSerializationService serializationService) {
+            this(parentDirectory, serializationService, DEFAULT_SEGMENT_SHIFT);
+        }
+
+        // package-visible for testing
+        Builder(@Nonnull File parentDirectory, @Nonnull InternalSerializationService serializationService,
+                int segmentShift) {
+            this.parentDirectory = parentDirectory;
+            this.serializationService = serializationService;
+            this.segmentShift = segmentShift;
+            this.segmentSize = 1L << segmentShift;
+        }
+
+        void add(@Nonnull Object key, Object value) throws IOException {
+            if (out == null) {
+                Files.createDirectories(parentDirectory.toPath());
+                directory = Files.createTempDirectory(parentDirectory.toPath(), "hazelcast-jet-hash-join-").toFile();
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(dataFile()), BUFFER_SIZE));
+            }
+            byte[] keyBytes = serializationService.toData(key).toByteArray();
+            byte[] valueBytes = serializationService.toData(value).toByteArray();
+            long recordSize = RECORD_HEADER_SIZE + keyBytes.length + valueBytes.length;
+            if (recordSize > segmentSize) {
+                throw new JetException("Hash-join item of " + recordSize + " bytes is too large to spill");
+            }
+            long remainingInSegment = segmentSize - (size & (segmentSize - 1));
+            if (recordSize > remainingInSegment) {
+                // zeros up to the end of the segment mark the padding
+                for (long i = 0; i < remainingInSegment; i++) {
+                    out.write(0);
+                }
+                size += remainingInSegment;
+            }
+            if (size > MAX_OFFSET) {
+                throw new JetException("Spilled hash-join lookup table exceeds " + MAX_OFFSET + " bytes");
+            }
+            // the key length is never 0, unlike the padding
+            out.writeInt(keyBytes.length);
+            out.writeInt(hash(key));
+            out.write(keyBytes);
+            out.writeInt(valueBytes.length);
+            out.write(valueBytes);
+            size += recordSize;
+            count++;
+        }
+
+        /**
+         * Returns {@code true} if some entries were spilled.
+         */
+        boolean spilled() {
+            return directory != null;
+        }
+
+        /**
+         * Indexes the spilled entries and creates the table. The files are
+         * deleted, their mappings stay valid until the table is
+         * garbage-collected.
+         */
+        MappedLookupTable build(@Nonnull Map<Object, Object> onHeap) throws IOException {
+            out.close();
+            out = null;
+            dataSegments = map(dataFile(), size, MapMode.READ_ONLY);
+            long slotCount = max(2, nextPowerOfTwo(count * 2));
+            slotMask = slotCount - 1;
+            indexSegments = map(new File(directory, "index"), slotCount << SLOT_SHIFT, MapMode.READ_WRITE);
+            long readOffset = 0;
+            for (long i = 0; i < count; i++) {
+                readOffset = indexRecord(readOffset);
+            }
+            MappedLookupTable table = new MappedLookupTable(onHeap, this);
+            close();
+            return table;
+        }
+
+        void close() {
+            closeResource(out);
+            if (directory != null) {
+                try {
+                    IOUtil.delete(directory);
+                } catch (HazelcastException e) {
+                    // some platforms don't allow deleting a mapped file, retry at exit
+                    directory.deleteOnExit();
+                    File[] files = directory.listFiles();
+                    if (files != null) {
+                        for (File file : files) {
+                            file.deleteOnExit();
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Indexes the record at or after the given offset.
+         *
+         * @return the offset after the record
+         */
+        private long indexRecord(long offset) {
+            long readOffset = offset;
+            long inSegment = readOffset & (segmentSize - 1);
+            ByteBuffer segment = dataSegments[(int) (readOffset >>> segmentShift)];
+            if (segment.limit() - inSegment < Integer.BYTES || segment.getInt((int) inSegment) == 0) {
+                // skip the padding, the record is at the start of the next segment
+                readOffset += segmentSize - inSegment;
+                inSegment = 0;
+                segment = dataSegments[(int) (readOffset >>> segmentShift)];
+            }
+            ByteBuffer record = segment.duplicate();
+            record.position((int) inSegment);
+            int keyLength = record.getInt();
+            int hash = record.getInt();
+            record.position(record.position() + keyLength);
+            int valueLength = record.getInt();
+            long slot = Integer.toUnsignedLong(hash) & slotMask;
+            while (getSlot(indexSegments, segmentShift, slot) != 0) {
+                slot = (slot + 1) & slotMask;
+            }
+            long tag = hash >>> TAG_SHIFT;
+            putSlot(indexSegments, segmentShift, slot, tag << OFFSET_BITS | (readOffset + 1));
+            return readOffset + RECORD_HEADER_SIZE + keyLength + valueLength;
+        }
+
+        private File dataFile() {
+            return new File(directory, "data");
+        }
+
+        private ByteBuffer[] map(File file, long length, MapMode mode) throws IOException {
+            ByteBuffer[] segments = new ByteBuffer[(int) ((length + segmentSize - 1) >>> segmentShift)];
+            try (RandomAccessFile raf = new RandomAccessFile(file, mode == MapMode.READ_ONLY ? "r" : "rw");
+                 FileChannel channel = raf.getChannel()) {
+                if (mode == MapMode.READ_WRITE) {
+                    raf.setLength(length);
+                }
+                for (int i = 0; i < segments.length; i++) {
+                    long start = (long) i << segmentShift;
+                    segments[i] = channel.map(mode, start, min(segmentSize, length - start));
+                }
+            }
+            return segments;
+        }
+    }
+}
@@ -16,17 +16,27 @@
 
 package com.hazelcast.jet.impl.processor;
 
+import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.function.FunctionEx;
 import com.hazelcast.function.SupplierEx;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.core.JetDataSerializerHook;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.core.ResettableSingletonTraverser;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 
+import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.hazelcast.jet.impl.util.ImdgUtil.isMemberInstance;
+import static com.hazelcast.jet.impl.util.Util.getNodeEngine;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_HASH_JOIN_SPILL_MAX_ENTRIES;
 
 public final class ProcessorSuppliers {
     public static class AggregatePSupplier<A, R> implements SupplierEx<Processor>, IdentifiedDataSerializable {
@@ -104,4 +114,72 @@ public final class ProcessorSuppliers {
             return JetDataSerializerHook.PROCESSOR_MAP_P_SUPPLIER;
         }
     }
+
+    /**
+     * Supplies the {@link HashJoinCollectP} processors with the spilling
+     * limit configured for the member, see {@link
+     * com.hazelcast.spi.properties.ClusterProperty#JET_HASH_JOIN_SPILL_MAX_ENTRIES}.
+     * The limit must be known when the processors are created, it decides
+     * whether they are cooperative.
+     */
+    public static class HashJoinCollectPSupplier<T, K, V> implements ProcessorSupplier, IdentifiedDataSerializable {
+        private FunctionEx<T, K> keyFn;
+        private FunctionEx<T, V> projectFn;
+        private transient long spillMaxEntries;
+
+        public HashJoinCollectPSupplier() {
+        }
+
+        public HashJoinCollectPSupplier(FunctionEx<T, K> keyFn, FunctionEx<T, V> projectFn) {
+            this.keyFn = keyFn;
+            this.projectFn = projectFn;
+        }
+
+        @Override
+        public void init(@Nonnull Context context) {
+            HazelcastInstance instance = context.hazelcastInstance();
+            if (instance != null && isMemberInstance(instance)) {
+                spillMaxEntries = getNodeEngine(instance).getProperties().getLong(JET_HASH_JOIN_SPILL_MAX_ENTRIES);
+            }
+        }
+
+        @Override
+        public boolean initIsCooperative() {
+            return true;
+        }
+
+        @Override
+        public boolean closeIsCooperative() {
+            return true;
+        }
+
+        @Nonnull @Override
+        public Collection<? extends Processor> get(int count) {
+            return Stream.generate(() -> new HashJoinCollectP<>(keyFn, projectFn, spillMaxEntries))
+                         .limit(count)
+                         .collect(Collectors.toList());
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeObject(keyFn);
+            out.writeObject(projectFn);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            keyFn = in.readObject();
+            projectFn = in.readObject();
+        }
+
+        @Override
+        public int getFactoryId() {
+            return JetDataSerializerHook.FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return JetDataSerializerHook.HASH_JOIN_COLLECT_P_SUPPLIER;
+        }
+    }
 }
@@ -41,6 +41,8 @@ import com.hazelcast.partition.PartitionAware;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -79,6 +81,9 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
  */
 public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
 
+    // A cleared map still holds its table, keep only a few of them
+    private static final int MAX_POOLED_FRAMES = 4;
+
     // package-visible for testing
     final Long2ObjectHashMap<Map<K, A>> tsToKeyToAcc = new Long2ObjectHashMap<>();
     Map<K, A> slidingWindow;
@@ -118,6 +123,11 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
     @Probe(name = "totalKeysInFrames")
     private final Counter totalKeysInFrames = SwCounter.newSwCounter();
 
+    // Maps of evicted frames, cleared and reused for new frames
+    private final Deque<Map<K, A>> framePool = new ArrayDeque<>(MAX_POOLED_FRAMES);
+    // The map reused for windows recomputed from frames, see computeWindow()
+    private final Map<K, A> recomputedWindow = new HashMap<>();
+
     // Fields for early results emission
     private final long earlyResultsPeriod;
     private long lastTimeEarlyResultsEmitted;
@@ -169,7 +179,8 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
         this.emptyAcc = aggrOp.createFn().get();
         this.createMapPerTsFunction = x -> {
             totalFrames.inc();
-            return new HashMap<>();
+            Map<K, A> frame = framePool.poll();
+            return frame != null ? frame : new HashMap<>();
         };
         this.createAccFunction = k -> {
             long newCount = totalKeysInFrames.inc();
@@ -409,10 +420,14 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
             return tsToKeyToAcc.getOrDefault(frameTs, emptyMap());
         }
         if (aggrOp.deductFn() == null) {
-            return recomputeWindow(frameTs);
+            // The window is fully emitted before the next one is computed, so
+            // the same map can be reused. The sliding window below can't,
+            // it's backed up while emitting early results.
+            recomputedWindow.clear();
+            return recomputeWindow(frameTs, recomputedWindow);
         }
         if (slidingWindow == null) {
-            slidingWindow = recomputeWindow(frameTs);
+            slidingWindow = recomputeWindow(frameTs, new HashMap<>());
         } else {
             // add leading-edge frame
             patchSlidingWindow(aggrOp.combineFn(), tsToKeyToAcc.get(frameTs));
@@ -420,8 +435,7 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
         return slidingWindow;
     }
 
-    private Map<K, A> recomputeWindow(long frameTs) {
-        Map<K, A> window = new HashMap<>();
+    private Map<K, A> recomputeWindow(long frameTs, Map<K, A> window) {
         for (long ts = frameTs - winPolicy.windowSize() + winPolicy.frameSize();
              ts <= frameTs;
              ts += winPolicy.frameSize()
@@ -459,12 +473,23 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
                 // deduct trailing-edge frame
                 patchSlidingWindow(aggrOp.deductFn(), evictedFrame);
             }
+            if (framePool.size() < MAX_POOLED_FRAMES) {
+                evictedFrame.clear();
+                framePool.add(evictedFrame);
+            }
         }
         assert tsToKeyToAcc.values().stream().mapToInt(Map::size).sum() == totalKeysInFrames.get()
                 : "totalKeysInFrames mismatch, expected=" + tsToKeyToAcc.values().stream().mapToInt(Map::size).sum()
                 + ", actual=" + totalKeysInFrames.get();
     }
 
+    // package-visible for testing
+    @Probe(name = "totalKeysInSlidingWindow")
+    long totalKeysInSlidingWindow() {
+        Map<K, A> window = slidingWindow;
+        return window != null ? window.size() : 0;
+    }
+
     private void completeEarlyWindow(long frameTs) {
         if (winPolicy.isTumbling() || aggrOp.deductFn() == null) {
             return;
@@ -16,36 +16,121 @@
 
 package com.hazelcast.jet.impl.processor;
 
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.InternalProcSupplierCtx;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.PriorityQueue;
 
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
+import static com.hazelcast.internal.util.Preconditions.checkNotNegative;
+import static com.hazelcast.jet.Traversers.traverseIterable;
+import static com.hazelcast.jet.impl.util.Util.spillDirectoryOf;
+import static java.lang.Math.min;
+
+/**
+ * Sorts its input and emits it in the {@code complete} phase.
+ * <p>
+ * By default the input is sorted in memory. If a spill run size is given,
+ * the input is collected in runs of that size. Each full run is sorted
+ * and written to a file, and the runs are merged while emitting. Since the
+ * files are written and read on the processor's thread, a processor which
+ * may spill is not cooperative.
+ */
 public class SortP<T> extends AbstractProcessor {
 
+    private static final int SPILL_BUFFER_SIZE = 1 << 16;
+    private static final int READ_BUFFER_SIZE = 1 << 14;
+
+    private final Comparator<T> comparator;
     private final PriorityQueue<T> priorityQueue;
     private final Traverser<T> resultTraverser;
+    private final int spillRunSize;
 
     private long maxItems;
 
+    // the fields below are only used when spilling is enabled
+    private File spillParentDirectory;
+    private InternalSerializationService serializationService;
+    private final List<SpilledRun> spilledRuns = new ArrayList<>();
+    private List<T> run = new ArrayList<>();
+    private File spillDirectory;
+    private Traverser<T> spilledResultTraverser;
+
     public SortP(@Nullable Comparator<T> comparator) {
-        this.priorityQueue = new PriorityQueue<>(comparator);
+        this(comparator, 0);
+    }
+
+    /**
+     * @param spillRunSize the number of items in a spilled run or {@code 0}
+     *                     to never spill
+     */
+    public SortP(@Nullable Comparator<T> comparator, int spillRunSize) {
+        this(comparator, spillRunSize, null);
+    }
+
+    /**
+     * @param spillRunSize   the number of items in a spilled run or {@code 0}
+     *                       to never spill
+     * @param spillDirectory the directory in which the run files are
+     *                       created or {@code null} to use the directory
+     *                       configured for the member
+     */
+    @SuppressWarnings("unchecked")
+    SortP(@Nullable Comparator<T> comparator, int spillRunSize, @Nullable File spillDirectory) {
+        this.comparator = comparator != null ? comparator : (Comparator<T>) Comparator.naturalOrder();
+        this.priorityQueue = new PriorityQueue<>(this.comparator);
         this.resultTraverser = priorityQueue::poll;
+        this.spillRunSize = checkNotNegative(spillRunSize, "spillRunSize must not be negative");
+        this.spillParentDirectory = spillDirectory;
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return spillRunSize == 0;
     }
 
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxItems = context.maxProcessorAccumulatedRecords();
+        if (spillRunSize > 0) {
+            serializationService = ((InternalProcSupplierCtx) context).serializationService();
+            if (spillParentDirectory == null) {
+                spillParentDirectory = spillDirectoryOf(context);
+            }
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
-    protected boolean tryProcess0(@Nonnull Object item) {
+    protected boolean tryProcess0(@Nonnull Object item) throws IOException {
+        if (spillRunSize > 0) {
+            if (run.size() >= min(spillRunSize, maxItems)) {
+                spillRun();
+            }
+            run.add((T) item);
+            return true;
+        }
         if (priorityQueue.size() == maxItems) {
             throw new AccumulationLimitExceededException();
         }
@@ -56,11 +141,158 @@ public class SortP<T> extends AbstractProcessor {
 
     @Override
     public boolean complete() {
-        return emitFromTraverser(resultTraverser);
+        if (spillRunSize == 0) {
+            return emitFromTraverser(resultTraverser);
+        }
+        if (spilledResultTraverser == null) {
+            try {
+                initSpilledResultTraverser();
+            } catch (IOException e) {
+                throw sneakyThrow(e);
+            }
+        }
+        return emitFromTraverser(spilledResultTraverser);
+    }
+
+    /**
+     * Spills the last run, if there are spilled runs already, and creates
+     * the traverser of the result.
+     */
+    private void initSpilledResultTraverser() throws IOException {
+        if (spilledRuns.isEmpty()) {
+            // the whole input fits a single run, no need to spill it
+            run.sort(comparator);
+            spilledResultTraverser = traverseIterable(run);
+            return;
+        }
+        if (!run.isEmpty()) {
+            spillRun();
+        }
+        spilledResultTraverser = new MergingTraverser();
+    }
+
+    private void spillRun() throws IOException {
+        if (spillDirectory == null) {
+            Files.createDirectories(spillParentDirectory.toPath());
+            spillDirectory = Files.createTempDirectory(spillParentDirectory.toPath(), "hazelcast-jet-sort-").toFile();
+        }
+        run.sort(comparator);
+        File file = new File(spillDirectory, "run-" + spilledRuns.size());
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), SPILL_BUFFER_SIZE))) {
+            for (T item : run) {
+                byte[] bytes = serializationService.toData(item).toByteArray();
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+        spilledRuns.add(new SpilledRun(file, run.size()));
+        run = new ArrayList<>();
     }
 
     @Override
-    public boolean closeIsCooperative() {
-        return true;
+    public void close() {
+        if (spilledResultTraverser instanceof SortP.MergingTraverser) {
+            ((MergingTraverser) spilledResultTraverser).close();
+        }
+        if (spillDirectory != null) {
+            IOUtil.delete(spillDirectory);
+        }
+    }
+
+    private static final class SpilledRun {
+        final File file;
+        final int size;
+
+        SpilledRun(File file, int size) {
+            this.file = file;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Reads the items of a spilled run one by one.
+     */
+    private final class RunReader {
+        private final DataInputStream in;
+        private int remaining;
+        private T head;
+
+        RunReader(SpilledRun spilledRun) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(spilledRun.file),
+                    READ_BUFFER_SIZE));
+            this.remaining = spilledRun.size;
+        }
+
+        /**
+         * Reads the next item of the run into {@link #head}.
+         *
+         * @return {@code false} if the run is exhausted
+         */
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                close();
+                return false;
+            }
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            head = serializationService.toObject(new HeapData(bytes));
+            remaining--;
+            return true;
+        }
+
+        void close() {
+            closeResource(in);
+        }
+    }
+
+    /**
+     * Merges the spilled runs by always taking the smallest head item.
+     */
+    private final class MergingTraverser implements Traverser<T> {
+        private final PriorityQueue<RunReader> readers = new PriorityQueue<>(
+                spilledRuns.size(), (r1, r2) -> comparator.compare(r1.head, r2.head));
+
+        MergingTraverser() throws IOException {
+            try {
+                for (SpilledRun spilledRun : spilledRuns) {
+                    RunReader reader = new RunReader(spilledRun);
+                    try {
+                        // a spilled run is never empty
+                        reader.advance();
+                    } catch (IOException e) {
+                        reader.close();
+                        throw e;
+                    }
+                    readers.add(reader);
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public T next() {
+            RunReader reader = readers.poll();
+            if (reader == null) {
+                return null;
+            }
+            T item = reader.head;
+            try {
+                if (reader.advance()) {
+                    readers.add(reader);
+                }
+            } catch (IOException e) {
+                throw sneakyThrow(e);
+            }
+            return item;
+        }
+
+        void close() {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
     }
 }
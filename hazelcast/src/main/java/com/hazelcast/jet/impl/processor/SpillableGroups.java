@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.internal.util.HashUtil.hashToIndex;
+
+/**
+ * The accumulators of a {@link GroupP}, partitioned by the hash of their
+ * key, which can be spilled to disk one partition at a time. Used when
+ * spilling is enabled, see {@link
+ * com.hazelcast.jet.core.processor.Processors#aggregateByKeyP(List,
+ * AggregateOperation, com.hazelcast.function.BiFunctionEx, long)}.
+ * <p>
+ * When the number of accumulators in memory reaches the limit, the largest
+ * partition is appended to its file and new accumulators of that partition
+ * are created in an empty map. A key can therefore have several partial
+ * accumulators, which are combined when the partition is read back in the
+ * {@code complete} phase. The files are written and read synchronously,
+ * the processor using this class is not cooperative.
+ */
+final class SpillableGroups<K, A> {
+
+    static final int PARTITION_COUNT = 16;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final AggregateOperation<A, ?> aggrOp;
+    private final long maxInMemoryEntries;
+    private final long maxPartitionEntries;
+    private final File parentDirectory;
+    private final InternalSerializationService serializationService;
+    private final Counter spilledBytes;
+    private final Counter spilledPartitions;
+    private final List<Map<K, A>> partitions = new ArrayList<>(PARTITION_COUNT);
+    private final long[] spilledEntryCounts = new long[PARTITION_COUNT];
+
+    private long inMemoryEntries;
+    private File directory;
+
+    /**
+     * @param maxInMemoryEntries  the number of accumulators kept in memory
+     *                            before a partition is spilled
+     * @param maxPartitionEntries the maximum number of accumulators of a
+     *                            partition read back from disk
+     */
+    SpillableGroups(
+            @Nonnull AggregateOperation<A, ?> aggrOp,
+            long maxInMemoryEntries,
+            long maxPartitionEntries,
+            @Nonnull File parentDirectory,
+            @Nonnull InternalSerializationService serializationService,
+            @Nonnull Counter spilledBytes,
+            @Nonnull Counter spilledPartitions
+    ) {
+        this.aggrOp = aggrOp;
+        this.maxInMemoryEntries = maxInMemoryEntries;
+        this.maxPartitionEntries = maxPartitionEntries;
+        this.parentDirectory = parentDirectory;
+        this.serializationService = serializationService;
+        this.spilledBytes = spilledBytes;
+        this.spilledPartitions = spilledPartitions;
+        for (int i = 0; i < PARTITION_COUNT; i++) {
+            partitions.add(new HashMap<>());
+        }
+    }
+
+    void put(K key, A acc) {
+        if (partitions.get(partitionIndex(key)).put(key, acc) == null) {
+            inMemoryEntries++;
+        }
+    }
+
+    /**
+     * Returns the in-memory accumulator for the given key, creating it if
+     * needed. Spills the largest partition if the memory is full.
+     */
+    @Nonnull
+    A getOrCreate(K key) throws IOException {
+        int index = partitionIndex(key);
+        A acc = partitions.get(index).get(key);
+        if (acc != null) {
+            return acc;
+        }
+        if (inMemoryEntries >= maxInMemoryEntries) {
+            spillLargestPartition();
+        }
+        acc = aggrOp.createFn().get();
+        partitions.get(index).put(key, acc);
+        inMemoryEntries++;
+        return acc;
+    }
+
+    /**
+     * Returns all accumulators of the given partition, combining the
+     * spilled ones with those in memory.
+     */
+    @Nonnull
+    Map<K, A> loadPartition(int index) throws IOException {
+        Map<K, A> partition = partitions.get(index);
+        if (spilledEntryCounts[index] == 0) {
+            return partition;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file(index)), BUFFER_SIZE))) {
+            for (; spilledEntryCounts[index] > 0; spilledEntryCounts[index]--) {
+                K key = readObject(in);
+                A acc = readObject(in);
+                A existing = partition.putIfAbsent(key, acc);
+                if (existing != null) {
+                    aggrOp.combineFn().accept(existing, acc);
+                } else if (partition.size() > maxPartitionEntries) {
+                    throw new AccumulationLimitExceededException();
+                }
+            }
+        }
+        Files.delete(file(index).toPath());
+        return partition;
+    }
+
+    /**
+     * Returns {@code true} if some accumulators were spilled.
+     */
+    boolean spilled() {
+        return directory != null;
+    }
+
+    void close() {
+        if (directory != null) {
+            IOUtil.delete(directory);
+        }
+    }
+
+    private void spillLargestPartition() throws IOException {
+        if (directory == null) {
+            Files.createDirectories(parentDirectory.toPath());
+            directory = Files.createTempDirectory(parentDirectory.toPath(), "hazelcast-jet-group-").toFile();
+        }
+        int largest = 0;
+        for (int i = 1; i < PARTITION_COUNT; i++) {
+            if (partitions.get(i).size() > partitions.get(largest).size()) {
+                largest = i;
+            }
+        }
+        if (spilledEntryCounts[largest] == 0) {
+            spilledPartitions.inc();
+        }
+        Map<K, A> partition = partitions.set(largest, new HashMap<>());
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file(largest), true), BUFFER_SIZE))) {
+            for (Entry<K, A> entry : partition.entrySet()) {
+                writeObject(out, entry.getKey());
+                writeObject(out, entry.getValue());
+            }
+        }
+        inMemoryEntries -= partition.size();
+        spilledEntryCounts[largest] += partition.size();
+    }
+
+    private void writeObject(DataOutputStream out, Object object) throws IOException {
+        byte[] bytes = serializationService.toData(object).toByteArray();
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        spilledBytes.inc(Integer.BYTES + bytes.length);
+    }
+
+    private <T> T readObject(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return serializationService.toObject(new HeapData(bytes));
+    }
+
+    private File file(int index) {
+        return new File(directory, "partition-" + index);
+    }
+
+    private static int partitionIndex(Object key) {
+        // mix the hash so that the keys of a partition don't share the low
+        // bits used by the hash map of the partition
+        return hashToIndex(MurmurHash3_fmix(Objects.hashCode(key)), PARTITION_COUNT);
+    }
+}
@@ -31,6 +31,7 @@ import com.hazelcast.jet.config.EdgeConfig;
 import com.hazelcast.jet.config.JobConfig;
 import com.hazelcast.jet.config.ProcessingGuarantee;
 import com.hazelcast.jet.core.DAG;
+import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.Vertex;
 import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.function.RunnableEx;
@@ -48,6 +49,7 @@ import com.hazelcast.spi.impl.NodeEngineImpl;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.File;
 import java.io.IOException;
 import java.io.InvalidClassException;
 import java.io.NotSerializableException;
@@ -89,6 +91,7 @@ import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.hazelcast.internal.util.ExceptionUtil.sneakyThrow;
+import static com.hazelcast.internal.util.StringUtil.isNullOrEmpty;
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.Util.idToString;
 import static com.hazelcast.jet.config.JobConfigArguments.KEY_JOB_IS_SUSPENDABLE;
@@ -96,6 +99,8 @@ import static com.hazelcast.jet.core.Edge.between;
 import static com.hazelcast.jet.core.processor.SinkProcessors.writeMapP;
 import static com.hazelcast.jet.core.processor.SourceProcessors.readMapP;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.rethrow;
+import static com.hazelcast.jet.impl.util.ImdgUtil.isMemberInstance;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_SPILL_DIRECTORY;
 import static java.lang.Math.abs;
 import static java.lang.String.format;
 import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
@@ -786,6 +791,23 @@ public final class Util {
         return getHazelcastInstanceImpl(instance).node.nodeEngine;
     }
 
+    /**
+     * Returns the directory in which the processor creates its spill files,
+     * configured by {@link
+     * com.hazelcast.spi.properties.ClusterProperty#JET_SPILL_DIRECTORY} or
+     * the {@code java.io.tmpdir} directory.
+     */
+    public static File spillDirectoryOf(Processor.Context context) {
+        HazelcastInstance instance = context.hazelcastInstance();
+        if (instance != null && isMemberInstance(instance)) {
+            String directory = getNodeEngine(instance).getProperties().getString(JET_SPILL_DIRECTORY);
+            if (!isNullOrEmpty(directory)) {
+                return new File(directory);
+            }
+        }
+        return new File(System.getProperty("java.io.tmpdir"));
+    }
+
     public static HazelcastInstanceImpl getHazelcastInstanceImpl(HazelcastInstance instance) {
         if (instance instanceof HazelcastInstanceImpl) {
             return ((HazelcastInstanceImpl) instance);
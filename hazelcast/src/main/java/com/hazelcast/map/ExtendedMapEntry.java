@@ -16,6 +16,9 @@
 
 package com.hazelcast.map;
 
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+
 import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
@@ -47,4 +50,38 @@ public interface ExtendedMapEntry<K, V> extends Entry<K, V> {
      */
     V setValueWithoutChangingExpiryTime(V value);
 
+    /**
+     * Returns a {@link GenericRecord} view of the Compact or Portable
+     * serialized value. The fields are read directly from the serialized
+     * value when they are accessed, the value is not deserialized.
+     * <p>
+     * Calling {@link GenericRecord#newBuilderWithClone()} on a Compact view
+     * and setting only fixed-size fields (boolean, int8, int16, int32,
+     * int64, float32 and float64) creates a record whose serialized form is
+     * a copy of the value with these fields overwritten in place. Setting it
+     * with {@link #setValueAsGenericRecord(GenericRecord)} updates the entry
+     * without deserializing and serializing the other fields:
+     * <pre>{@code
+     * GenericRecord record = entry.getValueAsGenericRecord();
+     * entry.setValueAsGenericRecord(record.newBuilderWithClone()
+     *         .setInt64("counter", record.getInt64("counter") + 1)
+     *         .build());
+     * }</pre>
+     *
+     * @return the view of the value or {@code null} if there is no value
+     * @throws HazelcastSerializationException if the value is not
+     *                                         Compact or Portable serialized
+     * @since 5.4
+     */
+    GenericRecord getValueAsGenericRecord();
+
+    /**
+     * Sets the value to the given record. Unlike {@link #setValue(Object)},
+     * the old value is not returned, hence not deserialized.
+     *
+     * @param value the new value
+     * @see #getValueAsGenericRecord()
+     * @since 5.4
+     */
+    void setValueAsGenericRecord(GenericRecord value);
 }
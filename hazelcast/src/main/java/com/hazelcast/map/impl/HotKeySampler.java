@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.Clock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * Detects the keys receiving a large share of the accesses to a map or to
+ * one of its partitions.
+ * <p>
+ * One out of {@code sampleRate} accesses is sampled. The sampled keys are
+ * counted with the space-saving algorithm: a fixed number of counters is
+ * kept and a key without a counter takes over the counter with the
+ * smallest count. This overestimates the count of infrequent keys by at
+ * most {@code 1 / CAPACITY} of the samples, but never misses a frequent
+ * key.
+ * <p>
+ * The samples are taken in windows of at most {@link #WINDOW_SAMPLES}
+ * samples or {@link #WINDOW_MILLIS}. At the end of a window, the keys
+ * whose share of the samples reached the threshold become the hot keys
+ * until the end of the next window. Since a window only ends when a sample
+ * is recorded, the hot keys expire {@link #WINDOW_MILLIS} after the end of
+ * their window, so that keys which are no longer accessed don't stay hot.
+ * <p>
+ * Recording a sample is synchronized, checking if a key is hot is not.
+ */
+public final class HotKeySampler {
+
+    static final int CAPACITY = 16;
+    static final int WINDOW_SAMPLES = 1024;
+    static final int MIN_WINDOW_SAMPLES = 64;
+    static final long WINDOW_MILLIS = 1000;
+
+    private static final int PERCENT = 100;
+
+    private final int sampleRate;
+    private final int thresholdPercent;
+    private final Data[] keys = new Data[CAPACITY];
+    private final int[] counts = new int[CAPACITY];
+
+    private int size;
+    private int windowSamples;
+    private long windowStartMillis;
+    private long sampleCount;
+    private volatile long hotKeysExpiryMillis;
+    private volatile Map<Data, Integer> hotKeys = emptyMap();
+
+    public HotKeySampler(int sampleRate, int thresholdPercent) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("sampleRate must be positive, was " + sampleRate);
+        }
+        if (thresholdPercent < 1 || thresholdPercent > PERCENT) {
+            throw new IllegalArgumentException("thresholdPercent must be between 1 and 100, was " + thresholdPercent);
+        }
+        this.sampleRate = sampleRate;
+        this.thresholdPercent = thresholdPercent;
+    }
+
+    /**
+     * Records an access to the given key, if it is sampled.
+     */
+    public void record(Data key) {
+        if (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+            recordSample(key, Clock.currentTimeMillis());
+        }
+    }
+
+    synchronized void recordSample(Data key, long nowMillis) {
+        if (windowSamples == 0) {
+            windowStartMillis = nowMillis;
+        }
+        count(key);
+        windowSamples++;
+        sampleCount++;
+        if (windowSamples >= WINDOW_SAMPLES || nowMillis - windowStartMillis >= WINDOW_MILLIS) {
+            endWindow(nowMillis);
+        }
+    }
+
+    private void count(Data key) {
+        int min = 0;
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                counts[i]++;
+                return;
+            }
+            if (counts[i] < counts[min]) {
+                min = i;
+            }
+        }
+        if (size < CAPACITY) {
+            keys[size] = key;
+            counts[size++] = 1;
+        } else {
+            keys[min] = key;
+            counts[min]++;
+        }
+    }
+
+    private void endWindow(long nowMillis) {
+        Map<Data, Integer> newHotKeys = null;
+        if (windowSamples >= MIN_WINDOW_SAMPLES) {
+            for (int i = 0; i < size; i++) {
+                int sharePercent = (int) ((long) counts[i] * PERCENT / windowSamples);
+                if (sharePercent >= thresholdPercent) {
+                    if (newHotKeys == null) {
+                        newHotKeys = new HashMap<>();
+                    }
+                    newHotKeys.put(keys[i], sharePercent);
+                }
+            }
+        }
+        // written before the hot keys, so a reader of the hot keys sees their expiry
+        hotKeysExpiryMillis = nowMillis + WINDOW_MILLIS;
+        hotKeys = newHotKeys == null ? emptyMap() : unmodifiableMap(newHotKeys);
+
+        for (int i = 0; i < size; i++) {
+            keys[i] = null;
+            counts[i] = 0;
+        }
+        size = 0;
+        windowSamples = 0;
+    }
+
+    /**
+     * Returns {@code true} if the given key was hot during the last
+     * completed window and the hot keys of that window have not expired.
+     */
+    public boolean isHot(Data key) {
+        return isHot(key, Clock.currentTimeMillis());
+    }
+
+    boolean isHot(Data key, long nowMillis) {
+        return getHotKeys(nowMillis).containsKey(key);
+    }
+
+    /**
+     * Returns the hot keys of the last completed window, mapped to their
+     * share of the samples in percent, or an empty map if they expired.
+     */
+    public Map<Data, Integer> getHotKeys() {
+        return getHotKeys(Clock.currentTimeMillis());
+    }
+
+    Map<Data, Integer> getHotKeys(long nowMillis) {
+        Map<Data, Integer> hotKeys = this.hotKeys;
+        if (hotKeys.isEmpty() || nowMillis >= hotKeysExpiryMillis) {
+            return emptyMap();
+        }
+        return hotKeys;
+    }
+
+    /**
+     * Returns the total number of samples taken.
+     */
+    public synchronized long getSampleCount() {
+        return sampleCount;
+    }
+}
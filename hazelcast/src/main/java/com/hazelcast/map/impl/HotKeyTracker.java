@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_HOT_KEYS_HOT_KEY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_HOT_KEYS_LOCAL_READ_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_HOT_KEYS_SAMPLE_COUNT;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_HOT_KEY_LOCAL_READS_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_HOT_KEY_SAMPLE_RATE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_HOT_KEY_THRESHOLD_PERCENT;
+
+/**
+ * Hot key detection of a map on this member.
+ * <p>
+ * The keyed operations executed on this member are sampled per partition,
+ * so a key is hot if it receives a large share of the operations of its
+ * partition, which are all executed by the same partition thread. The
+ * {@code IMap.get} calls made on this member are sampled separately, so
+ * that a backup replica can serve the keys this member reads most when
+ * local reads of hot keys are enabled.
+ */
+public class HotKeyTracker {
+
+    private final HotKeySampler[] partitionSamplers;
+    private final HotKeySampler readSampler;
+    private final boolean localReadsEnabled;
+    @Probe(name = MAP_METRIC_HOT_KEYS_LOCAL_READ_COUNT)
+    private final MwCounter localReadCount = newMwCounter();
+
+    public HotKeyTracker(int partitionCount, HazelcastProperties properties) {
+        int sampleRate = properties.getInteger(MAP_HOT_KEY_SAMPLE_RATE);
+        int thresholdPercent = properties.getInteger(MAP_HOT_KEY_THRESHOLD_PERCENT);
+        this.partitionSamplers = new HotKeySampler[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitionSamplers[i] = new HotKeySampler(sampleRate, thresholdPercent);
+        }
+        this.localReadsEnabled = properties.getBoolean(MAP_HOT_KEY_LOCAL_READS_ENABLED);
+        this.readSampler = localReadsEnabled ? new HotKeySampler(sampleRate, thresholdPercent) : null;
+    }
+
+    /**
+     * Records the execution of an operation on the given key.
+     */
+    public void recordOperation(int partitionId, Data key) {
+        partitionSamplers[partitionId].record(key);
+    }
+
+    /**
+     * Records a read of the given key made on this member and checks if it
+     * should be served by the replica held by this member.
+     *
+     * @return {@code true} if local reads of hot keys are enabled and the
+     * key is hot for this member or for its partition
+     */
+    public boolean recordRead(int partitionId, Data key) {
+        if (!localReadsEnabled) {
+            return false;
+        }
+        readSampler.record(key);
+        return readSampler.isHot(key) || partitionSamplers[partitionId].isHot(key);
+    }
+
+    /**
+     * Called when a read was served by the replica held by this member.
+     */
+    public void onLocalRead() {
+        localReadCount.inc();
+    }
+
+    public HotKeySampler getPartitionSampler(int partitionId) {
+        return partitionSamplers[partitionId];
+    }
+
+    public int getPartitionCount() {
+        return partitionSamplers.length;
+    }
+
+    /**
+     * Returns the number of operations sampled over all partitions.
+     */
+    @Probe(name = MAP_METRIC_HOT_KEYS_SAMPLE_COUNT)
+    public long getSampleCount() {
+        long count = 0;
+        for (HotKeySampler sampler : partitionSamplers) {
+            count += sampler.getSampleCount();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of keys which are currently hot in their
+     * partition.
+     */
+    @Probe(name = MAP_METRIC_HOT_KEYS_HOT_KEY_COUNT)
+    public int getHotKeyCount() {
+        int count = 0;
+        for (HotKeySampler sampler : partitionSamplers) {
+            count += sampler.getHotKeys().size();
+        }
+        return count;
+    }
+
+    public long getLocalReadCount() {
+        return localReadCount.get();
+    }
+}
@@ -22,7 +22,9 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.map.ExtendedMapEntry;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
 import com.hazelcast.query.impl.CachedQueryEntry;
 import com.hazelcast.query.impl.getters.Extractors;
 
@@ -123,6 +125,31 @@ public class LazyMapEntry<K, V> extends CachedQueryEntry<K, V>
         return v;
     }
 
+    @Override
+    public GenericRecord getValueAsGenericRecord() {
+        Data data = getValueData();
+        if (data == null) {
+            return null;
+        }
+        if (!data.isCompact() && !data.isPortable()) {
+            throw new HazelcastSerializationException("The value is neither Compact nor Portable serialized");
+        }
+        try {
+            return serializationService.readAsInternalGenericRecord(data);
+        } catch (IOException e) {
+            throw new HazelcastSerializationException(e);
+        }
+    }
+
+    @Override
+    public void setValueAsGenericRecord(GenericRecord value) {
+        modified = true;
+        this.valueObject = null;
+        this.valueData = serializationService.toData(value);
+        this.changeExpiryOnUpdate = true;
+        this.newTtl = UNSET;
+    }
+
     /**
      * Similar to calling {@link #setValue} with null but doesn't return old-value hence no extra deserialization.
      */
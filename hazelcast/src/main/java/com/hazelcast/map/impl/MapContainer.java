@@ -70,6 +70,7 @@ import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.mapstore.MapStoreContextFactory.createMapStoreContext;
 import static com.hazelcast.query.impl.InternalIndex.GLOBAL_INDEX_NOOP_PARTITION_ID;
 import static com.hazelcast.spi.properties.ClusterProperty.MAP_EVICTION_BATCH_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_HOT_KEY_TRACKING_ENABLED;
 import static java.lang.System.getProperty;
 
 /**
@@ -108,6 +109,7 @@ public class MapContainer {
     private volatile Evictor evictor;
 
     private final MapWanContext wanContext;
+    private final HotKeyTracker hotKeyTracker;
 
     private volatile boolean destroyed;
 
@@ -137,6 +139,9 @@ public class MapContainer {
                 ? createIndexRegistry(true, GLOBAL_INDEX_NOOP_PARTITION_ID) : null;
         this.mapStoreContext = createMapStoreContext(this);
         this.wanContext = new MapWanContext(this);
+        this.hotKeyTracker = nodeEngine.getProperties().getBoolean(MAP_HOT_KEY_TRACKING_ENABLED)
+                ? new HotKeyTracker(nodeEngine.getPartitionService().getPartitionCount(), nodeEngine.getProperties())
+                : null;
     }
 
     public void init() {
@@ -316,6 +321,15 @@ public class MapContainer {
         return wanContext;
     }
 
+    /**
+     * @return the hot key detection of this map or {@code null} if it is
+     * not enabled
+     */
+    @Nullable
+    public HotKeyTracker getHotKeyTracker() {
+        return hotKeyTracker;
+    }
+
 
     public int getTotalBackupCount() {
         return getBackupCount() + getAsyncBackupCount();
@@ -105,6 +105,8 @@ import com.hazelcast.map.impl.operation.PutAllPartitionAwareOperationFactory;
 import com.hazelcast.map.impl.operation.PutBackupOperation;
 import com.hazelcast.map.impl.operation.PutFromLoadAllBackupOperation;
 import com.hazelcast.map.impl.operation.PutFromLoadAllOperation;
+import com.hazelcast.map.impl.operation.PutFromPersistenceBackupOperation;
+import com.hazelcast.map.impl.operation.PutFromPersistenceOperation;
 import com.hazelcast.map.impl.operation.PutIfAbsentOperation;
 import com.hazelcast.map.impl.operation.PutIfAbsentWithExpiryOperation;
 import com.hazelcast.map.impl.operation.PutOperation;
@@ -112,6 +114,7 @@ import com.hazelcast.map.impl.operation.PutTransientBackupOperation;
 import com.hazelcast.map.impl.operation.PutTransientOperation;
 import com.hazelcast.map.impl.operation.PutTransientWithExpiryOperation;
 import com.hazelcast.map.impl.operation.PutWithExpiryOperation;
+import com.hazelcast.map.impl.operation.ReadHotKeyReplicaOperation;
 import com.hazelcast.map.impl.operation.RemoveBackupOperation;
 import com.hazelcast.map.impl.operation.RemoveFromLoadAllOperation;
 import com.hazelcast.map.impl.operation.RemoveIfSameOperation;
@@ -327,8 +330,11 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int INDEX_ITERATION_POINTER = 156;
     public static final int MAP_FETCH_INDEX_OPERATION_RESULT = 157;
     public static final int MAP_CHUNK = 158;
+    public static final int READ_HOT_KEY_REPLICA = 159;
+    public static final int PUT_FROM_PERSISTENCE = 160;
+    public static final int PUT_FROM_PERSISTENCE_BACKUP = 161;
 
-    private static final int LEN = MAP_CHUNK + 1;
+    private static final int LEN = PUT_FROM_PERSISTENCE_BACKUP + 1;
 
     @Override
     public int getFactoryId() {
@@ -494,6 +500,9 @@ public final class MapDataSerializerHook implements DataSerializerHook {
         constructors[INDEX_ITERATION_POINTER] = IndexIterationPointer::new;
         constructors[MAP_FETCH_INDEX_OPERATION_RESULT] = MapFetchIndexOperationResult::new;
         constructors[MAP_CHUNK] = MapChunk::new;
+        constructors[READ_HOT_KEY_REPLICA] = ReadHotKeyReplicaOperation::new;
+        constructors[PUT_FROM_PERSISTENCE] = PutFromPersistenceOperation::new;
+        constructors[PUT_FROM_PERSISTENCE_BACKUP] = PutFromPersistenceBackupOperation::new;
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -51,6 +51,8 @@ import com.hazelcast.internal.services.WanSupportingService;
 import com.hazelcast.internal.util.MutableLong;
 import com.hazelcast.map.LocalMapStats;
 import com.hazelcast.map.impl.event.MapEventPublishingService;
+import com.hazelcast.map.impl.mapstore.MapStoreManager;
+import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindManager;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.nearcache.NearCacheStats;
 import com.hazelcast.query.LocalIndexStats;
@@ -79,9 +81,11 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_DISCR
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_MAP_STORE_WAITING_TO_BE_PROCESSED_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_ENTRY_PROCESSOR_OFFLOADABLE_EXECUTOR;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_HOT_KEYS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_INDEX;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_MAP_STORE_OFFLOADED_OPERATIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_NEARCACHE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_WRITE_BEHIND;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_TAG_INDEX;
 
 /**
@@ -374,6 +378,43 @@ public class MapService implements ManagedService, ChunkedMigrationAwareService,
 
         // mapStore offloaded operations
         setMapStoreOffloadedOperationMetrics(descriptor, context);
+
+        // write-behind mapStore
+        setWriteBehindMetrics(descriptor, context);
+
+        // hot keys
+        setHotKeyMetrics(descriptor, context);
+    }
+
+    private void setHotKeyMetrics(MetricDescriptor descriptor, MetricsCollectionContext context) {
+        for (MapContainer mapContainer : mapServiceContext.getMapContainers().values()) {
+            HotKeyTracker hotKeyTracker = mapContainer.getHotKeyTracker();
+            if (hotKeyTracker == null) {
+                continue;
+            }
+            MetricDescriptor hotKeysDescriptor = descriptor
+                    .copy()
+                    .withPrefix(MAP_PREFIX_HOT_KEYS)
+                    .withDiscriminator(MAP_DISCRIMINATOR_NAME, mapContainer.getName());
+            context.collect(hotKeysDescriptor, hotKeyTracker);
+        }
+    }
+
+    private void setWriteBehindMetrics(MetricDescriptor descriptor, MetricsCollectionContext context) {
+        for (MapContainer mapContainer : mapServiceContext.getMapContainers().values()) {
+            if (!mapContainer.getMapConfig().isStatisticsEnabled()) {
+                continue;
+            }
+            MapStoreManager mapStoreManager = mapContainer.getMapStoreContext().getMapStoreManager();
+            if (!(mapStoreManager instanceof WriteBehindManager)) {
+                continue;
+            }
+            MetricDescriptor writeBehindDescriptor = descriptor
+                    .copy()
+                    .withPrefix(MAP_PREFIX_WRITE_BEHIND)
+                    .withDiscriminator(MAP_DISCRIMINATOR_NAME, mapContainer.getName());
+            context.collect(writeBehindDescriptor, ((WriteBehindManager) mapStoreManager).getWriteBehindStats());
+        }
     }
 
     private void setMapStoreOffloadedOperationMetrics(MetricDescriptor descriptor,
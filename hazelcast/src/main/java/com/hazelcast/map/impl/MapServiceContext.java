@@ -23,6 +23,7 @@ import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.config.PartitioningAttributeConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.internal.util.comparators.ValueComparator;
@@ -32,6 +33,7 @@ import com.hazelcast.map.impl.journal.MapEventJournal;
 import com.hazelcast.map.impl.mapstore.writebehind.NodeWideUsedCapacityCounter;
 import com.hazelcast.map.impl.nearcache.MapNearCacheManager;
 import com.hazelcast.map.impl.operation.MapOperationProvider;
+import com.hazelcast.map.impl.persistence.MapPersistence;
 import com.hazelcast.map.impl.query.QueryEngine;
 import com.hazelcast.map.impl.query.QueryRunner;
 import com.hazelcast.map.impl.query.ResultProcessorRegistry;
@@ -180,6 +182,8 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     MapEventJournal getEventJournal();
 
+    MapPersistence getMapPersistence();
+
     QueryEngine getQueryEngine(String name);
 
     QueryRunner getMapQueryRunner(String name);
@@ -232,6 +236,16 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     NodeWideUsedCapacityCounter getNodeWideUsedCapacityCounter();
 
+    /**
+     * Returns the member-wide memory manager which allocates the native
+     * memory of maps with {@link InMemoryFormat#NATIVE} in-memory-format.
+     * It is created on first access, bounded by the capacity of the
+     * configured {@link com.hazelcast.config.NativeMemoryConfig}.
+     *
+     * @return the native memory manager
+     */
+    UnsafeMemoryManager getNativeMemoryManager();
+
     ExecutorStats getOffloadedEntryProcessorExecutorStats();
 
     /**
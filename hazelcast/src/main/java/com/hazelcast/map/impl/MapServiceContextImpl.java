@@ -20,9 +20,11 @@ import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.PartitioningAttributeConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.DataType;
@@ -33,6 +35,7 @@ import com.hazelcast.internal.util.ConstructorFunction;
 import com.hazelcast.internal.util.ContextMutexFactory;
 import com.hazelcast.internal.util.InvocationUtil;
 import com.hazelcast.internal.util.LocalRetryableExecution;
+import com.hazelcast.internal.util.RuntimeAvailableProcessors;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.internal.util.comparators.ValueComparator;
 import com.hazelcast.internal.util.comparators.ValueComparatorUtil;
@@ -51,11 +54,13 @@ import com.hazelcast.map.impl.nearcache.MapNearCacheManager;
 import com.hazelcast.map.impl.operation.MapOperationProvider;
 import com.hazelcast.map.impl.operation.MapOperationProviders;
 import com.hazelcast.map.impl.operation.MapPartitionDestroyOperation;
+import com.hazelcast.map.impl.persistence.MapPersistence;
 import com.hazelcast.map.impl.query.AccumulationExecutor;
 import com.hazelcast.map.impl.query.AggregationResult;
 import com.hazelcast.map.impl.query.AggregationResultProcessor;
 import com.hazelcast.map.impl.query.CallerRunsAccumulationExecutor;
 import com.hazelcast.map.impl.query.CallerRunsPartitionScanExecutor;
+import com.hazelcast.map.impl.query.ForkJoinPartitionScanExecutor;
 import com.hazelcast.map.impl.query.ParallelAccumulationExecutor;
 import com.hazelcast.map.impl.query.ParallelPartitionScanExecutor;
 import com.hazelcast.map.impl.query.PartitionScanExecutor;
@@ -114,6 +119,7 @@ import static com.hazelcast.spi.properties.ClusterProperty.AGGREGATION_ACCUMULAT
 import static com.hazelcast.spi.properties.ClusterProperty.INDEX_COPY_BEHAVIOR;
 import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_CALL_TIMEOUT_MILLIS;
 import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION_FORK_JOIN;
 import static java.lang.Thread.currentThread;
 
 /**
@@ -130,6 +136,7 @@ class MapServiceContextImpl implements MapServiceContext {
     private final EventService eventService;
     private final QueryRunner mapQueryRunner;
     private final MapEventJournal eventJournal;
+    private final MapPersistence mapPersistence;
     private final QueryOptimizer queryOptimizer;
     private final MapEventPublisher mapEventPublisher;
     private final QueryCacheContext queryCacheContext;
@@ -159,6 +166,7 @@ class MapServiceContextImpl implements MapServiceContext {
     private final long maxSuccessiveOffloadedOpRunNanos;
 
     private MapService mapService;
+    private volatile UnsafeMemoryManager nativeMemoryManager;
 
     @SuppressWarnings("checkstyle:executablestatementcount")
     MapServiceContextImpl(NodeEngine nodeEngine) {
@@ -173,6 +181,7 @@ class MapServiceContextImpl implements MapServiceContext {
         this.localMapStatsProvider = createLocalMapStatsProvider();
         this.mapEventPublisher = createMapEventPublisherSupport();
         this.eventJournal = createEventJournal();
+        this.mapPersistence = new MapPersistence(this);
         this.queryOptimizer = newOptimizer(nodeEngine.getProperties());
         this.resultProcessorRegistry = createResultProcessorRegistry(serializationService);
         this.partitionScanRunner = createPartitionScanRunner();
@@ -262,7 +271,12 @@ class MapServiceContextImpl implements MapServiceContext {
                                                PartitionScanRunner partitionScanRunner) {
         boolean parallelEvaluation = nodeEngine.getProperties().getBoolean(QUERY_PREDICATE_PARALLEL_EVALUATION);
         PartitionScanExecutor partitionScanExecutor;
-        if (parallelEvaluation) {
+        if (parallelEvaluation && nodeEngine.getProperties().getBoolean(QUERY_PREDICATE_PARALLEL_EVALUATION_FORK_JOIN)) {
+            int opTimeoutInMillis = nodeEngine.getProperties().getInteger(OPERATION_CALL_TIMEOUT_MILLIS);
+            partitionScanExecutor = new ForkJoinPartitionScanExecutor(partitionScanRunner,
+                    nodeEngine.getHazelcastInstance().getName(), nodeEngine.getConfigClassLoader(),
+                    RuntimeAvailableProcessors.get(), opTimeoutInMillis);
+        } else if (parallelEvaluation) {
             int opTimeoutInMillis = nodeEngine.getProperties().getInteger(OPERATION_CALL_TIMEOUT_MILLIS);
             ManagedExecutorService queryExecutorService = nodeEngine.getExecutionService().getExecutor(QUERY_EXECUTOR);
             partitionScanExecutor = new ParallelPartitionScanExecutor(partitionScanRunner, queryExecutorService,
@@ -523,11 +537,16 @@ class MapServiceContextImpl implements MapServiceContext {
 
     @Override
     public void shutdown() {
+        // closed first, so the record stores being removed don't touch the persisted entries
+        mapPersistence.shutdown();
         removeAllRecordStoresOfAllMaps(true, false);
         mapNearCacheManager.shutdown();
         mapContainers.clear();
         expirationManager.onShutdown();
         offloadedExecutorStats.clear();
+        if (mapQueryRunner.getPartitionScanExecutor() instanceof ForkJoinPartitionScanExecutor) {
+            ((ForkJoinPartitionScanExecutor) mapQueryRunner.getPartitionScanExecutor()).shutdown();
+        }
     }
 
     @Override
@@ -592,6 +611,11 @@ class MapServiceContextImpl implements MapServiceContext {
         return eventJournal;
     }
 
+    @Override
+    public MapPersistence getMapPersistence() {
+        return mapPersistence;
+    }
+
     @Override
     public QueryEngine getQueryEngine(String mapName) {
         return queryEngine;
@@ -936,6 +960,10 @@ class MapServiceContextImpl implements MapServiceContext {
 
     @Override
     public ValueComparator getValueComparatorOf(InMemoryFormat inMemoryFormat) {
+        if (inMemoryFormat == InMemoryFormat.NATIVE) {
+            // native records always hand out on-heap copies of their serialized values
+            return ValueComparatorUtil.getValueComparatorOf(InMemoryFormat.BINARY);
+        }
         return ValueComparatorUtil.getValueComparatorOf(inMemoryFormat);
     }
 
@@ -948,6 +976,21 @@ class MapServiceContextImpl implements MapServiceContext {
         return nodeWideUsedCapacityCounter;
     }
 
+    @Override
+    public UnsafeMemoryManager getNativeMemoryManager() {
+        UnsafeMemoryManager manager = nativeMemoryManager;
+        if (manager != null) {
+            return manager;
+        }
+        synchronized (this) {
+            if (nativeMemoryManager == null) {
+                NativeMemoryConfig nativeMemoryConfig = nodeEngine.getConfig().getNativeMemoryConfig();
+                nativeMemoryManager = new UnsafeMemoryManager(nativeMemoryConfig.getCapacity().bytes());
+            }
+            return nativeMemoryManager;
+        }
+    }
+
     // used only for testing purposes
     PartitioningStrategyFactory getPartitioningStrategyFactory() {
         return partitioningStrategyFactory;
@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.eviction;
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.util.MemoryInfoAccessor;
 import com.hazelcast.logging.ILogger;
@@ -52,6 +53,7 @@ public class EvictionChecker {
     private final int partitionCount;
     private final ILogger logger;
     private final ClusterService clusterService;
+    private final MapServiceContext mapServiceContext;
     private final PartitionContainer[] containers;
     private final MemoryInfoAccessor memoryInfoAccessor;
     private final MapNearCacheManager mapNearCacheManager;
@@ -65,6 +67,7 @@ public class EvictionChecker {
         this.logger = nodeEngine.getLogger(getClass());
         this.containers = mapServiceContext.getPartitionContainers();
         this.clusterService = nodeEngine.getClusterService();
+        this.mapServiceContext = mapServiceContext;
         this.partitionCount = nodeEngine.getPartitionService().getPartitionCount();
         this.mapNearCacheManager = mapServiceContext.getMapNearCacheManager();
         this.memoryInfoAccessor = givenMemoryInfoAccessor;
@@ -101,6 +104,24 @@ public class EvictionChecker {
                 return (usedHeapInBytes(mapName) * ONE_HUNDRED / Math.max(maxMemoryInBytes(), 1)) > maxConfiguredSize;
             case FREE_HEAP_PERCENTAGE:
                 return (availableMemoryInBytes() * ONE_HUNDRED / Math.max(maxMemoryInBytes(), 1)) < maxConfiguredSize;
+            default:
+                return checkNativeMemoryEvictable(maximumSizePolicy, maxConfiguredSize);
+        }
+    }
+
+    private boolean checkNativeMemoryEvictable(MaxSizePolicy maximumSizePolicy, int maxConfiguredSize) {
+        UnsafeMemoryManager memoryManager = mapServiceContext.getNativeMemoryManager();
+        switch (maximumSizePolicy) {
+            case USED_NATIVE_MEMORY_SIZE:
+                return memoryManager.getUsedMemory() > MEGABYTES.toBytes(maxConfiguredSize);
+            case FREE_NATIVE_MEMORY_SIZE:
+                return memoryManager.getFreeMemory() < MEGABYTES.toBytes(maxConfiguredSize);
+            case USED_NATIVE_MEMORY_PERCENTAGE:
+                return (memoryManager.getUsedMemory() * ONE_HUNDRED
+                        / Math.max(memoryManager.getMaxMemory(), 1)) > maxConfiguredSize;
+            case FREE_NATIVE_MEMORY_PERCENTAGE:
+                return (memoryManager.getFreeMemory() * ONE_HUNDRED
+                        / Math.max(memoryManager.getMaxMemory(), 1)) < maxConfiguredSize;
             default:
                 throw new IllegalArgumentException("Not an appropriate max size policy [" + maximumSizePolicy + ']');
         }
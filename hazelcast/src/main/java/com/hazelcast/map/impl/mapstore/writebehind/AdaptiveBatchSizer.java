@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+/**
+ * Adapts the size of the batches passed to {@code MapStore#storeAll} and
+ * {@code MapStore#deleteAll} to the observed latency of the batch calls.
+ * <p>
+ * The batch size grows by a quarter while the batches are stored in less
+ * than half of the target latency and is halved when a batch takes longer
+ * than the target latency or fails. It starts from the configured
+ * {@code writeBatchSize} and stays between {@code 1} and
+ * {@value #MAX_GROWTH_FACTOR} times the configured size.
+ * <p>
+ * When the target latency is not positive, the batch size is fixed to the
+ * configured one.
+ * <p>
+ * The batch size may be updated concurrently by the threads flushing the
+ * write-behind queues of different partitions.
+ */
+class AdaptiveBatchSizer {
+
+    static final int MAX_GROWTH_FACTOR = 16;
+
+    private static final int GROWTH_DIVISOR = 4;
+
+    private final long targetLatencyNanos;
+    private final int maxBatchSize;
+    private volatile int batchSize;
+
+    AdaptiveBatchSizer(int writeBatchSize, long targetLatencyNanos) {
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.maxBatchSize = (int) Math.min(Integer.MAX_VALUE, (long) writeBatchSize * MAX_GROWTH_FACTOR);
+        this.batchSize = writeBatchSize;
+    }
+
+    boolean isEnabled() {
+        return targetLatencyNanos > 0;
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Updates the batch size after a batch has been stored.
+     *
+     * @param latencyNanos the duration of the batch call
+     */
+    void onBatchStored(long latencyNanos) {
+        if (!isEnabled()) {
+            return;
+        }
+        int current = batchSize;
+        if (latencyNanos > targetLatencyNanos) {
+            batchSize = Math.max(1, current >> 1);
+        } else if (latencyNanos < targetLatencyNanos >> 1) {
+            batchSize = (int) Math.min(maxBatchSize, (long) current + Math.max(1, current / GROWTH_DIVISOR));
+        }
+    }
+
+    /**
+     * Shrinks the batch size after a batch call has failed.
+     */
+    void onBatchFailed() {
+        if (isEnabled()) {
+            batchSize = Math.max(1, batchSize >> 1);
+        }
+    }
+}
@@ -20,6 +20,8 @@ import com.hazelcast.map.EntryLoader.MetadataAwareValue;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -52,9 +54,18 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
 
     private final List<StoreListener> storeListeners;
 
-    DefaultWriteBehindProcessor(MapStoreContext mapStoreContext) {
+    private final WriteBehindStats stats;
+
+    private final AdaptiveBatchSizer batchSizer;
+
+    DefaultWriteBehindProcessor(MapStoreContext mapStoreContext, WriteBehindStats stats) {
         super(mapStoreContext);
         this.storeListeners = new ArrayList<>(2);
+        this.stats = stats;
+        HazelcastProperties properties = mapStoreContext.getMapServiceContext().getNodeEngine().getProperties();
+        this.batchSizer = new AdaptiveBatchSizer(writeBatchSize,
+                properties.getNanos(ClusterProperty.MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS));
+        stats.setBatchSize(writeBatchSize);
     }
 
     @Override
@@ -66,9 +77,19 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
         } else {
             failMap = processInternal(delayedEntries);
         }
+        updateEntryCounts(delayedEntries.size(), failMap);
         return failMap;
     }
 
+    private void updateEntryCounts(int processedCount, Map<Integer, List<DelayedEntry>> failMap) {
+        int failedCount = 0;
+        for (List<DelayedEntry> failures : failMap.values()) {
+            failedCount += failures.size();
+        }
+        stats.onEntriesStored(processedCount - failedCount);
+        stats.onEntriesFailed(failedCount);
+    }
+
 
     private Map<Integer, List<DelayedEntry>> processInternal(List<DelayedEntry> delayedEntries) {
         if (delayedEntries == null || delayedEntries.isEmpty()) {
@@ -172,12 +193,48 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
             return callSingleStoreWithListeners(delayedEntry, operationType);
         }
         final List<DelayedEntry> failedEntryList = callBatchStoreWithListeners(batchMap, operationType);
-        final List<DelayedEntry> failedTries = new ArrayList<>();
-        for (DelayedEntry entry : failedEntryList) {
-            final Collection<DelayedEntry> tmpFails = callSingleStoreWithListeners(entry, operationType);
-            failedTries.addAll(tmpFails);
+        return retryInSmallerBatches(failedEntryList, operationType);
+    }
+
+    /**
+     * Retries the entries of a failed batch by splitting them into two
+     * halves which are stored as separate batches, recursively, so the
+     * entries rejected by the map store are isolated without storing all
+     * the other entries of the batch one by one.
+     *
+     * @param failedEntries entries of the failed batch, one entry per key.
+     * @return failed entry list if any.
+     */
+    private List<DelayedEntry> retryInSmallerBatches(List<DelayedEntry> failedEntries,
+                                                     StoreOperationType operationType) {
+        final int size = failedEntries.size();
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        if (size == 1) {
+            return callSingleStoreWithListeners(failedEntries.get(0), operationType);
         }
-        return failedTries;
+        final int half = size >>> 1;
+        final List<DelayedEntry> failures = new ArrayList<>();
+        failures.addAll(retryBatch(failedEntries.subList(0, half), operationType));
+        failures.addAll(retryBatch(failedEntries.subList(half, size), operationType));
+        return failures;
+    }
+
+    private List<DelayedEntry> retryBatch(List<DelayedEntry> entries, StoreOperationType operationType) {
+        if (entries.size() == 1) {
+            return callSingleStoreWithListeners(entries.get(0), operationType);
+        }
+        final Map<Object, DelayedEntry> batchMap = prepareBatchMap(entries.toArray(new DelayedEntry[0]));
+        final StoreBatchTask task = new StoreBatchTask(batchMap, operationType, mapStore.isWithExpirationTime());
+        try {
+            if (task.run()) {
+                return Collections.emptyList();
+            }
+        } catch (Exception ex) {
+            logger.finest("Retrying the failed batch in smaller batches", ex);
+        }
+        return retryInSmallerBatches(task.failureList(), operationType);
     }
 
     private List<DelayedEntry> processEntriesOneByOne(Collection<DelayedEntry> delayedEntries,
@@ -227,7 +284,18 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
      */
     private List<DelayedEntry> callBatchStoreWithListeners(final Map<Object, DelayedEntry> batchMap,
                                                            final StoreOperationType operationType) {
-        return retryCall(new StoreBatchTask(batchMap, operationType, mapStore.isWithExpirationTime()));
+        final long start = System.nanoTime();
+        final List<DelayedEntry> failures
+                = retryCall(new StoreBatchTask(batchMap, operationType, mapStore.isWithExpirationTime()));
+        if (failures.isEmpty()) {
+            final long latencyNanos = System.nanoTime() - start;
+            batchSizer.onBatchStored(latencyNanos);
+            stats.onBatchStored(latencyNanos);
+        } else {
+            batchSizer.onBatchFailed();
+        }
+        stats.setBatchSize(batchSizer.getBatchSize());
+        return failures;
     }
 
     private void callBeforeStoreListeners(DelayedEntry entry) {
@@ -301,17 +369,21 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
     }
 
     /**
-     * Store chunk by chunk using write batch size {@link #writeBatchSize}
+     * Store chunk by chunk using the write batch size {@link #writeBatchSize}
+     * or, if adaptive batching is enabled, the current size of the
+     * {@link AdaptiveBatchSizer}.
      *
      * @param sortedDelayedEntries entries to be stored.
      * @return not-stored entries per partition.
      */
     private Map<Integer, List<DelayedEntry>> doStoreUsingBatchSize(List<DelayedEntry> sortedDelayedEntries) {
         Map<Integer, List<DelayedEntry>> failsPerPartition = new HashMap<>();
-        int page = 0;
-        List<DelayedEntry> delayedEntryList;
-        while ((delayedEntryList = getBatchChunk(sortedDelayedEntries, writeBatchSize, page++)) != null) {
-            Map<Integer, List<DelayedEntry>> fails = processInternal(delayedEntryList);
+        int size = sortedDelayedEntries.size();
+        int start = 0;
+        while (start < size) {
+            int end = start + Math.min(size - start, batchSizer.getBatchSize());
+            Map<Integer, List<DelayedEntry>> fails = processInternal(sortedDelayedEntries.subList(start, end));
+            start = end;
             Set<Map.Entry<Integer, List<DelayedEntry>>> entries = fails.entrySet();
             for (Map.Entry<Integer, List<DelayedEntry>> entry : entries) {
                 addFailsTo(failsPerPartition, entry.getValue());
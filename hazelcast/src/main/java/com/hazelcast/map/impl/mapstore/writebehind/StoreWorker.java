@@ -33,10 +33,15 @@ import com.hazelcast.internal.util.Clock;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import static com.hazelcast.internal.util.CollectionUtil.isEmpty;
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.MAP_WRITE_BEHIND_EXECUTOR;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -53,12 +58,18 @@ public class StoreWorker implements Runnable {
     private final IPartitionService partitionService;
     private final ExecutionService executionService;
     private final WriteBehindProcessor writeBehindProcessor;
+    private final WriteBehindStats stats;
     /**
      * Run on backup nodes after this interval.
      */
     private final long backupDelayMillis;
     private final long writeDelayMillis;
     private final int partitionCount;
+    /**
+     * Number of threads processing the entries of the owned partitions,
+     * entries of a partition are always processed by the same thread.
+     */
+    private final int parallelism;
     /**
      * Entries are fetched from write-behind-queues according to highestStoreTime. If an entry
      * has a store-time which is smaller than or equal to the highestStoreTime, it will be processed.
@@ -68,17 +79,20 @@ public class StoreWorker implements Runnable {
     private long lastHighestStoreTime;
     private volatile boolean running;
 
-    public StoreWorker(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor) {
+    public StoreWorker(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor,
+                       WriteBehindStats stats) {
         this.mapName = mapStoreContext.getMapName();
         this.mapServiceContext = mapStoreContext.getMapServiceContext();
         NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
         this.partitionService = nodeEngine.getPartitionService();
         this.executionService = nodeEngine.getExecutionService();
         this.writeBehindProcessor = writeBehindProcessor;
+        this.stats = stats;
         this.backupDelayMillis = getReplicaWaitTimeMillis();
         this.lastHighestStoreTime = Clock.currentTimeMillis();
         this.writeDelayMillis = SECONDS.toMillis(getWriteDelaySeconds(mapStoreContext));
         this.partitionCount = partitionService.getPartitionCount();
+        this.parallelism = Math.max(1, nodeEngine.getProperties().getInteger(ClusterProperty.MAP_WRITE_BEHIND_PARALLELISM));
     }
 
 
@@ -121,6 +135,7 @@ public class StoreWorker implements Runnable {
 
         List<DelayedEntry> ownersList = null;
         List<DelayedEntry> backupsList = null;
+        long pendingEntryCount = 0;
 
         for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
             if (currentThread().isInterrupted()) {
@@ -139,14 +154,20 @@ public class StoreWorker implements Runnable {
                 selectEntriesToStore(recordStore, backupsList, backupHighestStoreTime);
             } else {
                 ownersList = initListIfNull(ownersList, partitionCount);
+                pendingEntryCount += getWriteBehindQueue(recordStore).size();
                 selectEntriesToStore(recordStore, ownersList, ownerHighestStoreTime);
             }
         }
+        stats.setPendingEntryCount(pendingEntryCount);
 
         if (!isEmpty(ownersList)) {
-            Map<Integer, List<DelayedEntry>> failuresPerPartition = writeBehindProcessor.process(ownersList);
+            long oldestStoreTime = getOldestStoreTime(ownersList);
+            Map<Integer, List<DelayedEntry>> failuresPerPartition = process(ownersList);
             removeFinishedStoreOperationsFromQueues(mapName, ownersList);
             reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
+            stats.setLagMillis(Math.max(0, Clock.currentTimeMillis() - oldestStoreTime));
+        } else {
+            stats.setLagMillis(0);
         }
 
         if (!isEmpty(backupsList)) {
@@ -157,6 +178,82 @@ public class StoreWorker implements Runnable {
 
     }
 
+    private static long getOldestStoreTime(List<DelayedEntry> entries) {
+        long oldestStoreTime = Long.MAX_VALUE;
+        for (DelayedEntry entry : entries) {
+            oldestStoreTime = Math.min(oldestStoreTime, entry.getStoreTime());
+        }
+        return oldestStoreTime;
+    }
+
+    /**
+     * Passes the entries of the owned partitions to the {@link #writeBehindProcessor}.
+     * If {@link #parallelism} is greater than one, the partitions are split into stripes
+     * and all but one of the stripes are processed on the
+     * {@value com.hazelcast.spi.impl.executionservice.ExecutionService#MAP_WRITE_BEHIND_EXECUTOR}
+     * executor.
+     *
+     * @param entries entries of the owned partitions.
+     * @return failed store operations per partition.
+     */
+    private Map<Integer, List<DelayedEntry>> process(List<DelayedEntry> entries) {
+        if (parallelism == 1) {
+            return writeBehindProcessor.process(entries);
+        }
+
+        List<List<DelayedEntry>> stripes = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            stripes.add(new ArrayList<>());
+        }
+        for (DelayedEntry entry : entries) {
+            stripes.get(entry.getPartitionId() % parallelism).add(entry);
+        }
+
+        List<DelayedEntry> localStripe = null;
+        List<Future<Map<Integer, List<DelayedEntry>>>> futures = new ArrayList<>(parallelism - 1);
+        for (List<DelayedEntry> stripe : stripes) {
+            if (stripe.isEmpty()) {
+                continue;
+            }
+            if (localStripe == null) {
+                localStripe = stripe;
+            } else {
+                futures.add(executionService.submit(MAP_WRITE_BEHIND_EXECUTOR, () -> writeBehindProcessor.process(stripe)));
+            }
+        }
+        return awaitStripes(localStripe, futures);
+    }
+
+    /**
+     * Processes the local stripe and collects the results of the stripes
+     * submitted to the executor. Waits for all the stripes before rethrowing
+     * a failure, the entries stay in the queues and are retried on the next run.
+     */
+    private Map<Integer, List<DelayedEntry>> awaitStripes(List<DelayedEntry> localStripe,
+                                                         List<Future<Map<Integer, List<DelayedEntry>>>> futures) {
+        Map<Integer, List<DelayedEntry>> failuresPerPartition = new HashMap<>();
+        Throwable failure = null;
+        try {
+            failuresPerPartition.putAll(writeBehindProcessor.process(localStripe));
+        } catch (Throwable t) {
+            failure = t;
+        }
+        for (Future<Map<Integer, List<DelayedEntry>>> future : futures) {
+            try {
+                failuresPerPartition.putAll(future.get());
+            } catch (ExecutionException e) {
+                failure = failure == null ? e.getCause() : failure;
+            } catch (InterruptedException e) {
+                currentThread().interrupt();
+                failure = failure == null ? e : failure;
+            }
+        }
+        if (failure != null) {
+            throw rethrow(failure);
+        }
+        return failuresPerPartition;
+    }
+
     private static List<DelayedEntry> initListIfNull(List<DelayedEntry> list, int capacity) {
         if (list == null) {
             list = new ArrayList<>(capacity);
@@ -32,6 +32,7 @@ import static com.hazelcast.map.impl.mapstore.writebehind.WriteBehindProcessors.
  */
 public class WriteBehindManager implements MapStoreManager {
 
+    private final WriteBehindStats writeBehindStats = new WriteBehindStats();
     private final WriteBehindProcessor writeBehindProcessor;
     private final StoreWorker storeWorker;
     private final MapStoreContext mapStoreContext;
@@ -39,7 +40,7 @@ public class WriteBehindManager implements MapStoreManager {
     public WriteBehindManager(MapStoreContext mapStoreContext) {
         this.mapStoreContext = mapStoreContext;
         this.writeBehindProcessor = newWriteBehindProcessor(mapStoreContext);
-        this.storeWorker = new StoreWorker(mapStoreContext, writeBehindProcessor);
+        this.storeWorker = new StoreWorker(mapStoreContext, writeBehindProcessor, writeBehindStats);
     }
 
     @Override
@@ -58,8 +59,12 @@ public class WriteBehindManager implements MapStoreManager {
         return MapDataStores.createWriteBehindStore(mapStoreContext, partitionId, writeBehindProcessor);
     }
 
+    public WriteBehindStats getWriteBehindStats() {
+        return writeBehindStats;
+    }
+
     private WriteBehindProcessor newWriteBehindProcessor(final MapStoreContext mapStoreContext) {
-        WriteBehindProcessor writeBehindProcessor = createWriteBehindProcessor(mapStoreContext);
+        WriteBehindProcessor writeBehindProcessor = createWriteBehindProcessor(mapStoreContext, writeBehindStats);
         StoreListener<DelayedEntry> storeListener = new InternalStoreListener(mapStoreContext);
         writeBehindProcessor.addStoreListener(storeListener);
         return writeBehindProcessor;
@@ -26,7 +26,8 @@ public final class WriteBehindProcessors {
     private WriteBehindProcessors() {
     }
 
-    public static WriteBehindProcessor createWriteBehindProcessor(MapStoreContext mapStoreContext) {
-        return new DefaultWriteBehindProcessor(mapStoreContext);
+    public static WriteBehindProcessor createWriteBehindProcessor(MapStoreContext mapStoreContext,
+                                                                  WriteBehindStats stats) {
+        return new DefaultWriteBehindProcessor(mapStoreContext, stats);
     }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_BATCH_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_BATCH_SIZE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_FAILED_ENTRY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_LAG;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_PENDING_ENTRY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_TOTAL_BATCH_LATENCY;
+import static com.hazelcast.internal.metrics.ProbeUnit.MS;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Write-behind statistics of a map on this member. Only the entries of
+ * the partitions owned by this member are counted.
+ */
+public class WriteBehindStats {
+
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT)
+    private final MwCounter storedEntryCount = newMwCounter();
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_FAILED_ENTRY_COUNT)
+    private final MwCounter failedEntryCount = newMwCounter();
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_BATCH_COUNT)
+    private final MwCounter batchCount = newMwCounter();
+    private final MwCounter totalBatchLatencyNanos = newMwCounter();
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_BATCH_SIZE)
+    private volatile int batchSize;
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_PENDING_ENTRY_COUNT)
+    private volatile long pendingEntryCount;
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_LAG, unit = MS)
+    private volatile long lagMillis;
+
+    void onEntriesStored(int count) {
+        storedEntryCount.inc(count);
+    }
+
+    void onEntriesFailed(int count) {
+        failedEntryCount.inc(count);
+    }
+
+    void onBatchStored(long latencyNanos) {
+        batchCount.inc();
+        totalBatchLatencyNanos.inc(latencyNanos);
+    }
+
+    void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    void setPendingEntryCount(long pendingEntryCount) {
+        this.pendingEntryCount = pendingEntryCount;
+    }
+
+    void setLagMillis(long lagMillis) {
+        this.lagMillis = lagMillis;
+    }
+
+    /**
+     * Returns the number of entries stored or deleted by the map store.
+     */
+    public long getStoredEntryCount() {
+        return storedEntryCount.get();
+    }
+
+    /**
+     * Returns the number of entries whose store or delete failed and were
+     * put back to the write-behind queues.
+     */
+    public long getFailedEntryCount() {
+        return failedEntryCount.get();
+    }
+
+    /**
+     * Returns the number of batch calls to the map store.
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Returns the total duration of the batch calls to the map store.
+     */
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_TOTAL_BATCH_LATENCY, unit = MS)
+    public long getTotalBatchLatencyMillis() {
+        return NANOSECONDS.toMillis(totalBatchLatencyNanos.get());
+    }
+
+    /**
+     * Returns the current size of the batches passed to the map store.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns the number of entries waiting in the write-behind queues
+     * when the queues were last flushed.
+     */
+    public long getPendingEntryCount() {
+        return pendingEntryCount;
+    }
+
+    /**
+     * Returns how long after its scheduled store time the oldest entry of
+     * the last flush was stored.
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+}
@@ -58,6 +58,11 @@ public abstract class KeyBasedMapOperation extends MapOperation
         return dataKey;
     }
 
+    @Override
+    final Data sampledKey() {
+        return dataKey;
+    }
+
     @Override
     public final long getThreadId() {
         return threadId;
@@ -26,6 +26,7 @@ import com.hazelcast.internal.services.ObjectNamespace;
 import com.hazelcast.internal.services.ServiceNamespaceAware;
 import com.hazelcast.internal.util.ThreadUtil;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.HotKeyTracker;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapService;
@@ -140,6 +141,7 @@ public abstract class MapOperation extends AbstractNamedOperation
                 && (mapServiceContext.isForceOffloadEnabled() || supportsSteppedRun());
 
         assertNativeMapOnPartitionThread();
+        recordHotKeyAccess();
 
         // Setup Namespace awareness
         namespace = mapConfig.getUserCodeNamespace();
@@ -148,6 +150,25 @@ public abstract class MapOperation extends AbstractNamedOperation
         innerBeforeRun();
     }
 
+    private void recordHotKeyAccess() {
+        HotKeyTracker hotKeyTracker = mapContainer.getHotKeyTracker();
+        if (hotKeyTracker == null || getPartitionId() < 0) {
+            return;
+        }
+        Data key = sampledKey();
+        if (key != null) {
+            hotKeyTracker.recordOperation(getPartitionId(), key);
+        }
+    }
+
+    /**
+     * Returns the key sampled by the hot key detection, {@code null} if the
+     * operation is not a single-key operation.
+     */
+    Data sampledKey() {
+        return null;
+    }
+
     private void logNoSuchMapExists() {
         ILogger logger = logger();
         if (logger.isFinestEnabled()) {
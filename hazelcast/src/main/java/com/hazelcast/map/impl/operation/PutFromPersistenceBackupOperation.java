@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.impl.operationservice.BackupOperation;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static com.hazelcast.map.impl.operation.PutFromPersistenceOperation.readKeyValueSequence;
+import static com.hazelcast.map.impl.operation.PutFromPersistenceOperation.writeKeyValueSequence;
+
+/**
+ * Runs on backups.
+ *
+ * @see PutFromPersistenceOperation
+ */
+public class PutFromPersistenceBackupOperation extends MapOperation implements BackupOperation {
+
+    private List<Data> keyValueSequence;
+
+    public PutFromPersistenceBackupOperation() {
+        keyValueSequence = Collections.emptyList();
+    }
+
+    public PutFromPersistenceBackupOperation(String name, List<Data> keyValueSequence) {
+        super(name);
+        this.keyValueSequence = keyValueSequence;
+    }
+
+    @Override
+    protected void runInternal() {
+        List<Data> keyValueSequence = this.keyValueSequence;
+        for (int i = 0; i < keyValueSequence.size(); ) {
+            Data key = keyValueSequence.get(i++);
+            Data value = keyValueSequence.get(i++);
+            recordStore.putFromLoadBackup(key, value);
+        }
+    }
+
+    @Override
+    public void afterRunInternal() {
+        evict(null);
+
+        super.afterRunInternal();
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        writeKeyValueSequence(out, keyValueSequence);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        keyValueSequence = readKeyValueSequence(in);
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.PUT_FROM_PERSISTENCE_BACKUP;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.impl.operationservice.BackupAwareOperation;
+import com.hazelcast.spi.impl.operationservice.MutatingOperation;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Puts the entries restored by the map persistence to the record store of a
+ * partition, unless their keys are already in memory. Unlike the {@link
+ * PutFromLoadAllOperation}, it doesn't run interceptors or publish entry or
+ * WAN events, the restored entries are not new to the cluster.
+ *
+ * @see com.hazelcast.map.impl.persistence.MapPersistence
+ */
+public class PutFromPersistenceOperation extends MapOperation
+        implements PartitionAwareOperation, MutatingOperation, BackupAwareOperation {
+
+    private List<Data> keyValueSequence;
+    private transient List<Data> restoredSequence;
+
+    public PutFromPersistenceOperation() {
+        keyValueSequence = Collections.emptyList();
+    }
+
+    public PutFromPersistenceOperation(String name, List<Data> keyValueSequence) {
+        super(name);
+        this.keyValueSequence = keyValueSequence;
+    }
+
+    @Override
+    protected void runInternal() {
+        List<Data> keyValueSequence = this.keyValueSequence;
+        restoredSequence = new ArrayList<>(keyValueSequence.size());
+        for (int i = 0; i < keyValueSequence.size(); ) {
+            Data key = keyValueSequence.get(i++);
+            Data value = keyValueSequence.get(i++);
+            if (recordStore.putFromPersistence(key, value)) {
+                restoredSequence.add(key);
+                restoredSequence.add(value);
+            }
+        }
+    }
+
+    @Override
+    public void afterRunInternal() {
+        if (mapContainer.hasInvalidationListener()) {
+            List<Data> invalidationKeys = new ArrayList<>(restoredSequence.size() / 2);
+            for (int i = 0; i < restoredSequence.size(); i += 2) {
+                invalidationKeys.add(restoredSequence.get(i));
+            }
+            invalidateNearCache(invalidationKeys);
+        }
+        evict(null);
+
+        super.afterRunInternal();
+    }
+
+    @Override
+    public Object getResponse() {
+        return restoredSequence.size() / 2;
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return !restoredSequence.isEmpty();
+    }
+
+    @Override
+    public int getAsyncBackupCount() {
+        return mapContainer.getAsyncBackupCount();
+    }
+
+    @Override
+    public int getSyncBackupCount() {
+        return mapContainer.getBackupCount();
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        return new PutFromPersistenceBackupOperation(name, restoredSequence);
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        writeKeyValueSequence(out, keyValueSequence);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        keyValueSequence = readKeyValueSequence(in);
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.PUT_FROM_PERSISTENCE;
+    }
+
+    static void writeKeyValueSequence(ObjectDataOutput out, List<Data> keyValueSequence) throws IOException {
+        out.writeInt(keyValueSequence.size());
+        for (Data data : keyValueSequence) {
+            IOUtil.writeData(out, data);
+        }
+    }
+
+    static List<Data> readKeyValueSequence(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        List<Data> keyValueSequence = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keyValueSequence.add(IOUtil.readData(in));
+        }
+        return keyValueSequence;
+    }
+}
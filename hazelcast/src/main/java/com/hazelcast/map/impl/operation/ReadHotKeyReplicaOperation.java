@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+
+/**
+ * Reads the value of a hot key from the replica held by the member running
+ * the operation, which may be a backup replica. It runs on the partition
+ * thread like the operations updating the replica, and it is sampled by
+ * the hot key detection of that partition like any other keyed operation.
+ * <p>
+ * Returns {@code null} if the member has no record of the key.
+ */
+public class ReadHotKeyReplicaOperation extends ReadonlyKeyBasedMapOperation {
+
+    private transient Data value;
+
+    public ReadHotKeyReplicaOperation() {
+    }
+
+    public ReadHotKeyReplicaOperation(String name, Data dataKey) {
+        super(name, dataKey);
+        this.createRecordStoreOnDemand = false;
+    }
+
+    @Override
+    protected void runInternal() {
+        value = recordStore == null ? null : recordStore.readBackupData(dataKey);
+    }
+
+    @Override
+    public Object getResponse() {
+        return value;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.READ_HOT_KEY_REPLICA;
+    }
+}
@@ -43,6 +43,11 @@ public abstract class ReadonlyKeyBasedMapOperation extends MapOperation
         this.dataKey = dataKey;
     }
 
+    @Override
+    final Data sampledKey() {
+        return dataKey;
+    }
+
     @Override
     public final long getThreadId() {
         return threadId;
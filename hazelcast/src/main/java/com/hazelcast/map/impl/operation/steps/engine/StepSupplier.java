@@ -232,7 +232,10 @@ public class StepSupplier implements Supplier<Runnable>, Consumer<Step> {
         if (firstStep) {
             assert firstStep;
             firstStep = false;
-            return !operationRunner.timeout(state.getOperation());
+            if (operationRunner.timeout(state.getOperation())) {
+                return false;
+            }
+            operationRunner.ensureNotOverloaded(state.getOperation());
         }
         return true;
     }
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * An append-only file holding the mutations of a single partition of a
+ * map.
+ * <p>
+ * The file starts with a header made of a magic number, the ID of the
+ * segment and the ID of the oldest segment superseded by this segment. The
+ * latter is equal to the ID of the segment unless the segment replaces
+ * older segments, e.g. when it is the output of a compaction. The header is
+ * followed by the records:
+ * <pre>
+ * int      length of the body
+ * int      CRC32 of the body
+ * body:
+ *   byte   type, {@link #PUT} or {@link #REMOVE}
+ *   long   sequence number
+ *   int    key length
+ *   byte[] key
+ *   byte[] value, {@link #PUT} only
+ * </pre>
+ * A record which is not fully written or doesn't match its checksum ends
+ * the segment when read, since it can only be the result of a crash in the
+ * middle of an append.
+ */
+final class LogSegment implements AutoCloseable {
+
+    static final String FILE_SUFFIX = ".log";
+    static final byte PUT = 1;
+    static final byte REMOVE = 2;
+
+    private static final int MAGIC = 0x484d4c47;
+    private static final int HEADER_LENGTH = Integer.BYTES + 2 * Long.BYTES;
+    private static final int RECORD_HEADER_LENGTH = 2 * Integer.BYTES;
+    private static final int BODY_HEADER_LENGTH = Byte.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int INITIAL_BUFFER_SIZE = 1 << 12;
+    private static final int FILE_NAME_RADIX = 16;
+
+    private final File file;
+    private final FileChannel channel;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private long size;
+
+    private LogSegment(File file, FileChannel channel, long size) {
+        this.file = file;
+        this.channel = channel;
+        this.size = size;
+    }
+
+    /**
+     * Creates a new segment file and writes its header.
+     *
+     * @param file              the file to create, must not exist
+     * @param id                the ID of the segment
+     * @param firstSupersededId the ID of the oldest segment superseded by
+     *                          the created one, equal to {@code id} if the
+     *                          segment doesn't supersede any other segment
+     */
+    static LogSegment create(File file, long id, long firstSupersededId) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), CREATE_NEW, WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            header.putInt(MAGIC).putLong(id).putLong(firstSupersededId).flip();
+            writeFully(channel, header);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new LogSegment(file, channel, HEADER_LENGTH);
+    }
+
+    static String fileName(long id) {
+        return String.format("%016x", id) + FILE_SUFFIX;
+    }
+
+    static long parseFileName(String name) {
+        return Long.parseLong(name.substring(0, name.length() - FILE_SUFFIX.length()), FILE_NAME_RADIX);
+    }
+
+    File file() {
+        return file;
+    }
+
+    /**
+     * Returns the number of bytes written to the segment, including the
+     * header.
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Appends a record to the segment. The record is not guaranteed to be
+     * durable until {@link #force()} is called.
+     *
+     * @param value the value, ignored for {@link #REMOVE} records
+     */
+    void append(byte type, long sequence, byte[] key, byte[] value) throws IOException {
+        int valueLength = type == PUT ? value.length : 0;
+        int bodyLength = BODY_HEADER_LENGTH + key.length + valueLength;
+        ensureCapacity(RECORD_HEADER_LENGTH + bodyLength);
+
+        buffer.clear();
+        buffer.position(RECORD_HEADER_LENGTH);
+        buffer.put(type).putLong(sequence).putInt(key.length).put(key);
+        if (valueLength > 0) {
+            buffer.put(value);
+        }
+        crc.reset();
+        crc.update(buffer.array(), RECORD_HEADER_LENGTH, bodyLength);
+        buffer.putInt(0, bodyLength).putInt(Integer.BYTES, (int) crc.getValue());
+        buffer.flip();
+
+        writeFully(channel, buffer);
+        size += RECORD_HEADER_LENGTH + bodyLength;
+    }
+
+    /**
+     * Forces the appended records to the storage device.
+     */
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void ensureCapacity(int length) {
+        if (buffer.capacity() < length) {
+            buffer = ByteBuffer.allocate(Math.max(length, buffer.capacity() << 1));
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer src) throws IOException {
+        while (src.hasRemaining()) {
+            channel.write(src);
+        }
+    }
+
+    /**
+     * Reads the ID of the oldest segment superseded by the given segment.
+     *
+     * @return the superseded ID or {@code -1} if the header is not valid
+     */
+    static long readFirstSupersededId(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            if (in.readInt() != MAGIC) {
+                return -1;
+            }
+            in.readLong();
+            return in.readLong();
+        } catch (EOFException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads all the valid records of the given segment.
+     *
+     * @return the number of records read
+     */
+    static long read(File file, RecordVisitor visitor) throws IOException {
+        long count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file),
+                READ_BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                return 0;
+            }
+            in.readLong();
+            in.readLong();
+
+            long remaining = file.length() - HEADER_LENGTH;
+            CRC32 crc = new CRC32();
+            byte[] body = new byte[0];
+            while (true) {
+                int bodyLength = in.readInt();
+                int checksum = in.readInt();
+                remaining -= RECORD_HEADER_LENGTH;
+                if (bodyLength < BODY_HEADER_LENGTH || bodyLength > remaining) {
+                    return count;
+                }
+                remaining -= bodyLength;
+                if (body.length < bodyLength) {
+                    body = new byte[bodyLength];
+                }
+                in.readFully(body, 0, bodyLength);
+                crc.reset();
+                crc.update(body, 0, bodyLength);
+                if ((int) crc.getValue() != checksum) {
+                    return count;
+                }
+
+                ByteBuffer record = ByteBuffer.wrap(body, 0, bodyLength);
+                byte type = record.get();
+                long sequence = record.getLong();
+                byte[] key = new byte[record.getInt()];
+                record.get(key);
+                byte[] value = null;
+                if (type == PUT) {
+                    value = new byte[record.remaining()];
+                    record.get(value);
+                }
+                visitor.visit(type, sequence, key, value);
+                count++;
+            }
+        } catch (EOFException e) {
+            return count;
+        }
+    }
+
+    /**
+     * Visits the records of a segment.
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+
+        /**
+         * @param value the value or {@code null} for {@link #REMOVE} records
+         */
+        void visit(byte type, long sequence, byte[] key, byte[] value) throws IOException;
+    }
+}
@@ -0,0 +1,532 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.persistence;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.partition.InternalPartitionService;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.DirectoryLock;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.operation.PutFromPersistenceOperation;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.core.LifecycleEvent.LifecycleState.STARTED;
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.internal.nio.IOUtil.fsyncDir;
+import static com.hazelcast.internal.nio.IOUtil.toFileName;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.ASYNC_EXECUTOR;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_PERSISTENCE_COMPACTION_THRESHOLD;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_PERSISTENCE_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_PERSISTENCE_FLUSH_INTERVAL_MILLIS;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_PERSISTENCE_SEGMENT_SIZE;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Persists the maps with enabled {@link com.hazelcast.config.DataPersistenceConfig
+ * data persistence} to the local disk, so their entries survive a restart
+ * without reloading them from a {@link com.hazelcast.map.MapStore}.
+ * <p>
+ * Every partition replica of a persisted map held by the member has its own
+ * {@link PartitionLog} stored under {@code <persistence-base-dir>/map/<map-name>/<partition-id>},
+ * which is written by the partition thread on every mutation of the record
+ * store. A background task fsyncs the logs of the maps which are not {@link
+ * com.hazelcast.config.DataPersistenceConfig#isFsync() fsynced} on every
+ * mutation and compacts the logs.
+ * <p>
+ * The owned partitions of the member are persisted next to the logs by the
+ * background task, with the ID of the cluster they were owned in. When the
+ * member starts, the logs persisted before the restart are moved to {@code
+ * <persistence-base-dir>/map-restore} before any record store can clear or
+ * delete them. Once the member started, they are restored only after a
+ * whole-cluster restart, i.e. when the member is in another cluster than the
+ * one the logs were persisted in. A member rejoining a running cluster, as in
+ * a rolling restart, discards them, the cluster holds newer copies of their
+ * entries. After a whole-cluster restart only the logs of the partitions the
+ * member owned are restored, the logs of the backup replicas are discarded.
+ * As the partitions are usually owned by other members after the restart,
+ * every log is restored in batches of {@link PutFromPersistenceOperation}s
+ * invoked on the current owner of its partition, which put the entries to the
+ * record store on the partition thread without loading or storing them or
+ * publishing events, and skip the keys which are already in memory. The
+ * batches of all the logs are in flight concurrently. The logs left after a
+ * failure or a timeout are restored on the next start.
+ * <p>
+ * A member which joins the restarted cluster after the cluster started to
+ * serve requests may restore an entry which was removed in the meantime, so
+ * {@link com.hazelcast.spi.properties.ClusterProperty#INITIAL_MIN_CLUSTER_SIZE}
+ * should be set to the size of the cluster.
+ * <p>
+ * Only used if the Enterprise persistence is not enabled.
+ */
+public class MapPersistence {
+
+    static final String DIR_NAME = "map";
+    static final String RESTORE_DIR_NAME = "map-restore";
+    static final String NAME_FILE = "name";
+    static final String PARTITION_TABLE_FILE = "partition-table";
+
+    private static final int RESTORE_BATCH_SIZE = 1000;
+    /**
+     * The maximum number of restore batches in flight, enough to keep the
+     * partition threads of the cluster busy.
+     */
+    private static final int RESTORE_MAX_PENDING_BATCHES = 64;
+
+    private final NodeEngine nodeEngine;
+    private final ILogger logger;
+    private final boolean enabled;
+    private final File baseDir;
+    private final File restoreDir;
+    private final long segmentSize;
+    private final int compactionThreshold;
+    private final long flushIntervalMillis;
+    private final ConcurrentMap<String, AtomicReferenceArray<PartitionLog>> logs = new ConcurrentHashMap<>();
+
+    private DirectoryLock directoryLock;
+    private ScheduledFuture<?> backgroundTask;
+    private UUID persistedClusterId;
+    private long persistedPartitionStateStamp;
+
+    public MapPersistence(MapServiceContext mapServiceContext) {
+        this.nodeEngine = mapServiceContext.getNodeEngine();
+        this.logger = nodeEngine.getLogger(getClass());
+        Config config = nodeEngine.getConfig();
+        HazelcastProperties properties = nodeEngine.getProperties();
+        this.enabled = properties.getBoolean(MAP_PERSISTENCE_ENABLED) && !config.getPersistenceConfig().isEnabled();
+        this.baseDir = new File(config.getPersistenceConfig().getBaseDir(), DIR_NAME);
+        this.restoreDir = new File(config.getPersistenceConfig().getBaseDir(), RESTORE_DIR_NAME);
+        this.segmentSize = properties.getLong(MAP_PERSISTENCE_SEGMENT_SIZE);
+        this.compactionThreshold = properties.getInteger(MAP_PERSISTENCE_COMPACTION_THRESHOLD);
+        this.flushIntervalMillis = properties.getMillis(MAP_PERSISTENCE_FLUSH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @return {@code true} if the given map is persisted, {@code false} otherwise
+     */
+    public boolean isPersistent(MapConfig mapConfig) {
+        return enabled && mapConfig.getDataPersistenceConfig().isEnabled();
+    }
+
+    /**
+     * Locks the base directory, moves the logs persisted before the restart
+     * aside, starts the background task and schedules the replay of the
+     * moved logs once the member is started.
+     */
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (!baseDir.isDirectory() && !baseDir.mkdirs()) {
+            throw new HazelcastException("Cannot create directory " + baseDir.getAbsolutePath());
+        }
+        directoryLock = DirectoryLock.lockForDirectory(baseDir, logger);
+        moveLogsToRestore();
+        backgroundTask = nodeEngine.getExecutionService().scheduleWithRepetition(this::flushAndCompact,
+                flushIntervalMillis, flushIntervalMillis, MILLISECONDS);
+        nodeEngine.getHazelcastInstance().getLifecycleService().addLifecycleListener(event -> {
+            if (event.getState() == STARTED) {
+                nodeEngine.getExecutionService().execute(ASYNC_EXECUTOR, this::restore);
+            }
+        });
+        logger.info("Map persistence is enabled, base directory: " + baseDir.getAbsolutePath());
+    }
+
+    /**
+     * Returns the log of the given partition of the given map, creates and
+     * opens it if it doesn't exist. The log contains only the mutations made
+     * since the member started.
+     */
+    public PartitionLog getOrCreatePartitionLog(MapConfig mapConfig, int partitionId) {
+        String mapName = mapConfig.getName();
+        AtomicReferenceArray<PartitionLog> mapLogs = logs.computeIfAbsent(mapName,
+                name -> new AtomicReferenceArray<>(nodeEngine.getPartitionService().getPartitionCount()));
+        PartitionLog log = mapLogs.get(partitionId);
+        if (log != null) {
+            return log;
+        }
+        synchronized (mapLogs) {
+            log = mapLogs.get(partitionId);
+            if (log == null) {
+                File mapDir = createMapDir(mapName);
+                log = new PartitionLog(new File(mapDir, Integer.toString(partitionId)),
+                        mapConfig.getDataPersistenceConfig().isFsync(), segmentSize);
+                log.restore((key, value) -> { });
+                mapLogs.set(partitionId, log);
+            }
+            return log;
+        }
+    }
+
+    /**
+     * Closes the log of the given partition of the given map, the persisted
+     * entries are kept.
+     */
+    public void closePartitionLog(String mapName, int partitionId) {
+        PartitionLog log = removePartitionLog(mapName, partitionId);
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    /**
+     * Deletes the log of the given partition of the given map.
+     */
+    public void destroyPartitionLog(String mapName, int partitionId) {
+        PartitionLog log = removePartitionLog(mapName, partitionId);
+        if (log != null) {
+            log.destroy();
+        }
+    }
+
+    private PartitionLog removePartitionLog(String mapName, int partitionId) {
+        AtomicReferenceArray<PartitionLog> mapLogs = logs.get(mapName);
+        if (mapLogs == null) {
+            return null;
+        }
+        synchronized (mapLogs) {
+            return mapLogs.getAndSet(partitionId, null);
+        }
+    }
+
+    /**
+     * Closes all the logs and releases the lock of the base directory. The
+     * persisted entries are kept.
+     */
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        if (backgroundTask != null) {
+            backgroundTask.cancel(false);
+        }
+        try {
+            persistPartitionTable();
+        } catch (Exception e) {
+            logger.warning("Cannot persist the partition table of the map persistence", e);
+        }
+        for (AtomicReferenceArray<PartitionLog> mapLogs : logs.values()) {
+            for (int partitionId = 0; partitionId < mapLogs.length(); partitionId++) {
+                PartitionLog log = mapLogs.getAndSet(partitionId, null);
+                if (log != null) {
+                    try {
+                        log.close();
+                    } catch (Exception e) {
+                        logger.warning("Cannot close the map persistence log", e);
+                    }
+                }
+            }
+        }
+        logs.clear();
+        if (directoryLock != null) {
+            directoryLock.release();
+        }
+    }
+
+    private File createMapDir(String mapName) {
+        File mapDir = new File(baseDir, toFileName(mapName));
+        File nameFile = new File(mapDir, NAME_FILE);
+        if (!nameFile.exists()) {
+            try {
+                Files.createDirectories(mapDir.toPath());
+                Files.write(nameFile.toPath(), mapName.getBytes(UTF_8));
+            } catch (IOException e) {
+                throw new HazelcastException("Cannot create directory " + mapDir.getAbsolutePath(), e);
+            }
+        }
+        return mapDir;
+    }
+
+    private void flushAndCompact() {
+        for (AtomicReferenceArray<PartitionLog> mapLogs : logs.values()) {
+            for (int partitionId = 0; partitionId < mapLogs.length(); partitionId++) {
+                PartitionLog log = mapLogs.get(partitionId);
+                if (log == null) {
+                    continue;
+                }
+                try {
+                    log.flush();
+                    log.compact(compactionThreshold);
+                } catch (Exception e) {
+                    logger.warning("Cannot flush or compact the map persistence log of partition " + partitionId, e);
+                }
+            }
+        }
+        persistPartitionTable();
+    }
+
+    /**
+     * Moves the directories of the persisted maps to a new generation
+     * directory under the restore directory, so the logs persisted before
+     * the restart are never touched by the record stores of this member.
+     */
+    private void moveLogsToRestore() {
+        List<File> mapDirs = new ArrayList<>();
+        for (File mapDir : listMapDirs(baseDir)) {
+            try {
+                if (isPersistent(nodeEngine.getConfig().findMapConfig(readMapName(mapDir)))) {
+                    mapDirs.add(mapDir);
+                }
+            } catch (IOException e) {
+                logger.warning("Cannot read the map name from " + mapDir.getAbsolutePath(), e);
+            }
+        }
+        if (mapDirs.isEmpty()) {
+            return;
+        }
+        NavigableMap<Long, File> generations = listGenerations();
+        long generation = generations.isEmpty() ? 0 : generations.lastKey() + 1;
+        File generationDir = new File(restoreDir, Long.toString(generation));
+        try {
+            Files.createDirectories(generationDir.toPath());
+            for (File mapDir : mapDirs) {
+                Files.move(mapDir.toPath(), new File(generationDir, mapDir.getName()).toPath(), ATOMIC_MOVE);
+            }
+            File partitionTableFile = new File(baseDir, PARTITION_TABLE_FILE);
+            if (partitionTableFile.isFile()) {
+                Files.move(partitionTableFile.toPath(), new File(generationDir, PARTITION_TABLE_FILE).toPath(),
+                        ATOMIC_MOVE);
+            }
+            fsyncDir(baseDir.toPath());
+            fsyncDir(generationDir.toPath());
+        } catch (IOException e) {
+            throw new HazelcastException("Cannot move the persisted maps to " + generationDir.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Restores the logs moved to the restore directory, starting with the
+     * newest generation, see the class documentation. Deletes every generation
+     * once it has been restored or discarded.
+     */
+    private void restore() {
+        NavigableMap<Long, File> generations = listGenerations();
+        if (generations.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int timeoutSeconds = nodeEngine.getConfig().getPersistenceConfig().getDataLoadTimeoutSeconds();
+        long deadline = start + SECONDS.toNanos(timeoutSeconds);
+        long restoredCount = 0;
+        try {
+            for (File generationDir : generations.descendingMap().values()) {
+                restoredCount += restoreGeneration(generationDir, deadline);
+                deleteQuietly(generationDir);
+            }
+        } catch (TimeoutException e) {
+            logger.warning(format("Restoring the persisted maps did not finish in %d seconds, the rest will be"
+                    + " restored on the next start", timeoutSeconds));
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            logger.warning("Cannot restore the persisted maps, the rest will be restored on the next start", e);
+            return;
+        }
+        logger.info(format("Restored %d entries of the persisted maps in %d ms", restoredCount,
+                NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+
+    private long restoreGeneration(File generationDir, long deadline)
+            throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        File partitionTableFile = new File(generationDir, PARTITION_TABLE_FILE);
+        if (!partitionTableFile.isFile()) {
+            logger.warning("Discarding the persisted maps in " + generationDir.getAbsolutePath()
+                    + ", their partition table was not persisted");
+            return 0;
+        }
+        UUID clusterId;
+        BitSet ownedPartitions = new BitSet();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(partitionTableFile.toPath())))) {
+            clusterId = new UUID(in.readLong(), in.readLong());
+            for (int i = in.readInt(); i > 0; i--) {
+                ownedPartitions.set(in.readInt());
+            }
+        }
+        if (clusterId.equals(nodeEngine.getClusterService().getClusterId())) {
+            logger.warning("Discarding the persisted maps in " + generationDir.getAbsolutePath()
+                    + ", the member rejoined the cluster they were persisted in");
+            return 0;
+        }
+        List<Future<Integer>> pending = new ArrayList<>(RESTORE_MAX_PENDING_BATCHES);
+        long restoredCount = 0;
+        for (File mapDir : listMapDirs(generationDir)) {
+            String mapName = readMapName(mapDir);
+            for (int partitionId = ownedPartitions.nextSetBit(0); partitionId >= 0;
+                 partitionId = ownedPartitions.nextSetBit(partitionId + 1)) {
+                File partitionDir = new File(mapDir, Integer.toString(partitionId));
+                if (!partitionDir.isDirectory()) {
+                    continue;
+                }
+                for (List<Data> batch : readBatches(partitionDir)) {
+                    pending.add(putFromPersistence(mapName, partitionId, batch));
+                    if (pending.size() == RESTORE_MAX_PENDING_BATCHES) {
+                        restoredCount += await(pending, deadline);
+                    }
+                }
+            }
+        }
+        return restoredCount + await(pending, deadline);
+    }
+
+    private List<List<Data>> readBatches(File partitionDir) {
+        List<List<Data>> batches = new ArrayList<>();
+        PartitionLog log = new PartitionLog(partitionDir, false, segmentSize);
+        try {
+            log.restore((key, value) -> {
+                List<Data> batch = batches.isEmpty() ? null : batches.get(batches.size() - 1);
+                if (batch == null || batch.size() == 2 * RESTORE_BATCH_SIZE) {
+                    batch = new ArrayList<>(2 * RESTORE_BATCH_SIZE);
+                    batches.add(batch);
+                }
+                batch.add(key);
+                batch.add(value);
+            });
+        } finally {
+            log.close();
+        }
+        return batches;
+    }
+
+    private Future<Integer> putFromPersistence(String mapName, int partitionId, List<Data> keyValueSequence) {
+        Operation operation = new PutFromPersistenceOperation(mapName, keyValueSequence);
+        return nodeEngine.getOperationService().invokeOnPartition(MapService.SERVICE_NAME, operation, partitionId);
+    }
+
+    private static long await(List<Future<Integer>> futures, long deadline)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        long restoredCount = 0;
+        for (Future<Integer> future : futures) {
+            restoredCount += future.get(max(0, deadline - System.nanoTime()), NANOSECONDS);
+        }
+        futures.clear();
+        return restoredCount;
+    }
+
+    /**
+     * Persists the partitions owned by the member with the ID of the cluster
+     * if either changed since they were last persisted. Called after the logs
+     * were flushed, so a partition is never persisted as owned before the
+     * mutations of its previous owner.
+     */
+    private synchronized void persistPartitionTable() {
+        InternalPartitionService partitionService = (InternalPartitionService) nodeEngine.getPartitionService();
+        UUID clusterId = nodeEngine.getClusterService().getClusterId();
+        long partitionStateStamp = partitionService.getPartitionStateStamp();
+        // the stamp is 0 until the partitions are arranged
+        if (clusterId == null || partitionStateStamp == 0
+                || (clusterId.equals(persistedClusterId) && partitionStateStamp == persistedPartitionStateStamp)) {
+            return;
+        }
+        List<Integer> ownedPartitions = new ArrayList<>();
+        for (int partitionId = 0; partitionId < partitionService.getPartitionCount(); partitionId++) {
+            if (partitionService.getPartition(partitionId, false).isLocal()) {
+                ownedPartitions.add(partitionId);
+            }
+        }
+        File file = new File(baseDir, PARTITION_TABLE_FILE);
+        File tmpFile = new File(baseDir, PARTITION_TABLE_FILE + ".tmp");
+        try {
+            try (FileOutputStream fileOut = new FileOutputStream(tmpFile);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+                out.writeLong(clusterId.getMostSignificantBits());
+                out.writeLong(clusterId.getLeastSignificantBits());
+                out.writeInt(ownedPartitions.size());
+                for (int partitionId : ownedPartitions) {
+                    out.writeInt(partitionId);
+                }
+                out.flush();
+                fileOut.getFD().sync();
+            }
+            Files.move(tmpFile.toPath(), file.toPath(), ATOMIC_MOVE);
+            fsyncDir(baseDir.toPath());
+        } catch (IOException e) {
+            logger.warning("Cannot persist the partition table of the map persistence", e);
+            return;
+        }
+        persistedClusterId = clusterId;
+        persistedPartitionStateStamp = partitionStateStamp;
+    }
+
+    private NavigableMap<Long, File> listGenerations() {
+        NavigableMap<Long, File> generations = new TreeMap<>();
+        File[] dirs = restoreDir.listFiles(File::isDirectory);
+        if (dirs == null) {
+            return generations;
+        }
+        for (File dir : dirs) {
+            try {
+                generations.put(Long.parseLong(dir.getName()), dir);
+            } catch (NumberFormatException e) {
+                logger.warning("Ignoring unexpected directory " + dir.getAbsolutePath());
+            }
+        }
+        return generations;
+    }
+
+    private static List<File> listMapDirs(File parent) {
+        List<File> mapDirs = new ArrayList<>();
+        File[] dirs = parent.listFiles(File::isDirectory);
+        if (dirs != null) {
+            for (File dir : dirs) {
+                if (new File(dir, NAME_FILE).isFile()) {
+                    mapDirs.add(dir);
+                }
+            }
+        }
+        return mapDirs;
+    }
+
+    private static String readMapName(File mapDir) throws IOException {
+        return new String(Files.readAllBytes(new File(mapDir, NAME_FILE).toPath()), UTF_8);
+    }
+}
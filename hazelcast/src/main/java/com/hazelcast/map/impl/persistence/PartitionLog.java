@@ -0,0 +1,502 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.persistence;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.IOUtil.delete;
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.internal.nio.IOUtil.fsyncDir;
+import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
+import static com.hazelcast.map.impl.persistence.LogSegment.FILE_SUFFIX;
+import static com.hazelcast.map.impl.persistence.LogSegment.PUT;
+import static com.hazelcast.map.impl.persistence.LogSegment.REMOVE;
+import static com.hazelcast.map.impl.persistence.LogSegment.fileName;
+import static com.hazelcast.map.impl.persistence.LogSegment.parseFileName;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * The log-structured persistent copy of a single partition of a map.
+ * <p>
+ * The mutations are appended to the active {@link LogSegment segment}
+ * which is sealed and replaced by a new one once it reaches the maximum
+ * segment size. Every record carries a sequence number and the record with
+ * the highest sequence number of a key wins when the log is restored, so
+ * the order of the segments doesn't matter and a compaction can rewrite the
+ * live records of the sealed segments into a single segment while new
+ * records are appended.
+ * <p>
+ * The mutating methods are called by the partition thread owning the
+ * partition, the {@link #compact compaction} and the {@link #flush periodic
+ * fsync} by a background thread.
+ */
+public final class PartitionLog {
+
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final int PERCENT = 100;
+
+    private final File dir;
+    private final boolean fsync;
+    private final long maxSegmentSize;
+
+    /**
+     * The latest record of each key, including the removed keys whose
+     * removal record has not been compacted yet.
+     */
+    private final ConcurrentMap<Data, Location> locations = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Segment> sealedSegments = new TreeMap<>();
+    private Segment activeSegment;
+    private long nextSegmentId;
+    private long nextSequence;
+    /**
+     * Incremented when the log is cleared, so a concurrent compaction of
+     * the cleared segments is abandoned.
+     */
+    private int generation;
+    private boolean dirty;
+    private boolean opened;
+    private boolean closed;
+
+    public PartitionLog(File dir, boolean fsync, long maxSegmentSize) {
+        this.dir = dir;
+        this.fsync = fsync;
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    /**
+     * Restores the entries persisted in the log and opens the log for
+     * appending. Does nothing if the log has already been opened.
+     *
+     * @param consumer the consumer of the restored entries
+     */
+    public synchronized void restore(BiConsumer<Data, Data> consumer) {
+        if (opened || closed) {
+            return;
+        }
+        try {
+            restore0(consumer);
+            activeSegment = newSegment(nextSegmentId++, -1);
+            opened = true;
+        } catch (IOException e) {
+            throw new HazelcastException("Cannot restore the log in " + dir.getAbsolutePath(), e);
+        }
+    }
+
+    private void restore0(BiConsumer<Data, Data> consumer) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create directory " + dir.getAbsolutePath());
+        }
+        NavigableMap<Long, File> files = listSegmentFiles();
+        removeSupersededSegments(files);
+
+        Map<Data, RestoredRecord> latest = new HashMap<>();
+        for (Map.Entry<Long, File> entry : files.entrySet()) {
+            long segmentId = entry.getKey();
+            Segment segment = new Segment(segmentId, entry.getValue());
+            segment.recordCount = LogSegment.read(segment.file, (type, sequence, key, value) -> {
+                HeapData dataKey = new HeapData(key);
+                RestoredRecord previous = latest.get(dataKey);
+                if (previous == null || previous.sequence < sequence) {
+                    latest.put(dataKey, new RestoredRecord(segmentId, sequence, value));
+                }
+                nextSequence = Math.max(nextSequence, sequence + 1);
+            });
+            sealedSegments.put(segmentId, segment);
+            nextSegmentId = segmentId + 1;
+        }
+
+        for (Map.Entry<Data, RestoredRecord> entry : latest.entrySet()) {
+            RestoredRecord record = entry.getValue();
+            locations.put(entry.getKey(), new Location(record.segmentId, record.sequence, record.value == null));
+            sealedSegments.get(record.segmentId).liveCount++;
+            if (record.value != null) {
+                consumer.accept(entry.getKey(), new HeapData(record.value));
+            }
+        }
+    }
+
+    private NavigableMap<Long, File> listSegmentFiles() {
+        NavigableMap<Long, File> files = new TreeMap<>();
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return files;
+        }
+        for (File file : children) {
+            String name = file.getName();
+            if (name.endsWith(TMP_SUFFIX)) {
+                // a compaction which was interrupted by a crash
+                deleteQuietly(file);
+            } else if (name.endsWith(FILE_SUFFIX)) {
+                files.put(parseFileName(name), file);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Removes the segments which have been replaced by a newer one, but not
+     * deleted before a crash.
+     */
+    private static void removeSupersededSegments(NavigableMap<Long, File> files) throws IOException {
+        for (Map.Entry<Long, File> entry : new ArrayList<>(files.descendingMap().entrySet())) {
+            if (!files.containsKey(entry.getKey())) {
+                continue;
+            }
+            long firstSupersededId = LogSegment.readFirstSupersededId(entry.getValue());
+            if (firstSupersededId < 0) {
+                // a segment whose header was not written due to a crash
+                delete(files.remove(entry.getKey()));
+                continue;
+            }
+            Map<Long, File> superseded = files.subMap(firstSupersededId, entry.getKey());
+            for (File file : superseded.values()) {
+                delete(file);
+            }
+            superseded.clear();
+        }
+    }
+
+    public synchronized void put(Data key, Data value) {
+        append(PUT, toHeapData(key), value.toByteArray());
+    }
+
+    public synchronized void remove(Data key) {
+        Location location = locations.get(key);
+        if (location != null && !location.removed) {
+            append(REMOVE, toHeapData(key), null);
+        }
+    }
+
+    private void append(byte type, Data key, byte[] value) {
+        if (!opened || closed) {
+            return;
+        }
+        long sequence = nextSequence++;
+        Segment segment = activeSegment;
+        try {
+            segment.writer.append(type, sequence, key.toByteArray(), value);
+            if (fsync) {
+                segment.writer.force();
+            } else {
+                dirty = true;
+            }
+        } catch (IOException e) {
+            throw new HazelcastException("Cannot append to " + segment.file.getAbsolutePath(), e);
+        }
+
+        segment.recordCount++;
+        segment.liveCount++;
+        Location previous = locations.put(key, new Location(segment.id, sequence, type == REMOVE));
+        if (previous != null) {
+            Segment previousSegment = segment(previous.segmentId);
+            if (previousSegment != null) {
+                previousSegment.liveCount--;
+            }
+        }
+
+        if (segment.writer.size() >= maxSegmentSize) {
+            roll();
+        }
+    }
+
+    private void roll() {
+        Segment segment = activeSegment;
+        try {
+            segment.writer.force();
+            segment.writer.close();
+            segment.writer = null;
+            sealedSegments.put(segment.id, segment);
+            dirty = false;
+            activeSegment = newSegment(nextSegmentId++, -1);
+        } catch (IOException e) {
+            throw new HazelcastException("Cannot roll the log in " + dir.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Removes all the entries from the log.
+     */
+    public synchronized void clear() {
+        if (!opened || closed) {
+            return;
+        }
+        try {
+            closeResource(activeSegment.writer);
+            List<File> files = new ArrayList<>(sealedSegments.size() + 1);
+            files.add(activeSegment.file);
+            for (Segment segment : sealedSegments.values()) {
+                files.add(segment.file);
+            }
+            sealedSegments.clear();
+            locations.clear();
+            generation++;
+
+            // the new segment supersedes all the previous ones,
+            // so they are not restored if a crash prevents the delete
+            activeSegment = newSegment(nextSegmentId++, 0);
+            activeSegment.writer.force();
+            fsyncDir(dir.toPath());
+            for (File file : files) {
+                delete(file);
+            }
+        } catch (IOException e) {
+            throw new HazelcastException("Cannot clear the log in " + dir.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Forces the records appended since the last call to the storage
+     * device. Used only if the log is not fsynced on every append.
+     */
+    public synchronized void flush() {
+        if (!dirty || closed) {
+            return;
+        }
+        try {
+            activeSegment.writer.force();
+            dirty = false;
+        } catch (IOException e) {
+            throw new HazelcastException("Cannot flush the log in " + dir.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Rewrites the live records of the sealed segments into a single segment
+     * if the ratio of the records superseded by newer ones exceeds the given
+     * threshold. The removal records are dropped as there are no older
+     * segments left which could hold a removed entry. Appends are not
+     * blocked while the records are being copied.
+     *
+     * @param garbagePercentageThreshold the minimum percentage of superseded
+     *                                   records triggering the compaction
+     * @return {@code true} if the sealed segments were compacted
+     */
+    public boolean compact(int garbagePercentageThreshold) {
+        List<Segment> segments;
+        int compactedGeneration;
+        synchronized (this) {
+            if (!opened || closed || !isCompactionNeeded(garbagePercentageThreshold)) {
+                return false;
+            }
+            segments = new ArrayList<>(sealedSegments.values());
+            compactedGeneration = generation;
+        }
+
+        Segment lastSegment = segments.get(segments.size() - 1);
+        File tmpFile = new File(dir, fileName(lastSegment.id) + TMP_SUFFIX);
+        CopiedRecords copied = copyLiveRecords(segments, tmpFile);
+
+        synchronized (this) {
+            if (closed || generation != compactedGeneration) {
+                deleteQuietly(tmpFile);
+                return false;
+            }
+            try {
+                Files.move(tmpFile.toPath(), lastSegment.file.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+                fsyncDir(dir.toPath());
+            } catch (IOException e) {
+                deleteQuietly(tmpFile);
+                throw new HazelcastException("Cannot compact the log in " + dir.getAbsolutePath(), e);
+            }
+            for (Segment segment : segments) {
+                sealedSegments.remove(segment.id);
+                if (segment != lastSegment) {
+                    deleteQuietly(segment.file);
+                }
+            }
+            sealedSegments.put(lastSegment.id, compacted(lastSegment, copied));
+            return true;
+        }
+    }
+
+    /**
+     * Writes the live records of the given segments to the given file.
+     * Called without holding the lock of the log.
+     */
+    private CopiedRecords copyLiveRecords(List<Segment> segments, File tmpFile) {
+        Segment lastSegment = segments.get(segments.size() - 1);
+        CopiedRecords copied = new CopiedRecords();
+        try (LogSegment writer = LogSegment.create(tmpFile, lastSegment.id, segments.get(0).id)) {
+            for (Segment segment : segments) {
+                LogSegment.read(segment.file, (type, sequence, key, value) -> {
+                    HeapData dataKey = new HeapData(key);
+                    Location location = locations.get(dataKey);
+                    if (location == null || location.sequence != sequence) {
+                        return;
+                    }
+                    if (location.removed) {
+                        copied.removedKeys.add(dataKey);
+                        copied.removedLocations.add(location);
+                    } else {
+                        writer.append(type, sequence, key, value);
+                        copied.liveKeys.add(dataKey);
+                        copied.liveLocations.add(location);
+                    }
+                });
+            }
+            writer.force();
+        } catch (IOException e) {
+            deleteQuietly(tmpFile);
+            throw new HazelcastException("Cannot compact the log in " + dir.getAbsolutePath(), e);
+        }
+        return copied;
+    }
+
+    /**
+     * Points the locations of the copied records to the compacted segment
+     * and forgets the compacted removals.
+     */
+    private Segment compacted(Segment lastSegment, CopiedRecords copied) {
+        Segment compacted = new Segment(lastSegment.id, lastSegment.file);
+        compacted.recordCount = copied.liveKeys.size();
+        for (int i = 0; i < copied.liveKeys.size(); i++) {
+            Location location = copied.liveLocations.get(i);
+            // the key might have been updated while the records were being copied
+            if (locations.replace(copied.liveKeys.get(i), location,
+                    new Location(compacted.id, location.sequence, false))) {
+                compacted.liveCount++;
+            }
+        }
+        for (int i = 0; i < copied.removedKeys.size(); i++) {
+            locations.remove(copied.removedKeys.get(i), copied.removedLocations.get(i));
+        }
+        return compacted;
+    }
+
+    private boolean isCompactionNeeded(int garbagePercentageThreshold) {
+        long recordCount = 0;
+        long liveCount = 0;
+        for (Segment segment : sealedSegments.values()) {
+            recordCount += segment.recordCount;
+            liveCount += segment.liveCount;
+        }
+        return recordCount > 0 && (recordCount - liveCount) * PERCENT >= recordCount * garbagePercentageThreshold;
+    }
+
+    /**
+     * Flushes and closes the log, the persisted entries are kept.
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (activeSegment != null) {
+            try {
+                activeSegment.writer.force();
+            } catch (IOException e) {
+                throw new HazelcastException("Cannot flush the log in " + dir.getAbsolutePath(), e);
+            } finally {
+                closeResource(activeSegment.writer);
+            }
+        }
+    }
+
+    /**
+     * Closes the log and deletes the persisted entries.
+     */
+    public synchronized void destroy() {
+        closed = true;
+        if (activeSegment != null) {
+            closeResource(activeSegment.writer);
+        }
+        delete(dir);
+    }
+
+    // used for testing
+    synchronized int segmentCount() {
+        return sealedSegments.size() + (activeSegment != null ? 1 : 0);
+    }
+
+    private Segment segment(long segmentId) {
+        return segmentId == activeSegment.id ? activeSegment : sealedSegments.get(segmentId);
+    }
+
+    private Segment newSegment(long id, long firstSupersededId) throws IOException {
+        File file = new File(dir, fileName(id));
+        Segment segment = new Segment(id, file);
+        segment.writer = LogSegment.create(file, id, firstSupersededId < 0 ? id : firstSupersededId);
+        return segment;
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final File file;
+        private LogSegment writer;
+        private long recordCount;
+        private long liveCount;
+
+        private Segment(long id, File file) {
+            this.id = id;
+            this.file = file;
+        }
+    }
+
+    /**
+     * The location of the latest record of a key. Compared by identity.
+     */
+    private static final class Location {
+        private final long segmentId;
+        private final long sequence;
+        private final boolean removed;
+
+        private Location(long segmentId, long sequence, boolean removed) {
+            this.segmentId = segmentId;
+            this.sequence = sequence;
+            this.removed = removed;
+        }
+    }
+
+    /**
+     * The latest records of the keys copied by a compaction.
+     */
+    private static final class CopiedRecords {
+        private final List<Data> liveKeys = new ArrayList<>();
+        private final List<Location> liveLocations = new ArrayList<>();
+        private final List<Data> removedKeys = new ArrayList<>();
+        private final List<Location> removedLocations = new ArrayList<>();
+    }
+
+    private static final class RestoredRecord {
+        private final long segmentId;
+        private final long sequence;
+        private final byte[] value;
+
+        private RestoredRecord(long segmentId, long sequence, byte[] value) {
+            this.segmentId = segmentId;
+            this.sequence = sequence;
+            this.value = value;
+        }
+    }
+}
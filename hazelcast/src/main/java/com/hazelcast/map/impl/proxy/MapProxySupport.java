@@ -51,6 +51,7 @@ import com.hazelcast.map.IMap;
 import com.hazelcast.map.LocalMapStats;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.impl.EntryEventFilter;
+import com.hazelcast.map.impl.HotKeyTracker;
 import com.hazelcast.map.impl.MapEntries;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
@@ -64,6 +65,7 @@ import com.hazelcast.map.impl.operation.IsKeyLoadFinishedOperation;
 import com.hazelcast.map.impl.operation.IsPartitionLoadedOperationFactory;
 import com.hazelcast.map.impl.operation.MapOperation;
 import com.hazelcast.map.impl.operation.MapOperationProvider;
+import com.hazelcast.map.impl.operation.ReadHotKeyReplicaOperation;
 import com.hazelcast.map.impl.operation.RemoveInterceptorOperationSupplier;
 import com.hazelcast.map.impl.query.Query;
 import com.hazelcast.map.impl.query.QueryEngine;
@@ -118,6 +120,7 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static com.hazelcast.core.EntryEventType.CLEAR_ALL;
+import static com.hazelcast.internal.partition.InternalPartition.MAX_REPLICA_COUNT;
 import static com.hazelcast.internal.util.CollectionUtil.asIntegerList;
 import static com.hazelcast.internal.util.ConcurrencyUtil.CALLER_RUNS;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
@@ -137,6 +140,8 @@ import static com.hazelcast.map.impl.query.Target.createPartitionTarget;
 import static com.hazelcast.query.Predicates.alwaysFalse;
 import static com.hazelcast.spi.impl.InternalCompletableFuture.newCompletedFuture;
 import static com.hazelcast.spi.properties.ClusterProperty.FAIL_ON_INDETERMINATE_OPERATION_STATE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_HOT_KEY_LOCAL_READS_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_HOT_KEY_TRACKING_ENABLED;
 import static java.lang.Math.ceil;
 import static java.lang.Math.log10;
 import static java.lang.Math.min;
@@ -227,6 +232,7 @@ abstract class MapProxySupport<K, V>
 
     private final int putAllBatchSize;
     private final float putAllInitialSizeFactor;
+    private final boolean hotKeyLocalReadsEnabled;
 
     protected MapProxySupport(String name, MapService service, NodeEngine nodeEngine, MapConfig mapConfig) {
         super(nodeEngine, service);
@@ -252,6 +258,8 @@ abstract class MapProxySupport<K, V>
         this.putAllInitialSizeFactor = properties.getFloat(MAP_PUT_ALL_INITIAL_SIZE_FACTOR);
         // default value the same as in OperationService
         this.failOnIndeterminateOperationState = properties.getBoolean(FAIL_ON_INDETERMINATE_OPERATION_STATE);
+        this.hotKeyLocalReadsEnabled = properties.getBoolean(MAP_HOT_KEY_TRACKING_ENABLED)
+                && properties.getBoolean(MAP_HOT_KEY_LOCAL_READS_ENABLED);
     }
 
     @Override
@@ -416,11 +424,50 @@ abstract class MapProxySupport<K, V>
             if (fromBackup != null) {
                 return fromBackup;
             }
+        } else if (hotKeyLocalReadsEnabled) {
+            Object fromReplica = readHotKeyLocallyOrNull(keyData);
+            if (fromReplica != null) {
+                return fromReplica;
+            }
         }
         MapOperation operation = operationProvider.createGetOperation(name, keyData);
         return invokeOperation(keyData, operation);
     }
 
+    private Data readHotKeyLocallyOrNull(Data key) {
+        HotKeyTracker hotKeyTracker = mapServiceContext.getMapContainer(name).getHotKeyTracker();
+        int partitionId = partitionService.getPartitionId(key);
+        if (hotKeyTracker == null || !hotKeyTracker.recordRead(partitionId, key)) {
+            return null;
+        }
+        int replicaIndex = localReplicaIndex(partitionId);
+        if (replicaIndex < 0) {
+            return null;
+        }
+        // the replica is read on the partition thread of this member, which
+        // also applies the backups and samples the key for that partition
+        Operation operation = new ReadHotKeyReplicaOperation(name, key);
+        Data value = operationService.createInvocationBuilder(SERVICE_NAME, operation, partitionId)
+                .setReplicaIndex(replicaIndex)
+                .setResultDeserialized(false)
+                .<Data>invoke()
+                .joinInternal();
+        if (value != null) {
+            hotKeyTracker.onLocalRead();
+        }
+        return value;
+    }
+
+    private int localReplicaIndex(int partitionId) {
+        IPartition partition = partitionService.getPartition(partitionId, false);
+        for (int replicaIndex = 0; replicaIndex < MAX_REPLICA_COUNT; replicaIndex++) {
+            if (thisAddress.equals(partition.getReplicaAddress(replicaIndex))) {
+                return replicaIndex;
+            }
+        }
+        return -1;
+    }
+
     private Data readBackupDataOrNull(Data key) {
         int partitionId = partitionService.getPartitionId(key);
         IPartition partition = partitionService.getPartition(partitionId, false);
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.SerializableByConvention;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntriesSegment;
+import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.internal.util.FutureUtil.RETHROW_EVERYTHING;
+import static com.hazelcast.internal.util.FutureUtil.returnWithDeadline;
+import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Implementation of the {@link PartitionScanExecutor} which splits the scanned
+ * partitions into chunks and executes them on a dedicated work-stealing
+ * {@link ForkJoinPool} sized to the number of available processors.
+ * <p>
+ * Contrary to the {@link ParallelPartitionScanExecutor}, a single large scan
+ * is spread over all the pool threads and idle threads steal the remaining
+ * chunks of busy ones. The scan is terminated early once a chunk fails, e.g.
+ * when the result size limit is exceeded, and for the {@link
+ * com.hazelcast.query.PagingPredicate paging predicate} every chunk keeps only
+ * the entries which may end up on the requested page.
+ */
+public class ForkJoinPartitionScanExecutor implements PartitionScanExecutor {
+
+    /**
+     * The number of chunks created per pool thread, so there is something
+     * left to steal when the partitions are not equally sized.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final PartitionScanRunner partitionScanRunner;
+    private final ForkJoinPool pool;
+    private final int timeoutInMillis;
+
+    public ForkJoinPartitionScanExecutor(PartitionScanRunner partitionScanRunner,
+                                         String hzName,
+                                         ClassLoader classLoader,
+                                         int parallelism,
+                                         int timeoutInMillis) {
+        this.partitionScanRunner = partitionScanRunner;
+        this.pool = new ForkJoinPool(parallelism, new ScanThreadFactory(hzName, classLoader), null, false);
+        this.timeoutInMillis = timeoutInMillis;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void execute(String mapName, Predicate predicate, Collection<Integer> partitions, Result result) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+
+        int[] partitionIds = new int[partitions.size()];
+        int index = 0;
+        for (Integer partitionId : partitions) {
+            partitionIds[index++] = partitionId;
+        }
+        int chunkSize = Math.max(1, partitionIds.length / (pool.getParallelism() * CHUNKS_PER_THREAD));
+        PagingPredicateImpl pagingPredicate = predicate instanceof PagingPredicateImpl
+                ? (PagingPredicateImpl) predicate : null;
+
+        ScanContext context = new ScanContext(mapName, predicate, pagingPredicate, partitionIds, chunkSize, result);
+        Future<Result> future = pool.submit(new ScanTask(context, 0, partitionIds.length));
+        try {
+            for (Result subResult : returnWithDeadline(singletonList(future), timeoutInMillis, MILLISECONDS,
+                    RETHROW_EVERYTHING)) {
+                result.combine(subResult);
+            }
+        } finally {
+            // stops the chunks which are still running if the deadline was missed
+            context.failed = true;
+        }
+
+        RetryableHazelcastException retryableException = context.retryableException.get();
+        if (retryableException != null) {
+            throw retryableException;
+        }
+        if (pagingPredicate != null) {
+            result.orderAndLimit(pagingPredicate, context.nearestAnchorEntry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Parallel execution for a partition chunk query is not supported.
+     */
+    @Override
+    public QueryableEntriesSegment execute(
+            String mapName, Predicate predicate, int partitionId,
+            IterationPointer[] pointers, int fetchSize) {
+        return partitionScanRunner.run(mapName, predicate, partitionId, pointers, fetchSize);
+    }
+
+    /**
+     * Stops the pool threads. Scans which are still running are not waited
+     * for.
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * The state shared by all the chunks of a single scan.
+     */
+    private static final class ScanContext {
+        private final String mapName;
+        private final Predicate predicate;
+        private final PagingPredicateImpl pagingPredicate;
+        private final Map.Entry<Integer, Map.Entry> nearestAnchorEntry;
+        private final int[] partitionIds;
+        private final int chunkSize;
+        private final Result result;
+        private final AtomicReference<RetryableHazelcastException> retryableException = new AtomicReference<>();
+        private volatile boolean failed;
+
+        private ScanContext(String mapName, Predicate predicate, PagingPredicateImpl pagingPredicate,
+                            int[] partitionIds, int chunkSize, Result result) {
+            this.mapName = mapName;
+            this.predicate = predicate;
+            this.pagingPredicate = pagingPredicate;
+            this.nearestAnchorEntry = pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
+            this.partitionIds = partitionIds;
+            this.chunkSize = chunkSize;
+            this.result = result;
+        }
+    }
+
+    @SerializableByConvention
+    private final class ScanTask extends RecursiveTask<Result> {
+        private final ScanContext context;
+        private final int from;
+        private final int to;
+
+        private ScanTask(ScanContext context, int from, int to) {
+            this.context = context;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Result compute() {
+            if (to - from <= context.chunkSize) {
+                return scanChunk();
+            }
+
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(context, from, middle);
+            left.fork();
+            Result result = new ScanTask(context, middle, to).compute();
+            result.combine(left.join());
+            return limit(result);
+        }
+
+        private Result scanChunk() {
+            Result chunkResult = context.result.createSubResult();
+            PartitionIdSet scannedPartitions = new PartitionIdSet(partitionScanRunner.partitionService.getPartitionCount());
+            for (int i = from; i < to && !context.failed; i++) {
+                int partitionId = context.partitionIds[i];
+                try {
+                    partitionScanRunner.run(context.mapName, context.predicate, partitionId, chunkResult);
+                    scannedPartitions.add(partitionId);
+                } catch (RetryableHazelcastException e) {
+                    // like the CallerRunsPartitionScanExecutor, all partitions are touched before the
+                    // first RetryableHazelcastException is re-thrown
+                    context.retryableException.compareAndSet(null, e);
+                } catch (RuntimeException | Error e) {
+                    context.failed = true;
+                    throw e;
+                }
+            }
+            chunkResult.setPartitionIds(scannedPartitions);
+            return limit(chunkResult);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Result limit(Result result) {
+            if (context.pagingPredicate != null) {
+                result.orderAndLimit(context.pagingPredicate, context.nearestAnchorEntry);
+            }
+            return result;
+        }
+    }
+
+    private static final class ScanThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        private final String threadNamePrefix;
+        private final ClassLoader classLoader;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        private ScanThreadFactory(String hzName, ClassLoader classLoader) {
+            this.threadNamePrefix = createThreadPoolName(hzName, "query-scan");
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = new ScanThread(pool);
+            thread.setName(threadNamePrefix + threadCount.incrementAndGet());
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }
+    }
+
+    private static final class ScanThread extends ForkJoinWorkerThread {
+        private ScanThread(ForkJoinPool pool) {
+            super(pool);
+        }
+    }
+}
@@ -81,6 +81,10 @@ public class QueryRunner {
         this.partitionCount = nodeEngine.getPartitionService().getPartitionCount();
     }
 
+    public PartitionScanExecutor getPartitionScanExecutor() {
+        return partitionScanExecutor;
+    }
+
     /**
      * Runs a query on a chunk of a single partition. The chunk is defined by
      * the {@code pointers} and the soft limit is defined by the {@code fetchSize}.
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.serialization.Data;
+
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+
+/**
+ * Flyweight {@link Record} over a record block allocated in native memory
+ * for maps with {@link InMemoryFormat#NATIVE} in-memory-format.
+ * <p>
+ * All record metadata is kept in the native block, so instances of this class
+ * can be created and discarded freely: two flyweights over the same address
+ * observe and mutate the same record. Record block layout:
+ * <pre>
+ * +----------------+----------------+---------------------+
+ * | version (int)  | hits (int)     | creationTime (int)  |
+ * +----------------+----------------+---------------------+
+ * | lastAccessTime | lastUpdateTime | lastStoredTime (int)|
+ * +----------------+----------------+---------------------+
+ * | valueAddress (long)                                   |
+ * +-------------------------------------------------------+
+ * </pre>
+ * The value is kept in a separate native block (see {@link NativeRecordFactory})
+ * and is always returned as an on-heap copy, so callers never hold a reference
+ * into native memory.
+ * <p>
+ * Not thread-safe, a native record must only be accessed by the partition
+ * thread owning its record store.
+ */
+public final class NativeRecord implements Record<Data> {
+
+    static final int VERSION_OFFSET = 0;
+    static final int HITS_OFFSET = 4;
+    static final int CREATION_TIME_OFFSET = 8;
+    static final int LAST_ACCESS_TIME_OFFSET = 12;
+    static final int LAST_UPDATE_TIME_OFFSET = 16;
+    static final int LAST_STORED_TIME_OFFSET = 20;
+    static final int VALUE_ADDRESS_OFFSET = 24;
+    static final int RECORD_SIZE = 32;
+
+    private final NativeRecordFactory factory;
+    private final long address;
+
+    NativeRecord(NativeRecordFactory factory, long address) {
+        this.factory = factory;
+        this.address = address;
+    }
+
+    /**
+     * @return base address of the record block
+     */
+    public long address() {
+        return address;
+    }
+
+    @Override
+    public Data getValue() {
+        return factory.readValue(valueAddress());
+    }
+
+    @Override
+    public void setValue(Data value) {
+        factory.replaceValue(address, value);
+    }
+
+    @Override
+    public long getCost() {
+        return RECORD_SIZE + factory.valueBlockSize(valueAddress());
+    }
+
+    @Override
+    public int getVersion() {
+        return mem().getInt(address + VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(int version) {
+        mem().putInt(address + VERSION_OFFSET, version);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return mem().getInt(address + HITS_OFFSET);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        mem().putInt(address + HITS_OFFSET, hits);
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        int lastStoredTime = getRawLastStoredTime();
+        if (lastStoredTime == UNSET) {
+            return 0L;
+        }
+        return recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        setRawLastStoredTime(stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return DATA_RECORD_WITH_STATS_READER_WRITER;
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return mem().getInt(address + CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        mem().putInt(address + CREATION_TIME_OFFSET, creationTime);
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return mem().getInt(address + LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        mem().putInt(address + LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return mem().getInt(address + LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        mem().putInt(address + LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return mem().getInt(address + LAST_STORED_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int lastStoredTime) {
+        mem().putInt(address + LAST_STORED_TIME_OFFSET, lastStoredTime);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return address == ((NativeRecord) o).address;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(address);
+    }
+
+    @Override
+    public String toString() {
+        return "NativeRecord{"
+                + "address=" + address
+                + ", version=" + getVersion()
+                + ", hits=" + getHits()
+                + ", creationTime=" + getCreationTime()
+                + ", lastAccessTime=" + getLastAccessTime()
+                + ", lastUpdateTime=" + getLastUpdateTime()
+                + ", lastStoredTime=" + getLastStoredTime()
+                + '}';
+    }
+
+    private long valueAddress() {
+        return mem().getLong(address + VALUE_ADDRESS_OFFSET);
+    }
+
+    private MemoryAccessor mem() {
+        return factory.mem();
+    }
+}
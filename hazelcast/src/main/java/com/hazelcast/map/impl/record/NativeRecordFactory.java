@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.map.impl.record.NativeRecord.RECORD_SIZE;
+import static com.hazelcast.map.impl.record.NativeRecord.VALUE_ADDRESS_OFFSET;
+import static com.hazelcast.map.impl.record.Record.UNSET;
+
+/**
+ * Creates {@link NativeRecord}s and manages the lifecycle of their native
+ * record and value blocks. Created for every partition, so it is only ever
+ * accessed by a single partition thread.
+ * <p>
+ * A record which is handed out by {@link #newRecord(Data, Object)} stays
+ * <i>pending</i> until its storage reports it as attached. Records which
+ * were removed from the storage are not freed immediately since callers may
+ * still read them (e.g. to publish events); both kinds of blocks are
+ * released by {@link #disposeDeferredBlocks()}, which is called once the
+ * current operation completed.
+ * <p>
+ * Value block layout: {@code | size (int) | padding (int) | bytes |}.
+ */
+public class NativeRecordFactory implements RecordFactory<Data> {
+
+    static final int VALUE_SIZE_OFFSET = 0;
+    static final int VALUE_HEADER_SIZE = 8;
+
+    private static final int INITIAL_LIST_CAPACITY = 16;
+
+    private final MemoryAllocator malloc;
+    private final MemoryAccessor mem;
+    private final SerializationService ss;
+
+    private long[] pending = new long[INITIAL_LIST_CAPACITY];
+    private int pendingCount;
+    private long[] deferred = new long[INITIAL_LIST_CAPACITY];
+    private int deferredCount;
+
+    public NativeRecordFactory(MemoryManager memoryManager, SerializationService ss) {
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+        this.ss = ss;
+    }
+
+    @Override
+    public Record<Data> newRecord(Data key, Object value) {
+        Data valueData = ss.toData(value);
+        long valueAddress = allocateValue(valueData);
+        long address;
+        try {
+            address = malloc.allocate(RECORD_SIZE);
+        } catch (Error e) {
+            freeValue(valueAddress);
+            throw e;
+        }
+        mem.putInt(address + NativeRecord.HITS_OFFSET, 0);
+        mem.putInt(address + NativeRecord.CREATION_TIME_OFFSET, UNSET);
+        mem.putInt(address + NativeRecord.LAST_ACCESS_TIME_OFFSET, UNSET);
+        mem.putInt(address + NativeRecord.LAST_UPDATE_TIME_OFFSET, UNSET);
+        mem.putInt(address + NativeRecord.LAST_STORED_TIME_OFFSET, UNSET);
+        mem.putLong(address + VALUE_ADDRESS_OFFSET, valueAddress);
+        pending = add(pending, pendingCount++, address);
+        return new NativeRecord(this, address);
+    }
+
+    /**
+     * @return a flyweight over the record block at the given address
+     */
+    public NativeRecord toRecord(long address) {
+        return new NativeRecord(this, address);
+    }
+
+    /**
+     * Called by the storage once the record block at the given address
+     * became reachable from it, so that it is no longer disposed as an
+     * orphan by {@link #disposeDeferredBlocks()}.
+     */
+    public void onAttached(long address) {
+        for (int i = pendingCount - 1; i >= 0; i--) {
+            if (pending[i] == address) {
+                pending[i] = pending[--pendingCount];
+                return;
+            }
+        }
+    }
+
+    /**
+     * Schedules the record block at the given address, together with its
+     * value block, to be freed on the next {@link #disposeDeferredBlocks()}.
+     */
+    public void disposeDeferred(long address) {
+        deferred = add(deferred, deferredCount++, address);
+    }
+
+    /**
+     * Immediately frees the record block at the given address together with
+     * its value block.
+     */
+    public void dispose(long address) {
+        freeValue(mem.getLong(address + VALUE_ADDRESS_OFFSET));
+        malloc.free(address, RECORD_SIZE);
+    }
+
+    /**
+     * Frees all record blocks which were removed from the storage or which
+     * were created but never attached to it.
+     */
+    public void disposeDeferredBlocks() {
+        for (int i = 0; i < deferredCount; i++) {
+            dispose(deferred[i]);
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            dispose(pending[i]);
+        }
+        deferredCount = 0;
+        pendingCount = 0;
+        if (deferred.length > INITIAL_LIST_CAPACITY) {
+            deferred = new long[INITIAL_LIST_CAPACITY];
+        }
+    }
+
+    MemoryAccessor mem() {
+        return mem;
+    }
+
+    Data readValue(long valueAddress) {
+        if (valueAddress == NULL_ADDRESS) {
+            return null;
+        }
+        int size = mem.getInt(valueAddress + VALUE_SIZE_OFFSET);
+        byte[] bytes = new byte[size];
+        mem.copyToByteArray(valueAddress + VALUE_HEADER_SIZE, bytes, 0, size);
+        return new HeapData(bytes);
+    }
+
+    long valueBlockSize(long valueAddress) {
+        return valueAddress == NULL_ADDRESS
+                ? 0 : VALUE_HEADER_SIZE + mem.getInt(valueAddress + VALUE_SIZE_OFFSET);
+    }
+
+    void replaceValue(long recordAddress, Data value) {
+        long newValueAddress = allocateValue(value);
+        long oldValueAddress = mem.getLong(recordAddress + VALUE_ADDRESS_OFFSET);
+        mem.putLong(recordAddress + VALUE_ADDRESS_OFFSET, newValueAddress);
+        // values are always copied to heap when read, nobody can be referencing the old block
+        freeValue(oldValueAddress);
+    }
+
+    private long allocateValue(Data value) {
+        if (value == null) {
+            return NULL_ADDRESS;
+        }
+        byte[] bytes = value.toByteArray();
+        int size = bytes == null ? 0 : bytes.length;
+        long address = malloc.allocate(VALUE_HEADER_SIZE + size);
+        mem.putInt(address + VALUE_SIZE_OFFSET, size);
+        if (size > 0) {
+            mem.copyFromByteArray(bytes, 0, address + VALUE_HEADER_SIZE, size);
+        }
+        return address;
+    }
+
+    private void freeValue(long valueAddress) {
+        if (valueAddress != NULL_ADDRESS) {
+            malloc.free(valueAddress, valueBlockSize(valueAddress));
+        }
+    }
+
+    private static long[] add(long[] addresses, int index, long address) {
+        if (index == addresses.length) {
+            addresses = Arrays.copyOf(addresses, addresses.length << 1);
+        }
+        addresses[index] = address;
+        return addresses;
+    }
+}
@@ -37,7 +37,9 @@ import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.MapStoreWrapper;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
+import com.hazelcast.map.impl.persistence.MapPersistence;
 import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
@@ -92,6 +94,8 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
                 return new DataRecordFactory(mapContainer, serializationService);
             case OBJECT:
                 return new ObjectRecordFactory(mapContainer, serializationService);
+            case NATIVE:
+                return new NativeRecordFactory(mapServiceContext.getNativeMemoryManager(), serializationService);
             default:
                 throw new IllegalArgumentException("Invalid storage format: " + mapConfig.getInMemoryFormat());
         }
@@ -127,6 +131,13 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
                     JsonMetadataInitializer.INSTANCE, getOrCreateMetadataStore()));
         }
 
+        // Add observer for persistence
+        MapPersistence mapPersistence = mapServiceContext.getMapPersistence();
+        if (mapPersistence.isPersistent(mapContainer.getMapConfig())) {
+            mutationObserver.add(new PersistenceMutationObserver(mapPersistence, mapContainer,
+                    partitionId, serializationService));
+        }
+
         // Add observer for indexing
         indexingObserver = new IndexingMutationObserver<>(this, serializationService);
         mutationObserver.add(indexingObserver);
@@ -175,6 +186,10 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     }
 
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (memoryFormat == InMemoryFormat.NATIVE) {
+            return new NativeStorage((NativeRecordFactory) recordFactory, mapServiceContext.getNativeMemoryManager(),
+                    getExpirySystem(), serializationService);
+        }
         return new StorageImpl(memoryFormat, getExpirySystem(), serializationService);
     }
 
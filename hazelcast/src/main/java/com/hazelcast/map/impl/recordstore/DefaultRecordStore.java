@@ -1262,6 +1262,16 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
                 null, StaticParams.PUT_FROM_LOAD_BACKUP_PARAMS);
     }
 
+    @Override
+    public boolean putFromPersistence(Data key, Object value) {
+        if (existInMemory(key) || shouldEvict()) {
+            return false;
+        }
+        putInternal(key, value, true, UNSET, UNSET, UNSET, getNow(),
+                null, null, null, StaticParams.PUT_FROM_LOAD_PARAMS);
+        return true;
+    }
+
     private Object putFromLoadInternal(Data key, Object newValue, long ttl,
                                        long maxIdle, Address callerAddress, StaticParams staticParams) {
         checkKeyAndValue(key, newValue);
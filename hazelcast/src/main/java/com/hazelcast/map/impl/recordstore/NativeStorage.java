@@ -0,0 +1,495 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.internal.util.hashslot.SlotAssignmentResult;
+import com.hazelcast.internal.util.hashslot.impl.HashSlotArray8byteKeyImpl;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.NativeRecord;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.HashUtil.fastLongMix;
+
+/**
+ * {@link Storage} implementation for {@link InMemoryFormat#NATIVE} maps which
+ * keeps keys, values and record metadata in native memory, so that the heap
+ * usage of a record store does not depend on the number of its entries.
+ * <p>
+ * Entries are indexed by a {@link HashSlotArray8byteKeyImpl} keyed by the
+ * 64-bit hash of the key blob. The value of each slot is the address of the
+ * first entry node of a (practically always single-element) collision chain.
+ * Entry node layout:
+ * <pre>
+ * | next node address (long) | record address (long) | key size (int) | key bytes |
+ * </pre>
+ * Record blocks are managed by the {@link NativeRecordFactory}. Keys and
+ * values are always returned as on-heap copies.
+ * <p>
+ * Like the rest of a record store, this class is not thread-safe and must
+ * only be accessed by the partition thread of its partition.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class NativeStorage implements Storage<Data, Record> {
+
+    private static final int NEXT_OFFSET = 0;
+    private static final int RECORD_OFFSET = 8;
+    private static final int KEY_SIZE_OFFSET = 16;
+    private static final int KEY_OFFSET = 20;
+
+    private final NativeRecordFactory recordFactory;
+    private final MemoryAllocator malloc;
+    private final MemoryAccessor mem;
+    private final ExpirySystem expirySystem;
+    private final SerializationService serializationService;
+    private final HashSlotArray8byteKeyImpl hsa;
+
+    private int size;
+    // not final for testing purposes.
+    private EntryCostEstimator<Data, Record> entryCostEstimator = new NativeEntryCostEstimator();
+
+    NativeStorage(NativeRecordFactory recordFactory, MemoryManager memoryManager,
+                  ExpirySystem expirySystem, SerializationService serializationService) {
+        this.recordFactory = recordFactory;
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+        this.expirySystem = expirySystem;
+        this.serializationService = serializationService;
+        this.hsa = new HashSlotArray8byteKeyImpl(NULL_ADDRESS, memoryManager, LONG_SIZE_IN_BYTES);
+        this.hsa.gotoNew();
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        long recordAddress = ((NativeRecord) record).address();
+        long hash = key.hash64();
+        long node = findNode(key, hash);
+        if (node != NULL_ADDRESS) {
+            long previousRecordAddress = mem.getLong(node + RECORD_OFFSET);
+            if (previousRecordAddress != recordAddress) {
+                updateCostEstimate(-entryCostEstimator.calculateValueCost(recordFactory.toRecord(previousRecordAddress)));
+                mem.putLong(node + RECORD_OFFSET, recordAddress);
+                recordFactory.disposeDeferred(previousRecordAddress);
+                updateCostEstimate(entryCostEstimator.calculateValueCost(record));
+            }
+            recordFactory.onAttached(recordAddress);
+            return;
+        }
+
+        node = newNode(key, recordAddress);
+        SlotAssignmentResult slot;
+        try {
+            slot = hsa.ensure(hash);
+        } catch (Error e) {
+            malloc.free(node, nodeSize(node));
+            throw e;
+        }
+        mem.putLong(node + NEXT_OFFSET, slot.isNew() ? NULL_ADDRESS : mem.getLong(slot.address()));
+        mem.putLong(slot.address(), node);
+        size++;
+        recordFactory.onAttached(recordAddress);
+        updateCostEstimate(entryCostEstimator.calculateEntryCost(key, record));
+    }
+
+    @Override
+    public Record updateRecordValue(Data key, Record record, Object value) {
+        updateCostEstimate(-entryCostEstimator.calculateValueCost(record));
+        record.setValue(serializationService.toData(value));
+        updateCostEstimate(entryCostEstimator.calculateValueCost(record));
+        return record;
+    }
+
+    @Override
+    public Record get(Data key) {
+        long node = findNode(key, key.hash64());
+        return node == NULL_ADDRESS ? null : recordOf(node);
+    }
+
+    @Override
+    public Record getIfSameKey(Data key) {
+        throw new UnsupportedOperationException("NativeStorage#getIfSameKey");
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull Record record) {
+        long hash = dataKey.hash64();
+        long slotValueAddress = hsa.get(hash);
+        if (slotValueAddress == NULL_ADDRESS) {
+            return;
+        }
+        long previous = NULL_ADDRESS;
+        long node = mem.getLong(slotValueAddress);
+        while (node != NULL_ADDRESS) {
+            long next = mem.getLong(node + NEXT_OFFSET);
+            if (keyEquals(node, dataKey)) {
+                if (previous != NULL_ADDRESS) {
+                    mem.putLong(previous + NEXT_OFFSET, next);
+                } else if (next != NULL_ADDRESS) {
+                    mem.putLong(slotValueAddress, next);
+                } else {
+                    hsa.remove(hash);
+                }
+                long recordAddress = mem.getLong(node + RECORD_OFFSET);
+                updateCostEstimate(-entryCostEstimator.calculateEntryCost(dataKey, recordFactory.toRecord(recordAddress)));
+                malloc.free(node, nodeSize(node));
+                // the removed record may still be read by the caller, e.g. to publish an event
+                recordFactory.disposeDeferred(recordAddress);
+                size--;
+                return;
+            }
+            previous = node;
+            node = next;
+        }
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return findNode(key, key.hash64()) != NULL_ADDRESS;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The slots are walked in descending order. Since the underlying hash slot
+     * array shifts colliding slots towards lower indexes on removal, removing
+     * the entry last returned by the iterator does not cause others to be skipped.
+     */
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return new MutationTolerantIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        long capacity = hsa.capacity();
+        for (long slot = 0; slot < capacity; slot++) {
+            long slotValueAddress = hsa.valueAddressOfAssignedSlot(slot);
+            if (slotValueAddress == NULL_ADDRESS) {
+                continue;
+            }
+            long node = mem.getLong(slotValueAddress);
+            while (node != NULL_ADDRESS) {
+                long next = mem.getLong(node + NEXT_OFFSET);
+                recordFactory.dispose(mem.getLong(node + RECORD_OFFSET));
+                malloc.free(node, nodeSize(node));
+                node = next;
+            }
+        }
+        hsa.clear();
+        recordFactory.disposeDeferredBlocks();
+        size = 0;
+
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        clear(isDuringShutdown);
+        hsa.dispose();
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        recordFactory.disposeDeferredBlocks();
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+        List<EntryView> samples = new ArrayList<>(sampleCount);
+        long capacity = hsa.capacity();
+        long startSlot = ThreadLocalRandomProvider.get().nextInt(Integer.MAX_VALUE) & (capacity - 1);
+        for (long i = 0; i < capacity && samples.size() < sampleCount; i++) {
+            long slotValueAddress = hsa.valueAddressOfAssignedSlot((startSlot + i) & (capacity - 1));
+            if (slotValueAddress == NULL_ADDRESS) {
+                continue;
+            }
+            for (long node = mem.getLong(slotValueAddress); node != NULL_ADDRESS && samples.size() < sampleCount;
+                 node = mem.getLong(node + NEXT_OFFSET)) {
+                Data key = keyOf(node);
+                samples.add(new LazyEvictableEntryView<>(key, recordOf(node),
+                        expirySystem.getExpiryMetadata(key), serializationService));
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, (key, record) -> keys.add(key));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size,
+                (key, record) -> entries.add(new AbstractMap.SimpleEntry<>(key, (Data) record.getValue())));
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    protected void updateCostEstimate(long entrySize) {
+        entryCostEstimator.adjustEstimateBy(entrySize);
+    }
+
+    /**
+     * Fetches at least {@code size} entries starting at the given {@code pointers},
+     * walking the slots in descending order. Follows the same protocol as
+     * {@code SampleableConcurrentHashMap}: when the slot array was resized since
+     * the previous call, a new pointer is appended and entries which would have
+     * been located in an already visited part of a previous table are skipped.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size,
+                                         BiConsumer<Data, Record> consumer) {
+        long capacity = hsa.capacity();
+        pointers = checkPointers(pointers, (int) capacity);
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+
+        int nextSlot = lastPointer.getIndex() >= 0 && lastPointer.getIndex() < capacity
+                ? lastPointer.getIndex() : (int) capacity - 1;
+        int counter = 0;
+        while (nextSlot >= 0 && counter < size) {
+            long slotValueAddress = hsa.valueAddressOfAssignedSlot(nextSlot--);
+            if (slotValueAddress == NULL_ADDRESS) {
+                continue;
+            }
+            for (long node = mem.getLong(slotValueAddress); node != NULL_ADDRESS; node = mem.getLong(node + NEXT_OFFSET)) {
+                Data key = keyOf(node);
+                if (hasNotBeenObserved(key, pointers)) {
+                    consumer.accept(key, recordOf(node));
+                    counter++;
+                }
+            }
+        }
+        lastPointer.setIndex(nextSlot);
+        return pointers;
+    }
+
+    private static IterationPointer[] checkPointers(IterationPointer[] pointers, int currentCapacity) {
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        boolean iterationStarted = lastPointer.getSize() == -1;
+        boolean tableResized = lastPointer.getSize() != currentCapacity;
+        int newLength = !iterationStarted && tableResized ? pointers.length + 1 : pointers.length;
+
+        IterationPointer[] updatedPointers = new IterationPointer[newLength];
+        for (int i = 0; i < pointers.length; i++) {
+            updatedPointers[i] = new IterationPointer(pointers[i]);
+        }
+        if (iterationStarted || tableResized) {
+            updatedPointers[updatedPointers.length - 1] = new IterationPointer(Integer.MAX_VALUE, currentCapacity);
+        }
+        return updatedPointers;
+    }
+
+    private static boolean hasNotBeenObserved(Data key, IterationPointer[] pointers) {
+        if (pointers.length < 2) {
+            return true;
+        }
+        // mirrors the slot hash of HashSlotArray8byteKeyImpl
+        long hash = fastLongMix(key.hash64());
+        for (int i = 0; i < pointers.length - 1; i++) {
+            IterationPointer pointer = pointers[i];
+            long homeSlot = hash & (pointer.getSize() - 1);
+            if (homeSlot > pointer.getIndex()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long findNode(Data key, long hash) {
+        long slotValueAddress = hsa.get(hash);
+        if (slotValueAddress == NULL_ADDRESS) {
+            return NULL_ADDRESS;
+        }
+        for (long node = mem.getLong(slotValueAddress); node != NULL_ADDRESS; node = mem.getLong(node + NEXT_OFFSET)) {
+            if (keyEquals(node, key)) {
+                return node;
+            }
+        }
+        return NULL_ADDRESS;
+    }
+
+    private long newNode(Data key, long recordAddress) {
+        byte[] keyBytes = key.toByteArray();
+        long node = malloc.allocate(KEY_OFFSET + keyBytes.length);
+        mem.putLong(node + RECORD_OFFSET, recordAddress);
+        mem.putInt(node + KEY_SIZE_OFFSET, keyBytes.length);
+        mem.copyFromByteArray(keyBytes, 0, node + KEY_OFFSET, keyBytes.length);
+        return node;
+    }
+
+    private boolean keyEquals(long node, Data key) {
+        byte[] keyBytes = key.toByteArray();
+        if (mem.getInt(node + KEY_SIZE_OFFSET) != keyBytes.length) {
+            return false;
+        }
+        long keyAddress = node + KEY_OFFSET;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (mem.getByte(keyAddress + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long nodeSize(long node) {
+        return KEY_OFFSET + mem.getInt(node + KEY_SIZE_OFFSET);
+    }
+
+    private Data keyOf(long node) {
+        byte[] keyBytes = new byte[mem.getInt(node + KEY_SIZE_OFFSET)];
+        mem.copyToByteArray(node + KEY_OFFSET, keyBytes, 0, keyBytes.length);
+        return new HeapData(keyBytes);
+    }
+
+    private Record recordOf(long node) {
+        return recordFactory.toRecord(mem.getLong(node + RECORD_OFFSET));
+    }
+
+    /**
+     * Estimates the native memory owned by the entries of this storage:
+     * entry nodes, record blocks and value blocks.
+     */
+    private static final class NativeEntryCostEstimator implements EntryCostEstimator<Data, Record> {
+
+        private long estimate;
+
+        @Override
+        public long getEstimate() {
+            return estimate;
+        }
+
+        @Override
+        public void adjustEstimateBy(long adjustment) {
+            estimate += adjustment;
+        }
+
+        @Override
+        public long calculateValueCost(Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public long calculateEntryCost(Data key, Record record) {
+            return KEY_OFFSET + key.totalSize() + record.getCost();
+        }
+
+        @Override
+        public void reset() {
+            estimate = 0;
+        }
+    }
+
+    private final class MutationTolerantIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private final List<Map.Entry<Data, Record>> slotEntries = new ArrayList<>(1);
+        private long nextSlot = hsa.capacity() - 1;
+        private int slotEntryIndex;
+
+        @Override
+        public boolean hasNext() {
+            while (slotEntryIndex == slotEntries.size()) {
+                slotEntries.clear();
+                slotEntryIndex = 0;
+                // the slot array may have been resized meanwhile
+                nextSlot = Math.min(nextSlot, hsa.capacity() - 1);
+                if (nextSlot < 0) {
+                    return false;
+                }
+                long slotValueAddress = hsa.valueAddressOfAssignedSlot(nextSlot--);
+                if (slotValueAddress == NULL_ADDRESS) {
+                    continue;
+                }
+                for (long node = mem.getLong(slotValueAddress); node != NULL_ADDRESS;
+                     node = mem.getLong(node + NEXT_OFFSET)) {
+                    slotEntries.add(new AbstractMap.SimpleImmutableEntry<>(keyOf(node), recordOf(node)));
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return slotEntries.get(slotEntryIndex++);
+        }
+    }
+}
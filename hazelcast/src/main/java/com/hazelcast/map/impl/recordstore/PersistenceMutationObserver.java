@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.persistence.MapPersistence;
+import com.hazelcast.map.impl.persistence.PartitionLog;
+import com.hazelcast.map.impl.record.Record;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Writes the mutations of a {@link RecordStore} to its {@link PartitionLog}.
+ */
+public class PersistenceMutationObserver implements MutationObserver<Record> {
+
+    private final String mapName;
+    private final int partitionId;
+    private final MapPersistence mapPersistence;
+    private final PartitionLog partitionLog;
+    private final SerializationService serializationService;
+
+    public PersistenceMutationObserver(MapPersistence mapPersistence, MapContainer mapContainer,
+                                       int partitionId, SerializationService serializationService) {
+        this.mapName = mapContainer.getName();
+        this.partitionId = partitionId;
+        this.mapPersistence = mapPersistence;
+        this.partitionLog = mapPersistence.getOrCreatePartitionLog(mapContainer.getMapConfig(), partitionId);
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    public void onPutRecord(@Nonnull Data key, Record record, Object oldValue, boolean backup) {
+        partitionLog.put(key, serializationService.toData(record.getValue()));
+    }
+
+    @Override
+    public void onReplicationPutRecord(@Nonnull Data key, @Nonnull Record record, boolean populateIndex) {
+        partitionLog.put(key, serializationService.toData(record.getValue()));
+    }
+
+    @Override
+    public void onUpdateRecord(@Nonnull Data key, @Nonnull Record record,
+                               Object oldValue, Object newValue, boolean backup) {
+        partitionLog.put(key, serializationService.toData(record.getValue()));
+    }
+
+    @Override
+    public void onRemoveRecord(@Nonnull Data key, Record record, boolean backup) {
+        partitionLog.remove(key);
+    }
+
+    @Override
+    public void onEvictRecord(@Nonnull Data key, @Nonnull Record record, boolean backup) {
+        partitionLog.remove(key);
+    }
+
+    @Override
+    public void onLoadRecord(@Nonnull Data key, @Nonnull Record record, boolean backup) {
+        partitionLog.put(key, serializationService.toData(record.getValue()));
+    }
+
+    @Override
+    public void onReset() {
+        partitionLog.clear();
+    }
+
+    @Override
+    public void onClear() {
+        partitionLog.clear();
+    }
+
+    @Override
+    public void onDestroy(boolean isDuringShutdown, boolean internal) {
+        if (isDuringShutdown) {
+            mapPersistence.closePartitionLog(mapName, partitionId);
+        } else {
+            mapPersistence.destroyPartitionLog(mapName, partitionId);
+        }
+    }
+}
@@ -268,6 +268,18 @@ public interface RecordStore<R extends Record> {
      */
     Object putFromLoadBackup(Data key, Object value, long expirationTime, long now);
 
+    /**
+     * Puts key-value pair restored by the map persistence if the key is not in
+     * memory. Like {@link #putFromLoad}, it doesn't store the pair to the map
+     * store, unlike it, it doesn't publish an entry event.
+     *
+     * @param key   key to put.
+     * @param value to put.
+     * @return {@code true} if the key-value pair was put, {@code false} otherwise.
+     * @see com.hazelcast.map.impl.operation.PutFromPersistenceOperation
+     */
+    boolean putFromPersistence(Data key, Object value);
+
     /**
      * Merges the given {@link MapMergeTypes} via the given {@link SplitBrainMergePolicy}.
      *
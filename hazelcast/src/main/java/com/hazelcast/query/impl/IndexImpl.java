@@ -23,6 +23,8 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.query.impl.GlobalIndexPartitionTracker.PartitionStamp;
 import com.hazelcast.query.impl.getters.Extractors;
 
+import static com.hazelcast.spi.properties.ClusterProperty.INDEX_PRIMITIVE_ORDERED_STORE_ENABLED;
+
 /**
  * Provides implementation of on-heap indexes.
  */
@@ -49,7 +51,9 @@ public class IndexImpl extends AbstractIndex {
                                           PerIndexStats stats, String mapName, int ignored) {
         switch (config.getType()) {
             case SORTED:
-                return new OrderedIndexStore(copyBehavior);
+                return isPrimitiveOrderedIndexStoreEnabled(node, config)
+                        ? new PrimitiveOrderedIndexStore(copyBehavior)
+                        : new OrderedIndexStore(copyBehavior);
             case HASH:
                 return new UnorderedIndexStore(copyBehavior);
             case BITMAP:
@@ -59,6 +63,15 @@ public class IndexImpl extends AbstractIndex {
         }
     }
 
+    private static boolean isPrimitiveOrderedIndexStoreEnabled(Node node, IndexConfig config) {
+        if (config.getAttributes().size() != 1) {
+            return false;
+        }
+        return node == null
+                ? Boolean.parseBoolean(INDEX_PRIMITIVE_ORDERED_STORE_ENABLED.getDefaultValue())
+                : node.getProperties().getBoolean(INDEX_PRIMITIVE_ORDERED_STORE_ENABLED);
+    }
+
     @Override
     public final boolean hasPartitionIndexed(int partitionId) {
         return partitionTracker.isIndexed(partitionId);
@@ -0,0 +1,690 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+
+import javax.annotation.Nonnull;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.LongFunction;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static com.hazelcast.query.impl.SortedLongKeyEntries.NONE;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Ordered index store specialised for attributes holding integral numbers,
+ * floating point numbers, {@link Date}s or timestamps. Values are encoded as
+ * order preserving {@code long}s and kept in a {@link SortedLongKeyEntries},
+ * which avoids boxing the attribute values and allocating a nested map for
+ * every distinct value.
+ * <p>
+ * {@link Timestamp}s, {@link Instant}s, {@link LocalDateTime}s and {@link
+ * OffsetDateTime}s are encoded as nanoseconds since the epoch, local date
+ * times as if they were in UTC. That covers the years 1677 to 2262. Offset
+ * date times are only encoded while all of them have the same offset, since
+ * two of them denoting the same instant with different offsets are distinct
+ * values.
+ * <p>
+ * The kind of the values is decided by the first non-null value inserted.
+ * Once a value of a different kind is inserted (e.g. a string, a composite
+ * value or a double into an index of longs), or a timestamp which can't be
+ * encoded, all the entries are moved to the generic structure of {@link
+ * OrderedIndexStore} which is used from then on, until the store is {@link
+ * #clear() cleared}.
+ */
+@SuppressWarnings({"rawtypes", "checkstyle:methodcount"})
+public class PrimitiveOrderedIndexStore extends OrderedIndexStore {
+
+    private static final int KIND_NONE = 0;
+    private static final int KIND_INTEGRAL = 1;
+    private static final int KIND_FLOATING_POINT = 2;
+    private static final int KIND_DATE = 3;
+    private static final int KIND_TIMESTAMP = 4;
+    private static final int KIND_INSTANT = 5;
+    private static final int KIND_LOCAL_DATE_TIME = 6;
+    private static final int KIND_OFFSET_DATE_TIME = 7;
+
+    private static final long NANOS_PER_SECOND = SECONDS.toNanos(1);
+    private static final long MILLIS_PER_SECOND = SECONDS.toMillis(1);
+    // exclusive bounds of the epoch seconds whose nanoseconds fit into a long
+    private static final long MIN_EPOCH_SECOND = Long.MIN_VALUE / NANOS_PER_SECOND;
+    private static final long MAX_EPOCH_SECOND = Long.MAX_VALUE / NANOS_PER_SECOND;
+
+    private static final int INITIAL_CHUNK_SIZE = 4;
+    private static final int MAX_CHUNK_SIZE = 256;
+
+    private final LongFunction<Comparable> boxing = this::box;
+
+    private volatile SortedLongKeyEntries entries = new SortedLongKeyEntries();
+    private volatile NavigableMap<Data, QueryableEntry> nullEntries = new TreeMap<>(DATA_COMPARATOR);
+    private volatile boolean generic;
+    private volatile int kind = KIND_NONE;
+    private volatile Class<?> boxedType;
+    private volatile ZoneOffset offset;
+
+    public PrimitiveOrderedIndexStore(IndexCopyBehavior copyOn) {
+        super(copyOn);
+    }
+
+    /**
+     * @return {@code true} if the entries were moved to the generic structure
+     * of {@link OrderedIndexStore} because of a value not supported by this
+     * store, {@code false} otherwise.
+     */
+    boolean isGeneric() {
+        return generic;
+    }
+
+    @Override
+    Object insertInternal(Comparable value, QueryableEntry record) {
+        if (generic) {
+            return super.insertInternal(value, record);
+        }
+        if (value == NULL) {
+            return nullEntries.put(record.getKeyData(), record);
+        }
+        if (!accept(value)) {
+            moveToGeneric();
+            return super.insertInternal(value, record);
+        }
+        return entries.put(encode(value), record);
+    }
+
+    @Override
+    Object removeInternal(Comparable value, Data recordKey) {
+        if (generic) {
+            return super.removeInternal(value, recordKey);
+        }
+        if (value == NULL) {
+            return nullEntries.remove(recordKey);
+        }
+        if (!encodable(value)) {
+            return null;
+        }
+        return entries.remove(encode(value), recordKey);
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            super.clear();
+            entries = new SortedLongKeyEntries();
+            nullEntries = new TreeMap<>(DATA_COMPARATOR);
+            kind = KIND_NONE;
+            boxedType = null;
+            offset = null;
+            generic = false;
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(@Nonnull Comparable value, boolean descending) {
+        if (generic) {
+            return super.getSqlRecordIteratorBatch(value, descending);
+        }
+        if (value == NULL) {
+            return nullEntriesIterator(descending);
+        }
+        return new KeyGroupIterator(value, true, value, true, false, descending);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(boolean descending) {
+        if (generic) {
+            return super.getSqlRecordIteratorBatch(descending);
+        }
+        return new KeyGroupIterator(NULL, true, POSITIVE_INFINITY, true, true, descending);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable from,
+            boolean fromInclusive,
+            @Nonnull Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        if (generic) {
+            return super.getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending);
+        }
+        int order = SPECIAL_AWARE_COMPARATOR.compare(from, to);
+        if (order == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return emptyIterator();
+            }
+            return getSqlRecordIteratorBatch(from, descending);
+        } else if (order > 0) {
+            return emptyIterator();
+        }
+        return new KeyGroupIterator(from, fromInclusive, to, toInclusive, from == NULL && fromInclusive, descending);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        takeReadLock();
+        try {
+            if (generic) {
+                return super.getRecords(value);
+            }
+            Map<Data, QueryableEntry> result = new HashMap<>();
+            collectEqual(value, result);
+            return new SingleResultSet(result);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            if (generic) {
+                return super.getRecords(values);
+            }
+            Map<Data, QueryableEntry> result = new HashMap<>();
+            for (Comparable value : values) {
+                collectEqual(value, result);
+            }
+            return new SingleResultSet(result);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        takeReadLock();
+        try {
+            if (generic) {
+                return super.getRecords(from, fromInclusive, to, toInclusive);
+            }
+            int order = SPECIAL_AWARE_COMPARATOR.compare(from, to);
+            if (order == 0) {
+                if (!fromInclusive || !toInclusive) {
+                    return emptySet();
+                }
+                Map<Data, QueryableEntry> result = new HashMap<>();
+                collectEqual(from, result);
+                return new SingleResultSet(result);
+            } else if (order > 0) {
+                return emptySet();
+            }
+
+            Map<Data, QueryableEntry> result = new HashMap<>();
+            if (from == NULL && fromInclusive) {
+                result.putAll(nullEntries);
+            }
+            SortedLongKeyEntries entries0 = entries;
+            long position = from == NULL ? entries0.first() : entries0.ceiling(from, fromInclusive, boxing);
+            long end = to == POSITIVE_INFINITY ? NONE : entries0.ceiling(to, !toInclusive, boxing);
+            collect(entries0, position, end, result);
+            return new SingleResultSet(result);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    private void collectEqual(Comparable value, Map<Data, QueryableEntry> result) {
+        if (value == NULL) {
+            result.putAll(nullEntries);
+            return;
+        }
+        SortedLongKeyEntries entries0 = entries;
+        long position = entries0.ceiling(value, true, boxing);
+        long end = entries0.ceiling(value, false, boxing);
+        collect(entries0, position, end, result);
+    }
+
+    private static void collect(SortedLongKeyEntries entries, long position, long end, Map<Data, QueryableEntry> result) {
+        while (position != NONE && position != end) {
+            QueryableEntry entry = entries.entryAt(position);
+            result.put(entry.getKeyData(), entry);
+            position = entries.next(position);
+        }
+    }
+
+    private Iterator<IndexKeyEntries> nullEntriesIterator(boolean descending) {
+        IndexKeyEntries nullGroup = nullGroup(nullEntries, descending);
+        return nullGroup == null ? emptyIterator() : Collections.singletonList(nullGroup).iterator();
+    }
+
+    private IndexKeyEntries nullGroup(NavigableMap<Data, QueryableEntry> nullEntries, boolean descending) {
+        List<QueryableEntry> copy;
+        takeReadLock();
+        try {
+            if (nullEntries.isEmpty()) {
+                return null;
+            }
+            copy = new ArrayList<>(descending ? nullEntries.descendingMap().values() : nullEntries.values());
+        } finally {
+            releaseReadLock();
+        }
+        return new IndexKeyEntries(NULL, copy.iterator());
+    }
+
+    private void moveToGeneric() {
+        SortedLongKeyEntries entries0 = entries;
+        for (long position = entries0.first(); position != NONE; position = entries0.next(position)) {
+            super.insertInternal(box(entries0.keyAt(position)), entries0.entryAt(position));
+        }
+        for (QueryableEntry entry : nullEntries.values()) {
+            super.insertInternal(NULL, entry);
+        }
+        // in-flight iterators keep reading the detached structures
+        entries = new SortedLongKeyEntries();
+        nullEntries = new TreeMap<>(DATA_COMPARATOR);
+        generic = true;
+    }
+
+    private boolean accept(Comparable value) {
+        int valueKind = kindOf(value);
+        if (valueKind == KIND_NONE) {
+            return false;
+        }
+        if (kind == KIND_NONE) {
+            if (!fitsNanos(value)) {
+                return false;
+            }
+            kind = valueKind;
+            boxedType = value.getClass();
+            if (valueKind == KIND_OFFSET_DATE_TIME) {
+                offset = ((OffsetDateTime) value).getOffset();
+            }
+            return true;
+        }
+        if (!encodable(value)) {
+            return false;
+        }
+        if (rank(value.getClass()) > rank(boxedType)) {
+            boxedType = value.getClass();
+        }
+        return true;
+    }
+
+    /**
+     * @return {@code true} if the value is of the kind of this store and can
+     * be encoded without losing information, {@code false} otherwise.
+     */
+    private boolean encodable(Comparable value) {
+        if (kindOf(value) != kind) {
+            return false;
+        }
+        if (kind == KIND_OFFSET_DATE_TIME && !((OffsetDateTime) value).getOffset().equals(offset)) {
+            return false;
+        }
+        return fitsNanos(value);
+    }
+
+    private long encode(Comparable value) {
+        switch (kind) {
+            case KIND_INTEGRAL:
+                return ((Number) value).longValue();
+            case KIND_FLOATING_POINT:
+                return encodeDouble(((Number) value).doubleValue());
+            case KIND_DATE:
+                return ((Date) value).getTime();
+            case KIND_TIMESTAMP:
+                Timestamp timestamp = (Timestamp) value;
+                return toNanos(Math.floorDiv(timestamp.getTime(), MILLIS_PER_SECOND), timestamp.getNanos());
+            case KIND_INSTANT:
+                Instant instant = (Instant) value;
+                return toNanos(instant.getEpochSecond(), instant.getNano());
+            case KIND_LOCAL_DATE_TIME:
+                LocalDateTime localDateTime = (LocalDateTime) value;
+                return toNanos(localDateTime.toEpochSecond(ZoneOffset.UTC), localDateTime.getNano());
+            case KIND_OFFSET_DATE_TIME:
+                OffsetDateTime offsetDateTime = (OffsetDateTime) value;
+                return toNanos(offsetDateTime.toEpochSecond(), offsetDateTime.getNano());
+            default:
+                throw new IllegalStateException("Unexpected kind: " + kind);
+        }
+    }
+
+    private Comparable box(long key) {
+        Class<?> type = boxedType;
+        if (type == Long.class) {
+            return key;
+        } else if (type == Integer.class) {
+            return (int) key;
+        } else if (type == Short.class) {
+            return (short) key;
+        } else if (type == Byte.class) {
+            return (byte) key;
+        } else if (type == Double.class) {
+            return decodeDouble(key);
+        } else if (type == Float.class) {
+            return (float) decodeDouble(key);
+        } else if (type == Date.class) {
+            return new Date(key);
+        } else {
+            return boxNanos(type, key);
+        }
+    }
+
+    private Comparable boxNanos(Class<?> type, long key) {
+        long epochSecond = Math.floorDiv(key, NANOS_PER_SECOND);
+        int nanos = (int) Math.floorMod(key, NANOS_PER_SECOND);
+        if (type == Timestamp.class) {
+            Timestamp timestamp = new Timestamp(SECONDS.toMillis(epochSecond));
+            timestamp.setNanos(nanos);
+            return timestamp;
+        } else if (type == Instant.class) {
+            return Instant.ofEpochSecond(epochSecond, nanos);
+        } else if (type == LocalDateTime.class) {
+            return LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+        } else {
+            return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nanos), offset);
+        }
+    }
+
+    private static int kindOf(Comparable value) {
+        Class<?> type = value.getClass();
+        if (type == Long.class || type == Integer.class || type == Short.class || type == Byte.class) {
+            return KIND_INTEGRAL;
+        } else if (type == Double.class || type == Float.class) {
+            return KIND_FLOATING_POINT;
+        } else if (type == Date.class) {
+            return KIND_DATE;
+        } else if (type == Timestamp.class) {
+            return KIND_TIMESTAMP;
+        } else if (type == Instant.class) {
+            return KIND_INSTANT;
+        } else if (type == LocalDateTime.class) {
+            return KIND_LOCAL_DATE_TIME;
+        } else if (type == OffsetDateTime.class) {
+            return KIND_OFFSET_DATE_TIME;
+        }
+        return KIND_NONE;
+    }
+
+    /**
+     * @return {@code false} if the value is a timestamp whose nanoseconds
+     * since the epoch don't fit into a {@code long}, {@code true} otherwise.
+     */
+    private static boolean fitsNanos(Comparable value) {
+        long epochSecond;
+        if (value instanceof Timestamp) {
+            epochSecond = Math.floorDiv(((Timestamp) value).getTime(), MILLIS_PER_SECOND);
+        } else if (value instanceof Instant) {
+            epochSecond = ((Instant) value).getEpochSecond();
+        } else if (value instanceof LocalDateTime) {
+            epochSecond = ((LocalDateTime) value).toEpochSecond(ZoneOffset.UTC);
+        } else if (value instanceof OffsetDateTime) {
+            epochSecond = ((OffsetDateTime) value).toEpochSecond();
+        } else {
+            return true;
+        }
+        return epochSecond > MIN_EPOCH_SECOND && epochSecond < MAX_EPOCH_SECOND;
+    }
+
+    private static long toNanos(long epochSecond, int nanos) {
+        return epochSecond * NANOS_PER_SECOND + nanos;
+    }
+
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static int rank(Class<?> type) {
+        if (type == Long.class || type == Double.class) {
+            return 3;
+        } else if (type == Integer.class) {
+            return 2;
+        } else if (type == Short.class) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Encodes the given double into a long ordered the same way as
+     * {@link Double#compare}.
+     */
+    static long encodeDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> (Long.SIZE - 1)) & Long.MAX_VALUE);
+    }
+
+    static double decodeDouble(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> (Long.SIZE - 1)) & Long.MAX_VALUE));
+    }
+
+    /**
+     * Iterates over the distinct keys of the given range. Every step is
+     * resolved under the read lock against the current state of the store,
+     * so the iteration is weakly consistent like the one of the skip list
+     * used by {@link OrderedIndexStore}.
+     */
+    private final class KeyGroupIterator implements Iterator<IndexKeyEntries> {
+
+        private final SortedLongKeyEntries entries;
+        private final NavigableMap<Data, QueryableEntry> nullEntries;
+        private final Comparable from;
+        private final boolean fromInclusive;
+        private final Comparable to;
+        private final boolean toInclusive;
+        private final boolean descending;
+
+        private boolean includeNulls;
+        private boolean started;
+        private boolean exhausted;
+        private long lastKey;
+        private IndexKeyEntries next;
+
+        KeyGroupIterator(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive,
+                         boolean includeNulls, boolean descending) {
+            this.entries = PrimitiveOrderedIndexStore.this.entries;
+            this.nullEntries = PrimitiveOrderedIndexStore.this.nullEntries;
+            this.from = from;
+            this.fromInclusive = fromInclusive;
+            this.to = to;
+            this.toInclusive = toInclusive;
+            this.includeNulls = includeNulls;
+            this.descending = descending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public IndexKeyEntries next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            IndexKeyEntries result = next;
+            next = null;
+            return result;
+        }
+
+        private IndexKeyEntries advance() {
+            if (includeNulls && !descending) {
+                includeNulls = false;
+                IndexKeyEntries nullGroup = nullGroup(nullEntries, false);
+                if (nullGroup != null) {
+                    return nullGroup;
+                }
+            }
+            IndexKeyEntries group = exhausted ? null : nextGroup();
+            if (group == null && includeNulls) {
+                includeNulls = false;
+                return nullGroup(nullEntries, true);
+            }
+            return group;
+        }
+
+        private IndexKeyEntries nextGroup() {
+            long key;
+            takeReadLock();
+            try {
+                long position = descending ? firstDescending() : firstAscending();
+                if (position == NONE) {
+                    exhausted = true;
+                    return null;
+                }
+                key = entries.keyAt(position);
+            } finally {
+                releaseReadLock();
+            }
+
+            Comparable boxedKey = box(key);
+            if (descending ? beforeFrom(boxedKey) : afterTo(boxedKey)) {
+                exhausted = true;
+                return null;
+            }
+            started = true;
+            lastKey = key;
+            return new IndexKeyEntries(boxedKey, new KeyEntriesIterator(entries, key, descending));
+        }
+
+        private long firstAscending() {
+            if (started) {
+                return entries.ceiling(lastKey, false);
+            }
+            return from == NULL ? entries.first() : entries.ceiling(from, fromInclusive, boxing);
+        }
+
+        private long firstDescending() {
+            if (started) {
+                return entries.floor(lastKey, false);
+            }
+            return to == POSITIVE_INFINITY ? entries.last() : entries.floor(to, toInclusive, boxing);
+        }
+
+        private boolean afterTo(Comparable boxedKey) {
+            if (to == POSITIVE_INFINITY) {
+                return false;
+            }
+            int order = SPECIAL_AWARE_COMPARATOR.compare(boxedKey, to);
+            return order > 0 || order == 0 && !toInclusive;
+        }
+
+        private boolean beforeFrom(Comparable boxedKey) {
+            if (from == NULL) {
+                return false;
+            }
+            int order = SPECIAL_AWARE_COMPARATOR.compare(boxedKey, from);
+            return order < 0 || order == 0 && !fromInclusive;
+        }
+    }
+
+    /**
+     * Iterates over the entries of a single key, fetching them in chunks
+     * under the read lock.
+     */
+    private final class KeyEntriesIterator implements Iterator<QueryableEntry> {
+
+        private final SortedLongKeyEntries entries;
+        private final long key;
+        private final boolean descending;
+
+        private QueryableEntry[] chunk = new QueryableEntry[INITIAL_CHUNK_SIZE];
+        private int chunkSize;
+        private int chunkIndex;
+        private boolean exhausted;
+        private Data lastKeyData;
+
+        KeyEntriesIterator(SortedLongKeyEntries entries, long key, boolean descending) {
+            this.entries = entries;
+            this.key = key;
+            this.descending = descending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (chunkIndex < chunkSize) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            fetch();
+            return chunkSize > 0;
+        }
+
+        @Override
+        public QueryableEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return chunk[chunkIndex++];
+        }
+
+        private void fetch() {
+            if (chunkSize == chunk.length && chunk.length < MAX_CHUNK_SIZE) {
+                chunk = new QueryableEntry[chunk.length << 1];
+            }
+            int count = 0;
+            takeReadLock();
+            try {
+                long position = start();
+                while (position != NONE && count < chunk.length && entries.keyAt(position) == key) {
+                    chunk[count++] = entries.entryAt(position);
+                    position = descending ? entries.previous(position) : entries.next(position);
+                }
+            } finally {
+                releaseReadLock();
+            }
+            chunkSize = count;
+            chunkIndex = 0;
+            if (count < chunk.length) {
+                exhausted = true;
+            }
+            if (count > 0) {
+                lastKeyData = chunk[count - 1].getKeyData();
+            }
+        }
+
+        private long start() {
+            if (lastKeyData == null) {
+                return descending ? entries.floor(key, true) : entries.ceiling(key, true);
+            }
+            long position = entries.lowerBound(key, lastKeyData);
+            if (descending) {
+                return entries.previous(position);
+            }
+            if (position != NONE && entries.keyAt(position) == key
+                    && DATA_COMPARATOR.compare(entries.entryAt(position).getKeyData(), lastKeyData) == 0) {
+                return entries.next(position);
+            }
+            return position;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+import static com.hazelcast.query.impl.OrderedIndexStore.DATA_COMPARATOR;
+import static com.hazelcast.query.impl.OrderedIndexStore.SPECIAL_AWARE_COMPARATOR;
+
+/**
+ * Sorted collection of index entries keyed by a raw {@code long}, ordered by
+ * the key first and by the {@link OrderedIndexStore#DATA_COMPARATOR order} of
+ * the entry key data second.
+ * <p>
+ * Entries are kept in a sorted list of leaves, every leaf holding the keys in
+ * a primitive array next to the entries, so an indexed entry costs a
+ * {@code long} and a reference instead of a skip list node plus a nested map
+ * per distinct attribute value.
+ * <p>
+ * Positions returned by the lookup methods encode the leaf index in the upper
+ * and the index within the leaf in the lower 32 bits, or {@link #NONE}. They
+ * are only valid until the next mutation.
+ * <p>
+ * Not thread-safe, access must be guarded by the owning index store.
+ */
+@SuppressWarnings("rawtypes")
+final class SortedLongKeyEntries {
+
+    static final long NONE = -1;
+
+    static final int LEAF_CAPACITY = 512;
+
+    private static final int INITIAL_LEAF_COUNT = 4;
+    private static final int INITIAL_LEAF_CAPACITY = 8;
+    private static final int SHIFT = 32;
+    private static final long MASK = 0xFFFFFFFFL;
+
+    private Leaf[] leaves = new Leaf[INITIAL_LEAF_COUNT];
+    private int leafCount;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Associates the given entry with the given key, replacing an entry
+     * having the same key data.
+     *
+     * @return the replaced entry or {@code null} if there was none.
+     */
+    QueryableEntry put(long key, QueryableEntry entry) {
+        Data keyData = entry.getKeyData();
+        if (leafCount == 0) {
+            Leaf leaf = new Leaf(INITIAL_LEAF_CAPACITY);
+            leaf.insert(0, key, entry);
+            insertLeaf(0, leaf);
+            size++;
+            return null;
+        }
+
+        int leafIndex = Math.max(0, lastLeafStartingAtOrBefore(key, keyData));
+        Leaf leaf = leaves[leafIndex];
+        int index = leaf.lowerBound(key, keyData);
+        if (index < leaf.size && leaf.keys[index] == key
+                && DATA_COMPARATOR.compare(leaf.entries[index].getKeyData(), keyData) == 0) {
+            QueryableEntry old = leaf.entries[index];
+            leaf.entries[index] = entry;
+            return old;
+        }
+
+        if (leaf.size == LEAF_CAPACITY) {
+            Leaf right = leaf.split();
+            insertLeaf(leafIndex + 1, right);
+            if (index > leaf.size) {
+                index -= leaf.size;
+                leaf = right;
+            }
+        }
+        leaf.insert(index, key, entry);
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the entry associated with the given key and key data.
+     *
+     * @return the removed entry or {@code null} if there was none.
+     */
+    QueryableEntry remove(long key, Data keyData) {
+        long position = find(key, keyData);
+        if (position == NONE) {
+            return null;
+        }
+        int leafIndex = leafIndex(position);
+        Leaf leaf = leaves[leafIndex];
+        QueryableEntry old = leaf.remove(index(position));
+        if (leaf.size == 0) {
+            removeLeaf(leafIndex);
+        }
+        size--;
+        return old;
+    }
+
+    void clear() {
+        leaves = new Leaf[INITIAL_LEAF_COUNT];
+        leafCount = 0;
+        size = 0;
+    }
+
+    long keyAt(long position) {
+        return leaves[leafIndex(position)].keys[index(position)];
+    }
+
+    QueryableEntry entryAt(long position) {
+        return leaves[leafIndex(position)].entries[index(position)];
+    }
+
+    long first() {
+        return leafCount == 0 ? NONE : 0;
+    }
+
+    long last() {
+        return leafCount == 0 ? NONE : position(leafCount - 1, leaves[leafCount - 1].size - 1);
+    }
+
+    long next(long position) {
+        int leafIndex = leafIndex(position);
+        int index = index(position) + 1;
+        if (index < leaves[leafIndex].size) {
+            return position(leafIndex, index);
+        }
+        return leafIndex + 1 < leafCount ? position(leafIndex + 1, 0) : NONE;
+    }
+
+    long previous(long position) {
+        if (position == NONE) {
+            return last();
+        }
+        int leafIndex = leafIndex(position);
+        int index = index(position);
+        if (index > 0) {
+            return position(leafIndex, index - 1);
+        }
+        return leafIndex > 0 ? position(leafIndex - 1, leaves[leafIndex - 1].size - 1) : NONE;
+    }
+
+    /**
+     * @return the position of the entry with the given key and key data, or
+     * {@link #NONE} if there is no such entry.
+     */
+    long find(long key, Data keyData) {
+        long position = lowerBound(key, keyData);
+        if (position != NONE && keyAt(position) == key
+                && DATA_COMPARATOR.compare(entryAt(position).getKeyData(), keyData) == 0) {
+            return position;
+        }
+        return NONE;
+    }
+
+    /**
+     * @return the position of the first entry which is not less than the
+     * given key and key data, or {@link #NONE}. A {@code null} key data is
+     * less than any other key data.
+     */
+    long lowerBound(long key, Data keyData) {
+        int leafIndex = lastLeafStartingAtOrBefore(key, keyData);
+        if (leafIndex < 0) {
+            return first();
+        }
+        Leaf leaf = leaves[leafIndex];
+        int index = leaf.lowerBound(key, keyData);
+        if (index < leaf.size) {
+            return position(leafIndex, index);
+        }
+        return leafIndex + 1 < leafCount ? position(leafIndex + 1, 0) : NONE;
+    }
+
+    /**
+     * @return the position of the first entry with a key greater than (or
+     * equal to, if inclusive) the given key, or {@link #NONE}.
+     */
+    long ceiling(long key, boolean inclusive) {
+        if (inclusive) {
+            return lowerBound(key, null);
+        }
+        return key == Long.MAX_VALUE ? NONE : lowerBound(key + 1, null);
+    }
+
+    /**
+     * @return the position of the last entry with a key less than (or equal
+     * to, if inclusive) the given key, or {@link #NONE}.
+     */
+    long floor(long key, boolean inclusive) {
+        if (!inclusive) {
+            return previous(lowerBound(key, null));
+        }
+        return key == Long.MAX_VALUE ? last() : previous(lowerBound(key + 1, null));
+    }
+
+    /**
+     * Finds the first entry whose boxed key is greater than (or equal to, if
+     * inclusive) the given value. The boxing function must preserve the
+     * order of the keys when compared with the given value.
+     */
+    long ceiling(Comparable value, boolean inclusive, LongFunction<Comparable> boxing) {
+        int threshold = inclusive ? 0 : 1;
+        // the first leaf which ends with a key passing the bound
+        int low = 0;
+        int high = leafCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Leaf leaf = leaves[mid];
+            if (compare(boxing, leaf.keys[leaf.size - 1], value) >= threshold) {
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        if (low == leafCount) {
+            return NONE;
+        }
+        Leaf leaf = leaves[low];
+        int lowIndex = 0;
+        int highIndex = leaf.size - 1;
+        while (lowIndex <= highIndex) {
+            int mid = (lowIndex + highIndex) >>> 1;
+            if (compare(boxing, leaf.keys[mid], value) >= threshold) {
+                highIndex = mid - 1;
+            } else {
+                lowIndex = mid + 1;
+            }
+        }
+        return position(low, lowIndex);
+    }
+
+    /**
+     * Finds the last entry whose boxed key is less than (or equal to, if
+     * inclusive) the given value. The boxing function must preserve the
+     * order of the keys when compared with the given value.
+     */
+    long floor(Comparable value, boolean inclusive, LongFunction<Comparable> boxing) {
+        return previous(ceiling(value, !inclusive, boxing));
+    }
+
+    private static int compare(LongFunction<Comparable> boxing, long key, Comparable value) {
+        return SPECIAL_AWARE_COMPARATOR.compare(boxing.apply(key), value);
+    }
+
+    private int lastLeafStartingAtOrBefore(long key, Data keyData) {
+        int low = 0;
+        int high = leafCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Leaf leaf = leaves[mid];
+            if (compare(leaf.keys[0], leaf.entries[0].getKeyData(), key, keyData) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private void insertLeaf(int leafIndex, Leaf leaf) {
+        if (leafCount == leaves.length) {
+            leaves = Arrays.copyOf(leaves, leaves.length << 1);
+        }
+        System.arraycopy(leaves, leafIndex, leaves, leafIndex + 1, leafCount - leafIndex);
+        leaves[leafIndex] = leaf;
+        leafCount++;
+    }
+
+    private void removeLeaf(int leafIndex) {
+        System.arraycopy(leaves, leafIndex + 1, leaves, leafIndex, leafCount - leafIndex - 1);
+        leaves[--leafCount] = null;
+    }
+
+    static int compare(long key1, Data keyData1, long key2, Data keyData2) {
+        int order = Long.compare(key1, key2);
+        if (order != 0) {
+            return order;
+        }
+        if (keyData2 == null) {
+            return keyData1 == null ? 0 : 1;
+        }
+        return DATA_COMPARATOR.compare(keyData1, keyData2);
+    }
+
+    private static long position(int leafIndex, int index) {
+        return ((long) leafIndex << SHIFT) | index;
+    }
+
+    private static int leafIndex(long position) {
+        return (int) (position >>> SHIFT);
+    }
+
+    private static int index(long position) {
+        return (int) (position & MASK);
+    }
+
+    private static final class Leaf {
+
+        private long[] keys;
+        private QueryableEntry[] entries;
+        private int size;
+
+        Leaf(int capacity) {
+            keys = new long[capacity];
+            entries = new QueryableEntry[capacity];
+        }
+
+        int lowerBound(long key, Data keyData) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (compare(keys[mid], entries[mid].getKeyData(), key, keyData) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        void insert(int index, long key, QueryableEntry entry) {
+            if (size == keys.length) {
+                int capacity = Math.min(keys.length << 1, LEAF_CAPACITY);
+                keys = Arrays.copyOf(keys, capacity);
+                entries = Arrays.copyOf(entries, capacity);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(entries, index, entries, index + 1, size - index);
+            keys[index] = key;
+            entries[index] = entry;
+            size++;
+        }
+
+        QueryableEntry remove(int index) {
+            QueryableEntry old = entries[index];
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(entries, index + 1, entries, index, size - index - 1);
+            entries[--size] = null;
+            return old;
+        }
+
+        /**
+         * Moves the upper half of this leaf into a new leaf.
+         */
+        Leaf split() {
+            int half = size >>> 1;
+            Leaf right = new Leaf(LEAF_CAPACITY);
+            int moved = size - half;
+            System.arraycopy(keys, half, right.keys, 0, moved);
+            System.arraycopy(entries, half, right.entries, 0, moved);
+            Arrays.fill(entries, half, size, null);
+            right.size = moved;
+            size = half;
+            return right;
+        }
+    }
+}
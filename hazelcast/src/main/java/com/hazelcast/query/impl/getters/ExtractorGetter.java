@@ -21,6 +21,8 @@ import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.GenericRecordQueryReader;
 import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
+import com.hazelcast.internal.serialization.impl.compact.CompactInternalGenericRecord;
+import com.hazelcast.internal.serialization.impl.portable.PortableInternalGenericRecord;
 import com.hazelcast.query.extractor.ValueExtractor;
 import com.hazelcast.query.impl.DefaultValueCollector;
 
@@ -46,6 +48,9 @@ final class ExtractorGetter extends Getter {
         if (target instanceof Data) {
             InternalGenericRecord record = serializationService.readAsInternalGenericRecord((Data) target);
             extractionTarget = new GenericRecordQueryReader(record);
+        } else if (target instanceof CompactInternalGenericRecord || target instanceof PortableInternalGenericRecord) {
+            // a record reading the serialized form, as done above
+            extractionTarget = new GenericRecordQueryReader((InternalGenericRecord) target);
         } else {
             extractionTarget = target;
         }
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.exception;
+
+/**
+ * A {@link RetryableHazelcastException} that indicates an operation was
+ * rejected by the member executing it because the operation waited in the
+ * queue of its partition thread longer than the member tolerates while it
+ * is overloaded.
+ * <p>
+ * The operation has not been executed, so it is safe to retry it. The
+ * invocation retries it with its usual backoff, which grows with the
+ * number of attempts, until the invocation try count is exhausted.
+ *
+ * @since 5.4
+ */
+public class MemberOverloadedException extends RetryableHazelcastException {
+
+    private static final long serialVersionUID = 1L;
+
+    public MemberOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -62,6 +62,7 @@ import java.util.logging.Level;
 
 import static com.hazelcast.instance.EndpointQualifier.MEMBER;
 import static com.hazelcast.internal.cluster.Versions.V5_3;
+import static com.hazelcast.internal.cluster.Versions.V5_4;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EVENT_DISCRIMINATOR_SERVICE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EVENT_METRIC_EVENT_SERVICE_EVENTS_PROCESSED;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EVENT_METRIC_EVENT_SERVICE_EVENT_QUEUE_SIZE;
@@ -77,9 +78,12 @@ import static com.hazelcast.internal.util.EmptyStatement.ignore;
 import static com.hazelcast.internal.util.FutureUtil.getValue;
 import static com.hazelcast.internal.util.InvocationUtil.invokeOnStableClusterSerial;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
 import static com.hazelcast.internal.util.ThreadUtil.createThreadName;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.spi.impl.InternalCompletableFuture.newCompletedFuture;
+import static com.hazelcast.spi.properties.ClusterProperty.EVENT_BATCHING_MAX_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.EVENT_BATCHING_WINDOW_MICROS;
 import static com.hazelcast.spi.properties.ClusterProperty.EVENT_QUEUE_CAPACITY;
 import static com.hazelcast.spi.properties.ClusterProperty.EVENT_QUEUE_TIMEOUT_MILLIS;
 import static com.hazelcast.spi.properties.ClusterProperty.EVENT_SYNC_TIMEOUT_MILLIS;
@@ -182,6 +186,8 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
     private final int eventSyncFrequency;
 
     private final ConcurrentMap<UUID, Object> listenerCache = new ConcurrentHashMap<>();
+    /** Batches the asynchronous remote events, {@code null} if batching is disabled */
+    private final RemoteEventBatcher remoteEventBatcher;
 
     public EventServiceImpl(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
@@ -193,6 +199,7 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
         this.eventQueueTimeoutMs = hazelcastProperties.getMillis(EVENT_QUEUE_TIMEOUT_MILLIS);
         this.sendEventSyncTimeoutMillis = hazelcastProperties.getInteger(EVENT_SYNC_TIMEOUT_MILLIS);
         this.eventSyncFrequency = loadEventSyncFrequency();
+        this.remoteEventBatcher = createRemoteEventBatcher(hazelcastProperties);
 
         this.eventExecutor = new StripedExecutor(
                 nodeEngine.getNode().getLogger(EventServiceImpl.class),
@@ -203,6 +210,16 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
     }
 
 
+    private RemoteEventBatcher createRemoteEventBatcher(HazelcastProperties properties) {
+        long windowNanos = properties.getNanos(EVENT_BATCHING_WINDOW_MICROS);
+        if (windowNanos <= 0) {
+            return null;
+        }
+        int maxBatchSize = checkPositive(EVENT_BATCHING_MAX_SIZE.getName(), properties.getInteger(EVENT_BATCHING_MAX_SIZE));
+        return new RemoteEventBatcher(this, nodeEngine.getExecutionService().getGlobalTaskScheduler(),
+                windowNanos, maxBatchSize);
+    }
+
     private static int loadEventSyncFrequency() {
         try {
             int eventSyncFrequency = Integer.parseInt(System.getProperty(EVENT_SYNC_FREQUENCY_PROP));
@@ -624,7 +641,9 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
      * A synchronous event means that we send the event as an {@link SendEventOperation} and in case of failure
      * we increase the failure count and log the failure (see {@link EventProcessor})
      * Otherwise, we send an asynchronous event. This means that we don't wait to see if the processing failed with an
-     * exception (see {@link RemoteEventProcessor})
+     * exception (see {@link RemoteEventProcessor}). If event batching is enabled and the cluster
+     * version is at least 5.4, the asynchronous event is added to the batch of the subscriber
+     * (see {@link RemoteEventBatcher}).
      */
     private void sendEvent(Address subscriber, EventEnvelope eventEnvelope, int orderKey) {
         String serviceName = eventEnvelope.getServiceName();
@@ -632,6 +651,10 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
         boolean sync = segment.incrementPublish() % eventSyncFrequency == 0;
 
         if (sync) {
+            if (remoteEventBatcher != null) {
+                // the batched events must not be overtaken
+                remoteEventBatcher.flush(subscriber);
+            }
             SendEventOperation op = new SendEventOperation(eventEnvelope, orderKey);
             Future f = nodeEngine.getOperationService()
                     .createInvocationBuilder(serviceName, op, subscriber)
@@ -644,15 +667,26 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
                     logger.finest("Sync event delivery failed. Event: " + eventEnvelope, e);
                 }
             }
+        } else if (remoteEventBatcher != null
+                && nodeEngine.getClusterService().getClusterVersion().isGreaterOrEqual(V5_4)) {
+            // members before 5.4 do not understand batch packets
+            remoteEventBatcher.add(subscriber, serializationService.toBytes(eventEnvelope), orderKey);
         } else {
             Packet packet = new Packet(serializationService.toBytes(eventEnvelope), orderKey)
                     .setPacketType(Packet.Type.EVENT);
+            transmit(packet, subscriber);
+        }
+    }
 
-            ServerConnectionManager cm = nodeEngine.getNode().getServer().getConnectionManager(MEMBER);
-            if (!cm.transmit(packet, subscriber)) {
-                if (nodeEngine.isRunning()) {
-                    logFailure("Failed to send event packet to: %s, connection might not be alive.", subscriber);
-                }
+    /**
+     * Transmits the event packet to the subscriber and logs the failure if
+     * the packet could not be sent.
+     */
+    void transmit(Packet packet, Address subscriber) {
+        ServerConnectionManager cm = nodeEngine.getNode().getServer().getConnectionManager(MEMBER);
+        if (!cm.transmit(packet, subscriber)) {
+            if (nodeEngine.isRunning()) {
+                logFailure("Failed to send event packet to: %s, connection might not be alive.", subscriber);
             }
         }
     }
@@ -719,14 +753,28 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
      * Handles an asynchronous remote event with a {@link RemoteEventProcessor}. The
      * processor may determine the thread which will handle the event. If the execution is rejected,
      * the rejection count is increased and a failure is logged. The event processing is not retried.
+     * The events of a batch packet are handled by one {@link RemoteEventBatchProcessor} per stripe of
+     * the event executor, a rejection drops all the events of the rejected processor.
      *
      * @param packet the response packet to handle
      * @see #sendEvent(Address, EventEnvelope, int)
      */
     @Override
     public void accept(Packet packet) {
+        if (packet.isFlagRaised(Packet.FLAG_EVENT_BATCH)) {
+            for (RemoteEventBatchProcessor processor : RemoteEventBatcher.toProcessors(this, packet, eventExecutor)) {
+                if (processor != null) {
+                    executeRemoteEvent(processor, packet);
+                }
+            }
+            return;
+        }
+        executeRemoteEvent(new RemoteEventProcessor(this, packet), packet);
+    }
+
+    private void executeRemoteEvent(EventProcessor processor, Packet packet) {
         try {
-            eventExecutor.execute(new RemoteEventProcessor(this, packet));
+            eventExecutor.execute(processor);
         } catch (RejectedExecutionException e) {
             rejectedCount.inc();
 
@@ -768,6 +816,9 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
     }
 
     public void shutdown() {
+        if (remoteEventBatcher != null) {
+            remoteEventBatcher.flushAll();
+        }
         logger.finest("Stopping event executor...");
         eventExecutor.shutdown();
         for (EventServiceSegment segment : segments.values()) {
@@ -778,6 +829,9 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
 
     public void onMemberLeft(MemberImpl member) {
         Address address = member.getAddress();
+        if (remoteEventBatcher != null) {
+            remoteEventBatcher.onMemberLeft(address);
+        }
         for (EventServiceSegment segment : segments.values()) {
             segment.onMemberLeft(address);
         }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.replicatedmap.ReplicatedMapCantBeCreatedOnLiteMemberException;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+
+/**
+ * Processes the events of a batch packet which fall into the same stripe of
+ * the event executor, in the order they were sent. The events are
+ * deserialized straight from the payload of the batch packet, see
+ * {@link RemoteEventBatcher}.
+ * <p>
+ * Like the {@link RemoteEventProcessor}, it logs and swallows any exception
+ * while processing an event and continues with the next event.
+ */
+public class RemoteEventBatchProcessor extends EventProcessor {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final EventServiceImpl eventService;
+    private final byte[] payload;
+    private int[] eventOffsets = new int[INITIAL_CAPACITY];
+    private int eventCount;
+
+    /**
+     * @param payload  the payload of the batch packet
+     * @param orderKey the order key of any event of the batch in the stripe
+     */
+    RemoteEventBatchProcessor(EventServiceImpl eventService, byte[] payload, int orderKey) {
+        super(eventService, null, orderKey);
+        this.eventService = eventService;
+        this.payload = payload;
+    }
+
+    /**
+     * Adds the serialized {@link EventEnvelope} starting at the given offset
+     * of the payload.
+     */
+    void add(int eventOffset) {
+        if (eventCount == eventOffsets.length) {
+            eventOffsets = Arrays.copyOf(eventOffsets, eventCount << 1);
+        }
+        eventOffsets[eventCount++] = eventOffset;
+    }
+
+    int eventCount() {
+        return eventCount;
+    }
+
+    @Override
+    public void run() {
+        InternalSerializationService serializationService =
+                (InternalSerializationService) eventService.nodeEngine.getSerializationService();
+        for (int i = 0; i < eventCount; i++) {
+            try {
+                process(readEvent(serializationService, eventOffsets[i]));
+            } catch (ReplicatedMapCantBeCreatedOnLiteMemberException e) {
+                // see RemoteEventProcessor
+                ignore(e);
+            } catch (Exception e) {
+                eventService.logger.warning("Error while processing event", e);
+            }
+        }
+    }
+
+    private EventEnvelope readEvent(InternalSerializationService serializationService, int eventOffset) {
+        // the event is in the format of a Data, skip its partition hash; the
+        // input wraps the payload and holds no resources, so it is not closed
+        BufferObjectDataInput in = serializationService.createObjectDataInput(payload, eventOffset + HeapData.TYPE_OFFSET);
+        return serializationService.readObject(in, true);
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteEventBatchProcessor{eventCount=" + eventCount + '}';
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.util.ConstructorFunction;
+import com.hazelcast.internal.util.executor.StripedExecutor;
+import com.hazelcast.spi.impl.executionservice.TaskScheduler;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.readIntB;
+import static com.hazelcast.internal.nio.Bits.writeIntB;
+import static com.hazelcast.internal.util.ConcurrencyUtil.getOrPutIfAbsent;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Accumulates the asynchronous events published to remote subscribers and
+ * sends the events of a subscriber as a single {@link Packet.Type#EVENT}
+ * packet with the {@link Packet#FLAG_EVENT_BATCH} flag raised.
+ * <p>
+ * The first event added for a subscriber opens a batch which is sent once
+ * the batching window elapses or the batch reaches its maximum size,
+ * whichever comes first. The payload of a batch packet is a sequence of
+ * events:
+ * <pre>
+ * int      order key of the event
+ * int      length of the event
+ * byte[]   the serialized {@link EventEnvelope}
+ * </pre>
+ * The receiver groups the events of a batch by the stripe of the event
+ * executor their order key maps to and submits one
+ * {@link RemoteEventBatchProcessor} per stripe (see
+ * {@link #toProcessors(EventServiceImpl, Packet, StripedExecutor)}). Each
+ * processor handles its events in the order they were sent, so the events
+ * with the same order key are processed in order, as if they were sent one
+ * by one. The events are not copied out of the batch payload.
+ * <p>
+ * Only the events sent to other members are batched. The events sent to
+ * the listeners of clients keep being sent as one client message per event.
+ */
+public final class RemoteEventBatcher {
+
+    private static final int EVENT_HEADER_LENGTH = 2 * INT_SIZE_IN_BYTES;
+    private static final int INITIAL_BUFFER_SIZE = 1 << 10;
+
+    private final EventServiceImpl eventService;
+    private final TaskScheduler scheduler;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ConcurrentMap<Address, SubscriberQueue> queues = new ConcurrentHashMap<>();
+    private final ConstructorFunction<Address, SubscriberQueue> queueConstructor = SubscriberQueue::new;
+
+    RemoteEventBatcher(EventServiceImpl eventService, TaskScheduler scheduler, long windowNanos, int maxBatchSize) {
+        this.eventService = eventService;
+        this.scheduler = scheduler;
+        this.windowNanos = windowNanos;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Adds the serialized event to the batch of the subscriber.
+     */
+    void add(Address subscriber, byte[] eventEnvelope, int orderKey) {
+        SubscriberQueue queue = getOrPutIfAbsent(queues, subscriber, queueConstructor);
+        Batch opened = null;
+        // the batches are sent while holding the lock, so the batches of
+        // a subscriber are sent in the order they were opened
+        synchronized (queue) {
+            Batch batch = queue.batch;
+            if (batch == null) {
+                batch = new Batch();
+                queue.batch = batch;
+                opened = batch;
+            }
+            batch.add(eventEnvelope, orderKey);
+            if (batch.count >= maxBatchSize) {
+                queue.batch = null;
+                opened = null;
+                send(queue.subscriber, batch);
+            }
+        }
+
+        if (opened != null) {
+            scheduleFlush(queue, opened);
+        }
+    }
+
+    /**
+     * Sends the open batch of the subscriber, if there is any. Used before
+     * an event is sent to the subscriber by other means, so it doesn't
+     * overtake the batched events.
+     */
+    void flush(Address subscriber) {
+        SubscriberQueue queue = queues.get(subscriber);
+        if (queue != null) {
+            flush(queue, null);
+        }
+    }
+
+    /**
+     * Sends the open batches of all subscribers.
+     */
+    void flushAll() {
+        for (SubscriberQueue queue : queues.values()) {
+            flush(queue, null);
+        }
+    }
+
+    /**
+     * Drops the open batch of a subscriber which left the cluster.
+     */
+    void onMemberLeft(Address subscriber) {
+        queues.remove(subscriber);
+    }
+
+    private void scheduleFlush(SubscriberQueue queue, Batch batch) {
+        try {
+            scheduler.schedule(() -> flush(queue, batch), windowNanos, NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // the member is shutting down, send what we have
+            flush(queue, batch);
+        }
+    }
+
+    /**
+     * Sends the open batch of the queue.
+     *
+     * @param expected the batch expected to be open or {@code null} to send
+     *                 any open batch
+     */
+    private void flush(SubscriberQueue queue, Batch expected) {
+        synchronized (queue) {
+            Batch batch = queue.batch;
+            if (batch == null || (expected != null && batch != expected)) {
+                return;
+            }
+            queue.batch = null;
+            send(queue.subscriber, batch);
+        }
+    }
+
+    private void send(Address subscriber, Batch batch) {
+        Packet packet = new Packet(batch.payload(), batch.firstOrderKey)
+                .setPacketType(Packet.Type.EVENT)
+                .raiseFlags(Packet.FLAG_EVENT_BATCH);
+        eventService.transmit(packet, subscriber);
+    }
+
+    /**
+     * Groups the events of a batch packet by the stripe of the executor
+     * which processes them.
+     *
+     * @param batch    the received batch packet
+     * @param executor the executor which processes the events
+     * @return the processors indexed by stripe, {@code null} for the stripes
+     * without events
+     */
+    static RemoteEventBatchProcessor[] toProcessors(EventServiceImpl eventService, Packet batch,
+                                                    StripedExecutor executor) {
+        byte[] payload = batch.toByteArray();
+        RemoteEventBatchProcessor[] processors = new RemoteEventBatchProcessor[executor.getStripeCount()];
+        int position = 0;
+        while (position < payload.length) {
+            int orderKey = readIntB(payload, position);
+            int length = readIntB(payload, position + INT_SIZE_IN_BYTES);
+            position += EVENT_HEADER_LENGTH;
+            int stripe = executor.getStripe(orderKey);
+            RemoteEventBatchProcessor processor = processors[stripe];
+            if (processor == null) {
+                processor = new RemoteEventBatchProcessor(eventService, payload, orderKey);
+                processors[stripe] = processor;
+            }
+            processor.add(position);
+            position += length;
+        }
+        return processors;
+    }
+
+    private static final class SubscriberQueue {
+
+        private final Address subscriber;
+        // guarded by this
+        private Batch batch;
+
+        SubscriberQueue(Address subscriber) {
+            this.subscriber = subscriber;
+        }
+    }
+
+    private static final class Batch {
+
+        private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+        private int position;
+        private int count;
+        private int firstOrderKey;
+
+        void add(byte[] eventEnvelope, int orderKey) {
+            int required = position + EVENT_HEADER_LENGTH + eventEnvelope.length;
+            if (required > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length << 1));
+            }
+            writeIntB(buffer, position, orderKey);
+            writeIntB(buffer, position + INT_SIZE_IN_BYTES, eventEnvelope.length);
+            System.arraycopy(eventEnvelope, 0, buffer, position + EVENT_HEADER_LENGTH, eventEnvelope.length);
+            position = required;
+            if (count++ == 0) {
+                firstOrderKey = orderKey;
+            }
+        }
+
+        byte[] payload() {
+            return buffer.length == position ? buffer : Arrays.copyOf(buffer, position);
+        }
+    }
+}
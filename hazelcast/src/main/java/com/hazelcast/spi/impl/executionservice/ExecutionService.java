@@ -111,6 +111,14 @@ public interface ExecutionService {
      */
     String MAP_LOAD_ALL_KEYS_EXECUTOR = "hz:map-loadAllKeys";
 
+    /**
+     * Name of the executor flushing the write-behind queues of a map in
+     * parallel.
+     *
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_WRITE_BEHIND_PARALLELISM
+     */
+    String MAP_WRITE_BEHIND_EXECUTOR = "hz:map-write-behind";
+
     /**
      * Name of the Management Center executor. Used to execute blocking tasks
      * related with operations run by Management Center.
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
+import com.hazelcast.internal.util.concurrent.MPSCArrayQueue;
+import com.hazelcast.internal.util.counters.SwCounter;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_QUEUE_WAIT_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_QUEUE_WAIT_TIME;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static java.util.concurrent.locks.LockSupport.park;
+import static java.util.concurrent.locks.LockSupport.unpark;
+
+/**
+ * An {@link OperationQueue} for a single consumer, backed by a normal and a
+ * priority {@link MPSCArrayQueue} lane; so adding a task doesn't allocate.
+ * <p>
+ * When both lanes are empty, the consumer idles using the configured
+ * {@link IdleStrategy}. If there is no idle strategy, the consumer parks and
+ * is unparked by the producer adding the next task. Contrary to the
+ * {@link OperationQueueImpl}, a priority task doesn't need a trigger task in
+ * the normal lane to wake up the consumer.
+ * <p>
+ * Since there can only be a single consumer, this queue can't be used by the
+ * {@link GenericOperationThread}s.
+ */
+public final class ArrayOperationQueue implements OperationQueue {
+
+    static final int PRIORITY_CHUNK_SIZE = 64;
+
+    private static final AtomicIntegerFieldUpdater<ArrayOperationQueue> CONSUMER_WAITING
+            = AtomicIntegerFieldUpdater.newUpdater(ArrayOperationQueue.class, "consumerWaiting");
+
+    private final MPSCArrayQueue<Object> normalQueue = new MPSCArrayQueue<>();
+    private final MPSCArrayQueue<Object> priorityQueue = new MPSCArrayQueue<>(PRIORITY_CHUNK_SIZE);
+    private final IdleStrategy idleStrategy;
+
+    @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_QUEUE_WAIT_COUNT)
+    private final SwCounter waitCount = newSwCounter();
+    @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_QUEUE_WAIT_TIME, unit = NS)
+    private final SwCounter waitTimeNanos = newSwCounter();
+
+    private Thread consumerThread;
+    private volatile int consumerWaiting;
+
+    /**
+     * Creates a new {@link ArrayOperationQueue}.
+     *
+     * @param idleStrategy the idleStrategy. If null, the consumer will block.
+     */
+    public ArrayOperationQueue(IdleStrategy idleStrategy) {
+        this.idleStrategy = idleStrategy;
+    }
+
+    /**
+     * Sets the consumer thread.
+     *
+     * The consumer thread is needed for blocking, so that a producer knows
+     * which thread to wake up. This method should be called before the queue
+     * is safely published.
+     *
+     * @param consumerThread the consumer thread.
+     * @throws NullPointerException when consumerThread null.
+     */
+    public void setConsumerThread(Thread consumerThread) {
+        this.consumerThread = checkNotNull(consumerThread, "consumerThread can't be null");
+    }
+
+    @Override
+    public void add(Object task, boolean priority) {
+        checkNotNull(task, "task can't be null");
+
+        if (priority) {
+            priorityQueue.offer(task);
+        } else {
+            normalQueue.offer(task);
+        }
+
+        if (consumerWaiting == 1 && CONSUMER_WAITING.compareAndSet(this, 1, 0)) {
+            unpark(consumerThread);
+        }
+    }
+
+    @Override
+    public Object take(boolean priorityOnly) throws InterruptedException {
+        Object item = poll(priorityOnly);
+        if (item != null) {
+            return item;
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            for (long iteration = 0; ; iteration++) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+
+                item = poll(priorityOnly);
+                if (item != null) {
+                    return item;
+                }
+
+                if (idleStrategy != null) {
+                    idleStrategy.idle(iteration);
+                    continue;
+                }
+
+                // the flag needs to be set before checking the lanes again,
+                // otherwise a task added in between would be missed.
+                consumerWaiting = 1;
+                item = poll(priorityOnly);
+                if (item != null) {
+                    consumerWaiting = 0;
+                    return item;
+                }
+                park();
+                consumerWaiting = 0;
+            }
+        } finally {
+            waitCount.inc();
+            waitTimeNanos.inc(System.nanoTime() - startNanos);
+        }
+    }
+
+    @Override
+    public Object poll() {
+        return poll(false);
+    }
+
+    private Object poll(boolean priorityOnly) {
+        Object item = priorityQueue.poll();
+        if (item != null || priorityOnly) {
+            return item;
+        }
+        return normalQueue.poll();
+    }
+
+    @Override
+    public int normalSize() {
+        return normalQueue.size();
+    }
+
+    @Override
+    public int prioritySize() {
+        return priorityQueue.size();
+    }
+
+    @Override
+    public int size() {
+        return normalQueue.size() + priorityQueue.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return normalQueue.isEmpty() && priorityQueue.isEmpty();
+    }
+}
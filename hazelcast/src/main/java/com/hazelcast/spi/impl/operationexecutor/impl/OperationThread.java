@@ -224,6 +224,9 @@ public abstract class OperationThread extends HazelcastManagedThread implements
                 .withPrefix(OPERATION_PREFIX_THREAD)
                 .withDiscriminator(OPERATION_DISCRIMINATOR_THREAD, getName());
         registry.registerStaticMetrics(descriptor, this);
+        if (queue instanceof ArrayOperationQueue) {
+            registry.registerStaticMetrics(descriptor.copy(), queue);
+        }
     }
 
     public final void shutdown() {
@@ -96,6 +96,7 @@ public abstract class Operation implements DataSerializable, Tenantable {
     private transient ServerConnection connection;
     private transient OperationResponseHandler responseHandler;
     private transient long clientCallId = -1;
+    private transient long enqueueTimeNanos = OperationAccessor.NOT_ENQUEUED;
     private transient Closeable tenantContext = () -> {
     };
 
@@ -510,6 +511,23 @@ public abstract class Operation implements DataSerializable, Tenantable {
         return this;
     }
 
+    /**
+     * Gets the time, as returned by {@link System#nanoTime}, when this
+     * operation was added to the queue of its partition thread on the
+     * executing member.
+     *
+     * @return the enqueue time or {@link OperationAccessor#NOT_ENQUEUED} if the operation
+     * didn't pass through a partition queue since it was last checked
+     */
+    final long getEnqueueTimeNanos() {
+        return enqueueTimeNanos;
+    }
+
+    // Accessed using OperationAccessor
+    final void setEnqueueTimeNanos(long enqueueTimeNanos) {
+        this.enqueueTimeNanos = enqueueTimeNanos;
+    }
+
     /**
      * Gets the call timeout in milliseconds. For example, if a call should start
      * execution within 60 seconds or it should be aborted otherwise, then the
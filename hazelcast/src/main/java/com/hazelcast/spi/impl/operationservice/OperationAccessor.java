@@ -27,6 +27,12 @@ import com.hazelcast.spi.annotation.PrivateApi;
 @PrivateApi
 public final class OperationAccessor {
 
+    /**
+     * The enqueue time of an Operation which didn't pass through the queue
+     * of a partition thread.
+     */
+    public static final long NOT_ENQUEUED = Long.MIN_VALUE;
+
     private OperationAccessor() {
     }
 
@@ -69,6 +75,32 @@ public final class OperationAccessor {
         op.setInvocationTime(invocationTime);
     }
 
+    /**
+     * Records when the Operation was added to the queue of its partition
+     * thread.
+     *
+     * @param op the Operation that is enqueued.
+     * @param enqueueTimeNanos the enqueue time, as returned by {@link System#nanoTime}.
+     */
+    public static void setEnqueueTimeNanos(Operation op, long enqueueTimeNanos) {
+        op.setEnqueueTimeNanos(enqueueTimeNanos);
+    }
+
+    /**
+     * Gets when the Operation was added to the queue of its partition thread
+     * and clears it, so an Operation run again without being enqueued again
+     * isn't judged by a stale time.
+     *
+     * @param op the Operation to check.
+     * @return the enqueue time, as returned by {@link System#nanoTime}, or
+     * {@link #NOT_ENQUEUED}.
+     */
+    public static long getAndClearEnqueueTimeNanos(Operation op) {
+        long enqueueTimeNanos = op.getEnqueueTimeNanos();
+        op.setEnqueueTimeNanos(NOT_ENQUEUED);
+        return enqueueTimeNanos;
+    }
+
     /**
      * Sets the call timeout in milliseconds for the Operation.
      *
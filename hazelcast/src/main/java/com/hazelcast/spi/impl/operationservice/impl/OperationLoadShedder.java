@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+/**
+ * Decides if an operation should be rejected based on the time it waited
+ * before it could be executed, the sojourn time.
+ * <p>
+ * Queues only hurt when they don't drain. So the shedder tracks the
+ * minimum sojourn time of the operations seen during each interval. If
+ * even the fastest operation of an interval waited longer than the target,
+ * the queue didn't drain during the whole interval and it is considered
+ * overloaded. While overloaded, every operation which waited longer than
+ * the target is rejected so the queue can drain quickly. Otherwise, only
+ * operations which waited longer than the interval are rejected, which
+ * allows short bursts to be absorbed by the queue.
+ * <p>
+ * This is the controlled delay (CoDel) approach. The sojourn time is the
+ * time from adding the operation to the queue of its partition thread
+ * until it is picked up, measured with the clock of the executing member.
+ * <p>
+ * The shedder only rejects operations on the executing member; it doesn't
+ * adapt the number of invocations the invoking members admit. That limit
+ * is still the static one of the {@link BackpressureRegulator}, rejected
+ * operations are retried by their invocations with a backoff.
+ * <p>
+ * A shedder is not thread-safe; it is owned by a partition operation
+ * runner which is only called by a single thread.
+ */
+final class OperationLoadShedder {
+
+    private final long targetMillis;
+    private final long intervalMillis;
+
+    private long intervalEndMillis = Long.MIN_VALUE;
+    private long minSojournMillis = Long.MAX_VALUE;
+    private boolean overloaded;
+
+    OperationLoadShedder(long targetMillis, long intervalMillis) {
+        if (targetMillis <= 0) {
+            throw new IllegalArgumentException("targetMillis must be positive, was " + targetMillis);
+        }
+        if (intervalMillis < targetMillis) {
+            throw new IllegalArgumentException("intervalMillis must not be smaller than targetMillis " + targetMillis
+                    + ", was " + intervalMillis);
+        }
+        this.targetMillis = targetMillis;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Records the sojourn time of an operation and checks if it should be
+     * rejected.
+     *
+     * @param sojournMillis the time the operation waited before execution
+     * @param nowMillis     the current time
+     * @return {@code true} if the operation should be rejected
+     */
+    boolean shouldShed(long sojournMillis, long nowMillis) {
+        if (nowMillis >= intervalEndMillis) {
+            // an interval without any operation means the queue was empty
+            overloaded = nowMillis < intervalEndMillis + intervalMillis && minSojournMillis > targetMillis;
+            minSojournMillis = Long.MAX_VALUE;
+            intervalEndMillis = nowMillis + intervalMillis;
+        }
+        minSojournMillis = Math.min(minSojournMillis, sojournMillis);
+        return sojournMillis > (overloaded ? targetMillis : intervalMillis);
+    }
+
+    boolean isOverloaded() {
+        return overloaded;
+    }
+}
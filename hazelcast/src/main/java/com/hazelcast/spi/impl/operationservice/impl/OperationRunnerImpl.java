@@ -44,6 +44,7 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.spi.exception.CallerNotMemberException;
+import com.hazelcast.spi.exception.MemberOverloadedException;
 import com.hazelcast.spi.exception.PartitionMigratingException;
 import com.hazelcast.spi.exception.ResponseAlreadySentException;
 import com.hazelcast.spi.exception.RetryableException;
@@ -64,6 +65,7 @@ import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratin
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.splitbrainprotection.SplitBrainProtectionException;
 import com.hazelcast.splitbrainprotection.impl.SplitBrainProtectionServiceImpl;
 
@@ -75,6 +77,7 @@ import java.util.logging.Level;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_DISCRIMINATOR_GENERICID;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_DISCRIMINATOR_PARTITIONID;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_OPERATION_RUNNER_EXECUTED_OPERATIONS_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_OPERATION_RUNNER_SHED_OPERATIONS_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_PREFIX_ADHOC;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_PREFIX_GENERIC;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_PREFIX_PARTITION;
@@ -86,13 +89,20 @@ import static com.hazelcast.spi.impl.operationservice.CallStatus.OFFLOAD_ORDINAL
 import static com.hazelcast.spi.impl.operationservice.CallStatus.RESPONSE_ORDINAL;
 import static com.hazelcast.spi.impl.operationservice.CallStatus.VOID_ORDINAL;
 import static com.hazelcast.spi.impl.operationservice.CallStatus.WAIT_ORDINAL;
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.NOT_ENQUEUED;
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.getAndClearEnqueueTimeNanos;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallerAddress;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setConnection;
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setEnqueueTimeNanos;
 import static com.hazelcast.spi.impl.operationservice.OperationResponseHandlerFactory.createEmptyResponseHandler;
 import static com.hazelcast.spi.impl.operationservice.Operations.isJoinOperation;
 import static com.hazelcast.spi.impl.operationservice.Operations.isMigrationOperation;
 import static com.hazelcast.spi.impl.operationservice.Operations.isWanReplicationOperation;
 import static com.hazelcast.spi.properties.ClusterProperty.DISABLE_STALE_READ_ON_PARTITION_MIGRATION;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_LOAD_SHEDDING_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_LOAD_SHEDDING_INTERVAL_MILLIS;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_LOAD_SHEDDING_TARGET_MILLIS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.logging.Level.FINEST;
 import static java.util.logging.Level.SEVERE;
 import static java.util.logging.Level.WARNING;
@@ -109,6 +119,8 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
     final OperationServiceImpl operationService;
     @Probe(name = OPERATION_METRIC_OPERATION_RUNNER_EXECUTED_OPERATIONS_COUNT, level = DEBUG)
     final Counter executedOperationsCounter;
+    @Probe(name = OPERATION_METRIC_OPERATION_RUNNER_SHED_OPERATIONS_COUNT, level = DEBUG)
+    final Counter shedOperationsCounter = newSwCounter();
 
     private final ILogger logger;
     private final Node node;
@@ -127,6 +139,9 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
     // will never be called concurrently.
     private InternalPartition internalPartition;
 
+    // only set for a partition-specific OperationRunner when load shedding is enabled
+    private final OperationLoadShedder loadShedder;
+
     private final OutboundResponseHandler outboundResponseHandler;
 
     private final ConcurrentMap<Class, LatencyDistribution> opLatencyDistributions;
@@ -155,6 +170,15 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
         this.opLatencyDistributions = opLatencyDistributions;
         // only a ad-hoc operation runner will be called concurrently
         this.executedOperationsCounter = partitionId == AD_HOC_PARTITION_ID ? newMwCounter() : newSwCounter();
+        this.loadShedder = newLoadShedder(partitionId, node.getProperties());
+    }
+
+    private static OperationLoadShedder newLoadShedder(int partitionId, HazelcastProperties properties) {
+        if (partitionId < 0 || !properties.getBoolean(OPERATION_LOAD_SHEDDING_ENABLED)) {
+            return null;
+        }
+        return new OperationLoadShedder(properties.getMillis(OPERATION_LOAD_SHEDDING_TARGET_MILLIS),
+                properties.getMillis(OPERATION_LOAD_SHEDDING_INTERVAL_MILLIS));
     }
 
     public OperationBackupHandler getBackupHandler() {
@@ -221,6 +245,7 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
         if (timeout(op)) {
             return false;
         }
+        ensureNotOverloaded(op);
         ensureNoPartitionProblems(op);
         ensureNoSplitBrain(op);
         return true;
@@ -374,6 +399,54 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
         return true;
     }
 
+    /**
+     * Rejects the operation with a {@link MemberOverloadedException} if
+     * load shedding is enabled and the operation waited too long in the
+     * queue of its partition thread, see {@link OperationLoadShedder}. The
+     * wait is measured on this member from the moment the operation was
+     * enqueued, so it doesn't include the time spent at the invoker, on
+     * the network or the clock skew between the members.
+     * <p>
+     * Only operations which can be safely retried by their invoker are
+     * rejected.
+     *
+     * @throws MemberOverloadedException if the operation is rejected
+     */
+    public void ensureNotOverloaded(Operation op) {
+        if (loadShedder == null) {
+            return;
+        }
+
+        long enqueueTimeNanos = getAndClearEnqueueTimeNanos(op);
+        // an operation run directly by the calling thread had no queue to wait in
+        if (enqueueTimeNanos == NOT_ENQUEUED || !isSheddable(op)) {
+            return;
+        }
+        long nowNanos = System.nanoTime();
+        long sojournMillis = NANOSECONDS.toMillis(nowNanos - enqueueTimeNanos);
+        if (loadShedder.shouldShed(sojournMillis, NANOSECONDS.toMillis(nowNanos))) {
+            shedOperationsCounter.inc();
+            throw new MemberOverloadedException("Partition " + partitionId + " is overloaded, operation "
+                    + op.getClass().getName() + " waited " + sojournMillis + " ms before execution");
+        }
+    }
+
+    private static boolean isSheddable(Operation op) {
+        // the invoker has to be waiting for a response to retry the operation
+        if (op.getCallId() == 0 || !op.returnsResponse()) {
+            return false;
+        }
+        // system operations are needed to get the cluster out of the overload
+        if (op.isUrgent() || op instanceof Backup || op instanceof AllowedDuringPassiveState) {
+            return false;
+        }
+        if (isMigrationOperation(op) || isJoinOperation(op) || isWanReplicationOperation(op)) {
+            return false;
+        }
+        // a parked operation is executed again when notified, long after its invocation
+        return !(op instanceof BlockingOperation);
+    }
+
     private void afterRun(Operation op) {
         try {
             op.afterRun();
@@ -486,6 +559,7 @@ public class OperationRunnerImpl extends OperationRunner implements StaticMetric
             setConnection(op, connection);
             setCallerUuidIfNotSet(op, callerUuid);
             setOperationResponseHandler(op);
+            setEnqueueTimeNanos(op, packet.getEnqueueTimeNanos());
 
             if (!ensureValidMember(op)) {
                 return;
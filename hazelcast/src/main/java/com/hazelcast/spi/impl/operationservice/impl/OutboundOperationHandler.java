@@ -18,12 +18,15 @@ package com.hazelcast.spi.impl.operationservice.impl;
 
 import com.hazelcast.cluster.Address;
 import com.hazelcast.instance.impl.Node;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.server.ServerConnection;
 import com.hazelcast.internal.server.ServerConnectionManager;
 import com.hazelcast.spi.impl.operationservice.Operation;
 
+import java.util.function.Consumer;
+
 import static com.hazelcast.instance.EndpointQualifier.MEMBER;
 import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
@@ -34,12 +37,14 @@ import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 public class OutboundOperationHandler {
     private final Address thisAddress;
     private final InternalSerializationService serializationService;
+    private final Consumer<BufferObjectDataOutput> payloadOutputRecycler;
     private final Node node;
 
     public OutboundOperationHandler(Node node, InternalSerializationService serializationService) {
         this.node = node;
         this.thisAddress = node.getThisAddress();
         this.serializationService = serializationService;
+        this.payloadOutputRecycler = serializationService::returnSharedOutput;
     }
 
     public boolean send(Operation op, Address target) {
@@ -57,18 +62,29 @@ public class OutboundOperationHandler {
         }
 
         int streamId = op.getPartitionId();
-        return cm.transmit(toPacket(op), target, streamId);
+        Packet packet = toPacket(op);
+        return releaseIfDropped(packet, cm.transmit(packet, target, streamId));
     }
 
     public boolean send(Operation op, ServerConnection connection) {
         Packet packet = toPacket(op);
-        return connection.write(packet);
+        return releaseIfDropped(packet, connection.write(packet));
+    }
+
+    private static boolean releaseIfDropped(Packet packet, boolean sent) {
+        if (!sent) {
+            // the packet isn't queued anywhere, so its output can be reused
+            packet.releasePayloadOutput();
+        }
+        return sent;
     }
 
     private Packet toPacket(Operation op) {
-        byte[] bytes = serializationService.toBytes(op);
+        // the serialized operation stays in a pooled output until the packet
+        // is written, which saves copying it to a new array
+        BufferObjectDataOutput out = serializationService.toSharedOutput(op);
         int partitionId = op.getPartitionId();
-        Packet packet = new Packet(bytes, partitionId).setPacketType(Packet.Type.OPERATION);
+        Packet packet = new Packet(out, partitionId, payloadOutputRecycler).setPacketType(Packet.Type.OPERATION);
 
         if (op.isUrgent()) {
             packet.raiseFlags(FLAG_URGENT);
@@ -271,6 +271,32 @@ public final class ClusterProperty {
     public static final HazelcastProperty SOCKET_NO_DELAY
             = new HazelcastProperty("hazelcast.socket.no.delay", true);
 
+    /**
+     * Enables the compression of the traffic between the members and, for the
+     * clients requesting it, of the traffic between the members and clients.
+     * The compression is negotiated when the connection is established: the
+     * side initiating the connection requests it, and the connection is
+     * compressed in both directions only if the accepting side has it
+     * enabled as well. Otherwise, the connection stays uncompressed. Members
+     * older than 5.4 don't understand the request, so the compression may
+     * only be enabled once all the members run 5.4 or later. The compression trades CPU for bandwidth and is beneficial
+     * when the network is the bottleneck and the values are compressible.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty NETWORK_COMPRESSION_ENABLED
+            = new HazelcastProperty("hazelcast.network.compression.enabled", false);
+
+    /**
+     * The deflate compression level, between 1 (fastest) and 9 (smallest),
+     * used when {@link #NETWORK_COMPRESSION_ENABLED network compression} is
+     * enabled.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty NETWORK_COMPRESSION_LEVEL
+            = new HazelcastProperty("hazelcast.network.compression.level", 1);
+
     /**
      * The number of threads doing socket input and the number of threads doing
      * socket output.
@@ -998,6 +1024,25 @@ public final class ClusterProperty {
     public static final HazelcastProperty QUERY_PREDICATE_PARALLEL_EVALUATION
             = new HazelcastProperty("hazelcast.query.predicate.parallel.evaluation", false);
 
+    /**
+     * Run the parallel query evaluations on a work-stealing fork-join pool
+     * sized to the number of available processors.
+     * <p>
+     * Only used when the {@link #QUERY_PREDICATE_PARALLEL_EVALUATION parallel
+     * evaluation} is enabled. The partitions owned by the member are split into
+     * chunks which are scanned by all the pool threads, so the latency of a
+     * large local scan scales with the core count instead of being bounded by
+     * the size of the query executor. The scan stops early once the result size
+     * limit is exceeded, and for paging predicates only the entries which may
+     * end up on the requested page are kept.
+     * <p>
+     * The default is {@code false}.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty QUERY_PREDICATE_PARALLEL_EVALUATION_FORK_JOIN
+            = new HazelcastProperty("hazelcast.query.predicate.parallel.evaluation.forkjoin", false);
+
     /**
      * Run aggregation accumulation for multiple entries in parallel.
      * <p>
@@ -1159,6 +1204,24 @@ public final class ClusterProperty {
     public static final HazelcastProperty INDEX_COPY_BEHAVIOR
             = new HazelcastProperty("hazelcast.index.copy.behavior", IndexCopyBehavior.COPY_ON_READ.toString());
 
+    /**
+     * Enables the primitive ordered index store for on-heap sorted indexes on
+     * a single attribute. The store keeps integral, floating point,
+     * {@link java.util.Date}, {@link java.sql.Timestamp},
+     * {@link java.time.Instant}, {@link java.time.LocalDateTime} and
+     * {@link java.time.OffsetDateTime} attribute values as raw {@code long}s
+     * in sorted arrays instead of boxing them into a skip list, which
+     * considerably reduces the memory footprint and the allocation rate of
+     * such indexes. Timestamps are kept with nanosecond precision, which
+     * limits them to the years 1677 to 2262. Indexes holding values of other
+     * types, timestamps outside of that range or offset date times with
+     * different offsets transparently fall back to the generic store.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty INDEX_PRIMITIVE_ORDERED_STORE_ENABLED
+            = new HazelcastProperty("hazelcast.index.primitive.ordered.store.enabled", true);
+
     /**
      * The number of threads that the client engine has available for processing
      * requests that are related to the query engine.
@@ -1270,6 +1333,65 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_EVICTION_BATCH_SIZE
             = new HazelcastProperty("hazelcast.map.eviction.batch.size", 1);
 
+    /**
+     * Enables the persistence of the maps with enabled {@link
+     * com.hazelcast.config.DataPersistenceConfig data persistence} to the
+     * local disk of the member when the Enterprise persistence is not
+     * enabled.
+     * <p>
+     * Every partition of a persisted map is written to append-only log
+     * segments in the {@link com.hazelcast.config.PersistenceConfig#getBaseDir()
+     * persistence base directory}. After a whole-cluster restart, the entries
+     * of the partitions a member owned before are put back to the cluster,
+     * whichever member owns the partitions now, and then deleted from its
+     * disk. A member rejoining a running cluster discards its persisted
+     * entries. The mutations are fsynced either
+     * on every mutation if {@link com.hazelcast.config.DataPersistenceConfig#isFsync()}
+     * is set, or periodically, see {@link #MAP_PERSISTENCE_FLUSH_INTERVAL_MILLIS}.
+     * Expiration metadata of the entries is not persisted.
+     * <p>
+     * The default is {@code false}.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty MAP_PERSISTENCE_ENABLED
+            = new HazelcastProperty("hazelcast.map.persistence.enabled", false);
+
+    /**
+     * The size in bytes after which a log segment of the map persistence is
+     * sealed and a new segment is started.
+     * <p>
+     * The default is 16 MB.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty MAP_PERSISTENCE_SEGMENT_SIZE
+            = new HazelcastProperty("hazelcast.map.persistence.segment.size.bytes", 16L * 1024 * 1024);
+
+    /**
+     * The percentage of superseded records in the sealed log segments of a
+     * partition after which the segments are compacted by the map
+     * persistence.
+     * <p>
+     * The default is 50.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty MAP_PERSISTENCE_COMPACTION_THRESHOLD
+            = new HazelcastProperty("hazelcast.map.persistence.compaction.threshold.percentage", 50);
+
+    /**
+     * The period of the background task of the map persistence which fsyncs
+     * the logs of the maps not fsynced on every mutation and compacts the
+     * logs.
+     * <p>
+     * The default is 1 second.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty MAP_PERSISTENCE_FLUSH_INTERVAL_MILLIS
+            = new HazelcastProperty("hazelcast.map.persistence.flush.interval.millis", 1000, MILLISECONDS);
+
     /**
      * Defines Near Cache invalidation event batch sending is enabled or not.
      */
@@ -1307,6 +1429,92 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * The target duration of a batch call to {@link com.hazelcast.map.MapStore#storeAll(java.util.Map)}
+     * or {@link com.hazelcast.map.MapStore#deleteAll(java.util.Collection)} made by write-behind
+     * map stores, in milliseconds.
+     * <p>
+     * When set to a positive value, the size of the batches starts from the
+     * configured {@link com.hazelcast.config.MapStoreConfig#getWriteBatchSize() write batch size}
+     * and adapts to the latency of the batch calls: it grows while the batches
+     * are stored in less than half of the target and is halved when a batch
+     * takes longer than the target or fails. The batch size is bounded by 16
+     * times the configured write batch size. Only the map stores configured
+     * with a write batch size greater than {@code 1} are affected.
+     * <p>
+     * The default is {@code 0} which disables the adaptive batching.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS
+            = new HazelcastProperty("hazelcast.map.write.behind.batch.target.latency.millis", 0, MILLISECONDS);
+
+    /**
+     * The number of threads flushing the write-behind queues of a map in
+     * parallel. The entries of a partition are always flushed by the same
+     * thread, so the order of the store operations on a key is preserved.
+     * The additional threads are taken from the
+     * {@value com.hazelcast.spi.impl.executionservice.ExecutionService#MAP_WRITE_BEHIND_EXECUTOR}
+     * executor.
+     * <p>
+     * The default is {@code 1}.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_PARALLELISM
+            = new HazelcastProperty("hazelcast.map.write.behind.parallelism", 1);
+
+    /**
+     * Enables the detection of hot keys, the keys receiving a large share of
+     * the operations of their partition.
+     * <p>
+     * A fraction of the keyed map operations executed on this member is
+     * sampled per partition, see {@link #MAP_HOT_KEY_SAMPLE_RATE}. The
+     * detected keys are reported by the {@code map.hotKeys} metrics and by
+     * the hot keys diagnostics plugin.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty MAP_HOT_KEY_TRACKING_ENABLED
+            = new HazelcastProperty("hazelcast.map.hot.key.tracking.enabled", false);
+
+    /**
+     * The sampling rate of the hot key detection: one out of this many key
+     * accesses is sampled. Only has meaning when
+     * {@link #MAP_HOT_KEY_TRACKING_ENABLED} is set.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty MAP_HOT_KEY_SAMPLE_RATE
+            = new HazelcastProperty("hazelcast.map.hot.key.sample.rate", 16);
+
+    /**
+     * The minimum share, in percent, of the sampled accesses a key needs to
+     * receive to be considered hot. Values below 10 may report keys which
+     * are not hot, since the counts of infrequent keys are estimated. Only
+     * has meaning when {@link #MAP_HOT_KEY_TRACKING_ENABLED} is set.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty MAP_HOT_KEY_THRESHOLD_PERCENT
+            = new HazelcastProperty("hazelcast.map.hot.key.threshold.percent", 10);
+
+    /**
+     * Serves {@code IMap.get} calls for hot keys from the replica held by
+     * the calling member, if it is the owner or a backup of the key, instead
+     * of invoking an operation on the partition thread of the owner. The
+     * replica is read by the partition thread of the calling member.
+     * <p>
+     * Like {@link com.hazelcast.config.MapConfig#setReadBackupData(boolean)}
+     * this can return stale values, but only for keys detected as hot by the
+     * calling member or by the partition the key belongs to. Only has
+     * meaning when {@link #MAP_HOT_KEY_TRACKING_ENABLED} is set.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty MAP_HOT_KEY_LOCAL_READS_ENABLED
+            = new HazelcastProperty("hazelcast.map.hot.key.local.reads.enabled", false);
+
     /*
      * INVOCATION / OPERATION SYSTEM PROPERTIES
      */
@@ -1429,6 +1637,46 @@ public final class ClusterProperty {
     public static final HazelcastProperty BACKPRESSURE_MAX_CONCURRENT_INVOCATIONS_PER_PARTITION
             = new HazelcastProperty("hazelcast.backpressure.max.concurrent.invocations.per.partition", 100);
 
+    /**
+     * Enables shedding of partition operations which waited too long in the
+     * queue of their partition thread.
+     * <p>
+     * The time an operation waited is measured on the executing member from
+     * the moment it was added to the queue. As long as operations regularly get through faster than
+     * {@link #OPERATION_LOAD_SHEDDING_TARGET_MILLIS}, only operations which
+     * waited longer than {@link #OPERATION_LOAD_SHEDDING_INTERVAL_MILLIS} are
+     * rejected. If no operation got through faster than the target during a
+     * whole interval, the partition is considered overloaded and every
+     * operation which waited longer than the target is rejected until the
+     * queue drains again.
+     * <p>
+     * Rejected operations fail with a
+     * {@link com.hazelcast.spi.exception.MemberOverloadedException} and are
+     * retried by the invoker with a backoff. Urgent, backup, migration and other system operations are
+     * never rejected.
+     */
+    public static final HazelcastProperty OPERATION_LOAD_SHEDDING_ENABLED
+            = new HazelcastProperty("hazelcast.operation.load.shedding.enabled", false);
+
+    /**
+     * The queue time in milliseconds a partition operation is allowed to
+     * exceed while the partition is overloaded. This property only has
+     * meaning when {@link #OPERATION_LOAD_SHEDDING_ENABLED} is set.
+     */
+    public static final HazelcastProperty OPERATION_LOAD_SHEDDING_TARGET_MILLIS
+            = new HazelcastProperty("hazelcast.operation.load.shedding.target.millis", 20, MILLISECONDS);
+
+    /**
+     * The interval in milliseconds during which the queue time of every
+     * partition operation has to exceed the target for the partition to be
+     * considered overloaded. It is also the queue time a partition operation
+     * is allowed to exceed while the partition is not overloaded. This
+     * property only has meaning when {@link #OPERATION_LOAD_SHEDDING_ENABLED}
+     * is set.
+     */
+    public static final HazelcastProperty OPERATION_LOAD_SHEDDING_INTERVAL_MILLIS
+            = new HazelcastProperty("hazelcast.operation.load.shedding.interval.millis", 500, MILLISECONDS);
+
     /**
      * Hazelcast allows read operations to be performed while a partition is
      * being migrated. This can lead to stale reads for some scenarios. You can
@@ -1448,6 +1696,27 @@ public final class ClusterProperty {
             = new HazelcastProperty("hazelcast.operation.thread.count",
             (Function<HazelcastProperties, Integer>) properties -> max(2, RuntimeAvailableProcessors.get()));
 
+    /**
+     * The type of the queue used by the partition operation threads.
+     * <p>
+     * Possible values are:
+     * <ul>
+     *     <li>{@code linked}: a linked queue which allocates a node for
+     *     every operation.</li>
+     *     <li>{@code array}: a queue storing the operations in array chunks,
+     *     so adding an operation doesn't allocate. It also provides the
+     *     {@code queueWaitCount} and {@code queueWaitTime} metrics of the
+     *     partition threads.</li>
+     * </ul>
+     * Both queues use the idle strategy configured by
+     * {@code hazelcast.operation.partitionthread.idlestrategy}. The default is
+     * {@code linked}.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty PARTITION_OPERATION_THREAD_QUEUE_TYPE
+            = new HazelcastProperty("hazelcast.operation.thread.queue.type", "linked");
+
     /**
      * The number of generic operation handler threads per member.
      * <p>
@@ -1601,6 +1870,28 @@ public final class ClusterProperty {
     public static final HazelcastProperty EVENT_SYNC_TIMEOUT_MILLIS
             = new HazelcastProperty("hazelcast.event.sync.timeout.millis", 5000, MILLISECONDS);
 
+    /**
+     * The time window in microseconds during which the events published to
+     * a remote member are accumulated and sent as a single packet. Batching
+     * reduces the number of packets and the per-packet processing on both
+     * sides for high-churn data structures with remote listeners, at the
+     * cost of up to the configured window of additional latency.
+     * <p>
+     * Events are batched only once the cluster version is at least 5.4,
+     * so during a rolling upgrade they are sent one by one. It is disabled
+     * by default (0).
+     */
+    public static final HazelcastProperty EVENT_BATCHING_WINDOW_MICROS
+            = new HazelcastProperty("hazelcast.event.batching.window.micros", 0, MICROSECONDS);
+
+    /**
+     * The maximum number of events sent in a single packet when
+     * {@link #EVENT_BATCHING_WINDOW_MICROS} is enabled. A batch reaching
+     * this size is sent without waiting for the window to elapse.
+     */
+    public static final HazelcastProperty EVENT_BATCHING_MAX_SIZE
+            = new HazelcastProperty("hazelcast.event.batching.max.size", 64);
+
     /**
      * Enable or disable the sending of phone home data to Hazelcast’s phone home
      * server.
@@ -1864,6 +2155,46 @@ public final class ClusterProperty {
     public static final HazelcastProperty PROCESSOR_CUSTOM_LIB_DIR
             = new HazelcastProperty("hazelcast.jet.custom.lib.dir", "custom-lib");
 
+    /**
+     * The number of build-side entries the collector of a hash join keeps
+     * on heap before it writes the remaining ones to a file. When the build
+     * side is complete, the file is indexed and mapped into memory, and the
+     * joining processors look up the spilled entries there. This allows
+     * joining with build sides larger than the heap of the member.
+     * <p>
+     * The spilled keys are looked up by their {@code hashCode()} and
+     * compared with {@code equals()}, the same way as the keys kept on heap.
+     * The collector is not cooperative when spilling is enabled, since it
+     * writes and indexes the file on its own thread.
+     * <p>
+     * The default value is {@code 0}, meaning the build side is kept on heap
+     * and its size is limited by the
+     * {@linkplain com.hazelcast.jet.config.JobConfig#setMaxProcessorAccumulatedRecords
+     * maximum number of accumulated records}. When spilling is enabled,
+     * that limit only applies to the entries kept on heap.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty JET_HASH_JOIN_SPILL_MAX_ENTRIES
+            = new HazelcastProperty("hazelcast.jet.hash.join.spill.max.entries", 0L);
+
+    /**
+     * The directory in which processors create the files of the spilled
+     * data, see {@link com.hazelcast.jet.core.processor.Processors#sortP(
+     * java.util.Comparator, int)}, {@link
+     * com.hazelcast.jet.core.processor.Processors#aggregateByKeyP(
+     * java.util.List, com.hazelcast.jet.aggregate.AggregateOperation,
+     * com.hazelcast.function.BiFunctionEx, long)} and
+     * {@link #JET_HASH_JOIN_SPILL_MAX_ENTRIES}. The files are deleted when the
+     * processor completes, the files of a hash join as soon as they are
+     * mapped into memory. The default is the directory given by the {@code
+     * java.io.tmpdir} system property.
+     *
+     * @since 5.4
+     */
+    public static final HazelcastProperty JET_SPILL_DIRECTORY
+            = new HazelcastProperty("hazelcast.jet.spill.directory", "");
+
     /**
      * Controls whether cluster emojis can be used in log messages. This is just a hint for components calling the logging.
      *
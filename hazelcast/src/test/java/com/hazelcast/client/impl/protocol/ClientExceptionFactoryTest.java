@@ -43,6 +43,7 @@ import com.hazelcast.replicatedmap.ReplicatedMapCantBeCreatedOnLiteMemberExcepti
 import com.hazelcast.ringbuffer.StaleSequenceException;
 import com.hazelcast.spi.exception.CallerNotMemberException;
 import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
+import com.hazelcast.spi.exception.MemberOverloadedException;
 import com.hazelcast.spi.exception.PartitionMigratingException;
 import com.hazelcast.spi.exception.ResponseAlreadySentException;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
@@ -259,6 +260,7 @@ public class ClientExceptionFactoryTest extends HazelcastTestSupport {
                 new Object[]{new TargetNotReplicaException(randomString())},
                 new Object[]{new MutationDisallowedException(randomString())},
                 new Object[]{new ConsistencyLostException(randomString())},
+                new Object[]{new MemberOverloadedException(randomString())},
                 new Object[]{new CustomExceptions.CustomException()},
                 new Object[]{new CustomExceptions.CustomExceptionWithMessage(randomString())},
                 new Object[]{new CustomExceptions.CustomExceptionWithMessageAndCause(randomString(),
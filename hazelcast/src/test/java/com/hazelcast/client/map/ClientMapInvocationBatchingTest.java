@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.impl.spi.ClientPartitionService;
+import com.hazelcast.client.test.ClientTestSupport;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.client.properties.ClientProperty.MAP_INVOCATION_BATCHING_MAX_SIZE;
+import static com.hazelcast.client.properties.ClientProperty.MAP_INVOCATION_BATCHING_WINDOW_MICROS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMapInvocationBatchingTest extends ClientTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+    private IMap<Integer, String> map;
+    private IMap<Integer, String> memberMap;
+
+    @Before
+    public void setup() {
+        HazelcastInstance member = hazelcastFactory.newHazelcastInstance(getConfig());
+        hazelcastFactory.newHazelcastInstance(getConfig());
+        warmUpPartitions(member);
+
+        ClientConfig clientConfig = new ClientConfig()
+                .setProperty(MAP_INVOCATION_BATCHING_WINDOW_MICROS.getName(), "200")
+                .setProperty(MAP_INVOCATION_BATCHING_MAX_SIZE.getName(), "16");
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient(clientConfig);
+        // operations sent through a member other than the partition owner
+        // are not ordered with the operations sent directly to the owner
+        makeSureConnectedToServers(client, 2);
+        // until the client knows the owner of a partition, its operations are
+        // sent through any member and can be overtaken as well
+        ClientPartitionService partitionService = getHazelcastClientInstanceImpl(client).getClientPartitionService();
+        assertTrueEventually(() -> {
+            for (int partitionId = 0; partitionId < partitionService.getPartitionCount(); partitionId++) {
+                assertNotNull(partitionService.getPartitionOwner(partitionId));
+            }
+        });
+
+        String mapName = randomMapName();
+        map = client.getMap(mapName);
+        memberMap = member.getMap(mapName);
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testSetAsync() {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            futures.add(map.setAsync(i, "value" + i).toCompletableFuture());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertEquals(ENTRY_COUNT, memberMap.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value" + i, memberMap.get(i));
+        }
+    }
+
+    @Test
+    public void testGetAsync() {
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            memberMap.set(i, "value" + i);
+        }
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            futures.add(map.getAsync(i).toCompletableFuture());
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            String value = futures.get(i).join();
+            if (i % 2 == 0) {
+                assertEquals("value" + i, value);
+            } else {
+                assertNull(value);
+            }
+        }
+    }
+
+    @Test
+    public void testGetAsync_seesPrecedingSetAsync() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.setAsync(1, "value" + i);
+            CompletionStage<String> future = map.getAsync(1);
+
+            assertEquals("value" + i, future.toCompletableFuture().join());
+        }
+    }
+
+    @Test
+    public void testGetAsync_doesNotSeeFollowingSetAsync() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.set(1, "value" + i);
+            CompletionStage<String> future = map.getAsync(1);
+            map.setAsync(1, "next" + i);
+
+            assertEquals("value" + i, future.toCompletableFuture().join());
+        }
+    }
+
+    @Test
+    public void testSetAsync_whenKeyLocked_thenWaitsForUnlock() {
+        memberMap.lock(1);
+        CompletableFuture<Void> future = map.setAsync(1, "value").toCompletableFuture();
+
+        assertTrueAllTheTime(() -> assertFalse(future.isDone()), 2);
+        assertNull(memberMap.get(1));
+
+        memberMap.unlock(1);
+        future.join();
+        assertEquals("value", memberMap.get(1));
+    }
+
+    @Test
+    public void testSetAsync_withTtl() {
+        map.setAsync(1, "value", 1, TimeUnit.HOURS).toCompletableFuture().join();
+
+        assertEquals("value", memberMap.get(1));
+        assertEquals(TimeUnit.HOURS.toMillis(1), memberMap.getEntryView(1).getTtl());
+    }
+}
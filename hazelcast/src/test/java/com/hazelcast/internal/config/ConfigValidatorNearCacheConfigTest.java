@@ -18,6 +18,7 @@ package com.hazelcast.internal.config;
 
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.InvalidConfigurationException;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -33,6 +34,8 @@ import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.config.NearCacheConfig.LocalUpdatePolicy.CACHE_ON_UPDATE;
 import static com.hazelcast.config.NearCacheConfig.LocalUpdatePolicy.INVALIDATE;
 import static com.hazelcast.internal.config.ConfigValidator.checkNearCacheConfig;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static org.junit.Assume.assumeTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -58,6 +61,23 @@ public class ConfigValidatorNearCacheConfigTest extends HazelcastTestSupport {
         checkNearCacheConfig(MAP_NAME, getNearCacheConfig(NATIVE), null, false);
     }
 
+    @Test(expected = InvalidConfigurationException.class)
+    public void checkNearCacheConfig_NATIVE_onClients_withoutNativeMemoryConfig() {
+        NearCacheConfig nearCacheConfig = getNearCacheConfig(NATIVE)
+                .setCacheLocalEntries(false);
+
+        checkNearCacheConfig(MAP_NAME, nearCacheConfig, new NativeMemoryConfig(), true);
+    }
+
+    @Test
+    public void checkNearCacheConfig_NATIVE_onClients_withNativeMemoryConfig() {
+        assumeTrue(MEM_AVAILABLE);
+        NearCacheConfig nearCacheConfig = getNearCacheConfig(NATIVE)
+                .setCacheLocalEntries(false);
+
+        checkNearCacheConfig(MAP_NAME, nearCacheConfig, new NativeMemoryConfig().setEnabled(true), true);
+    }
+
     /**
      * Not supported client configuration, so test is expected to throw exception.
      */
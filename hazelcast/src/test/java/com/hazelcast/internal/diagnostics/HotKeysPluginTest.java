@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.diagnostics;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_HOT_KEY_SAMPLE_RATE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_HOT_KEY_TRACKING_ENABLED;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class HotKeysPluginTest extends AbstractDiagnosticsPluginTest {
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance hz;
+    private HotKeysPlugin plugin;
+
+    @Before
+    public void setup() {
+        Config config = new Config()
+                .setProperty(HotKeysPlugin.PERIOD_SECONDS.getName(), "1")
+                .setProperty(MAP_HOT_KEY_TRACKING_ENABLED.getName(), "true")
+                .setProperty(MAP_HOT_KEY_SAMPLE_RATE.getName(), "1");
+
+        factory = createHazelcastInstanceFactory(2);
+        hz = factory.newHazelcastInstance(config);
+
+        plugin = new HotKeysPlugin(getNodeEngineImpl(hz));
+        plugin.onStart();
+    }
+
+    @Test
+    public void testGetPeriodMillis() {
+        assertEquals(1000, plugin.getPeriodMillis());
+    }
+
+    @Test
+    public void testGetPeriodMillis_whenTrackingDisabled() {
+        HazelcastInstance instance = factory.newHazelcastInstance(new Config()
+                .setProperty(HotKeysPlugin.PERIOD_SECONDS.getName(), "1"));
+
+        assertEquals(0, new HotKeysPlugin(getNodeEngineImpl(instance)).getPeriodMillis());
+    }
+
+    @Test
+    public void testRun() {
+        IMap<String, String> map = hz.getMap("foo");
+        map.put("hot", "value");
+        for (int i = 0; i < 2000; i++) {
+            map.get("hot");
+        }
+
+        plugin.run(logWriter);
+
+        assertContains("HotKeys[");
+        assertContains("foo[");
+        assertContains("keyHash=" + Long.toHexString(getNodeEngineImpl(hz).toData("hot").hash64()) + " share=100%");
+        assertNotContains("key=hot");
+    }
+
+    @Test
+    public void testRun_whenLogKeys() {
+        // a separate cluster, so that the single member owns the key
+        HazelcastInstance instance = factory.newHazelcastInstance(new Config()
+                .setClusterName(randomName())
+                .setProperty(HotKeysPlugin.PERIOD_SECONDS.getName(), "1")
+                .setProperty(HotKeysPlugin.LOG_KEYS.getName(), "true")
+                .setProperty(MAP_HOT_KEY_TRACKING_ENABLED.getName(), "true")
+                .setProperty(MAP_HOT_KEY_SAMPLE_RATE.getName(), "1"));
+        HotKeysPlugin plugin = new HotKeysPlugin(getNodeEngineImpl(instance));
+        IMap<String, String> map = instance.getMap("bar");
+        map.put("hot", "value");
+        for (int i = 0; i < 2000; i++) {
+            map.get("hot");
+        }
+
+        plugin.run(logWriter);
+
+        assertContains("key=hot share=100%");
+    }
+
+    @Test
+    public void testRun_whenNoHotKeys() {
+        IMap<String, String> map = hz.getMap("foo");
+        map.put("cold", "value");
+
+        plugin.run(logWriter);
+
+        assertContains("foo[");
+        assertNotContains("key=cold");
+    }
+}
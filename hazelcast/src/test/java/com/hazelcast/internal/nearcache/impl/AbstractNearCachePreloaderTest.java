@@ -173,6 +173,41 @@ public abstract class AbstractNearCachePreloaderTest<NK, NV> extends HazelcastTe
         storeAndLoad(4223, STRING);
     }
 
+    @Test(timeout = 10 * MINUTE)
+    @Category(SlowTest.class)
+    public void testStoreAndLoad_withValues() {
+        nearCacheConfig.getPreloaderConfig().setStoreValues(true);
+
+        storeAndLoad(2342, INTEGER);
+    }
+
+    @Test(timeout = 10 * MINUTE)
+    @Category(SlowTest.class)
+    public void testStoreAndLoad_withValues_whenValueChangedWhileClientIsDown() {
+        int keyCount = 1000;
+        nearCacheConfig.getPreloaderConfig()
+                .setStoreValues(true)
+                .setStoreInitialDelaySeconds(3)
+                .setStoreIntervalSeconds(1);
+
+        NearCacheTestContext<Object, String, NK, NV> context = createContext(true);
+
+        populateDataAdapter(context, keyCount, STRING);
+        populateNearCache(context, keyCount, STRING);
+        waitForNearCachePersistence(context, 1);
+        assertLastNearCachePersistence(context, getStoreFile(), keyCount);
+
+        // shutdown the first client and change a value it has stored
+        context.nearCacheInstance.shutdown();
+        context.dataAdapter.put(createKey(STRING, 0), "changed-value");
+
+        NearCacheTestContext<Object, String, NK, NV> clientContext = createNearCacheContext();
+
+        assertNearCachePreloadDoneEventually(clientContext);
+        assertNearCacheSizeEventually(clientContext, keyCount);
+        assertEquals("changed-value", clientContext.nearCacheAdapter.get(createKey(STRING, 0)));
+    }
+
     private void storeAndLoad(int keyCount, KeyType keyType) {
         nearCacheConfig.getPreloaderConfig()
                 .setStoreInitialDelaySeconds(3)
@@ -18,7 +18,9 @@ package com.hazelcast.internal.nearcache.impl;
 
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
 import com.hazelcast.internal.nearcache.NearCacheRecordStore;
+import com.hazelcast.internal.nearcache.impl.store.NativeNearCacheRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheDataRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheObjectRecordStore;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -39,7 +41,11 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
     static final int DEFAULT_RECORD_COUNT = 100;
     static final String DEFAULT_NEAR_CACHE_NAME = "TestNearCache";
 
+    private static final long NATIVE_MEMORY_CAPACITY = 1 << 26;
+
     private List<ScheduledExecutorService> scheduledExecutorServices = new ArrayList<>();
+    private List<NearCacheRecordStore> nativeRecordStores = new ArrayList<>();
+    private UnsafeMemoryManager memoryManager;
     private SerializationService ss = new DefaultSerializationServiceBuilder()
             .setVersion(InternalSerializationService.VERSION_1).build();
 
@@ -51,6 +57,14 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
         scheduledExecutorServices.clear();
     }
 
+    @After
+    public final void destroyNativeRecordStores() {
+        for (NearCacheRecordStore nativeRecordStore : nativeRecordStores) {
+            nativeRecordStore.destroy();
+        }
+        nativeRecordStores.clear();
+    }
+
     NearCacheConfig createNearCacheConfig(String name, InMemoryFormat inMemoryFormat) {
         return new NearCacheConfig()
                 .setName(name)
@@ -66,6 +80,11 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
             case OBJECT:
                 recordStore = new NearCacheObjectRecordStore<>(DEFAULT_NEAR_CACHE_NAME, nearCacheConfig, ss, null);
                 break;
+            case NATIVE:
+                recordStore = new NativeNearCacheRecordStore<>(DEFAULT_NEAR_CACHE_NAME, nearCacheConfig,
+                        getMemoryManager(), ss, null);
+                nativeRecordStores.add(recordStore);
+                break;
             default:
                 throw new IllegalArgumentException("Unsupported in-memory format: " + inMemoryFormat);
         }
@@ -73,6 +92,13 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
         return recordStore;
     }
 
+    UnsafeMemoryManager getMemoryManager() {
+        if (memoryManager == null) {
+            memoryManager = new UnsafeMemoryManager(NATIVE_MEMORY_CAPACITY);
+        }
+        return memoryManager;
+    }
+
     @SuppressWarnings("unused")
     TaskScheduler createTaskScheduler() {
         ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(1);
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.nearcache.NearCacheRecordStore;
+import com.hazelcast.nearcache.NearCacheStats;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeNearCacheRecordStoreTest extends NearCacheRecordStoreTestSupport {
+
+    @Before
+    public void setUp() {
+        assumeTrue(MEM_AVAILABLE);
+    }
+
+    @Test
+    public void putAndGetRecord() {
+        putAndGetRecord(NATIVE);
+    }
+
+    @Test
+    public void putAndRemoveRecord() {
+        putAndRemoveRecord(NATIVE);
+    }
+
+    @Test
+    public void clearRecords() {
+        clearRecordsOrDestroyStore(NATIVE, false);
+    }
+
+    @Test
+    public void destroyStore() {
+        clearRecordsOrDestroyStore(NATIVE, true);
+    }
+
+    @Test
+    public void statsCalculated() {
+        assertTrueEventually(() -> statsCalculated(NATIVE));
+    }
+
+    @Test
+    public void ttlEvaluated() {
+        ttlEvaluated(NATIVE);
+    }
+
+    @Test
+    public void expiredRecordsCleanedUpSuccessfullyBecauseOfTTL() {
+        expiredRecordsCleanedUpSuccessfully(NATIVE, false);
+    }
+
+    @Test
+    public void canCreateWithNativeMemoryMaxSizePolicies() {
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.ENTRY_COUNT, 1000);
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.USED_NATIVE_MEMORY_SIZE, 1);
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.USED_NATIVE_MEMORY_PERCENTAGE, 99);
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.FREE_NATIVE_MEMORY_SIZE, 1);
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.FREE_NATIVE_MEMORY_PERCENTAGE, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotCreateWithUsedHeapSizeMaxSizePolicy() {
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.USED_HEAP_SIZE, 1);
+    }
+
+    @Test
+    public void evictionTriggeredWithEntryCountMaxSizePolicy() {
+        int maxSize = DEFAULT_RECORD_COUNT / 2;
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore
+                = createNearCacheRecordStore(MaxSizePolicy.ENTRY_COUNT, maxSize);
+
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            nearCacheRecordStore.put(i, null, "Record-" + i, null);
+            nearCacheRecordStore.doEviction(false);
+            assertTrue(maxSize >= nearCacheRecordStore.size());
+        }
+        NearCacheStats nearCacheStats = nearCacheRecordStore.getNearCacheStats();
+        assertEquals(nearCacheRecordStore.size(), nearCacheStats.getOwnedEntryCount());
+        assertTrue(nearCacheStats.getEvictions() > 0);
+    }
+
+    @Test
+    public void evictionTriggeredWithUsedNativeMemorySizeMaxSizePolicy() {
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore
+                = createNearCacheRecordStore(MaxSizePolicy.USED_NATIVE_MEMORY_SIZE, 1);
+        String value = new String(new char[10 * 1024]);
+
+        for (int i = 0; i < DEFAULT_RECORD_COUNT * 2; i++) {
+            nearCacheRecordStore.doEviction(false);
+            nearCacheRecordStore.put(i, null, value, null);
+        }
+        NearCacheStats nearCacheStats = nearCacheRecordStore.getNearCacheStats();
+        assertTrue(nearCacheStats.getEvictions() > 0);
+        assertTrue(nearCacheRecordStore.size() < DEFAULT_RECORD_COUNT * 2);
+    }
+
+    @Test
+    public void nativeMemoryReleased_afterDestroy() {
+        NearCacheConfig nearCacheConfig = createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, NATIVE);
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(nearCacheConfig, NATIVE);
+        long usedMemoryBefore = getMemoryManager().getUsedMemory();
+
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            nearCacheRecordStore.put(i, null, "Record-" + i, null);
+            nearCacheRecordStore.invalidate(i / 2);
+        }
+        assertTrue(getMemoryManager().getUsedMemory() > usedMemoryBefore);
+
+        nearCacheRecordStore.destroy();
+        assertEquals(0, getMemoryManager().getUsedMemory());
+    }
+
+    private NearCacheRecordStore<Integer, String> createNearCacheRecordStore(MaxSizePolicy maxSizePolicy, int size) {
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setMaxSizePolicy(maxSizePolicy)
+                .setSize(size)
+                .setEvictionPolicy(EvictionPolicy.LRU);
+        NearCacheConfig nearCacheConfig = createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, NATIVE)
+                .setEvictionConfig(evictionConfig);
+        return createNearCacheRecordStore(nearCacheConfig, NATIVE);
+    }
+}
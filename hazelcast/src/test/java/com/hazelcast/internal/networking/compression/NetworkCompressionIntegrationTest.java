@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.compression;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.EndpointQualifier;
+import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.internal.server.tcp.TcpServerConnection;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.Accessors;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+
+import static com.hazelcast.core.Hazelcast.newHazelcastInstance;
+import static com.hazelcast.test.HazelcastTestSupport.assertClusterSizeEventually;
+import static com.hazelcast.test.HazelcastTestSupport.smallInstanceConfig;
+import static java.util.Collections.nCopies;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class NetworkCompressionIntegrationTest {
+
+    private static final String VALUE = String.join(",", nCopies(1000, "{\"name\":\"value\"}"));
+
+    @After
+    public void tearDown() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testMemberConnections() {
+        HazelcastInstance hz1 = newHazelcastInstance(getConfig());
+        HazelcastInstance hz2 = newHazelcastInstance(getConfig());
+        assertClusterSizeEventually(2, hz1, hz2);
+
+        IMap<Integer, String> map = hz1.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, VALUE);
+        }
+        IMap<Integer, String> map2 = hz2.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            assertEquals(VALUE, map2.get(i));
+        }
+
+        Collection<ServerConnection> connections = getMemberConnections(hz1);
+        assertFalse(connections.isEmpty());
+        for (ServerConnection connection : connections) {
+            ChannelCompression compression = getCompression(connection);
+            assertNotNull(compression);
+            assertTrue(compression.isCompressing());
+            assertTrue(compression.bytesSaved() > 0);
+        }
+    }
+
+    @Test
+    public void testMemberConnections_whenCompressionEnabledOnlyOnOneMember() {
+        HazelcastInstance hz1 = newHazelcastInstance(getConfig());
+        HazelcastInstance hz2 = newHazelcastInstance(smallInstanceConfig());
+        HazelcastInstance hz3 = newHazelcastInstance(getConfig());
+        assertClusterSizeEventually(3, hz1, hz2, hz3);
+
+        IMap<Integer, String> map = hz1.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, VALUE);
+        }
+        IMap<Integer, String> map2 = hz2.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            assertEquals(VALUE, map2.get(i));
+        }
+
+        for (ServerConnection connection : getMemberConnections(hz2)) {
+            ChannelCompression compression = getCompression(connection);
+            assertTrue(compression.isNegotiated());
+            assertFalse(compression.isCompressing());
+            assertEquals(0, compression.bytesSaved());
+        }
+        ServerConnection connection = Accessors.getNode(hz1).getServer()
+                .getConnectionManager(EndpointQualifier.MEMBER).get(Accessors.getAddress(hz3));
+        assertTrue(getCompression(connection).isCompressing());
+    }
+
+    @Test
+    public void testClientConnection_whenClientCompressionEnabled() {
+        HazelcastInstance hz = newHazelcastInstance(getConfig());
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.setProperty(ClientProperty.NETWORK_COMPRESSION_ENABLED.getName(), "true");
+        HazelcastInstance client = HazelcastClient.newHazelcastClient(clientConfig);
+
+        IMap<Integer, String> map = client.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, VALUE);
+            assertEquals(VALUE, map.get(i));
+        }
+        assertEquals(VALUE, hz.getMap("map").get(0));
+
+        Collection<ServerConnection> connections = getClientConnections(hz);
+        assertEquals(1, connections.size());
+        ChannelCompression compression = getCompression(connections.iterator().next());
+        assertTrue(compression.bytesSaved() > 0);
+    }
+
+    @Test
+    public void testClientConnection_whenClientCompressionDisabled() {
+        HazelcastInstance hz = newHazelcastInstance(getConfig());
+        HazelcastInstance client = HazelcastClient.newHazelcastClient();
+
+        IMap<Integer, String> map = client.getMap("map");
+        map.put(0, VALUE);
+        assertEquals(VALUE, map.get(0));
+
+        Collection<ServerConnection> connections = getClientConnections(hz);
+        assertEquals(1, connections.size());
+        ChannelCompression compression = getCompression(connections.iterator().next());
+        assertTrue(compression.isNegotiated());
+        assertFalse(compression.isRequested());
+        assertFalse(compression.isCompressing());
+        assertEquals(0, compression.bytesSaved());
+    }
+
+    @Test
+    public void testClientConnection_whenMemberCompressionDisabled() {
+        HazelcastInstance hz = newHazelcastInstance(smallInstanceConfig());
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.setProperty(ClientProperty.NETWORK_COMPRESSION_ENABLED.getName(), "true");
+        HazelcastInstance client = HazelcastClient.newHazelcastClient(clientConfig);
+
+        IMap<Integer, String> map = client.getMap("map");
+        map.put(0, VALUE);
+        assertEquals(VALUE, map.get(0));
+
+        Collection<ServerConnection> connections = getClientConnections(hz);
+        assertEquals(1, connections.size());
+        ChannelCompression compression = getCompression(connections.iterator().next());
+        assertTrue(compression.isNegotiated());
+        assertTrue(compression.isRequested());
+        assertFalse(compression.isCompressing());
+        assertEquals(0, compression.bytesSaved());
+    }
+
+    @Test
+    public void testMemberConnections_whenCompressionDisabled() {
+        HazelcastInstance hz1 = newHazelcastInstance(smallInstanceConfig());
+        HazelcastInstance hz2 = newHazelcastInstance(smallInstanceConfig());
+        assertClusterSizeEventually(2, hz1, hz2);
+
+        for (ServerConnection connection : getMemberConnections(hz1)) {
+            assertFalse(getCompression(connection).isCompressing());
+        }
+    }
+
+    private static Collection<ServerConnection> getMemberConnections(HazelcastInstance hz) {
+        return Accessors.getNode(hz).getServer().getConnectionManager(EndpointQualifier.MEMBER).getConnections();
+    }
+
+    private static Collection<ServerConnection> getClientConnections(HazelcastInstance hz) {
+        return Accessors.getNode(hz).getServer().getConnectionManager(EndpointQualifier.CLIENT).getConnections();
+    }
+
+    private static ChannelCompression getCompression(ServerConnection connection) {
+        Channel channel = ((TcpServerConnection) connection).getChannel();
+        return (ChannelCompression) channel.attributeMap().get(ChannelCompression.class);
+    }
+
+    private static Config getConfig() {
+        Config config = smallInstanceConfig();
+        config.setProperty(ClusterProperty.NETWORK_COMPRESSION_ENABLED.getName(), "true");
+        return config;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.bufferpool;
+
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SharedOutputBufferPoolTest {
+
+    private static final int CAPACITY = 2;
+
+    private InternalSerializationService serializationService;
+    private SharedOutputBufferPool bufferPool;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        bufferPool = new SharedOutputBufferPool(serializationService, CAPACITY);
+    }
+
+    @Test
+    public void takeOutputBuffer_whenPooledInstance() {
+        BufferObjectDataOutput found1 = bufferPool.takeOutputBuffer();
+        bufferPool.returnOutputBuffer(found1);
+        BufferObjectDataOutput found2 = bufferPool.takeOutputBuffer();
+
+        assertSame(found1, found2);
+    }
+
+    @Test
+    public void takeOutputBuffer_whenNestedInstance() {
+        BufferObjectDataOutput found1 = bufferPool.takeOutputBuffer();
+        BufferObjectDataOutput found2 = bufferPool.takeOutputBuffer();
+
+        assertNotSame(found1, found2);
+    }
+
+    @Test
+    public void takeOutputBuffer_whenReturnedByOtherThread() throws Exception {
+        BufferObjectDataOutput found1 = bufferPool.takeOutputBuffer();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> bufferPool.returnOutputBuffer(found1)).get();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+
+        assertSame(found1, bufferPool.takeOutputBuffer());
+    }
+
+    @Test
+    public void returnOutputBuffer_whenNull() {
+        bufferPool.returnOutputBuffer(null);
+
+        assertEquals(0, pooledCount());
+    }
+
+    @Test
+    public void returnOutputBuffer() {
+        BufferObjectDataOutput out = mock(BufferObjectDataOutput.class);
+
+        bufferPool.returnOutputBuffer(out);
+
+        assertEquals(1, pooledCount());
+        // we need to make sure clear was called
+        verify(out, times(1)).clear();
+    }
+
+    @Test
+    public void returnOutputBuffer_whenPoolFull() {
+        for (int k = 0; k < CAPACITY + 1; k++) {
+            bufferPool.returnOutputBuffer(mock(BufferObjectDataOutput.class));
+        }
+
+        assertEquals(CAPACITY, pooledCount());
+    }
+
+    @Test
+    public void toSharedOutput() {
+        String object = "foo";
+        BufferObjectDataOutput out = serializationService.toSharedOutput(object);
+
+        assertArrayEquals(serializationService.toBytes(object), out.toByteArray());
+        serializationService.returnSharedOutput(out);
+    }
+
+    private int pooledCount() {
+        int count = 0;
+        for (int i = 0; i < bufferPool.slots.length(); i++) {
+            if (bufferPool.slots.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder.compact;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactInternalGenericRecordClonerTest {
+
+    private final InternalSerializationService serializationService = createSerializationService();
+
+    @Test
+    public void testFixedSizeFields_arePatchedInPlace() throws IOException {
+        CompactInternalGenericRecord record = readAsInternalGenericRecord(newRecord(false, 1, 2, 3, 4L, 5f, 6d, "text"));
+
+        GenericRecord clone = record.newBuilderWithClone()
+                .setBoolean("bool", true)
+                .setInt8("int8", (byte) -1)
+                .setInt16("int16", (short) 300)
+                .setInt32("int32", Integer.MIN_VALUE)
+                .setInt64("int64", Long.MAX_VALUE)
+                .setFloat32("float32", 1.5f)
+                .setFloat64("float64", -2.25d)
+                .build();
+
+        assertThat(clone).isInstanceOf(CompactInternalGenericRecord.class);
+        GenericRecord expected = newRecord(true, -1, 300, Integer.MIN_VALUE, Long.MAX_VALUE, 1.5f, -2.25d, "text");
+        assertSameSerializedForm(expected, clone);
+        assertEquals("text", clone.getString("string"));
+        assertEquals(Long.MAX_VALUE, clone.getInt64("int64"));
+    }
+
+    @Test
+    public void testBooleanField_canBeCleared() throws IOException {
+        CompactInternalGenericRecord record = readAsInternalGenericRecord(newRecord(true, 1, 2, 3, 4L, 5f, 6d, "text"));
+
+        GenericRecord clone = record.newBuilderWithClone()
+                .setBoolean("bool", false)
+                .build();
+
+        assertSameSerializedForm(newRecord(false, 1, 2, 3, 4L, 5f, 6d, "text"), clone);
+    }
+
+    @Test
+    public void testOriginalRecord_isNotModified() throws IOException {
+        CompactInternalGenericRecord record = readAsInternalGenericRecord(newRecord(false, 1, 2, 3, 4L, 5f, 6d, "text"));
+
+        record.newBuilderWithClone()
+                .setInt32("int32", 42)
+                .build();
+
+        assertEquals(3, record.getInt32("int32"));
+    }
+
+    @Test
+    public void testVariableSizeField_fallsBackToDeserializedClone() throws IOException {
+        CompactInternalGenericRecord record = readAsInternalGenericRecord(newRecord(false, 1, 2, 3, 4L, 5f, 6d, "text"));
+
+        GenericRecord clone = record.newBuilderWithClone()
+                .setInt32("int32", 42)
+                .setString("string", "other")
+                .build();
+
+        assertThat(clone).isInstanceOf(DeserializedGenericRecord.class);
+        assertSameSerializedForm(newRecord(false, 1, 2, 42, 4L, 5f, 6d, "other"), clone);
+    }
+
+    @Test
+    public void testNoFieldSet_returnsEquivalentRecord() throws IOException {
+        GenericRecord expected = newRecord(false, 1, 2, 3, 4L, 5f, 6d, "text");
+        CompactInternalGenericRecord record = readAsInternalGenericRecord(expected);
+
+        assertSameSerializedForm(expected, record.newBuilderWithClone().build());
+    }
+
+    private CompactInternalGenericRecord readAsInternalGenericRecord(GenericRecord record) throws IOException {
+        Data data = serializationService.toData(record);
+        return (CompactInternalGenericRecord) serializationService.readAsInternalGenericRecord(data);
+    }
+
+    private void assertSameSerializedForm(GenericRecord expected, GenericRecord actual) {
+        Data expectedData = serializationService.toData(expected);
+        Data actualData = serializationService.toData(actual);
+        assertArrayEquals(expectedData.toByteArray(), actualData.toByteArray());
+    }
+
+    @SuppressWarnings("checkstyle:parameternumber")
+    private static GenericRecord newRecord(boolean bool, int int8, int int16, int int32, long int64,
+                                           float float32, double float64, String string) {
+        GenericRecordBuilder builder = compact("cloner-test")
+                .setBoolean("bool", bool)
+                .setInt8("int8", (byte) int8)
+                .setInt16("int16", (short) int16)
+                .setInt32("int32", int32)
+                .setInt64("int64", int64)
+                .setFloat32("float32", float32)
+                .setFloat64("float64", float64)
+                .setString("string", string);
+        return builder.build();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder.compact;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ReflectiveCompactSerializerTest {
+
+    private final SerializationService serializationService = createSerializationService();
+
+    @Test
+    public void testRoundTrip() {
+        PrimitivesDTO expected = new PrimitivesDTO(7);
+        expected.b = 1;
+        expected.c = 'x';
+        expected.s = 2;
+        expected.i = 3;
+        expected.l = 4;
+        expected.f = 5.5f;
+        expected.d = 6.5;
+        expected.bool = true;
+        expected.str = "str";
+
+        PrimitivesDTO actual = serializationService.toObject(serializationService.toData(expected));
+
+        assertEquals(expected.b, actual.b);
+        assertEquals(expected.c, actual.c);
+        assertEquals(expected.s, actual.s);
+        assertEquals(expected.i, actual.i);
+        assertEquals(expected.l, actual.l);
+        assertEquals(expected.f, actual.f, 0);
+        assertEquals(expected.d, actual.d, 0);
+        assertEquals(expected.bool, actual.bool);
+        assertEquals(expected.str, actual.str);
+        assertEquals(expected.finalField, actual.finalField);
+    }
+
+    @Test
+    public void testRead_withDifferentSchemas() {
+        GenericRecord partial = compact(PrimitivesDTO.class.getName())
+                .setInt32("i", 42)
+                .build();
+        GenericRecord evolved = compact(PrimitivesDTO.class.getName())
+                .setNullableInt32("i", 43)
+                .setInt32("l", 44) // wrong kind, should be skipped
+                .setString("str", "evolved")
+                .setInt32("unknown", 45)
+                .build();
+        Data partialData = serializationService.toData(partial);
+        Data evolvedData = serializationService.toData(evolved);
+
+        // alternate between the schemas so that both the last used and the
+        // cached readers are exercised
+        for (int k = 0; k < 2; k++) {
+            PrimitivesDTO fromPartial = serializationService.toObject(partialData);
+            assertEquals(42, fromPartial.i);
+            assertEquals(PrimitivesDTO.DEFAULT_LONG, fromPartial.l);
+            assertTrue(fromPartial.bool);
+            assertNull(fromPartial.str);
+
+            PrimitivesDTO fromEvolved = serializationService.toObject(evolvedData);
+            assertEquals(43, fromEvolved.i);
+            assertEquals(PrimitivesDTO.DEFAULT_LONG, fromEvolved.l);
+            assertTrue(fromEvolved.bool);
+            assertEquals("evolved", fromEvolved.str);
+        }
+    }
+
+    public static class PrimitivesDTO {
+
+        static final long DEFAULT_LONG = -1;
+
+        byte b;
+        char c;
+        short s;
+        int i;
+        long l = DEFAULT_LONG;
+        float f;
+        double d;
+        boolean bool = true;
+        String str;
+        private final int finalField;
+
+        public PrimitivesDTO() {
+            this(0);
+        }
+
+        PrimitivesDTO(int finalField) {
+            this.finalField = finalField;
+        }
+    }
+}
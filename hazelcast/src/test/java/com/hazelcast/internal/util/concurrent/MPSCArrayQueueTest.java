@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util.concurrent;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MPSCArrayQueueTest extends HazelcastTestSupport {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenChunkSizeNotPowerOfTwo() {
+        new MPSCArrayQueue<String>(3);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void offer_whenNull() {
+        new MPSCArrayQueue<String>().offer(null);
+    }
+
+    @Test
+    public void poll_whenEmpty() {
+        MPSCArrayQueue<String> queue = new MPSCArrayQueue<>();
+
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void offerAndPoll_acrossChunks() {
+        MPSCArrayQueue<Integer> queue = new MPSCArrayQueue<>(4);
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 10; i++) {
+                queue.offer(i);
+            }
+            assertEquals(10, queue.size());
+
+            for (int i = 0; i < 10; i++) {
+                assertEquals(Integer.valueOf(i), queue.peek());
+                assertEquals(Integer.valueOf(i), queue.poll());
+            }
+            assertNull(queue.poll());
+            assertEquals(0, queue.size());
+        }
+    }
+
+    @Test
+    public void offer_concurrentProducers() throws Exception {
+        int producerCount = 4;
+        int itemCount = 100_000;
+        MPSCArrayQueue<Long> queue = new MPSCArrayQueue<>(16);
+
+        List<Thread> producers = new ArrayList<>();
+        for (int producer = 0; producer < producerCount; producer++) {
+            long producerId = producer;
+            producers.add(new Thread(() -> {
+                for (long i = 0; i < itemCount; i++) {
+                    queue.offer(producerId * itemCount + i);
+                }
+            }));
+        }
+        producers.forEach(Thread::start);
+
+        // the items of each producer need to be taken in the order they were offered
+        long[] next = new long[producerCount];
+        long taken = 0;
+        while (taken < (long) producerCount * itemCount) {
+            Long item = queue.poll();
+            if (item == null) {
+                continue;
+            }
+            int producerId = (int) (item / itemCount);
+            assertEquals(next[producerId], item % itemCount);
+            next[producerId]++;
+            taken++;
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+}
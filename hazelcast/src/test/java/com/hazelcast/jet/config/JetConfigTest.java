@@ -17,6 +17,8 @@
 package com.hazelcast.jet.config;
 
 import com.hazelcast.config.Config;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -58,6 +60,19 @@ public class JetConfigTest {
         assertEquals(edgeConfig, config.getDefaultEdgeConfig());
     }
 
+    @Test
+    public void when_edgeConfigSerialized_then_compressionEnabledRetained() {
+        // Given
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        EdgeConfig edgeConfig = new EdgeConfig().setCompressionEnabled(true);
+
+        // When
+        EdgeConfig deserialized = serializationService.toObject(serializationService.toData(edgeConfig));
+
+        // Then
+        assertEquals(edgeConfig, deserialized);
+    }
+
     @Test
     public void testJetIsDisabledByDefault() {
         assertFalse(new JetConfig().isEnabled());
@@ -53,7 +53,7 @@ public class ReceiverTaskletSendLimitTest {
     public void before() {
         tasklet = new ReceiverTasklet(null,
                 new DefaultSerializationServiceBuilder().build(),
-                RWIN_MULTIPLIER, FLOW_CONTROL_PERIOD_MS,
+                RWIN_MULTIPLIER, FLOW_CONTROL_PERIOD_MS, false,
                 new LoggingServiceImpl(null, null, BuildInfoProvider.getBuildInfo(), false, false, null),
                 new Address(), 0, "", null, "");
     }
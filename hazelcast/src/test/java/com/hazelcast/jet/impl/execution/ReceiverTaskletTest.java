@@ -17,6 +17,7 @@
 package com.hazelcast.jet.impl.execution;
 
 import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.nio.Bits;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
@@ -31,8 +32,11 @@ import org.junit.runner.RunWith;
 
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Queue;
+import java.util.zip.Deflater;
 
+import static com.hazelcast.jet.impl.Networking.PACKET_HEADER_SIZE;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
@@ -50,7 +54,7 @@ public class ReceiverTaskletTest {
     public void before() {
         collector = new MockOutboundCollector(2);
         serService = new DefaultSerializationServiceBuilder().build();
-        t = new ReceiverTasklet(collector, serService, 3, 100, mock(LoggingService.class),
+        t = new ReceiverTasklet(collector, serService, 3, 100, false, mock(LoggingService.class),
                 new Address(), 0, "", null, "");
         t.initIncomingQueue(queue);
     }
@@ -62,7 +66,24 @@ public class ReceiverTaskletTest {
         assertEquals(asList(1, 2), collector.getBuffer());
     }
 
+    @Test
+    public void when_receiveCompressedObjects_then_emitThem() throws IOException {
+        collector = new MockOutboundCollector(3);
+        t = new ReceiverTasklet(collector, serService, 3, 100, true, mock(LoggingService.class),
+                new Address(), 0, "", null, "");
+        t.initIncomingQueue(queue);
+        queue.add(compress(createPacket(1, 2)));
+        queue.add(compress(createPacket(3)));
+        t.call();
+        t.close();
+        assertEquals(asList(1, 2, 3), collector.getBuffer());
+    }
+
     private void pushObjects(Object... objs) throws IOException {
+        queue.add(createPacket(objs));
+    }
+
+    private byte[] createPacket(Object... objs) throws IOException {
         final BufferObjectDataOutput out = serService.createObjectDataOutput();
         // packet header
         out.writeLong(0);
@@ -74,6 +95,19 @@ public class ReceiverTaskletTest {
             out.writeObject(obj);
             out.writeInt(Math.abs(obj.hashCode())); // partition id
         }
-        queue.add(out.toByteArray());
+        return out.toByteArray();
+    }
+
+    private static byte[] compress(byte[] packet) {
+        int length = packet.length - PACKET_HEADER_SIZE;
+        byte[] compressed = Arrays.copyOf(packet, PACKET_HEADER_SIZE + Bits.INT_SIZE_IN_BYTES + packet.length + 64);
+        Bits.writeIntB(compressed, PACKET_HEADER_SIZE, length);
+        Deflater deflater = new Deflater();
+        deflater.setInput(packet, PACKET_HEADER_SIZE, length);
+        deflater.finish();
+        int position = PACKET_HEADER_SIZE + Bits.INT_SIZE_IN_BYTES;
+        position += deflater.deflate(compressed, position, compressed.length - position);
+        deflater.end();
+        return Arrays.copyOf(compressed, position);
     }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.jet.SimpleTestInClusterSupport;
+import com.hazelcast.jet.accumulator.LongAccumulator;
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.core.test.TestSupport.SAME_ITEMS_ANY_ORDER;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class GroupPTest extends SimpleTestInClusterSupport {
+
+    private static final int KEY_COUNT = 200;
+    private static final int ITEMS_PER_KEY = 5;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void beforeClass() {
+        initialize(1, null);
+    }
+
+    @Test
+    public void when_groupsExceedMaxEntries_then_spilledAndCombined() throws Exception {
+        File spillDirectory = temporaryFolder.newFolder();
+
+        TestSupport.verifyProcessor(() -> groupP(counting(), 10, spillDirectory))
+                   .hazelcastInstance(instance())
+                   .disableSnapshots()
+                   .disableProgressAssertion()
+                   .outputChecker(SAME_ITEMS_ANY_ORDER)
+                   .input(input())
+                   .expectOutput(expectedCounts());
+
+        // the spilled partitions are deleted when the processor is closed
+        assertArrayEquals(new String[0], spillDirectory.list());
+    }
+
+    @Test
+    public void when_groupsFitMaxEntries_then_notSpilled() throws Exception {
+        File spillDirectory = temporaryFolder.newFolder();
+
+        TestSupport.verifyProcessor(() -> groupP(counting(), KEY_COUNT, spillDirectory))
+                   .hazelcastInstance(instance())
+                   .disableSnapshots()
+                   .outputChecker(SAME_ITEMS_ANY_ORDER)
+                   .input(input())
+                   .expectOutput(expectedCounts());
+
+        assertArrayEquals(new String[0], spillDirectory.list());
+    }
+
+    @Test
+    public void when_noCombineFn_then_notSpilled() throws Exception {
+        File spillDirectory = temporaryFolder.newFolder();
+
+        TestSupport.verifyProcessor(() -> groupP(countingWithoutCombine(), 10, spillDirectory))
+                   .hazelcastInstance(instance())
+                   .disableSnapshots()
+                   .outputChecker(SAME_ITEMS_ANY_ORDER)
+                   .input(input())
+                   .expectOutput(expectedCounts());
+
+        assertArrayEquals(new String[0], spillDirectory.list());
+    }
+
+    @Test
+    public void when_spillingEnabled_then_notCooperative() {
+        assertFalse(groupP(counting(), 10, null).isCooperative());
+        assertFalse(groupP(counting(), 10, null).closeIsCooperative());
+        assertTrue(groupP(counting(), 0, null).isCooperative());
+        assertTrue(groupP(countingWithoutCombine(), 10, null).isCooperative());
+    }
+
+    private static GroupP<Integer, LongAccumulator, Long, Entry<Integer, Long>> groupP(
+            AggregateOperation1<Object, LongAccumulator, Long> aggrOp, long spillMaxEntries, File spillDirectory
+    ) {
+        List<FunctionEx<?, ? extends Integer>> keyFns = singletonList((FunctionEx<Integer, Integer>) i -> i % KEY_COUNT);
+        return new GroupP<>(keyFns, aggrOp, (k, r) -> entry(k, r), spillMaxEntries, spillDirectory);
+    }
+
+    private static AggregateOperation1<Object, LongAccumulator, Long> countingWithoutCombine() {
+        return AggregateOperation
+                .withCreate(LongAccumulator::new)
+                .andAccumulate((LongAccumulator acc, Object item) -> acc.add(1))
+                .andExportFinish(LongAccumulator::get);
+    }
+
+    private static List<Integer> input() {
+        List<Integer> input = IntStream.range(0, KEY_COUNT * ITEMS_PER_KEY).boxed().collect(Collectors.toList());
+        Collections.shuffle(input);
+        return input;
+    }
+
+    private static List<Entry<Integer, Long>> expectedCounts() {
+        return IntStream.range(0, KEY_COUNT)
+                        .mapToObj(i -> entry(i, (long) ITEMS_PER_KEY))
+                        .collect(Collectors.toList());
+    }
+}
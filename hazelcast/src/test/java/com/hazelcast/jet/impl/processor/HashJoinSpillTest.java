@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.jet.SimpleTestInClusterSupport;
+import com.hazelcast.jet.Util;
+import com.hazelcast.jet.pipeline.BatchStage;
+import com.hazelcast.jet.pipeline.JoinClause;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.test.TestSources;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.function.Functions.wholeItem;
+import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertAnyOrder;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_HASH_JOIN_SPILL_MAX_ENTRIES;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_SPILL_DIRECTORY;
+import static org.junit.Assert.assertArrayEquals;
+
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class HashJoinSpillTest extends SimpleTestInClusterSupport {
+
+    private static final int ITEM_COUNT = 1000;
+
+    @ClassRule
+    public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static File spillDirectory;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        spillDirectory = temporaryFolder.newFolder();
+        Config config = smallInstanceConfig()
+                .setProperty(JET_HASH_JOIN_SPILL_MAX_ENTRIES.getName(), "10")
+                .setProperty(JET_SPILL_DIRECTORY.getName(), spillDirectory.getAbsolutePath());
+        initialize(1, config);
+    }
+
+    @Test
+    public void when_buildSideSpilled_then_allItemsJoined() {
+        List<Integer> keys = IntStream.range(0, ITEM_COUNT).boxed().collect(Collectors.toList());
+        List<Entry<Integer, String>> expected = keys.stream()
+                                                    .map(i -> Util.entry(i, "v" + i))
+                                                    .collect(Collectors.toList());
+
+        Pipeline p = Pipeline.create();
+        BatchStage<Integer> left = p.readFrom(TestSources.items(keys));
+        BatchStage<Entry<Integer, String>> right = p.readFrom(TestSources.items(expected));
+        left.hashJoin(right, JoinClause.joinMapEntries(wholeItem()), Util::entry)
+            .writeTo(assertAnyOrder(expected));
+
+        instance().getJet().newJob(p).join();
+
+        // the spill files are deleted once they are mapped into memory
+        assertArrayEquals(new String[0], spillDirectory.list());
+    }
+}
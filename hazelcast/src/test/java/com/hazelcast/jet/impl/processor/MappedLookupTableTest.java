@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MappedLookupTableTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void when_keySpilled_then_found() throws IOException {
+        MappedLookupTable table = buildTable(emptyMap(), MappedLookupTable.DEFAULT_SEGMENT_SHIFT,
+                1, "a", 2, "b");
+
+        assertEquals("a", table.get(1));
+        assertEquals("b", table.get(2));
+        assertNull(table.get(3));
+    }
+
+    @Test
+    public void when_keyOnHeapAndSpilled_then_valuesMerged() throws IOException {
+        Map<Object, Object> onHeap = new HashMap<>(singletonMap(1, "a"));
+        MappedLookupTable table = buildTable(onHeap, MappedLookupTable.DEFAULT_SEGMENT_SHIFT,
+                1, "b", 2, "c", 1, "d");
+
+        assertEquals(asList("a", "b", "d"), table.get(1));
+        assertEquals("c", table.get(2));
+        // the on-heap values are not modified
+        assertEquals("a", onHeap.get(1));
+    }
+
+    @Test
+    public void when_nullKey_then_lookedUpOnHeap() throws IOException {
+        Map<Object, Object> onHeap = new HashMap<>(singletonMap(null, "a"));
+        MappedLookupTable table = buildTable(onHeap, MappedLookupTable.DEFAULT_SEGMENT_SHIFT, 1, "b");
+
+        assertEquals("a", table.get(null));
+    }
+
+    @Test
+    public void when_manyEntriesInSmallSegments_then_allFound() throws IOException {
+        int count = 10_000;
+        Object[] keysAndValues = new Object[2 * count];
+        for (int i = 0; i < count; i++) {
+            keysAndValues[2 * i] = i;
+            keysAndValues[2 * i + 1] = "v" + i;
+        }
+        // 64-byte segments, the records of various lengths are padded
+        MappedLookupTable table = buildTable(emptyMap(), 6, keysAndValues);
+
+        for (int i = 0; i < count; i++) {
+            assertEquals("v" + i, table.get(i));
+        }
+        assertNull(table.get(count));
+    }
+
+    @Test
+    public void when_equalKeyWithDifferentSerializedForm_then_found() throws IOException {
+        MappedLookupTable table = buildTable(emptyMap(), MappedLookupTable.DEFAULT_SEGMENT_SHIFT,
+                new Key(1, "spilled"), "a");
+
+        assertEquals("a", table.get(new Key(1, "looked up")));
+        assertNull(table.get(new Key(2, "spilled")));
+    }
+
+    private MappedLookupTable buildTable(Map<Object, Object> onHeap, int segmentShift, Object... keysAndValues)
+            throws IOException {
+        File directory = temporaryFolder.newFolder();
+        MappedLookupTable.Builder builder = new MappedLookupTable.Builder(directory, serializationService, segmentShift);
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            builder.add(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        MappedLookupTable table = builder.build(onHeap);
+        // the files are deleted once they are mapped
+        assertArrayEquals(new String[0], directory.list());
+        return table;
+    }
+
+    // equal keys with a different serialized form
+    private static final class Key implements Serializable {
+        private final int id;
+        private final String comment;
+
+        Key(int id, String comment) {
+            this.id = id;
+            this.comment = comment;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return "Key{id=" + id + ", comment=" + comment + '}';
+        }
+    }
+}
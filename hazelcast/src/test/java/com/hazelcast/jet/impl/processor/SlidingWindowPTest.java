@@ -26,6 +26,9 @@ import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.SlidingWindowPolicy;
 import com.hazelcast.jet.core.TimestampKind;
 import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.core.test.TestInbox;
+import com.hazelcast.jet.core.test.TestOutbox;
+import com.hazelcast.jet.core.test.TestProcessorContext;
 import com.hazelcast.jet.datamodel.KeyedWindowResult;
 import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
 import com.hazelcast.test.HazelcastParametrizedRunner;
@@ -45,6 +48,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.LongStream;
 
@@ -58,6 +62,9 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.shuffle;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.runners.Parameterized.UseParametersRunnerFactory;
 
@@ -323,6 +330,35 @@ public class SlidingWindowPTest {
                 ));
     }
 
+    @Test
+    public void when_frameEvicted_then_itsMapReusedForNewFrame() throws Exception {
+        SlidingWindowP<?, ?, ?, ?> p = (SlidingWindowP<?, ?, ?, ?>) supplier.get();
+        TestOutbox outbox = new TestOutbox(new int[]{1024}, 1024);
+        p.init(outbox, new TestProcessorContext());
+        TestInbox inbox = new TestInbox();
+        inbox.addAll(asList(event(0, 1), event(1, 1)));
+        p.process(0, inbox);
+        Map<?, ?> frame0 = p.tsToKeyToAcc.get(0L);
+
+        assertTrue(p.tryProcessWatermark(wm(3)));
+        assertEquals(asList(outboxFrame(0, 1), outboxFrame(1, 2), outboxFrame(2, 2), outboxFrame(3, 2), wm(3)),
+                new ArrayList<>(outbox.queue(0)));
+        assertNull(p.tsToKeyToAcc.get(0L));
+        // only the sliding window updated by deduct is kept between windows
+        assertEquals(hasDeduct ? 1 : 0, p.totalKeysInSlidingWindow());
+
+        outbox.queue(0).clear();
+        inbox.add(event(5, 1));
+        p.process(0, inbox);
+        assertSame(frame0, p.tsToKeyToAcc.get(5L));
+
+        assertTrue(p.tryProcessWatermark(wm(9)));
+        assertEquals(asList(outboxFrame(4, 1), outboxFrame(5, 1), outboxFrame(6, 1), outboxFrame(7, 1),
+                outboxFrame(8, 1), wm(9)),
+                new ArrayList<>(outbox.queue(0)));
+        assertEquals(0, p.totalKeysInSlidingWindow());
+    }
+
     private Entry<Long, ?> event(long frameTs, long value) {
         return singleStageProcessor
                 // frameTs is higher than any event timestamp in that frame;
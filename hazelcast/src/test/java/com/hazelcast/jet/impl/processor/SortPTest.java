@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.SimpleTestInClusterSupport;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SortPTest extends SimpleTestInClusterSupport {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void beforeClass() {
+        initialize(1, null);
+    }
+
+    @Test
+    public void when_spillingDisabled_then_sortedInMemory() {
+        TestSupport.verifyProcessor(() -> new SortP<>(null))
+                   .hazelcastInstance(instance())
+                   .disableSnapshots()
+                   .input(asList(3, 1, 2))
+                   .expectOutput(asList(1, 2, 3));
+    }
+
+    @Test
+    public void when_inputFitsSingleRun_then_notSpilled() throws Exception {
+        File spillDirectory = temporaryFolder.newFolder();
+
+        TestSupport.verifyProcessor(() -> new SortP<>(null, 10, spillDirectory))
+                   .hazelcastInstance(instance())
+                   .disableSnapshots()
+                   .input(asList(3, 1, 2))
+                   .expectOutput(asList(1, 2, 3));
+
+        assertArrayEquals(new String[0], spillDirectory.list());
+    }
+
+    @Test
+    public void when_inputExceedsRunSize_then_spilledAndMerged() throws Exception {
+        File spillDirectory = temporaryFolder.newFolder();
+        List<Integer> expected = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        List<Integer> input = new ArrayList<>(expected);
+        Collections.shuffle(input);
+
+        TestSupport.verifyProcessor(() -> new SortP<>(null, 7, spillDirectory))
+                   .hazelcastInstance(instance())
+                   .disableSnapshots()
+                   .disableProgressAssertion()
+                   .input(input)
+                   .expectOutput(expected);
+
+        // the spilled runs are deleted when the processor is closed
+        assertArrayEquals(new String[0], spillDirectory.list());
+    }
+
+    @Test
+    public void when_spilledWithComparator_then_sortedByComparator() throws Exception {
+        File spillDirectory = temporaryFolder.newFolder();
+
+        TestSupport.verifyProcessor(() -> new SortP<>(Comparator.<String>reverseOrder(), 2, spillDirectory))
+                   .hazelcastInstance(instance())
+                   .disableSnapshots()
+                   .disableProgressAssertion()
+                   .input(asList("b", "e", "a", "d", "c"))
+                   .expectOutput(asList("e", "d", "c", "b", "a"));
+    }
+
+    @Test
+    public void when_spillingEnabled_then_notCooperative() {
+        assertTrue(new SortP<>(null).isCooperative());
+        assertFalse(new SortP<>(null, 10).isCooperative());
+    }
+
+    @Test
+    public void when_noInput_then_noOutput() throws Exception {
+        File spillDirectory = temporaryFolder.newFolder();
+
+        TestSupport.verifyProcessor(() -> new SortP<>(null, 2, spillDirectory))
+                   .hazelcastInstance(instance())
+                   .disableSnapshots()
+                   .input(emptyList())
+                   .expectOutput(emptyList());
+    }
+}
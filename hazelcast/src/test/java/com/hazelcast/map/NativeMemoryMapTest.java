@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.memory.Capacity;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeMemoryMapTest extends HazelcastTestSupport {
+
+    @Override
+    protected Config getConfig() {
+        Config config = smallInstanceConfig();
+        config.getNativeMemoryConfig()
+                .setEnabled(true)
+                .setCapacity(new Capacity(64, MemoryUnit.MEGABYTES));
+        config.addMapConfig(new MapConfig("native*").setInMemoryFormat(InMemoryFormat.NATIVE));
+        return config;
+    }
+
+    @Test
+    public void testBasicOperations() {
+        HazelcastInstance instance = createHazelcastInstance(getConfig());
+        IMap<Integer, String> map = instance.getMap("native");
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value-" + i);
+        }
+        map.set(0, "updated");
+        map.remove(1);
+
+        assertEquals(999, map.size());
+        assertEquals("updated", map.get(0));
+        assertNull(map.get(1));
+        assertEquals("value-2", map.get(2));
+        assertEquals(999, map.keySet().size());
+        assertEquals(1, map.values(Predicates.equal("this", "value-500")).size());
+        assertEquals("value-2-processed", map.executeOnKey(2, entry -> {
+            entry.setValue(entry.getValue() + "-processed");
+            return entry.getValue();
+        }));
+        assertEquals("value-2-processed", map.get(2));
+        assertTrue(nativeMemoryManagerOf(instance).getUsedMemory() > 0);
+    }
+
+    @Test
+    public void testDestroy_releasesNativeMemory() {
+        HazelcastInstance instance = createHazelcastInstance(getConfig());
+        IMap<Integer, String> map = instance.getMap("native");
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        map.destroy();
+
+        assertEquals(0, nativeMemoryManagerOf(instance).getUsedMemory());
+    }
+
+    @Test
+    public void testBackupsSurviveMemberShutdown() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(getConfig());
+        HazelcastInstance instance2 = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, Integer> map = instance1.getMap("native");
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        instance1.shutdown();
+
+        IMap<Integer, Integer> survivingMap = instance2.getMap("native");
+        assertEquals(1000, survivingMap.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) survivingMap.get(i));
+        }
+    }
+
+    @Test
+    public void testEviction_usedNativeMemorySize() {
+        Config config = getConfig();
+        config.getMapConfig("native-evictable").getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaxSizePolicy(MaxSizePolicy.USED_NATIVE_MEMORY_SIZE)
+                .setSize(1);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, byte[]> map = instance.getMap("native-evictable");
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, new byte[4096]);
+        }
+
+        assertTrue(map.size() < 1000);
+    }
+
+    private static UnsafeMemoryManager nativeMemoryManagerOf(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        return mapServiceContext.getNativeMemoryManager();
+    }
+}
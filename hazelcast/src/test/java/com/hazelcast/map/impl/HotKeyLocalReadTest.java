@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_HOT_KEY_LOCAL_READS_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_HOT_KEY_SAMPLE_RATE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_HOT_KEY_TRACKING_ENABLED;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class HotKeyLocalReadTest extends HazelcastTestSupport {
+
+    private static final int READ_COUNT = 2000;
+
+    @Test
+    public void testHotKey_isReadFromLocalBackup() {
+        Config config = smallInstanceConfig()
+                .setProperty(MAP_HOT_KEY_TRACKING_ENABLED.getName(), "true")
+                .setProperty(MAP_HOT_KEY_LOCAL_READS_ENABLED.getName(), "true")
+                .setProperty(MAP_HOT_KEY_SAMPLE_RATE.getName(), "1");
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        HazelcastInstance owner = instances[0];
+        HazelcastInstance backup = instances[1];
+        String mapName = randomMapName();
+        String key = generateKeyOwnedBy(owner);
+        owner.getMap(mapName).set(key, "value");
+
+        IMap<String, String> map = backup.getMap(mapName);
+        assertTrueEventually(() -> {
+            for (int i = 0; i < READ_COUNT; i++) {
+                assertEquals("value", map.get(key));
+            }
+            assertTrue(hotKeyTracker(backup, mapName).getLocalReadCount() > 0);
+        });
+        // the local reads are sampled by the partition of the backup replica
+        assertTrue(hotKeyTracker(backup, mapName).getSampleCount() > 0);
+
+        owner.getMap(mapName).delete(key);
+        assertTrueEventually(() -> assertNull(map.get(key)));
+    }
+
+    private static HotKeyTracker hotKeyTracker(HazelcastInstance instance, String mapName) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return mapService.getMapServiceContext().getMapContainer(mapName).getHotKeyTracker();
+    }
+}
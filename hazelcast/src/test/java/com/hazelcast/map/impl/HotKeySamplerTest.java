@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.map.impl.HotKeySampler.CAPACITY;
+import static com.hazelcast.map.impl.HotKeySampler.MIN_WINDOW_SAMPLES;
+import static com.hazelcast.map.impl.HotKeySampler.WINDOW_MILLIS;
+import static com.hazelcast.map.impl.HotKeySampler.WINDOW_SAMPLES;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class HotKeySamplerTest {
+
+    private final HotKeySampler sampler = new HotKeySampler(1, 10);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenSampleRateNotPositive() {
+        new HotKeySampler(0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenThresholdAbove100() {
+        new HotKeySampler(1, 101);
+    }
+
+    @Test
+    public void whenWindowNotCompleted_thenNoHotKeys() {
+        for (int i = 0; i < WINDOW_SAMPLES - 1; i++) {
+            sampler.recordSample(key(0), 0);
+        }
+
+        assertFalse(sampler.isHot(key(0), 0));
+        assertEquals(WINDOW_SAMPLES - 1, sampler.getSampleCount());
+    }
+
+    @Test
+    public void whenKeyDominatesWindow_thenHot() {
+        for (int i = 0; i < WINDOW_SAMPLES; i++) {
+            sampler.recordSample(i % 2 == 0 ? key(0) : key(1 + i), 0);
+        }
+
+        assertTrue(sampler.isHot(key(0), 0));
+        assertFalse(sampler.isHot(key(1), 0));
+        assertEquals(singletonMap(key(0), 50), sampler.getHotKeys(0));
+    }
+
+    @Test
+    public void whenKeysEvenlyAccessed_thenNoHotKeys() {
+        for (int i = 0; i < WINDOW_SAMPLES; i++) {
+            sampler.recordSample(key(i % (4 * CAPACITY)), 0);
+        }
+
+        assertTrue(sampler.getHotKeys(0).isEmpty());
+    }
+
+    @Test
+    public void whenWindowTimesOut_thenHotKeysOfShorterWindow() {
+        for (int i = 0; i < MIN_WINDOW_SAMPLES; i++) {
+            sampler.recordSample(key(0), i);
+        }
+        sampler.recordSample(key(0), WINDOW_MILLIS);
+
+        assertTrue(sampler.isHot(key(0), WINDOW_MILLIS));
+    }
+
+    @Test
+    public void whenWindowTimesOutWithFewSamples_thenNoHotKeys() {
+        sampler.recordSample(key(0), 0);
+        sampler.recordSample(key(0), WINDOW_MILLIS);
+
+        assertFalse(sampler.isHot(key(0), WINDOW_MILLIS));
+    }
+
+    @Test
+    public void whenNoWindowEnds_thenHotKeysExpire() {
+        for (int i = 0; i < WINDOW_SAMPLES; i++) {
+            sampler.recordSample(key(0), 0);
+        }
+        assertTrue(sampler.isHot(key(0), WINDOW_MILLIS - 1));
+
+        assertFalse(sampler.isHot(key(0), WINDOW_MILLIS));
+        assertTrue(sampler.getHotKeys(WINDOW_MILLIS).isEmpty());
+    }
+
+    @Test
+    public void whenKeyCoolsDown_thenNotHotAfterNextWindow() {
+        for (int i = 0; i < WINDOW_SAMPLES; i++) {
+            sampler.recordSample(key(0), 0);
+        }
+        assertTrue(sampler.isHot(key(0), 0));
+
+        for (int i = 0; i < WINDOW_SAMPLES; i++) {
+            sampler.recordSample(key(i), 0);
+        }
+        assertFalse(sampler.isHot(key(0), 0));
+    }
+
+    private static Data key(int i) {
+        byte[] bytes = new byte[HeapData.HEAP_DATA_OVERHEAD + Integer.BYTES];
+        bytes[bytes.length - 4] = (byte) (i >>> 24);
+        bytes[bytes.length - 3] = (byte) (i >>> 16);
+        bytes[bytes.length - 2] = (byte) (i >>> 8);
+        bytes[bytes.length - 1] = (byte) i;
+        return new HeapData(bytes);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.map.impl.mapstore.writebehind.AdaptiveBatchSizer.MAX_GROWTH_FACTOR;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptiveBatchSizerTest {
+
+    private static final long TARGET_LATENCY_NANOS = MILLISECONDS.toNanos(100);
+
+    @Test
+    public void batchSizeFixed_whenDisabled() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(100, 0);
+
+        sizer.onBatchStored(1);
+        sizer.onBatchFailed();
+
+        assertEquals(100, sizer.getBatchSize());
+    }
+
+    @Test
+    public void batchSizeGrows_whenFasterThanHalfOfTarget() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(100, TARGET_LATENCY_NANOS);
+
+        sizer.onBatchStored(MILLISECONDS.toNanos(10));
+
+        assertEquals(125, sizer.getBatchSize());
+    }
+
+    @Test
+    public void batchSizeUnchanged_whenCloseToTarget() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(100, TARGET_LATENCY_NANOS);
+
+        sizer.onBatchStored(MILLISECONDS.toNanos(80));
+
+        assertEquals(100, sizer.getBatchSize());
+    }
+
+    @Test
+    public void batchSizeHalved_whenSlowerThanTarget() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(100, TARGET_LATENCY_NANOS);
+
+        sizer.onBatchStored(MILLISECONDS.toNanos(200));
+
+        assertEquals(50, sizer.getBatchSize());
+    }
+
+    @Test
+    public void batchSizeHalved_whenBatchFails() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(100, TARGET_LATENCY_NANOS);
+
+        sizer.onBatchFailed();
+
+        assertEquals(50, sizer.getBatchSize());
+    }
+
+    @Test
+    public void batchSizeBounded() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(2, TARGET_LATENCY_NANOS);
+
+        for (int i = 0; i < 100; i++) {
+            sizer.onBatchStored(1);
+        }
+        assertEquals(2 * MAX_GROWTH_FACTOR, sizer.getBatchSize());
+
+        for (int i = 0; i < 100; i++) {
+            sizer.onBatchFailed();
+        }
+        assertEquals(1, sizer.getBatchSize());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapStoreAdapter;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class WriteBehindParallelFlushTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+    private static final int POISONED_KEY = 42;
+
+    @Test
+    public void allEntriesStored_whenFlushedInParallel() {
+        RecordingMapStore mapStore = new RecordingMapStore(-1);
+        IMap<Integer, Integer> map = createMap(mapStore);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(() -> assertEquals(ENTRY_COUNT, mapStore.store.size()));
+        WriteBehindStats stats = getWriteBehindStats(map);
+        assertTrueEventually(() -> assertEquals(ENTRY_COUNT, stats.getStoredEntryCount()));
+        assertTrue(stats.getBatchCount() > 0);
+        assertEquals(0, stats.getFailedEntryCount());
+    }
+
+    @Test
+    public void poisonedEntryIsolated_whenBatchFails() {
+        RecordingMapStore mapStore = new RecordingMapStore(POISONED_KEY);
+        IMap<Integer, Integer> map = createMap(mapStore);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(() -> assertEquals(ENTRY_COUNT - 1, mapStore.store.size()));
+        assertFalse(mapStore.store.containsKey(POISONED_KEY));
+        WriteBehindStats stats = getWriteBehindStats(map);
+        assertTrueEventually(() -> assertTrue(stats.getFailedEntryCount() > 0));
+    }
+
+    private IMap<Integer, Integer> createMap(RecordingMapStore mapStore) {
+        String mapName = randomMapName();
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.MAP_WRITE_BEHIND_PARALLELISM.getName(), "4")
+                .setProperty(ClusterProperty.MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS.getName(), "1000");
+        MapStoreConfig mapStoreConfig = new MapStoreConfig()
+                .setEnabled(true)
+                .setImplementation(mapStore)
+                .setWriteDelaySeconds(1)
+                .setWriteBatchSize(50);
+        config.getMapConfig(mapName).setMapStoreConfig(mapStoreConfig);
+
+        HazelcastInstance instance = createHazelcastInstance(config);
+        return instance.getMap(mapName);
+    }
+
+    private static WriteBehindStats getWriteBehindStats(IMap<Integer, Integer> map) {
+        MapService mapService = (MapService) ((MapProxyImpl) map).getService();
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        WriteBehindManager manager = (WriteBehindManager) mapServiceContext.getMapContainer(map.getName())
+                .getMapStoreContext().getMapStoreManager();
+        return manager.getWriteBehindStats();
+    }
+
+    private static class RecordingMapStore extends MapStoreAdapter<Integer, Integer> {
+
+        private final ConcurrentMap<Integer, Integer> store = new ConcurrentHashMap<>();
+        private final int poisonedKey;
+
+        RecordingMapStore(int poisonedKey) {
+            this.poisonedKey = poisonedKey;
+        }
+
+        @Override
+        public void store(Integer key, Integer value) {
+            if (key == poisonedKey) {
+                throw new IllegalStateException("Cannot store " + key);
+            }
+            store.put(key, value);
+        }
+
+        @Override
+        public void storeAll(Map<Integer, Integer> map) {
+            if (map.containsKey(poisonedKey)) {
+                throw new IllegalStateException("Cannot store " + poisonedKey);
+            }
+            store.putAll(map);
+        }
+    }
+}
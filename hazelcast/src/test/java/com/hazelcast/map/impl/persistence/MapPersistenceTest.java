@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.persistence;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.PutFromPersistenceOperation;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryLoadedListener;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_PERSISTENCE_ENABLED;
+import static com.hazelcast.test.Accessors.getOperationService;
+import static com.hazelcast.test.Accessors.getPartitionService;
+import static com.hazelcast.test.Accessors.getSerializationService;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class MapPersistenceTest extends HazelcastTestSupport {
+
+    private static final String MAP_NAME = "persisted";
+    private static final int ENTRY_COUNT = 1000;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File baseDir1;
+    private File baseDir2;
+
+    @Before
+    public void setup() throws IOException {
+        baseDir1 = tempFolder.newFolder();
+        baseDir2 = tempFolder.newFolder();
+    }
+
+    @Test
+    public void restore_singleMember() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = factory.newHazelcastInstance(config(baseDir1));
+        fill(instance.getMap(MAP_NAME));
+        factory.terminateAll();
+
+        instance = factory.newHazelcastInstance(config(baseDir1));
+
+        assertRestored(instance.getMap(MAP_NAME));
+    }
+
+    @Test
+    public void restore_clusterRestartedInDifferentOrder() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(4);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config(baseDir1));
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config(baseDir2));
+        assertClusterSizeEventually(2, instance1, instance2);
+        waitAllForSafeState(instance1, instance2);
+        fill(instance1.getMap(MAP_NAME));
+        factory.terminateAll();
+
+        // the first member owns all the partitions until the second one
+        // joins and the partitions migrate to it
+        instance2 = factory.newHazelcastInstance(config(baseDir2));
+        instance1 = factory.newHazelcastInstance(config(baseDir1));
+        assertClusterSizeEventually(2, instance1, instance2);
+
+        assertRestored(instance1.getMap(MAP_NAME));
+        waitAllForSafeState(instance1, instance2);
+        assertRestored(instance2.getMap(MAP_NAME));
+    }
+
+    @Test
+    public void restore_doesNotOverwriteNewerValues() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = factory.newHazelcastInstance(config(baseDir1));
+        instance.getMap(MAP_NAME).put(0, "old");
+        factory.terminateAll();
+
+        instance = factory.newHazelcastInstance(config(baseDir1));
+        IMap<Object, Object> map = instance.getMap(MAP_NAME);
+        map.put(1, "new");
+
+        assertTrueEventually(() -> assertEquals("old", map.get(0)));
+        assertEquals("new", map.get(1));
+    }
+
+    @Test
+    public void restore_deletesReplayedLogs() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = factory.newHazelcastInstance(config(baseDir1));
+        fill(instance.getMap(MAP_NAME));
+        factory.terminateAll();
+
+        instance = factory.newHazelcastInstance(config(baseDir1));
+        assertRestored(instance.getMap(MAP_NAME));
+
+        File restoreDir = new File(baseDir1, MapPersistence.RESTORE_DIR_NAME);
+        assertTrueEventually(() -> {
+            File[] generations = restoreDir.listFiles();
+            assertFalse(generations != null && generations.length > 0);
+        });
+    }
+
+    @Test
+    public void restore_discardsLogs_whenMemberRejoinsRunningCluster() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config(baseDir1));
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config(baseDir2));
+        assertClusterSizeEventually(2, instance1, instance2);
+        waitAllForSafeState(instance1, instance2);
+        fill(instance1.getMap(MAP_NAME));
+        instance1.getLifecycleService().terminate();
+        IMap<Object, Object> map = instance2.getMap(MAP_NAME);
+        map.remove(0);
+
+        instance1 = factory.newHazelcastInstance(config(baseDir1));
+        assertClusterSizeEventually(2, instance1, instance2);
+
+        File restoreDir = new File(baseDir1, MapPersistence.RESTORE_DIR_NAME);
+        assertTrueEventually(() -> {
+            File[] generations = restoreDir.listFiles();
+            assertFalse(generations != null && generations.length > 0);
+        });
+        waitAllForSafeState(instance1, instance2);
+        assertEquals(ENTRY_COUNT - 1, map.size());
+        assertNull(instance1.getMap(MAP_NAME).get(0));
+    }
+
+    @Test
+    public void putFromPersistence_doesNotOverwriteOrPublishEvents() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(1);
+        HazelcastInstance instance = factory.newHazelcastInstance(config(baseDir1));
+        IMap<Object, Object> map = instance.getMap(MAP_NAME);
+        AtomicInteger eventCount = new AtomicInteger();
+        map.addEntryListener((EntryAddedListener<Object, Object>) event -> eventCount.incrementAndGet(), false);
+        map.addEntryListener((EntryLoadedListener<Object, Object>) event -> eventCount.incrementAndGet(), false);
+        map.set("newer", "new");
+        assertTrueEventually(() -> assertEquals(1, eventCount.get()));
+
+        putFromPersistence(instance, "newer", "old");
+        putFromPersistence(instance, "restored", "old");
+
+        assertEquals("new", map.get("newer"));
+        assertEquals("old", map.get("restored"));
+        assertTrueAllTheTime(() -> assertEquals(1, eventCount.get()), 3);
+    }
+
+    private static void putFromPersistence(HazelcastInstance instance, Object key, Object value) {
+        SerializationService serializationService = getSerializationService(instance);
+        Data dataKey = serializationService.toData(key);
+        List<Data> keyValueSequence = asList(dataKey, serializationService.toData(value));
+        Operation operation = new PutFromPersistenceOperation(MAP_NAME, keyValueSequence);
+        getOperationService(instance)
+                .invokeOnPartition(MapService.SERVICE_NAME, operation, getPartitionService(instance).getPartitionId(dataKey))
+                .join();
+    }
+
+    private Config config(File baseDir) {
+        Config config = smallInstanceConfig()
+                .setProperty(MAP_PERSISTENCE_ENABLED.getName(), "true");
+        config.getPersistenceConfig().setBaseDir(baseDir);
+        config.getMapConfig(MAP_NAME).getDataPersistenceConfig()
+              .setEnabled(true)
+              .setFsync(true);
+        return config;
+    }
+
+    private static void fill(IMap<Object, Object> map) {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+    }
+
+    private static void assertRestored(IMap<Object, Object> map) {
+        assertTrueEventually(() -> assertEquals(ENTRY_COUNT, map.size()));
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value-" + i, map.get(i));
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.persistence;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PartitionLogTest {
+
+    private static final long MAX_SEGMENT_SIZE = 1024;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private InternalSerializationService ss;
+    private File dir;
+    private PartitionLog log;
+
+    @Before
+    public void setup() throws IOException {
+        ss = new DefaultSerializationServiceBuilder().build();
+        dir = tempFolder.newFolder();
+        log = newLog();
+    }
+
+    @After
+    public void tearDown() {
+        log.close();
+        ss.dispose();
+    }
+
+    @Test
+    public void restore_whenEmpty() {
+        assertEquals(0, restore(log).size());
+    }
+
+    @Test
+    public void restore_afterPutAndRemove() {
+        restore(log);
+        for (int i = 0; i < 10; i++) {
+            log.put(ss.toData(i), ss.toData("value-" + i));
+        }
+        log.put(ss.toData(3), ss.toData("updated"));
+        log.remove(ss.toData(5));
+        log.close();
+
+        Map<Object, Object> restored = restore(reopen());
+
+        assertEquals(9, restored.size());
+        assertEquals("updated", restored.get(3));
+        assertFalse(restored.containsKey(5));
+        assertEquals("value-9", restored.get(9));
+    }
+
+    @Test
+    public void restore_doesNotAppendRestoredEntries() throws IOException {
+        restore(log);
+        log.put(ss.toData(1), ss.toData(1));
+        log.close();
+
+        PartitionLog reopened = reopen();
+        reopened.restore(reopened::put);
+        reopened.close();
+
+        File emptySegment = tempFolder.newFile();
+        assertTrue(emptySegment.delete());
+        LogSegment.create(emptySegment, 1, 1).close();
+        assertEquals(emptySegment.length(), new File(dir, LogSegment.fileName(1)).length());
+    }
+
+    @Test
+    public void clear() {
+        restore(log);
+        for (int i = 0; i < 100; i++) {
+            log.put(ss.toData(i), ss.toData(i));
+        }
+        log.clear();
+        log.put(ss.toData(1000), ss.toData(1000));
+        log.close();
+
+        Map<Object, Object> restored = restore(reopen());
+
+        assertEquals(1, restored.size());
+        assertEquals(1000, restored.get(1000));
+    }
+
+    @Test
+    public void compact_whenGarbageAboveThreshold() {
+        restore(log);
+        for (int i = 0; i < 1000; i++) {
+            log.put(ss.toData(i % 10), ss.toData(i));
+        }
+        int segmentCount = log.segmentCount();
+        assertTrue(segmentCount > 2);
+
+        assertTrue(log.compact(50));
+        assertEquals(2, log.segmentCount());
+        log.close();
+
+        Map<Object, Object> restored = restore(reopen());
+
+        assertEquals(10, restored.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(990 + i, restored.get(i));
+        }
+    }
+
+    @Test
+    public void compact_whenGarbageBelowThreshold() {
+        restore(log);
+        for (int i = 0; i < 1000; i++) {
+            log.put(ss.toData(i), ss.toData(i));
+        }
+
+        assertFalse(log.compact(50));
+    }
+
+    @Test
+    public void compact_dropsRemovedEntries() {
+        restore(log);
+        for (int i = 0; i < 500; i++) {
+            log.put(ss.toData(i), ss.toData(i));
+        }
+        for (int i = 0; i < 500; i++) {
+            log.remove(ss.toData(i));
+        }
+        log.put(ss.toData(-1), ss.toData(-1));
+
+        assertTrue(log.compact(40));
+        log.close();
+
+        Map<Object, Object> restored = restore(reopen());
+
+        assertEquals(1, restored.size());
+        assertEquals(-1, restored.get(-1));
+    }
+
+    @Test
+    public void restore_ignoresTornRecord() throws IOException {
+        restore(log);
+        log.put(ss.toData(1), ss.toData(1));
+        log.put(ss.toData(2), ss.toData(2));
+        log.close();
+
+        File segment = dir.listFiles((d, name) -> name.endsWith(LogSegment.FILE_SUFFIX))[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        Map<Object, Object> restored = restore(reopen());
+
+        assertEquals(1, restored.size());
+        assertEquals(1, restored.get(1));
+    }
+
+    private PartitionLog newLog() {
+        return new PartitionLog(dir, false, MAX_SEGMENT_SIZE);
+    }
+
+    private PartitionLog reopen() {
+        log = newLog();
+        return log;
+    }
+
+    private Map<Object, Object> restore(PartitionLog partitionLog) {
+        Map<Object, Object> restored = new HashMap<>();
+        partitionLog.restore((Data key, Data value) -> restored.put(ss.toObject(key), ss.toObject(value)));
+        return restored;
+    }
+}
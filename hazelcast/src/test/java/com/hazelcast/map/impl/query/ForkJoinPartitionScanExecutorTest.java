@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.partition.IPartitionService;
+import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.map.QueryResultSizeExceededException;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.test.starter.ReflectionUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TestName;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ForkJoinPartitionScanExecutorTest {
+
+    private static final int PARTITION_COUNT = 271;
+
+    @Rule
+    public TestName testName = new TestName();
+
+    @Rule
+    public ExpectedException expected = ExpectedException.none();
+
+    private PartitionScanRunner runner;
+    private ForkJoinPartitionScanExecutor executor;
+
+    @Before
+    public void setup() throws Exception {
+        IPartitionService partitionService = mock(IPartitionService.class);
+        when(partitionService.getPartitionCount()).thenReturn(PARTITION_COUNT);
+        runner = mock(PartitionScanRunner.class);
+        ReflectionUtils.setFieldValueReflectively(runner, "partitionService", partitionService);
+        executor = new ForkJoinPartitionScanExecutor(runner, testName.getMethodName(),
+                currentThread().getContextClassLoader(), 2, 60000);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void execute_success() {
+        Predicate predicate = Predicates.equal("attribute", 1);
+        QueryResult queryResult = new QueryResult(IterationType.ENTRY, null, null, Long.MAX_VALUE, false);
+
+        executor.execute("Map", predicate, asList(1, 2, 3), queryResult);
+
+        assertEquals(0, queryResult.getRows().size());
+        assertEquals(3, queryResult.getPartitionIds().size());
+    }
+
+    @Test
+    public void execute_success_allPartitionsScanned() {
+        Predicate predicate = Predicates.equal("attribute", 1);
+        QueryResult queryResult = new QueryResult(IterationType.ENTRY, null, null, Long.MAX_VALUE, false);
+        AtomicInteger scanCount = new AtomicInteger();
+        doAnswer(invocation -> scanCount.incrementAndGet())
+                .when(runner).run(anyString(), eq(predicate), anyInt(), isA(QueryResult.class));
+
+        executor.execute("Map", predicate, allPartitions(), queryResult);
+
+        assertEquals(PARTITION_COUNT, scanCount.get());
+        assertEquals(PARTITION_COUNT, queryResult.getPartitionIds().size());
+    }
+
+    @Test
+    public void execute_fail() {
+        Predicate predicate = Predicates.equal("attribute", 1);
+        QueryResult queryResult = new QueryResult(IterationType.ENTRY, null, null, Long.MAX_VALUE, false);
+
+        doThrow(new QueryException()).when(runner).run(anyString(), eq(predicate), anyInt(), isA(QueryResult.class));
+
+        expected.expect(QueryException.class);
+        executor.execute("Map", predicate, asList(1, 2, 3), queryResult);
+    }
+
+    @Test
+    public void execute_fail_retryable() {
+        Predicate predicate = Predicates.equal("attribute", 1);
+        QueryResult queryResult = new QueryResult(IterationType.ENTRY, null, null, Long.MAX_VALUE, false);
+
+        doThrow(new RetryableHazelcastException()).when(runner).run(anyString(), eq(predicate), anyInt(), isA(QueryResult.class));
+
+        expected.expect(RetryableHazelcastException.class);
+        executor.execute("Map", predicate, asList(1, 2, 3), queryResult);
+    }
+
+    @Test
+    public void execute_resultSizeExceeded_stopsScan() {
+        Predicate predicate = Predicates.equal("attribute", 1);
+        QueryResult queryResult = new QueryResult(IterationType.ENTRY, null, null, Long.MAX_VALUE, false);
+        AtomicInteger scanCount = new AtomicInteger();
+        doAnswer(invocation -> {
+            scanCount.incrementAndGet();
+            throw new QueryResultSizeExceededException();
+        }).when(runner).run(anyString(), eq(predicate), anyInt(), isA(QueryResult.class));
+
+        try {
+            executor.execute("Map", predicate, allPartitions(), queryResult);
+            fail();
+        } catch (QueryResultSizeExceededException e) {
+            assertTrue("scanned " + scanCount.get() + " partitions", scanCount.get() < PARTITION_COUNT);
+        }
+    }
+
+    private static List<Integer> allPartitions() {
+        List<Integer> partitions = new ArrayList<>(PARTITION_COUNT);
+        for (int i = 0; i < PARTITION_COUNT; i++) {
+            partitions.add(i);
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeStorageTest {
+
+    private SerializationService ss;
+    private UnsafeMemoryManager memoryManager;
+    private NativeRecordFactory recordFactory;
+    private NativeStorage storage;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        memoryManager = new UnsafeMemoryManager(1 << 24);
+        recordFactory = new NativeRecordFactory(memoryManager, ss);
+        ExpirySystem expirySystem = mock(ExpirySystem.class);
+        when(expirySystem.getExpiryMetadata(any())).thenReturn(ExpiryMetadata.NULL);
+        storage = new NativeStorage(recordFactory, memoryManager, expirySystem, ss);
+    }
+
+    @After
+    public void tearDown() {
+        storage.destroy(false);
+        assertEquals(0, memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void testPutAndGet() {
+        for (int i = 0; i < 1000; i++) {
+            put(i, "value-" + i);
+        }
+
+        assertEquals(1000, storage.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("value-" + i, ss.toObject(storage.get(key(i)).getValue()));
+        }
+        assertNull(storage.get(key(1000)));
+        assertFalse(storage.containsKey(key(1000)));
+    }
+
+    @Test
+    public void testRecordMetadata_isSharedByFlyweights() {
+        Record record = put(1, "value");
+        record.setVersion(5);
+        record.setHits(3);
+        record.setCreationTime(1_700_000_000_000L);
+
+        Record readRecord = storage.get(key(1));
+        assertEquals(5, readRecord.getVersion());
+        assertEquals(3, readRecord.getHits());
+        assertEquals(1_700_000_000_000L, readRecord.getCreationTime());
+        assertEquals(0L, readRecord.getLastStoredTime());
+        assertEquals(record, readRecord);
+    }
+
+    @Test
+    public void testUpdateRecordValue() {
+        put(1, "value");
+        Record record = storage.get(key(1));
+
+        storage.updateRecordValue(key(1), record, "a considerably longer value than before");
+
+        assertEquals("a considerably longer value than before", ss.toObject(storage.get(key(1)).getValue()));
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    public void testPut_replacesExistingRecord() {
+        put(1, "value1");
+        put(1, "value2");
+        storage.disposeDeferredBlocks();
+
+        assertEquals(1, storage.size());
+        assertEquals("value2", ss.toObject(storage.get(key(1)).getValue()));
+    }
+
+    @Test
+    public void testRemove_recordReadableUntilDeferredBlocksDisposed() {
+        put(1, "value");
+        Record record = storage.get(key(1));
+
+        storage.removeRecord(key(1), record);
+
+        assertEquals(0, storage.size());
+        assertNull(storage.get(key(1)));
+        assertEquals("value", ss.toObject(record.getValue()));
+        storage.disposeDeferredBlocks();
+    }
+
+    @Test
+    public void testEntryCost_returnsToZeroAfterRemovals() {
+        for (int i = 0; i < 100; i++) {
+            put(i, "value-" + i);
+        }
+        assertTrue(storage.getEntryCostEstimator().getEstimate() > 0);
+
+        for (int i = 0; i < 100; i++) {
+            storage.removeRecord(key(i), storage.get(key(i)));
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(0, storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void testDisposeDeferredBlocks_freesUnattachedRecords() {
+        long usedBefore = memoryManager.getUsedMemory();
+        recordFactory.newRecord(key(1), "never stored");
+        assertTrue(memoryManager.getUsedMemory() > usedBefore);
+
+        storage.disposeDeferredBlocks();
+
+        assertEquals(usedBefore, memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void testMutationTolerantIterator_removeWhileIterating() {
+        for (int i = 0; i < 1000; i++) {
+            put(i, i);
+        }
+
+        Set<Object> seen = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            assertTrue(seen.add(ss.toObject(entry.getKey())));
+            storage.removeRecord(entry.getKey(), entry.getValue());
+        }
+
+        assertEquals(1000, seen.size());
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void testFetchKeys() {
+        for (int i = 0; i < 1000; i++) {
+            put(i, i);
+        }
+
+        Set<Object> fetched = new HashSet<>();
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        do {
+            MapKeysWithCursor result = storage.fetchKeys(pointers, 100);
+            for (Data key : result.getBatch()) {
+                assertTrue(fetched.add(ss.toObject(key)));
+            }
+            pointers = result.getIterationPointers();
+        } while (pointers[pointers.length - 1].getIndex() >= 0);
+
+        assertEquals(1000, fetched.size());
+    }
+
+    @Test
+    public void testGetRandomSamples() {
+        for (int i = 0; i < 100; i++) {
+            put(i, i);
+        }
+
+        int count = 0;
+        for (EntryView sample : storage.getRandomSamples(15)) {
+            Data key = storage.extractDataKeyFromLazy(sample);
+            assertEquals(sample.getValue(), ss.toObject(storage.get(key).getValue()));
+            count++;
+        }
+        assertEquals(15, count);
+    }
+
+    @Test
+    public void testClear_freesAllEntries() {
+        for (int i = 0; i < 100; i++) {
+            put(i, "value-" + i);
+        }
+        storage.clear(false);
+        long usedAfterFirstClear = memoryManager.getUsedMemory();
+
+        for (int i = 0; i < 100; i++) {
+            put(i, "value-" + i);
+        }
+        storage.clear(false);
+
+        assertTrue(storage.isEmpty());
+        assertEquals(usedAfterFirstClear, memoryManager.getUsedMemory());
+    }
+
+    @Test
+    public void testAllocationBeyondCapacity_throwsNativeOutOfMemoryError() {
+        UnsafeMemoryManager smallManager = new UnsafeMemoryManager(1024);
+        NativeRecordFactory smallFactory = new NativeRecordFactory(smallManager, ss);
+        try {
+            smallFactory.newRecord(key(1), new byte[2048]);
+            fail();
+        } catch (NativeOutOfMemoryError expected) {
+            assertEquals(0, smallManager.getUsedMemory());
+        }
+    }
+
+    private Record put(int key, Object value) {
+        Data dataKey = key(key);
+        Record record = recordFactory.newRecord(dataKey, value);
+        storage.put(dataKey, record);
+        return record;
+    }
+
+    private Data key(int key) {
+        return ss.toData(key);
+    }
+}
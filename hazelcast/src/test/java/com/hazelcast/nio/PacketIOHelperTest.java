@@ -16,6 +16,7 @@
 
 package com.hazelcast.nio;
 
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.nio.PacketIOHelper;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -169,6 +170,55 @@ public class PacketIOHelperTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void largeValue_withPooledPayload() {
+        InternalSerializationService ss = createSerializationServiceBuilder().build();
+        String originalObject = generateRandomString(100000);
+        BufferObjectDataOutput out = ss.toSharedOutput(originalObject);
+        Packet originalPacket = new Packet(out, 1, ss::returnSharedOutput);
+
+        assertEquals(out.position(), originalPacket.totalSize());
+
+        Packet clonedPacket;
+        ByteBuffer bb = ByteBuffer.allocate(20);
+        boolean writeCompleted;
+        do {
+            writeCompleted = packetWriter.writeTo(originalPacket, bb);
+            bb.flip();
+            clonedPacket = packetReader.readFrom(bb);
+            bb.clear();
+        } while (!writeCompleted);
+
+        assertNotNull(clonedPacket);
+        assertEquals(1, clonedPacket.getPartitionId());
+        assertArrayEquals(ss.toBytes(originalObject), clonedPacket.toByteArray());
+        assertEquals(originalObject, ss.toObject(clonedPacket));
+    }
+
+    @Test
+    public void pooledPayload_isMaterializedForDataAccessors() {
+        InternalSerializationService ss = createSerializationServiceBuilder().build();
+        Packet packet = new Packet(ss.toSharedOutput(person), 0, ss::returnSharedOutput);
+
+        assertEquals(person, ss.toObject(packet));
+        assertArrayEquals(ss.toBytes(person), packet.toByteArray());
+
+        packet.releasePayloadOutput();
+        assertEquals(person, ss.toObject(packet));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void pooledPayload_isNotReadable_afterRelease() {
+        InternalSerializationService ss = createSerializationServiceBuilder().build();
+        Packet packet = new Packet(ss.toSharedOutput(person), 0, ss::returnSharedOutput);
+        int totalSize = packet.totalSize();
+
+        packet.releasePayloadOutput();
+
+        assertEquals(totalSize, packet.totalSize());
+        packet.toByteArray();
+    }
+
     /**
      * Verifies that writing a Packet to a ByteBuffer and then reading it from the ByteBuffer, gives the same Packet (content).
      */
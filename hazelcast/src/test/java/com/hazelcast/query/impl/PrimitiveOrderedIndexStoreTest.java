@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.internal.monitor.impl.IndexOperationStats.EMPTY;
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PrimitiveOrderedIndexStoreTest {
+
+    private static final int ENTRY_COUNT = 3000;
+    private static final int DISTINCT_VALUES = 200;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    // not a whole number of milliseconds, so the nanoseconds have to be kept
+    private static final long NANOS_STEP = 123_456_789L;
+
+    private final Random random = new Random(42);
+
+    private InternalSerializationService serializationService;
+    private PrimitiveOrderedIndexStore store;
+    private OrderedIndexStore expected;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        store = new PrimitiveOrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+        expected = new OrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+    }
+
+    @Test
+    public void testLongValues() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            insert(i, i % 10 == 0 ? null : (long) random.nextInt(DISTINCT_VALUES));
+        }
+        assertFalse(store.isGeneric());
+        assertRangesMatch();
+    }
+
+    @Test
+    public void testMixedIntegralValues() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            int value = random.nextInt(DISTINCT_VALUES) - DISTINCT_VALUES / 2;
+            insert(i, i % 2 == 0 ? (Comparable) value : (Comparable) (long) value);
+        }
+        assertFalse(store.isGeneric());
+        assertRangesMatch();
+    }
+
+    @Test
+    public void testDoubleValues() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            insert(i, (random.nextInt(DISTINCT_VALUES) - DISTINCT_VALUES / 2) / 4.0);
+        }
+        insert(ENTRY_COUNT, Double.NaN);
+        insert(ENTRY_COUNT + 1, Double.NEGATIVE_INFINITY);
+        assertFalse(store.isGeneric());
+        assertRangesMatch();
+    }
+
+    @Test
+    public void testDateValues() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            insert(i, new Date(random.nextInt(DISTINCT_VALUES)));
+        }
+        assertFalse(store.isGeneric());
+        assertRangesMatch(new Date(20), new Date(120));
+    }
+
+    @Test
+    public void testTimestampValues() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            insert(i, timestamp(randomNanos()));
+        }
+        assertFalse(store.isGeneric());
+        assertRangesMatch(timestamp(-NANOS_STEP * 20), timestamp(NANOS_STEP * 30 + 1));
+    }
+
+    @Test
+    public void testInstantValues() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            insert(i, Instant.ofEpochSecond(0, randomNanos()));
+        }
+        assertFalse(store.isGeneric());
+        assertRangesMatch(Instant.ofEpochSecond(0, -NANOS_STEP * 20), Instant.ofEpochSecond(0, NANOS_STEP * 30 + 1));
+    }
+
+    @Test
+    public void testLocalDateTimeValues() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            insert(i, localDateTime(randomNanos()));
+        }
+        assertFalse(store.isGeneric());
+        assertRangesMatch(localDateTime(-NANOS_STEP * 20), localDateTime(NANOS_STEP * 30 + 1));
+    }
+
+    @Test
+    public void testOffsetDateTimeValues() {
+        ZoneOffset offset = ZoneOffset.ofHours(2);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            insert(i, offsetDateTime(randomNanos(), offset));
+        }
+        assertFalse(store.isGeneric());
+        assertRangesMatch(offsetDateTime(-NANOS_STEP * 20, offset), offsetDateTime(NANOS_STEP * 30 + 1, offset));
+    }
+
+    @Test
+    public void testOffsetDateTimeValuesWithDifferentOffsets() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            insert(i, offsetDateTime(randomNanos(), ZoneOffset.ofHours(2)));
+        }
+        // the same instant with another offset is another value
+        insert(ENTRY_COUNT, offsetDateTime(0, ZoneOffset.UTC));
+        assertTrue(store.isGeneric());
+        assertRangesMatch(offsetDateTime(-NANOS_STEP * 20, ZoneOffset.UTC), offsetDateTime(0, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void testTimestampOutOfNanosRange() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            insert(i, Instant.ofEpochSecond(0, randomNanos()));
+        }
+        insert(ENTRY_COUNT, Instant.parse("2300-01-01T00:00:00Z"));
+        assertTrue(store.isGeneric());
+        assertRangesMatch(Instant.ofEpochSecond(0, -NANOS_STEP * 20), Instant.MAX);
+
+        store.clear();
+        expected.clear();
+        insert(0, LocalDateTime.MIN);
+        assertTrue(store.isGeneric());
+        assertRangesMatch(LocalDateTime.MIN, LocalDateTime.MAX);
+    }
+
+    @Test
+    public void testRemoveAndUpdate() {
+        long[] values = new long[ENTRY_COUNT];
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            values[i] = random.nextInt(DISTINCT_VALUES);
+            insert(i, values[i]);
+        }
+        for (int i = 0; i < ENTRY_COUNT; i += 3) {
+            long value = random.nextInt(DISTINCT_VALUES);
+            CachedQueryEntry entry = cachedEntry(i);
+            store.update(values[i], value, entry, entry, EMPTY);
+            expected.update(values[i], value, entry, entry, EMPTY);
+        }
+        for (int i = 1; i < ENTRY_COUNT; i += 3) {
+            store.remove(values[i], cachedEntry(i), EMPTY);
+            expected.remove(values[i], cachedEntry(i), EMPTY);
+        }
+        assertRangesMatch();
+    }
+
+    @Test
+    public void testFallbackToGeneric() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            insert(i, (long) random.nextInt(DISTINCT_VALUES));
+        }
+        Iterator<IndexKeyEntries> iterator = store.getSqlRecordIteratorBatch(false);
+        insert(ENTRY_COUNT, 0.5);
+        assertTrue(store.isGeneric());
+        assertTrue(iterator.hasNext());
+        assertRangesMatch();
+
+        store.clear();
+        expected.clear();
+        assertFalse(store.isGeneric());
+        insert(0, 1L);
+        assertFalse(store.isGeneric());
+        assertRangesMatch();
+    }
+
+    @Test
+    public void testDoubleEncodingPreservesOrder() {
+        double[] values = {Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1.5, -Double.MIN_VALUE, -0.0, 0.0,
+                Double.MIN_VALUE, 1.5, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN};
+        for (int i = 0; i < values.length; i++) {
+            long key = PrimitiveOrderedIndexStore.encodeDouble(values[i]);
+            assertEquals(0, Double.compare(values[i], PrimitiveOrderedIndexStore.decodeDouble(key)));
+            if (i > 0) {
+                assertTrue(PrimitiveOrderedIndexStore.encodeDouble(values[i - 1]) < key);
+            }
+        }
+    }
+
+    private long randomNanos() {
+        return (random.nextInt(DISTINCT_VALUES) - DISTINCT_VALUES / 2) * NANOS_STEP;
+    }
+
+    private static Timestamp timestamp(long epochNanos) {
+        Timestamp timestamp = new Timestamp(Math.floorDiv(epochNanos, NANOS_PER_SECOND) * 1000);
+        timestamp.setNanos((int) Math.floorMod(epochNanos, NANOS_PER_SECOND));
+        return timestamp;
+    }
+
+    private static LocalDateTime localDateTime(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    private static OffsetDateTime offsetDateTime(long epochNanos, ZoneOffset offset) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(0, epochNanos), offset);
+    }
+
+    private void assertRangesMatch() {
+        assertRangesMatch(-DISTINCT_VALUES / 3, DISTINCT_VALUES / 3);
+    }
+
+    private void assertRangesMatch(Comparable low, Comparable high) {
+        Comparable[] bounds = {NULL, low, high, POSITIVE_INFINITY};
+        for (int i = 0; i < bounds.length; i++) {
+            for (int j = i; j < bounds.length; j++) {
+                for (int inclusion = 0; inclusion < 4; inclusion++) {
+                    boolean fromInclusive = (inclusion & 1) != 0;
+                    boolean toInclusive = (inclusion & 2) != 0;
+                    assertEquals(expected.getRecords(bounds[i], fromInclusive, bounds[j], toInclusive),
+                            store.getRecords(bounds[i], fromInclusive, bounds[j], toInclusive));
+                    for (boolean descending : new boolean[]{false, true}) {
+                        assertEquals(
+                                keys(expected.getSqlRecordIteratorBatch(bounds[i], fromInclusive, bounds[j], toInclusive,
+                                        descending)),
+                                keys(store.getSqlRecordIteratorBatch(bounds[i], fromInclusive, bounds[j], toInclusive,
+                                        descending)));
+                    }
+                }
+            }
+            assertEquals(expected.getRecords(bounds[i]), store.getRecords(bounds[i]));
+        }
+        for (boolean descending : new boolean[]{false, true}) {
+            assertEquals(keys(expected.getSqlRecordIteratorBatch(descending)),
+                    keys(store.getSqlRecordIteratorBatch(descending)));
+        }
+        Set<Comparable> values = new HashSet<>();
+        values.add(low);
+        values.add(high);
+        values.add(NULL);
+        assertEquals(expected.getRecords(values), store.getRecords(values));
+    }
+
+    /**
+     * Flattens the given batches into the list of index keys and entry keys,
+     * the index keys are compared by their order only since the stores may
+     * box them into different types.
+     */
+    private static List<Object> keys(Iterator<IndexKeyEntries> batches) {
+        List<Object> result = new ArrayList<>();
+        Comparable previousKey = null;
+        while (batches.hasNext()) {
+            IndexKeyEntries batch = batches.next();
+            Comparable key = batch.getIndexKey();
+            if (previousKey != null) {
+                result.add(Integer.signum(OrderedIndexStore.SPECIAL_AWARE_COMPARATOR.compare(previousKey, key)));
+            }
+            previousKey = key;
+            Iterator<QueryableEntry> entries = batch.getEntries();
+            while (entries.hasNext()) {
+                result.add(entries.next().getKeyData());
+            }
+        }
+        return result;
+    }
+
+    private void insert(int key, Comparable value) {
+        QueryableEntry entry = entry(key);
+        store.insert(value, null, entry, EMPTY);
+        expected.insert(value, null, entry, EMPTY);
+    }
+
+    private QueryableEntry entry(int key) {
+        Data keyData = serializationService.toData(key);
+        QueryableEntry entry = mock(QueryableEntry.class);
+        when(entry.getKeyData()).thenReturn(keyData);
+        return entry;
+    }
+
+    private CachedQueryEntry cachedEntry(int key) {
+        Data keyData = serializationService.toData(key);
+        CachedQueryEntry entry = mock(CachedQueryEntry.class);
+        when(entry.getKeyData()).thenReturn(keyData);
+        return entry;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.UuidUtil;
+import com.hazelcast.internal.util.executor.StripedExecutor;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.hazelcast.spi.properties.ClusterProperty.EVENT_BATCHING_MAX_SIZE;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static com.hazelcast.test.Accessors.getSerializationService;
+import static java.nio.ByteOrder.BIG_ENDIAN;
+import static com.hazelcast.spi.properties.ClusterProperty.EVENT_BATCHING_WINDOW_MICROS;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class RemoteEventBatchingTest extends HazelcastTestSupport {
+
+    private static final int EVENT_COUNT = 1000;
+
+    private HazelcastInstance subscriber;
+    private HazelcastInstance publisher;
+
+    @Before
+    public void setup() {
+        Config config = smallInstanceConfig()
+                .setProperty(EVENT_BATCHING_WINDOW_MICROS.getName(), "500")
+                .setProperty(EVENT_BATCHING_MAX_SIZE.getName(), "32");
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        subscriber = instances[0];
+        publisher = instances[1];
+    }
+
+    @Test
+    public void testEventsOfKey_areDeliveredInOrder() {
+        String mapName = randomMapName();
+        List<Integer> values = new CopyOnWriteArrayList<>();
+        subscriber.getMap(mapName).addEntryListener((EntryUpdatedListener<String, Integer>) event
+                -> values.add(event.getValue()), true);
+
+        IMap<String, Integer> map = publisher.getMap(mapName);
+        String key = generateKeyOwnedBy(publisher);
+        map.set(key, -1);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            map.set(key, i);
+        }
+
+        List<Integer> expected = range(0, EVENT_COUNT).boxed().collect(toList());
+        assertTrueEventually(() -> assertEquals(expected, values));
+    }
+
+    @Test
+    public void testAllEvents_areDelivered() {
+        String mapName = randomMapName();
+        Set<Integer> keys = ConcurrentHashMap.newKeySet();
+        subscriber.getMap(mapName).addEntryListener((EntryAddedListener<Integer, Integer>) event
+                -> keys.add(event.getKey()), false);
+
+        IMap<Integer, Integer> map = publisher.getMap(mapName);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            map.set(i, i);
+        }
+
+        assertTrueEventually(() -> assertEquals(EVENT_COUNT, keys.size()));
+    }
+
+    @Test
+    public void testBatch_isProcessedAsOneTaskPerStripe() throws IOException {
+        EventServiceImpl eventService = (EventServiceImpl) getNodeEngineImpl(subscriber).getEventService();
+        InternalSerializationService serializationService = getSerializationService(subscriber);
+        StripedExecutor executor = eventService.getEventExecutor();
+
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput(1024);
+        int[] eventsPerStripe = new int[executor.getStripeCount()];
+        for (int orderKey = 0; orderKey < EVENT_COUNT; orderKey++) {
+            byte[] event = serializationService.toBytes(new EventEnvelope(UuidUtil.newUnsecureUUID(), "service", orderKey));
+            out.writeInt(orderKey, BIG_ENDIAN);
+            out.writeInt(event.length, BIG_ENDIAN);
+            out.write(event);
+            eventsPerStripe[executor.getStripe(orderKey)]++;
+        }
+        Packet batch = new Packet(out.toByteArray(), 0).raiseFlags(Packet.FLAG_EVENT_BATCH);
+
+        RemoteEventBatchProcessor[] processors = RemoteEventBatcher.toProcessors(eventService, batch, executor);
+
+        assertEquals(executor.getStripeCount(), processors.length);
+        for (int stripe = 0; stripe < processors.length; stripe++) {
+            assertEquals(eventsPerStripe[stripe], processors[stripe].eventCount());
+            assertEquals(stripe, executor.getStripe(processors[stripe].getKey()));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Future;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ArrayOperationQueueTest extends HazelcastTestSupport {
+
+    @Test(expected = NullPointerException.class)
+    public void add_whenNull() {
+        new ArrayOperationQueue(null).add(null, false);
+    }
+
+    @Test
+    public void add() {
+        ArrayOperationQueue queue = new ArrayOperationQueue(null);
+        queue.add("normal", false);
+        queue.add("priority", true);
+
+        assertEquals(1, queue.normalSize());
+        assertEquals(1, queue.prioritySize());
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void poll_priorityFirst() {
+        ArrayOperationQueue queue = new ArrayOperationQueue(null);
+        queue.add("normal1", false);
+        queue.add("normal2", false);
+        queue.add("priority", true);
+
+        assertEquals("priority", queue.poll());
+        assertEquals("normal1", queue.poll());
+        assertEquals("normal2", queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void take_whenPriorityOnly() throws Exception {
+        ArrayOperationQueue queue = new ArrayOperationQueue(null);
+        queue.setConsumerThread(Thread.currentThread());
+        queue.add("normal", false);
+        queue.add("priority", true);
+
+        assertEquals("priority", queue.take(true));
+        assertEquals("normal", queue.take(false));
+    }
+
+    @Test
+    public void take_whenBlocking() throws Exception {
+        assertTakeWaitsForTask(new ArrayOperationQueue(null));
+    }
+
+    @Test
+    public void take_whenIdleStrategy() throws Exception {
+        assertTakeWaitsForTask(new ArrayOperationQueue(new BackoffIdleStrategy(0, 0,
+                MICROSECONDS.toNanos(1), MILLISECONDS.toNanos(1))));
+    }
+
+    private void assertTakeWaitsForTask(ArrayOperationQueue queue) throws Exception {
+        Object task = new Object();
+        Future<Object> future = spawn(() -> {
+            queue.setConsumerThread(Thread.currentThread());
+            return queue.take(false);
+        });
+
+        sleepMillis(100);
+        queue.add(task, true);
+
+        assertSame(task, future.get());
+    }
+}
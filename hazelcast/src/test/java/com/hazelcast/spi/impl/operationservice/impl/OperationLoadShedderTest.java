@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OperationLoadShedderTest {
+
+    private static final long TARGET = 10;
+    private static final long INTERVAL = 100;
+
+    private final OperationLoadShedder shedder = new OperationLoadShedder(TARGET, INTERVAL);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenTargetNotPositive() {
+        new OperationLoadShedder(0, INTERVAL);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenIntervalSmallerThanTarget() {
+        new OperationLoadShedder(TARGET, TARGET - 1);
+    }
+
+    @Test
+    public void whenNotOverloaded_thenOnlyShedAfterInterval() {
+        assertFalse(shedder.shouldShed(TARGET + 1, 0));
+        assertFalse(shedder.shouldShed(INTERVAL, 1));
+        assertTrue(shedder.shouldShed(INTERVAL + 1, 2));
+        assertFalse(shedder.isOverloaded());
+    }
+
+    @Test
+    public void whenQueueDidNotDrainDuringInterval_thenOverloaded() {
+        shedder.shouldShed(TARGET + 1, 0);
+        shedder.shouldShed(TARGET + 5, 50);
+
+        assertTrue(shedder.shouldShed(TARGET + 1, INTERVAL));
+        assertTrue(shedder.isOverloaded());
+        assertFalse(shedder.shouldShed(TARGET, INTERVAL + 1));
+    }
+
+    @Test
+    public void whenQueueDrainedDuringInterval_thenNotOverloaded() {
+        shedder.shouldShed(TARGET + 1, 0);
+        shedder.shouldShed(TARGET, 50);
+
+        assertFalse(shedder.shouldShed(TARGET + 1, INTERVAL));
+        assertFalse(shedder.isOverloaded());
+    }
+
+    @Test
+    public void whenOverloaded_andQueueDrains_thenRecovers() {
+        shedder.shouldShed(TARGET + 1, 0);
+        shedder.shouldShed(TARGET + 1, INTERVAL);
+        assertTrue(shedder.isOverloaded());
+
+        shedder.shouldShed(1, INTERVAL + 1);
+
+        assertFalse(shedder.shouldShed(TARGET + 1, 2 * INTERVAL));
+        assertFalse(shedder.isOverloaded());
+    }
+
+    @Test
+    public void whenIdleForWholeInterval_thenNotOverloaded() {
+        shedder.shouldShed(TARGET + 1, 0);
+
+        assertFalse(shedder.shouldShed(TARGET + 1, 2 * INTERVAL));
+        assertFalse(shedder.isOverloaded());
+    }
+}
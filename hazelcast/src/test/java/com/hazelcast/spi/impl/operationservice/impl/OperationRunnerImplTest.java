@@ -16,10 +16,12 @@
 
 package com.hazelcast.spi.impl.operationservice.impl;
 
+import com.hazelcast.config.Config;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.spi.exception.MemberOverloadedException;
 import com.hazelcast.spi.impl.operationservice.BlockingOperation;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.OperationResponseHandler;
@@ -28,6 +30,7 @@ import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutRespons
 import com.hazelcast.test.ExpectedRuntimeException;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
 import org.junit.Before;
@@ -40,8 +43,14 @@ import java.util.concurrent.atomic.AtomicLong;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallId;
 import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallTimeout;
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setEnqueueTimeNanos;
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setInvocationTime;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_LOAD_SHEDDING_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_LOAD_SHEDDING_INTERVAL_MILLIS;
+import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_LOAD_SHEDDING_TARGET_MILLIS;
 import static com.hazelcast.test.Accessors.getClusterService;
 import static com.hazelcast.test.Accessors.getOperationService;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.same;
@@ -53,6 +62,7 @@ import static org.mockito.Mockito.verify;
 @Category({QuickTest.class, ParallelJVMTest.class})
 public class OperationRunnerImplTest extends HazelcastTestSupport {
 
+    private TestHazelcastInstanceFactory factory;
     private HazelcastInstance local;
     private HazelcastInstance remote;
     private OperationRunnerImpl operationRunner;
@@ -62,9 +72,9 @@ public class OperationRunnerImplTest extends HazelcastTestSupport {
 
     @Before
     public void setup() {
-        HazelcastInstance[] cluster = createHazelcastInstanceFactory(2).newInstances();
-        local = cluster[0];
-        remote = cluster[1];
+        factory = createHazelcastInstanceFactory(3);
+        local = factory.newHazelcastInstance();
+        remote = factory.newHazelcastInstance();
         operationService = getOperationService(local);
         clusterService = getClusterService(local);
         operationRunner = new OperationRunnerImpl(operationService, getPartitionId(local), 0, newSwCounter(), null);
@@ -199,6 +209,68 @@ public class OperationRunnerImplTest extends HazelcastTestSupport {
         verify(responseHandler).sendResponse(same(op), any(CallTimeoutResponse.class));
     }
 
+    @Test
+    public void runOperation_whenQueuedTooLong_thenRejected() {
+        OperationRunnerImpl sheddingRunner = newSheddingOperationRunner();
+        AtomicLong counter = new AtomicLong();
+        Operation op = newSheddableOperation(counter, sheddingRunner.getPartitionId());
+        setEnqueueTimeNanos(op, System.nanoTime() - SECONDS.toNanos(10));
+
+        sheddingRunner.run(op);
+
+        assertEquals(0, counter.get());
+        verify(responseHandler).sendResponse(same(op), any(MemberOverloadedException.class));
+    }
+
+    @Test
+    public void runOperation_whenInvokedLongAgoButJustEnqueued_thenExecuted() {
+        OperationRunnerImpl sheddingRunner = newSheddingOperationRunner();
+        AtomicLong counter = new AtomicLong();
+        Operation op = newSheddableOperation(counter, sheddingRunner.getPartitionId());
+        // the time spent at the invoker or on the network doesn't count
+        setInvocationTime(op, clusterService.getClusterClock().getClusterTime() - SECONDS.toMillis(10));
+        setEnqueueTimeNanos(op, System.nanoTime());
+
+        sheddingRunner.run(op);
+
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void runOperation_whenNotEnqueued_thenNotRejected() {
+        OperationRunnerImpl sheddingRunner = newSheddingOperationRunner();
+        AtomicLong counter = new AtomicLong();
+        Operation op = newSheddableOperation(counter, sheddingRunner.getPartitionId());
+
+        sheddingRunner.run(op);
+
+        assertEquals(1, counter.get());
+    }
+
+    private OperationRunnerImpl newSheddingOperationRunner() {
+        Config config = new Config()
+                .setProperty(OPERATION_LOAD_SHEDDING_ENABLED.getName(), "true")
+                .setProperty(OPERATION_LOAD_SHEDDING_TARGET_MILLIS.getName(), "100")
+                .setProperty(OPERATION_LOAD_SHEDDING_INTERVAL_MILLIS.getName(), "1000");
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        waitAllForSafeState(factory.getAllHazelcastInstances());
+        return new OperationRunnerImpl(getOperationService(instance), getPartitionId(instance), 0, newSwCounter(), null);
+    }
+
+    private Operation newSheddableOperation(AtomicLong counter, int partitionId) {
+        Operation op = new Operation() {
+            @Override
+            public void run() {
+                counter.incrementAndGet();
+            }
+        };
+        setCallId(op, 10);
+        setInvocationTime(op, clusterService.getClusterClock().getClusterTime());
+        op.setPartitionId(partitionId);
+        op.setOperationResponseHandler(responseHandler);
+        return op;
+    }
+
     @Test
     public void runPacket() throws Exception {
         Operation op = new DummyOperation();
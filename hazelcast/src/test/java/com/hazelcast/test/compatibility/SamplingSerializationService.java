@@ -144,6 +144,18 @@ public class SamplingSerializationService implements InternalSerializationServic
         return bytes;
     }
 
+    @Override
+    public BufferObjectDataOutput toSharedOutput(Object obj) {
+        BufferObjectDataOutput out = delegate.toSharedOutput(obj);
+        sampleObject(obj, out.toByteArray());
+        return out;
+    }
+
+    @Override
+    public void returnSharedOutput(BufferObjectDataOutput out) {
+        delegate.returnSharedOutput(out);
+    }
+
     @Override
     public <B extends Data> B toData(Object obj, DataType type) {
         return toData(obj);